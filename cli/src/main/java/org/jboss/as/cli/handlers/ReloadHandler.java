@@ -55,6 +55,7 @@ public class ReloadHandler extends BaseOperationCommand {
     private static final String ADMIN_ONLY = "admin-only";
     private static final String NORMAL = "normal";
     private static final String SUSPEND = "suspend";
+    private static final String STANDBY = "standby";
     private static final String START_MODE = "start-mode";
 
     private final ArgumentWithValue adminOnly;
@@ -92,7 +93,7 @@ public class ReloadHandler extends BaseOperationCommand {
         startMode = new ArgumentWithValue(this, new DefaultCompleter(new DefaultCompleter.CandidatesProvider() {
             @Override
             public Collection<String> getAllCandidates(CommandContext ctx) {
-                return Arrays.asList(ADMIN_ONLY, NORMAL, SUSPEND);
+                return Arrays.asList(ADMIN_ONLY, NORMAL, SUSPEND, STANDBY);
             }
         }), "--start-mode") {
             @Override
@@ -34,6 +34,7 @@ public class RunningModeControl {
     private volatile boolean useCurrentConfig;
     private volatile String newBootFileName;
     private volatile Boolean suspend;
+    private volatile Boolean standby;
 
     public RunningModeControl(final RunningMode initialMode) {
         this.runningMode = initialMode;
@@ -75,6 +76,18 @@ public class RunningModeControl {
         this.suspend = suspend;
     }
 
+    /**
+     *
+     * @return The standby mode, or null if if has not been expliticly set
+     */
+    public Boolean getStandby() {
+        return standby;
+    }
+
+    public void setStandby(Boolean standby) {
+        this.standby = standby;
+    }
+
     /**
      * Get the new boot file name. For a standalone server this will be the location of the server configuration
      * (i.e. the standalone.xml variety). For a host controller this will be the location of the host configuration
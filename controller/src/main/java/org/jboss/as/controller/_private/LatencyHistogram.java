@@ -0,0 +1,147 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller._private;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock free histogram of durations, for subsystems which report percentiles of latencies as runtime metrics.
+ * <p>
+ * Values are recorded in microseconds. Values below 8 have their own bucket, larger values are grouped by their
+ * highest set bit and split into 8 buckets per power of two, so a reported percentile is at most 12.5% above the
+ * recorded value.
+ * <p>
+ * <strong>This is internal API shared by WildFly Core subsystems. It may change or be removed at any time.</strong>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // values are never negative, so the highest set bit is at most bit 62
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records a duration.
+     *
+     * @param micros the duration in microseconds
+     */
+    public void record(final long micros) {
+        counts.incrementAndGet(indexOf(Math.max(0, micros)));
+    }
+
+    /**
+     * Gets the given percentile of the recorded durations.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the upper bound of the percentile in microseconds, or {@code -1} if nothing was recorded
+     */
+    public long getPercentile(final double percentile) {
+        return snapshot().getPercentile(percentile);
+    }
+
+    /**
+     * Takes a snapshot of the recorded durations, so several percentiles can be read consistently.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot() {
+        final Snapshot snapshot = new Snapshot();
+        snapshot.add(this);
+        return snapshot;
+    }
+
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long subBucket = index % SUB_BUCKETS;
+        return ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * The durations recorded by one or more histograms at some point in time.
+     */
+    public static final class Snapshot {
+        private final long[] counts = new long[BUCKETS];
+        private long total;
+
+        /**
+         * Creates an empty snapshot, which the durations of several histograms can be {@linkplain #add added} to.
+         */
+        public Snapshot() {
+        }
+
+        /**
+         * Adds the durations currently recorded by a histogram to this snapshot.
+         *
+         * @param histogram the histogram
+         */
+        public void add(final LatencyHistogram histogram) {
+            for (int i = 0; i < BUCKETS; i++) {
+                final long count = histogram.counts.get(i);
+                counts[i] += count;
+                total += count;
+            }
+        }
+
+        /**
+         * @return the number of recorded durations
+         */
+        public long getCount() {
+            return total;
+        }
+
+        /**
+         * Gets the given percentile of the recorded durations.
+         *
+         * @param percentile the percentile, between 0 and 100
+         * @return the upper bound of the percentile in microseconds, or {@code -1} if nothing was recorded
+         */
+        public long getPercentile(final double percentile) {
+            if (total == 0) {
+                return -1;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return upperBoundOf(i);
+                }
+            }
+            return upperBoundOf(BUCKETS - 1);
+        }
+    }
+}
@@ -81,7 +81,7 @@ abstract class AuditLogHandler {
         try {
             initialize();
             String formattedItem = item.format(formatter);
-            writeLogItem(formattedItem);
+            writeLogItem(item, formattedItem);
             fch.success();
         } catch (Throwable t) {
             fch.failure(t);
@@ -133,10 +133,24 @@ abstract class AuditLogHandler {
     abstract void stop();
     abstract void writeLogItem(String formattedItem) throws IOException;
 
+    /**
+     * Writes a formatted item, handlers which store more than the formatted text can override this.
+     *
+     * @param item          the item
+     * @param formattedItem the item formatted by the handler's formatter
+     */
+    void writeLogItem(AuditLogItem item, String formattedItem) throws IOException {
+        writeLogItem(formattedItem);
+    }
+
     List<ModelNode> listLastEntries() {
         return Collections.emptyList();
     }
 
+    List<String> queryEntries(AuditLogQuery query) throws IOException {
+        return Collections.emptyList();
+    }
+
     interface FailureCountHandler {
         void success();
         void failure(Throwable t);
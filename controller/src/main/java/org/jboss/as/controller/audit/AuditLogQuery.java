@@ -0,0 +1,145 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.audit;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The criteria used to query the records of an {@link IndexedFileAuditLogHandler}. Criteria which are {@code null}
+ * match every record.
+ */
+public final class AuditLogQuery {
+
+    private final long from;
+    private final long to;
+    private final String userId;
+    private final String address;
+    private final String operationName;
+    private final int maxResults;
+
+    /**
+     * Creates a new query.
+     *
+     * @param from          the earliest time of the records to return, in milliseconds since the epoch
+     * @param to            the latest time of the records to return, in milliseconds since the epoch
+     * @param userId        the user which executed the operations, or {@code null}
+     * @param address       the address the operations were executed against or one of its parents, in the form
+     *                      {@code /subsystem=logging}, or {@code null}
+     * @param operationName the name of the operation, or {@code null}
+     * @param maxResults    the maximum number of records to return
+     */
+    public AuditLogQuery(final long from, final long to, final String userId, final String address, final String operationName, final int maxResults) {
+        this.from = from;
+        this.to = to;
+        this.userId = userId;
+        this.address = normalizeAddress(address);
+        this.operationName = operationName;
+        this.maxResults = maxResults;
+    }
+
+    int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * Checks whether a segment may contain records matching this query.
+     *
+     * @param minTime        the time of the oldest record in the segment
+     * @param maxTime        the time of the newest record in the segment
+     * @param userIds        the users of the records in the segment
+     * @param operationNames the names of the operations in the segment
+     * @param addresses      the addresses of the operations in the segment
+     *
+     * @return {@code false} if none of the records in the segment match
+     */
+    boolean matchesSegment(final long minTime, final long maxTime, final Collection<String> userIds,
+                           final Collection<String> operationNames, final Collection<String> addresses) {
+        if (maxTime < from || minTime > to) {
+            return false;
+        }
+        if (userId != null && !userIds.contains(userId)) {
+            return false;
+        }
+        if (operationName != null && !operationNames.contains(operationName)) {
+            return false;
+        }
+        if (address != null) {
+            for (String a : addresses) {
+                if (matchesAddress(a)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a record matches this query.
+     *
+     * @param time           the time of the record
+     * @param userId         the user of the record, may be {@code null}
+     * @param operationNames the names of the operations of the record
+     * @param addresses      the addresses of the operations of the record, in the same order as the names
+     *
+     * @return {@code true} if the record matches, otherwise {@code false}
+     */
+    boolean matchesRecord(final long time, final String userId, final List<String> operationNames, final List<String> addresses) {
+        if (time < from || time > to) {
+            return false;
+        }
+        if (this.userId != null && !this.userId.equals(userId)) {
+            return false;
+        }
+        if (operationName == null && address == null) {
+            return true;
+        }
+        // The name and the address must match the same operation
+        for (int i = 0; i < operationNames.size(); i++) {
+            if ((operationName == null || operationName.equals(operationNames.get(i))) && (address == null || matchesAddress(addresses.get(i)))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean matchesAddress(final String candidate) {
+        return candidate.equals(address) || (candidate.startsWith(address) && candidate.charAt(address.length()) == '/');
+    }
+
+    private static String normalizeAddress(final String address) {
+        if (address == null) {
+            return null;
+        }
+        String result = address.trim();
+        while (result.endsWith("/")) {
+            result = result.substring(0, result.length() - 1);
+        }
+        if (result.isEmpty()) {
+            // The root address matches everything
+            return null;
+        }
+        return result.charAt(0) == '/' ? result : '/' + result;
+    }
+}
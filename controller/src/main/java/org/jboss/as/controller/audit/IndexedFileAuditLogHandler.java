@@ -0,0 +1,493 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.audit;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.COMPOSITE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.audit.AuditLogItem.JmxAccessAuditLogItem;
+import org.jboss.as.controller.audit.AuditLogItem.ModelControllerAuditLogItem;
+import org.jboss.as.controller.logging.ControllerLogger;
+import org.jboss.as.controller.services.path.PathManagerService;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * A size rotating file handler which writes the records in a binary format, with an index so that the records can be
+ * queried without reading all of them.
+ * <p>
+ * A file starts with a header followed by segments of length-prefixed records. Each segment is followed by an index of
+ * the time range, the users, the operation names and the addresses of its records, which ends with its length so the
+ * segments can be read from the end of the file. The index of the last segment is kept in memory until the segment is
+ * full, the file is rotated or the handler is stopped.
+ * </p>
+ *
+ *  All methods on this class should be called with {@link ManagedAuditLoggerImpl}'s lock taken.
+ */
+public class IndexedFileAuditLogHandler extends SizeRotatingFileAuditLogHandler {
+
+    /** The first bytes of the file and the last bytes of each index */
+    static final int MAGIC = 0x57464155;
+    static final byte VERSION = 1;
+    static final int HEADER_LENGTH = 5;
+    static final int SEGMENT_RECORDS = 256;
+
+    private static final byte RECORD = 1;
+    private static final byte INDEX = 2;
+    private static final int FRAME_HEADER_LENGTH = 5;
+    private static final int INDEX_TRAILER_LENGTH = 8;
+
+    private File file;
+    private long position;
+    /** The segment the records are currently written to, {@code null} if the file needs to be read first */
+    private Segment segment;
+
+    public IndexedFileAuditLogHandler(final String name, final String formatterName, final int maxFailureCount, final PathManagerService pathManager, final String path, final String relativeTo, final long rotateSize, final int maxBackupIndex) {
+        super(name, formatterName, maxFailureCount, pathManager, path, relativeTo, rotateSize, maxBackupIndex);
+    }
+
+    @Override
+    protected void initializeAtStartup(final File file) {
+        this.file = file;
+        this.segment = null;
+    }
+
+    @Override
+    protected void rotateLogFile(final File file) {
+        if (segment == null) {
+            try {
+                open(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        super.rotateLogFile(file);
+    }
+
+    @Override
+    void rotate(final File file) {
+        if (segment != null && segment.size() > 0) {
+            try {
+                append(file, segment.toIndexFrame());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        super.rotate(file);
+        segment = new Segment(HEADER_LENGTH);
+        position = 0;
+    }
+
+    @Override
+    void stop() {
+        if (file != null && segment != null && segment.size() > 0) {
+            try {
+                append(file, segment.toIndexFrame());
+            } catch (IOException e) {
+                ControllerLogger.MGMT_OP_LOGGER.logHandlerWriteFailed(e, name);
+            }
+        }
+        segment = null;
+        super.stop();
+    }
+
+    @Override
+    void writeLogItem(final AuditLogItem item, final String formattedItem) throws IOException {
+        final Record record = Record.create(item, formattedItem);
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream output = new DataOutputStream(bytes);
+        if (position == 0) {
+            output.writeInt(MAGIC);
+            output.writeByte(VERSION);
+        }
+        writeFrame(output, RECORD, record.toBytes());
+        segment.add(record);
+        final boolean full = segment.size() >= SEGMENT_RECORDS;
+        if (full) {
+            output.write(segment.toIndexFrame());
+        }
+        output.flush();
+        try {
+            append(file, bytes.toByteArray());
+        } catch (IOException e) {
+            // We can't tell how much of the record was written, so read the file again before the next write
+            segment = null;
+            throw e;
+        }
+        position += bytes.size();
+        setCurrentSize(position);
+        if (full) {
+            segment = new Segment(position);
+        }
+    }
+
+    @Override
+    List<String> queryEntries(final AuditLogQuery query) throws IOException {
+        initialize();
+        final List<String> results = new ArrayList<>();
+        // The last segment of the current file is only indexed in memory
+        segment.query(query, results);
+        querySegments(file, segment.start, query, results);
+        for (int i = 1; results.size() < query.getMaxResults(); i++) {
+            final File backup = new File(file.getAbsolutePath() + "." + i);
+            if (!backup.exists()) {
+                break;
+            }
+            querySegments(backup, -1, query, results);
+        }
+        return results;
+    }
+
+    /**
+     * Reads the records of the last segment of a file, discarding a record which was not completely written.
+     * If the file was not written by this handler it is rotated, so it is kept as a backup.
+     */
+    private void open(final File file) throws IOException {
+        segment = new Segment(HEADER_LENGTH);
+        if (file.length() > 0) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                if (hasHeader(raf)) {
+                    final long end = scan(raf);
+                    if (end < raf.length()) {
+                        ControllerLogger.MGMT_OP_LOGGER.discardingIncompleteAuditLogRecord(end, file.getAbsolutePath());
+                        raf.setLength(end);
+                    }
+                } else {
+                    segment = null;
+                }
+            }
+            if (segment == null) {
+                segment = new Segment(HEADER_LENGTH);
+                rotate(file);
+            }
+        }
+        position = file.length();
+        setCurrentSize(position);
+    }
+
+    /**
+     * Reads the file from the start, collecting the records after the last index in the current segment.
+     *
+     * @return the position after the last complete frame
+     */
+    private long scan(final RandomAccessFile raf) throws IOException {
+        final long length = raf.length();
+        long pos = HEADER_LENGTH;
+        while (length - pos >= FRAME_HEADER_LENGTH) {
+            raf.seek(pos);
+            final byte type = raf.readByte();
+            final int frameLength = raf.readInt();
+            final long end = pos + FRAME_HEADER_LENGTH + frameLength + (type == INDEX ? INDEX_TRAILER_LENGTH : 0);
+            if ((type != RECORD && type != INDEX) || frameLength < 0 || end > length) {
+                break;
+            }
+            if (type == RECORD) {
+                final byte[] payload = new byte[frameLength];
+                raf.readFully(payload);
+                try {
+                    segment.add(Record.read(payload));
+                } catch (IOException e) {
+                    break;
+                }
+            } else {
+                segment = new Segment(end);
+            }
+            pos = end;
+        }
+        return pos;
+    }
+
+    /**
+     * Adds the matching records of the indexed segments of a file to the results, the newest first.
+     *
+     * @param file    the file
+     * @param end     the position of the end of the last index, or {@code -1} for the end of the file
+     * @param query   the query
+     * @param results the results
+     */
+    private void querySegments(final File file, final long end, final AuditLogQuery query, final List<String> results) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            if (!hasHeader(raf)) {
+                // A backup of the file written before the handler was changed to the indexed format
+                return;
+            }
+            long pos = end < 0 ? raf.length() : end;
+            while (pos > HEADER_LENGTH && results.size() < query.getMaxResults()) {
+                raf.seek(pos - INDEX_TRAILER_LENGTH);
+                final int length = raf.readInt();
+                final long indexStart = pos - INDEX_TRAILER_LENGTH - length - FRAME_HEADER_LENGTH;
+                if (raf.readInt() != MAGIC || length < 0 || indexStart < HEADER_LENGTH) {
+                    // The file was rotated after a failed write, the records after the last index are not searched
+                    return;
+                }
+                raf.seek(indexStart + FRAME_HEADER_LENGTH);
+                final byte[] index = new byte[length];
+                raf.readFully(index);
+                final Segment segment = Segment.read(index);
+                if (segment.start < HEADER_LENGTH || segment.start > indexStart) {
+                    return;
+                }
+                if (segment.matches(query)) {
+                    raf.seek(segment.start);
+                    final byte[] records = new byte[(int) (indexStart - segment.start)];
+                    raf.readFully(records);
+                    final DataInputStream input = new DataInputStream(new ByteArrayInputStream(records));
+                    while (input.available() > 0) {
+                        input.readByte();
+                        final byte[] payload = new byte[input.readInt()];
+                        input.readFully(payload);
+                        segment.records.add(Record.read(payload));
+                    }
+                    segment.query(query, results);
+                }
+                pos = segment.start;
+            }
+        }
+    }
+
+    private static boolean hasHeader(final RandomAccessFile raf) throws IOException {
+        if (raf.length() < HEADER_LENGTH) {
+            return false;
+        }
+        raf.seek(0);
+        return raf.readInt() == MAGIC && raf.readByte() == VERSION;
+    }
+
+    private static void append(final File file, final byte[] bytes) throws IOException {
+        try (FileOutputStream fos = new FileOutputStream(file, true)) {
+            fos.write(bytes);
+            //Force the file to sync
+            fos.getFD().sync();
+        }
+    }
+
+    private static void writeFrame(final DataOutputStream output, final byte type, final byte[] payload) throws IOException {
+        output.writeByte(type);
+        output.writeInt(payload.length);
+        output.write(payload);
+    }
+
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(final DataInputStream input) throws IOException {
+        final byte[] bytes = new byte[input.readInt()];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(final DataOutputStream output, final Collection<String> values) throws IOException {
+        output.writeInt(values.size());
+        for (String value : values) {
+            writeString(output, value);
+        }
+    }
+
+    private static void readStrings(final DataInputStream input, final Collection<String> values) throws IOException {
+        final int size = input.readInt();
+        for (int i = 0; i < size; i++) {
+            values.add(readString(input));
+        }
+    }
+
+    private static final class Record {
+        private final long time;
+        private final String userId;
+        private final List<String> operationNames;
+        private final List<String> addresses;
+        private final String formattedItem;
+
+        private Record(final long time, final String userId, final List<String> operationNames, final List<String> addresses, final String formattedItem) {
+            this.time = time;
+            this.userId = userId;
+            this.operationNames = operationNames;
+            this.addresses = addresses;
+            this.formattedItem = formattedItem;
+        }
+
+        static Record create(final AuditLogItem item, final String formattedItem) {
+            final List<String> operationNames = new ArrayList<>();
+            final List<String> addresses = new ArrayList<>();
+            if (item instanceof ModelControllerAuditLogItem) {
+                for (ModelNode operation : ((ModelControllerAuditLogItem) item).getOperations()) {
+                    addOperation(operation, operationNames, addresses);
+                }
+            } else if (item instanceof JmxAccessAuditLogItem) {
+                operationNames.add(((JmxAccessAuditLogItem) item).getMethodName());
+                addresses.add(PathAddress.EMPTY_ADDRESS.toCLIStyleString());
+            }
+            return new Record(item.getDate().getTime(), item.getUserId(), operationNames, addresses, formattedItem);
+        }
+
+        private static void addOperation(final ModelNode operation, final List<String> operationNames, final List<String> addresses) {
+            final String name = operation.hasDefined(OP) ? operation.get(OP).asString() : "";
+            String address;
+            try {
+                address = PathAddress.pathAddress(operation.get(OP_ADDR)).toCLIStyleString();
+            } catch (IllegalArgumentException e) {
+                address = operation.get(OP_ADDR).asString();
+            }
+            operationNames.add(name);
+            addresses.add(address);
+            if (COMPOSITE.equals(name) && operation.hasDefined(STEPS)) {
+                for (ModelNode step : operation.get(STEPS).asList()) {
+                    addOperation(step, operationNames, addresses);
+                }
+            }
+        }
+
+        static Record read(final byte[] payload) throws IOException {
+            final DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload));
+            final long time = input.readLong();
+            final String userId = input.readBoolean() ? readString(input) : null;
+            final int size = input.readInt();
+            final List<String> operationNames = new ArrayList<>(size);
+            final List<String> addresses = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                operationNames.add(readString(input));
+                addresses.add(readString(input));
+            }
+            return new Record(time, userId, operationNames, addresses, readString(input));
+        }
+
+        byte[] toBytes() throws IOException {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream output = new DataOutputStream(bytes);
+            output.writeLong(time);
+            output.writeBoolean(userId != null);
+            if (userId != null) {
+                writeString(output, userId);
+            }
+            output.writeInt(operationNames.size());
+            for (int i = 0; i < operationNames.size(); i++) {
+                writeString(output, operationNames.get(i));
+                writeString(output, addresses.get(i));
+            }
+            writeString(output, formattedItem);
+            output.flush();
+            return bytes.toByteArray();
+        }
+    }
+
+    private static final class Segment {
+        private final long start;
+        private final List<Record> records = new ArrayList<>();
+        private final Set<String> userIds = new LinkedHashSet<>();
+        private final Set<String> operationNames = new LinkedHashSet<>();
+        private final Set<String> addresses = new LinkedHashSet<>();
+        private int size;
+        private long minTime = Long.MAX_VALUE;
+        private long maxTime = Long.MIN_VALUE;
+
+        Segment(final long start) {
+            this.start = start;
+        }
+
+        static Segment read(final byte[] index) throws IOException {
+            final DataInputStream input = new DataInputStream(new ByteArrayInputStream(index));
+            final Segment segment = new Segment(input.readLong());
+            segment.size = input.readInt();
+            segment.minTime = input.readLong();
+            segment.maxTime = input.readLong();
+            readStrings(input, segment.userIds);
+            readStrings(input, segment.operationNames);
+            readStrings(input, segment.addresses);
+            return segment;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(final Record record) {
+            records.add(record);
+            size++;
+            minTime = Math.min(minTime, record.time);
+            maxTime = Math.max(maxTime, record.time);
+            if (record.userId != null) {
+                userIds.add(record.userId);
+            }
+            operationNames.addAll(record.operationNames);
+            addresses.addAll(record.addresses);
+        }
+
+        boolean matches(final AuditLogQuery query) {
+            return size > 0 && query.matchesSegment(minTime, maxTime, userIds, operationNames, addresses);
+        }
+
+        void query(final AuditLogQuery query, final List<String> results) {
+            if (!matches(query)) {
+                return;
+            }
+            for (int i = records.size() - 1; i >= 0 && results.size() < query.getMaxResults(); i--) {
+                final Record record = records.get(i);
+                if (query.matchesRecord(record.time, record.userId, record.operationNames, record.addresses)) {
+                    results.add(record.formattedItem);
+                }
+            }
+        }
+
+        byte[] toIndexFrame() throws IOException {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream output = new DataOutputStream(bytes);
+            output.writeLong(start);
+            output.writeInt(size);
+            output.writeLong(minTime);
+            output.writeLong(maxTime);
+            writeStrings(output, userIds);
+            writeStrings(output, operationNames);
+            writeStrings(output, addresses);
+            output.flush();
+            final byte[] index = bytes.toByteArray();
+
+            final ByteArrayOutputStream frame = new ByteArrayOutputStream();
+            final DataOutputStream frameOutput = new DataOutputStream(frame);
+            writeFrame(frameOutput, INDEX, index);
+            frameOutput.writeInt(index.length);
+            frameOutput.writeInt(MAGIC);
+            frameOutput.flush();
+            return frame.toByteArray();
+        }
+    }
+}
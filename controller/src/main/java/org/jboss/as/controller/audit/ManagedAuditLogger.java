@@ -25,6 +25,7 @@
 package org.jboss.as.controller.audit;
 
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import org.jboss.as.controller.PathAddress;
@@ -200,6 +201,18 @@ public interface ManagedAuditLogger extends AuditLogger {
         return Collections.emptyList();
     }
 
+    /**
+     * Queries the entries of an indexed file handler
+     *
+     * @param name the name of the handler
+     * @param query the criteria of the entries to return
+     * @return the matching entries, the newest first
+     * @throws IOException if the log files could not be read
+     */
+    default List<String> queryEntries(String name, AuditLogQuery query) throws IOException {
+        return Collections.emptyList();
+    }
+
     /**
      * Callback for the controller to call before the controller is booted
      */
@@ -518,6 +518,16 @@ public class ManagedAuditLoggerImpl implements ManagedAuditLogger, ManagedAuditL
         }
     }
 
+    @Override
+    public List<String> queryEntries(String name, AuditLogQuery query) throws IOException {
+        config.lock();
+        try {
+            return config.getConfiguredHandler(name).queryEntries(query);
+        } finally {
+            config.unlock();
+        }
+    }
+
     @Override
     public void updateInMemoryHandlerMaxHistory(String name, int maxHistory) {
         config.lock();
@@ -54,33 +54,45 @@ public class SizeRotatingFileAuditLogHandler extends AbstractFileAuditLogHandler
     @Override
     protected void rotateLogFile(final File file) {
         if (currentSize > this.rotateSize) {
-            // rotate
-            if (maxBackupIndex > 0) {
-                // first, drop the max file (if any), then move each file to the next higher slot.
-                new File(file.getAbsolutePath() + "." + maxBackupIndex).delete();
-                for (int i = maxBackupIndex - 1; i >= 1; i--) {
-                    final File from = new File(file.getAbsolutePath() + "." + i);
-                    final File to = new File(file.getAbsolutePath() + "." + (i + 1));
-                    try {
-                        rename(from, to);
-                    } catch (IOException e) {
-                        throw ControllerLogger.ROOT_LOGGER.couldNotBackUp(e, from.getAbsolutePath(), to.getAbsolutePath());
-                    }
-                }
-                final File backup = new File(file.getAbsolutePath() + ".1");
+            rotate(file);
+        }
+    }
+
+    /**
+     * Moves the file to the first backup, shifting the existing backups, and creates a new empty file.
+     *
+     * @param file the log file
+     */
+    void rotate(final File file) {
+        if (maxBackupIndex > 0) {
+            // first, drop the max file (if any), then move each file to the next higher slot.
+            new File(file.getAbsolutePath() + "." + maxBackupIndex).delete();
+            for (int i = maxBackupIndex - 1; i >= 1; i--) {
+                final File from = new File(file.getAbsolutePath() + "." + i);
+                final File to = new File(file.getAbsolutePath() + "." + (i + 1));
                 try {
-                    rename(file, backup);
+                    rename(from, to);
                 } catch (IOException e) {
-                    throw ControllerLogger.ROOT_LOGGER.couldNotBackUp(e, file.getAbsolutePath(), backup.getAbsolutePath());
+                    throw ControllerLogger.ROOT_LOGGER.couldNotBackUp(e, from.getAbsolutePath(), to.getAbsolutePath());
                 }
-            } else {
-                // just ditch out the content of audit log if maxBackupIndex == 0
-                file.delete();
             }
-
-            createNewFile(file);
-            currentSize = 0;
+            final File backup = new File(file.getAbsolutePath() + ".1");
+            try {
+                rename(file, backup);
+            } catch (IOException e) {
+                throw ControllerLogger.ROOT_LOGGER.couldNotBackUp(e, file.getAbsolutePath(), backup.getAbsolutePath());
+            }
+        } else {
+            // just ditch out the content of audit log if maxBackupIndex == 0
+            file.delete();
         }
+
+        createNewFile(file);
+        currentSize = 0;
+    }
+
+    void setCurrentSize(final long currentSize) {
+        this.currentSize = currentSize;
     }
 
     @Override
@@ -92,7 +104,7 @@ public class SizeRotatingFileAuditLogHandler extends AbstractFileAuditLogHandler
 
     @Override
     boolean isDifferent(AuditLogHandler other){
-        if (other instanceof SizeRotatingFileAuditLogHandler == false){
+        if (other.getClass() != getClass()){
             return true;
         }
         SizeRotatingFileAuditLogHandler otherHandler = (SizeRotatingFileAuditLogHandler)other;
@@ -203,6 +203,7 @@ public class ModelDescriptionConstants {
     public static final String FEATURE_ID = "feature-id";
     public static final String FEATURE_REFERENCE = "feature-reference";
     public static final String FILE = "file";
+    public static final String FILE_FORMAT = "file-format";
     public static final String FILE_HANDLER = "file-handler";
     public static final String FILE_SIZE = "file-size";
     public static final String FILESYSTEM_PATH = "filesystem-path";
@@ -538,6 +539,7 @@ public class ModelDescriptionConstants {
     public static final String SSL = "ssl";
     public static final String SSL_CONTEXT = "ssl-context";
     public static final String STANDARD_ROLE_NAMES = "standard-role-names";
+    public static final String STANDBY = "standby";
     public static final String START = "start";
     public static final String START_MODE = "start-mode";
     public static final String START_SERVERS = "start-servers";
@@ -554,6 +556,7 @@ public class ModelDescriptionConstants {
     public static final String SUCCESS = "success";
     public static final String SUFFIX = "suffix";
     public static final String SUSPEND = "suspend";
+    public static final String SUSPEND_PROGRESS = "suspend-progress";
     public static final String SUSPEND_SERVERS = "suspend-servers";
     public static final String SUSPEND_STATE = "suspend-state";
     public static final String SYSLOG_FORMAT = "syslog-format";
@@ -3629,4 +3629,8 @@ public interface ControllerLogger extends BasicLogger {
 
     @Message(id = 476, value = "Value for attribute '%s' is invalid: either '%s' must be specified on its own or '%s' needs to be specified with at least one of '%s' or '%s'")
     OperationFailedException invalidCredentialReferenceValue(String attributeName, String clearTextAttributeName, String credentialStoreAttributeName, String clearTextAttributeName1, String alias);
+
+    @LogMessage(level = WARN)
+    @Message(id = 477, value = "Discarding the incomplete audit log record at offset %d of %s")
+    void discardingIncompleteAuditLogRecord(long offset, String file);
 }
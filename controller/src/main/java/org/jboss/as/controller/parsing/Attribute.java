@@ -86,6 +86,7 @@ public enum Attribute {
     EVICTION_TIME("eviction-time"),
     FACILITY("facility"),
     FILE("file"),
+    FILE_FORMAT("file-format"),
     FILTER("filter"),
     FIXED_PORT("fixed-port"),
     FIXED_SOURCE_PORT("fixed-source-port"),
@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.controller.audit;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.as.controller.OperationContext.ResultAction;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.services.path.PathManagerService;
+import org.jboss.as.core.security.AccessMechanism;
+import org.jboss.dmr.ModelNode;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IndexedFileAuditLogHandlerUnitTestCase {
+
+    private File confDir = createTempDir();
+    private File logFile = new File(confDir, "audit-log.log");
+    private PathManagerService pathManager = new PathManagerServiceStub();
+
+    @After
+    public void cleanup() {
+        for (String fileName : confDir.list()) {
+            File file = new File(confDir, fileName);
+            file.delete();
+        }
+        confDir.delete();
+    }
+
+    @Test
+    public void testQuery() throws IOException {
+        final IndexedFileAuditLogHandler handler = createHandler(Long.MAX_VALUE);
+        // Spans more than one segment
+        for (int i = 0; i < IndexedFileAuditLogHandler.SEGMENT_RECORDS * 2 + 10; i++) {
+            log(handler, "user" + (i % 2), i % 3 == 0 ? "add" : "write-attribute", "/subsystem=logging/logger=" + (i % 5), "item" + i);
+        }
+        final int count = IndexedFileAuditLogHandler.SEGMENT_RECORDS * 2 + 10;
+
+        List<String> results = handler.queryEntries(query(null, null, null, Integer.MAX_VALUE));
+        Assert.assertEquals(count, results.size());
+        Assert.assertEquals("The newest records should be returned first", "item" + (count - 1), results.get(0));
+        Assert.assertEquals("item0", results.get(count - 1));
+
+        results = handler.queryEntries(query("user1", null, null, Integer.MAX_VALUE));
+        Assert.assertEquals(count / 2, results.size());
+
+        results = handler.queryEntries(query(null, "/subsystem=logging/logger=3", "add", Integer.MAX_VALUE));
+        for (String result : results) {
+            final int i = Integer.parseInt(result.substring(4));
+            Assert.assertTrue(result, i % 3 == 0 && i % 5 == 3);
+        }
+        Assert.assertEquals(count / 15 + (count % 15 > 3 ? 1 : 0), results.size());
+
+        // The address is a prefix of whole elements
+        Assert.assertEquals(count, handler.queryEntries(query(null, "/subsystem=logging", null, Integer.MAX_VALUE)).size());
+        Assert.assertEquals(count, handler.queryEntries(query(null, "/", null, Integer.MAX_VALUE)).size());
+        Assert.assertEquals(0, handler.queryEntries(query(null, "/subsystem=log", null, Integer.MAX_VALUE)).size());
+        Assert.assertEquals(0, handler.queryEntries(query("unknown", null, null, Integer.MAX_VALUE)).size());
+
+        Assert.assertEquals(5, handler.queryEntries(query(null, null, null, 5)).size());
+
+        final long now = System.currentTimeMillis();
+        Assert.assertEquals(0, handler.queryEntries(new AuditLogQuery(now + 60000, Long.MAX_VALUE, null, null, null, Integer.MAX_VALUE)).size());
+        Assert.assertEquals(count, handler.queryEntries(new AuditLogQuery(now - 60000, now + 60000, null, null, null, Integer.MAX_VALUE)).size());
+    }
+
+    @Test
+    public void testCompositeOperation() throws IOException {
+        final IndexedFileAuditLogHandler handler = createHandler(Long.MAX_VALUE);
+        handler.initialize();
+        final ModelNode composite = Util.createEmptyOperation("composite", PathAddress.EMPTY_ADDRESS);
+        composite.get("steps").add(Util.createAddOperation(PathAddress.parseCLIStyleAddress("/subsystem=logging/logger=test")));
+        handler.writeLogItem(AuditLogItem.createModelControllerItem("1.0", false, false, ResultAction.KEEP, "user", null,
+                AccessMechanism.NATIVE, null, null, Collections.singletonList(composite)), "composite");
+
+        Assert.assertEquals(1, handler.queryEntries(query(null, "/subsystem=logging", "add", 10)).size());
+        Assert.assertEquals(1, handler.queryEntries(query(null, null, "composite", 10)).size());
+    }
+
+    @Test
+    public void testRecoverIncompleteRecord() throws IOException {
+        IndexedFileAuditLogHandler handler = createHandler(Long.MAX_VALUE);
+        for (int i = 0; i < 10; i++) {
+            log(handler, "user", "add", "/subsystem=logging", "item" + i);
+        }
+        final long length = logFile.length();
+        try (FileOutputStream out = new FileOutputStream(logFile, true)) {
+            out.write(new byte[] {1, 0, 0, 1, 0, 3});
+        }
+
+        // A new handler reads the records which were not indexed yet and discards the incomplete one
+        handler = createHandler(Long.MAX_VALUE);
+        log(handler, "user", "add", "/subsystem=logging", "item10");
+        Assert.assertEquals(11, handler.queryEntries(query(null, null, null, Integer.MAX_VALUE)).size());
+
+        // Stopping the handler writes the index of the records
+        handler.stop();
+        Assert.assertTrue(logFile.length() > length);
+        handler = createHandler(Long.MAX_VALUE);
+        Assert.assertEquals(11, handler.queryEntries(query(null, null, null, Integer.MAX_VALUE)).size());
+    }
+
+    @Test
+    public void testRotation() throws IOException {
+        final IndexedFileAuditLogHandler handler = createHandler(1024);
+        for (int i = 0; i < 100; i++) {
+            log(handler, "user", "add", "/subsystem=logging", "item" + i);
+        }
+        Assert.assertTrue(new File(logFile.getPath() + ".1").exists());
+        Assert.assertTrue(new File(logFile.getPath() + ".2").exists());
+        Assert.assertFalse(new File(logFile.getPath() + ".3").exists());
+        final List<String> results = handler.queryEntries(query(null, null, null, Integer.MAX_VALUE));
+        Assert.assertTrue(results.size() < 100);
+        Assert.assertEquals("item99", results.get(0));
+    }
+
+    @Test
+    public void testTextFileKeptAsBackup() throws IOException {
+        Files.write(logFile.toPath(), "{\"text\" : true}\n".getBytes(StandardCharsets.UTF_8));
+        final IndexedFileAuditLogHandler handler = createHandler(Long.MAX_VALUE);
+        log(handler, "user", "add", "/subsystem=logging", "item");
+        Assert.assertEquals("{\"text\" : true}\n", new String(Files.readAllBytes(new File(logFile.getPath() + ".1").toPath()), StandardCharsets.UTF_8));
+        Assert.assertEquals(Collections.singletonList("item"), handler.queryEntries(query(null, null, null, Integer.MAX_VALUE)));
+    }
+
+    private IndexedFileAuditLogHandler createHandler(final long rotateSize) {
+        return new IndexedFileAuditLogHandler("name", "formatter", 0, pathManager, logFile.getPath(), null, rotateSize, 2);
+    }
+
+    private static AuditLogQuery query(final String user, final String address, final String operationName, final int maxResults) {
+        return new AuditLogQuery(Long.MIN_VALUE, Long.MAX_VALUE, user, address, operationName, maxResults);
+    }
+
+    private static void log(final IndexedFileAuditLogHandler handler, final String user, final String operationName, final String address,
+                            final String formattedItem) throws IOException {
+        handler.initialize();
+        final AuditLogItem item = AuditLogItem.createModelControllerItem("1.0", false, false, ResultAction.KEEP, user, null,
+                AccessMechanism.NATIVE, null, null,
+                Collections.singletonList(Util.createEmptyOperation(operationName, PathAddress.parseCLIStyleAddress(address))));
+        handler.writeLogItem(item, formattedItem);
+    }
+
+    private static File createTempDir() {
+        try {
+            File tempFile = File.createTempFile("test-config", "");
+            if (!tempFile.delete() || !tempFile.mkdir()) {
+                throw new IOException("Couldn't create temp directory.");
+            }
+            return tempFile;
+        } catch (Exception e) {
+            throw new RuntimeException("Couldn't create temp directory.", e);
+        }
+    }
+
+    private static class PathManagerServiceStub extends PathManagerService {}
+}
@@ -32,12 +32,15 @@ interface CommonAttributes {
     String AUTO_DEPLOY_XML = "auto-deploy-xml";
     String DEPLOYMENT_SCANNER = "deployment-scanner";
     String DEPLOYMENT_TIMEOUT = "deployment-timeout";
+    String ISOLATE_DEPLOYMENT_FAILURES = "isolate-deployment-failures";
     String NAME = "name";
     String PATH = "path";
     String RELATIVE_TO = "relative-to";
     String SCANNER = "scanner";
     String SCAN_ENABLED = "scan-enabled";
     String SCAN_INTERVAL = "scan-interval";
+    String RECONCILIATION_INTERVAL = "reconciliation-interval";
+    String WATCH_ENABLED = "watch-enabled";
     String RUNTIME_FAILURE_CAUSES_ROLLBACK = "runtime-failure-causes-rollback";
 
 }
@@ -0,0 +1,288 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static org.jboss.as.server.deployment.scanner.FileSystemDeploymentService.ARCHIVE_PATTERN;
+import static org.jboss.as.server.deployment.scanner.FileSystemDeploymentService.DEPLOYED;
+import static org.jboss.as.server.deployment.scanner.FileSystemDeploymentService.DEPLOYING;
+import static org.jboss.as.server.deployment.scanner.FileSystemDeploymentService.DO_DEPLOY;
+import static org.jboss.as.server.deployment.scanner.FileSystemDeploymentService.FAILED_DEPLOY;
+import static org.jboss.as.server.deployment.scanner.FileSystemDeploymentService.META_INF;
+import static org.jboss.as.server.deployment.scanner.FileSystemDeploymentService.PENDING;
+import static org.jboss.as.server.deployment.scanner.FileSystemDeploymentService.SKIP_DEPLOY;
+import static org.jboss.as.server.deployment.scanner.FileSystemDeploymentService.UNDEPLOYED;
+import static org.jboss.as.server.deployment.scanner.FileSystemDeploymentService.UNDEPLOYING;
+import static org.jboss.as.server.deployment.scanner.FileSystemDeploymentService.WEB_INF;
+import static org.jboss.as.server.deployment.scanner.logging.DeploymentScannerLogger.ROOT_LOGGER;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tracks changes to a deployment directory using a {@link WatchService}, so that a scan only needs to examine
+ * the content reported as changed.
+ * <p>
+ * The directories {@link FileSystemDeploymentService#scanDirectory} descends into are watched, as are the
+ * directories of exploded deployments if exploded content is auto-deployed. Events are accumulated until
+ * {@link #poll()} observes a quiet period with no new events, so the many events generated by copying a single
+ * archive result in a single scan.
+ */
+class DeploymentDirectoryWatcher implements Closeable {
+
+    private static final String[] MARKER_SUFFIXES = {
+            DO_DEPLOY, SKIP_DEPLOY, DEPLOYED, FAILED_DEPLOY, UNDEPLOYED, PENDING, DEPLOYING, UNDEPLOYING
+    };
+
+    private final Path deploymentDir;
+    private final boolean watchExplodedContent;
+    private final WatchService watchService;
+    /** Maps each registered key to the name of the exploded deployment it belongs to, or {@code ""} for a scanned directory */
+    private final Map<WatchKey, String> keys = new HashMap<>();
+    /** Names of the changed entries since the last call to {@link #takeChanges()}; guarded by {@code this} */
+    private Set<String> changes = new HashSet<>();
+    /** Whether events were lost and the full directory needs to be scanned; guarded by {@code this} */
+    private boolean overflow;
+
+    DeploymentDirectoryWatcher(final Path deploymentDir, final boolean watchExplodedContent) throws IOException {
+        this.deploymentDir = deploymentDir;
+        this.watchExplodedContent = watchExplodedContent;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        try {
+            registerScannedDirectory(deploymentDir);
+        } catch (IOException | RuntimeException e) {
+            safeClose();
+            throw e;
+        }
+    }
+
+    /**
+     * Drains the pending events.
+     *
+     * @return {@code true} if any relevant event was received since the last poll, in which case the caller should
+     *         wait for a further quiet period before scanning; {@code false} otherwise
+     */
+    boolean poll() {
+        boolean active = false;
+        try {
+            WatchKey key;
+            while ((key = watchService.poll()) != null) {
+                active |= processEvents(key);
+            }
+        } catch (ClosedWatchServiceException e) {
+            // The scanner is being stopped
+        }
+        return active;
+    }
+
+    /**
+     * Gets whether changes were recorded that have not yet been handed to a scan.
+     */
+    synchronized boolean hasChanges() {
+        return overflow || !changes.isEmpty();
+    }
+
+    /**
+     * Hands the recorded changes to a scan, resetting the tracked state.
+     *
+     * @return the names of the changed deployment directory entries, or {@code null} if events were lost and the
+     *         whole directory must be scanned
+     */
+    synchronized Set<String> takeChanges() {
+        final Set<String> result = overflow ? null : changes;
+        changes = new HashSet<>();
+        overflow = false;
+        return result;
+    }
+
+    /**
+     * Records changes again after a scan could not process them, e.g. because content was incompletely copied.
+     *
+     * @param names the names to requeue, or {@code null} to request a scan of the whole directory
+     */
+    synchronized void requeue(final Collection<String> names) {
+        if (names == null) {
+            overflow = true;
+        } else {
+            changes.addAll(names);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private boolean processEvents(final WatchKey key) {
+        final Path dir = (Path) key.watchable();
+        final String owner;
+        synchronized (this) {
+            owner = keys.get(key);
+        }
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            final WatchEvent.Kind<?> kind = event.kind();
+            if (kind == OVERFLOW) {
+                synchronized (this) {
+                    overflow = true;
+                }
+                relevant = true;
+                continue;
+            }
+            final Path child = dir.resolve((Path) event.context());
+            final String fileName = child.getFileName().toString();
+            if (owner == null || owner.isEmpty()) {
+                if (isScannerOwnedMarker(fileName, kind)) {
+                    continue;
+                }
+                recordChange(fileName);
+                // A marker change, e.g. the removal of a .skipdeploy marker, may require the deployment to be
+                // examined even though the deployment itself was not reported as changed
+                final String deploymentName = getMarkedDeploymentName(fileName);
+                if (deploymentName != null) {
+                    recordChange(deploymentName);
+                }
+            } else {
+                recordChange(owner);
+            }
+            relevant = true;
+            if (kind == ENTRY_CREATE && Files.isDirectory(child)) {
+                try {
+                    if (owner == null || owner.isEmpty()) {
+                        registerChildDirectory(child);
+                    } else {
+                        registerExplodedContent(child, owner);
+                    }
+                } catch (IOException e) {
+                    ROOT_LOGGER.debugf(e, "Failed to watch directory %s", child);
+                    synchronized (this) {
+                        overflow = true;
+                    }
+                }
+            }
+        }
+        if (!key.reset()) {
+            // The directory is no longer accessible
+            synchronized (this) {
+                keys.remove(key);
+            }
+        }
+        return relevant;
+    }
+
+    private synchronized void recordChange(final String name) {
+        changes.add(name);
+    }
+
+    /**
+     * Markers the scanner writes itself are not of interest, other than the removal of a {@code .deployed}
+     * marker which requests an undeploy.
+     */
+    private static boolean isScannerOwnedMarker(final String fileName, final WatchEvent.Kind<?> kind) {
+        if (fileName.endsWith(DEPLOYING) || fileName.endsWith(UNDEPLOYING) || fileName.endsWith(PENDING)) {
+            return true;
+        }
+        return kind != ENTRY_DELETE
+                && (fileName.endsWith(DEPLOYED) || fileName.endsWith(FAILED_DEPLOY) || fileName.endsWith(UNDEPLOYED));
+    }
+
+    /**
+     * Gets the name of the deployment a marker file belongs to.
+     *
+     * @param fileName the name of the file
+     *
+     * @return the name of the deployment or {@code null} if the file is not a marker
+     */
+    static String getMarkedDeploymentName(final String fileName) {
+        for (String suffix : MARKER_SUFFIXES) {
+            if (fileName.endsWith(suffix) && fileName.length() > suffix.length()) {
+                return fileName.substring(0, fileName.length() - suffix.length());
+            }
+        }
+        return null;
+    }
+
+    private void registerScannedDirectory(final Path dir) throws IOException {
+        register(dir, "");
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path child : stream) {
+                if (Files.isDirectory(child)) {
+                    registerChildDirectory(child);
+                }
+            }
+        }
+    }
+
+    private void registerChildDirectory(final Path child) throws IOException {
+        final String fileName = child.getFileName().toString();
+        if (ARCHIVE_PATTERN.matcher(fileName).matches()) {
+            if (watchExplodedContent) {
+                registerExplodedContent(child, fileName);
+            }
+        } else if (!WEB_INF.equalsIgnoreCase(fileName) && !META_INF.equalsIgnoreCase(fileName)) {
+            registerScannedDirectory(child);
+        }
+    }
+
+    private void registerExplodedContent(final Path dir, final String deploymentName) throws IOException {
+        register(dir, deploymentName);
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path child : stream) {
+                if (Files.isDirectory(child)) {
+                    registerExplodedContent(child, deploymentName);
+                }
+            }
+        }
+    }
+
+    private void register(final Path dir, final String owner) throws IOException {
+        final WatchKey key = dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+        synchronized (this) {
+            keys.put(key, owner);
+        }
+        ROOT_LOGGER.tracef("Watching %s for changes to %s", dir, deploymentDir);
+    }
+
+    private void safeClose() {
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
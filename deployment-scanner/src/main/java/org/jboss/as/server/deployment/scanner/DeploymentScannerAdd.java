@@ -30,10 +30,13 @@ import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_XML;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_ZIPPED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.DEPLOYMENT_TIMEOUT;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.ISOLATE_DEPLOYMENT_FAILURES;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.RECONCILIATION_INTERVAL;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.RELATIVE_TO;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.RUNTIME_FAILURE_CAUSES_ROLLBACK;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_ENABLED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_INTERVAL;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.WATCH_ENABLED;
 
 import java.io.File;
 import java.io.IOException;
@@ -112,6 +115,9 @@ class DeploymentScannerAdd implements OperationStepHandler {
             final long deploymentTimeout = DEPLOYMENT_TIMEOUT.resolveModelAttribute(context, operation).asLong();
             final int scanInterval = SCAN_INTERVAL.resolveModelAttribute(context, operation).asInt();
             final boolean rollback = RUNTIME_FAILURE_CAUSES_ROLLBACK.resolveModelAttribute(context, operation).asBoolean();
+            final boolean watchEnabled = WATCH_ENABLED.resolveModelAttribute(context, operation).asBoolean();
+            final int reconciliationInterval = RECONCILIATION_INTERVAL.resolveModelAttribute(context, operation).asInt();
+            final boolean isolateFailures = ISOLATE_DEPLOYMENT_FAILURES.resolveModelAttribute(context, operation).asBoolean();
 
             final ScheduledExecutorService scheduledExecutorService = createScannerExecutorService();
 
@@ -130,6 +136,9 @@ class DeploymentScannerAdd implements OperationStepHandler {
                 bootTimeScanner.setDeploymentTimeout(deploymentTimeout);
                 bootTimeScanner.setScanInterval(scanInterval);
                 bootTimeScanner.setRuntimeFailureCausesRollback(rollback);
+                bootTimeScanner.setWatchEnabled(watchEnabled);
+                bootTimeScanner.setReconciliationInterval(reconciliationInterval);
+                bootTimeScanner.setIsolateDeploymentFailures(isolateFailures);
             } else {
                 bootTimeScanner = null;
             }
@@ -252,8 +261,12 @@ class DeploymentScannerAdd implements OperationStepHandler {
         final Boolean autoDeployXml = AUTO_DEPLOY_XML.resolveModelAttribute(context, model).asBoolean();
         final Long deploymentTimeout = DEPLOYMENT_TIMEOUT.resolveModelAttribute(context, model).asLong();
         final Boolean rollback = RUNTIME_FAILURE_CAUSES_ROLLBACK.resolveModelAttribute(context, model).asBoolean();
+        final Boolean watchEnabled = WATCH_ENABLED.resolveModelAttribute(context, model).asBoolean();
+        final Integer reconciliationInterval = RECONCILIATION_INTERVAL.resolveModelAttribute(context, model).asInt();
+        final Boolean isolateFailures = ISOLATE_DEPLOYMENT_FAILURES.resolveModelAttribute(context, model).asBoolean();
         DeploymentScannerService.addService(context, address, relativeTo, path, interval, TimeUnit.MILLISECONDS,
-                autoDeployZip, autoDeployExp, autoDeployXml, enabled, deploymentTimeout, rollback, bootTimeScanner, executorService);
+                autoDeployZip, autoDeployExp, autoDeployXml, enabled, deploymentTimeout, rollback, watchEnabled, reconciliationInterval,
+                isolateFailures, bootTimeScanner, executorService);
 
     }
 
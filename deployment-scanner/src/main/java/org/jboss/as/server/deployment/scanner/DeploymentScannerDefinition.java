@@ -28,6 +28,8 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.StringLengthValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.services.path.PathInfoHandler;
@@ -92,6 +94,26 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
                     .setAllowExpression(true)
                     .setDefaultValue(ModelNode.ZERO)
                     .build();
+    protected static final SimpleAttributeDefinition WATCH_ENABLED =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.WATCH_ENABLED, ModelType.BOOLEAN, true)
+                    .setXmlName(CommonAttributes.WATCH_ENABLED)
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .build();
+    protected static final SimpleAttributeDefinition RECONCILIATION_INTERVAL =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.RECONCILIATION_INTERVAL, ModelType.INT, true)
+                    .setXmlName(CommonAttributes.RECONCILIATION_INTERVAL)
+                    .setAllowExpression(true)
+                    .setValidator(new IntRangeValidator(1, true, true))
+                    .setDefaultValue(new ModelNode((int) FileSystemDeploymentService.DEFAULT_RECONCILIATION_INTERVAL))
+                    .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+                    .build();
+    protected static final SimpleAttributeDefinition ISOLATE_DEPLOYMENT_FAILURES =
+            new SimpleAttributeDefinitionBuilder(CommonAttributes.ISOLATE_DEPLOYMENT_FAILURES, ModelType.BOOLEAN, true)
+                    .setXmlName(CommonAttributes.ISOLATE_DEPLOYMENT_FAILURES)
+                    .setAllowExpression(true)
+                    .setDefaultValue(ModelNode.FALSE)
+                    .build();
     protected static final SimpleAttributeDefinition AUTO_DEPLOY_ZIPPED =
             new SimpleAttributeDefinitionBuilder(CommonAttributes.AUTO_DEPLOY_ZIPPED, ModelType.BOOLEAN, true)
                     .setXmlName(CommonAttributes.AUTO_DEPLOY_ZIPPED)
@@ -126,7 +148,7 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
                     .setDefaultValue(ModelNode.FALSE)
                     .build();
 
-    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,RUNTIME_FAILURE_CAUSES_ROLLBACK};
+    protected static final SimpleAttributeDefinition[] ALL_ATTRIBUTES = {PATH,RELATIVE_TO,SCAN_ENABLED,SCAN_INTERVAL,AUTO_DEPLOY_EXPLODED,AUTO_DEPLOY_XML,AUTO_DEPLOY_ZIPPED,DEPLOYMENT_TIMEOUT,RUNTIME_FAILURE_CAUSES_ROLLBACK,WATCH_ENABLED,RECONCILIATION_INTERVAL,ISOLATE_DEPLOYMENT_FAILURES};
 
     @Override
     public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
@@ -141,6 +163,9 @@ public class DeploymentScannerDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerReadWriteAttribute(AUTO_DEPLOY_XML, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(DEPLOYMENT_TIMEOUT, null, commonHandler);
         resourceRegistration.registerReadWriteAttribute(RUNTIME_FAILURE_CAUSES_ROLLBACK, null, commonHandler);
+        resourceRegistration.registerReadWriteAttribute(WATCH_ENABLED, null, commonHandler);
+        resourceRegistration.registerReadWriteAttribute(RECONCILIATION_INTERVAL, null, commonHandler);
+        resourceRegistration.registerReadWriteAttribute(ISOLATE_DEPLOYMENT_FAILURES, null, commonHandler);
     }
 
     @Override
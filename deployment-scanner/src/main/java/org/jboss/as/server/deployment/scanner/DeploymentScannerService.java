@@ -75,6 +75,9 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     private final String relativeTo;
     private final String path;
     private final boolean rollbackOnRuntimeFailure;
+    private final boolean watchEnabled;
+    private final long reconciliationInterval;
+    private final boolean isolateDeploymentFailures;
     private static final NotificationFilter DEPLOYMENT_FILTER = (Notification notification) -> {
         if (DEPLOYMENT_UNDEPLOYED_NOTIFICATION.equals(notification.getType()) || DEPLOYMENT_DEPLOYED_NOTIFICATION.equals(notification.getType())) {
             ModelNode notificationData = notification.getData();
@@ -125,6 +128,9 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
      * @param scanEnabled       scan enabled
      * @param deploymentTimeout the deployment timeout
      * @param rollbackOnRuntimeFailure rollback on runtime failures
+     * @param watchEnabled      whether changes are detected using filesystem notifications
+     * @param reconciliationInterval the interval of full scans if filesystem notifications are used, in {@code unit}
+     * @param isolateDeploymentFailures whether deployments rolled back because of another deployment are applied again
      * @param bootTimeService   the deployment scanner used in the boot time scan
      * @param scheduledExecutorService executor to use for asynchronous tasks
      * @return the controller for the deployment scanner service
@@ -132,6 +138,7 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
     public static void addService(final OperationContext context, final PathAddress resourceAddress, final String relativeTo, final String path,
                                                                   final int scanInterval, TimeUnit unit, final boolean autoDeployZip,
                                                                   final boolean autoDeployExploded, final boolean autoDeployXml, final boolean scanEnabled, final long deploymentTimeout, boolean rollbackOnRuntimeFailure,
+                                                                  final boolean watchEnabled, final int reconciliationInterval, final boolean isolateDeploymentFailures,
                                                                   final FileSystemDeploymentService bootTimeService, final ScheduledExecutorService scheduledExecutorService) {
         final RuntimeCapability<Void> capName =  SCANNER_CAPABILITY.fromBaseCapability(resourceAddress.getLastElement().getValue());
         final CapabilityServiceBuilder<?> sb = context.getCapabilityServiceTarget().addCapability(capName);
@@ -144,7 +151,8 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         final DeploymentScannerService service = new DeploymentScannerService(
                 serviceConsumer, pathManager, notificationRegistry, clientFactory, processStateNotifier, scheduledExecutorService,
                 resourceAddress, relativeTo, path, scanInterval, unit, autoDeployZip,
-                autoDeployExploded, autoDeployXml, scanEnabled, deploymentTimeout, rollbackOnRuntimeFailure, bootTimeService);
+                autoDeployExploded, autoDeployXml, scanEnabled, deploymentTimeout, rollbackOnRuntimeFailure, watchEnabled,
+                unit.toMillis(reconciliationInterval), isolateDeploymentFailures, bootTimeService);
         sb.setInstance(service);
         sb.install();
     }
@@ -154,7 +162,8 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
                                      final Supplier<ProcessStateNotifier> processStateNotifier, final ScheduledExecutorService scheduledExecutor,
                                      final PathAddress resourceAddress, final String relativeTo, final String path, final int interval, final TimeUnit unit, final boolean autoDeployZipped,
                                      final boolean autoDeployExploded, final boolean autoDeployXml, final boolean enabled, final long deploymentTimeout,
-                                     final boolean rollbackOnRuntimeFailure, final FileSystemDeploymentService bootTimeService) {
+                                     final boolean rollbackOnRuntimeFailure, final boolean watchEnabled, final long reconciliationInterval,
+                                     final boolean isolateDeploymentFailures, final FileSystemDeploymentService bootTimeService) {
         this.serviceConsumer = serviceConsumer;
         this.pathManager = pathManager;
         this.notificationRegistry = notificationRegistry;
@@ -171,6 +180,9 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
         this.autoDeployXml = autoDeployXml;
         this.enabled = enabled;
         this.rollbackOnRuntimeFailure = rollbackOnRuntimeFailure;
+        this.watchEnabled = watchEnabled;
+        this.reconciliationInterval = reconciliationInterval;
+        this.isolateDeploymentFailures = isolateDeploymentFailures;
         this.deploymentTimeout = deploymentTimeout;
         this.scanner = bootTimeService;
     }
@@ -209,6 +221,9 @@ public class DeploymentScannerService implements Service<DeploymentScanner> {
                 scanner.setAutoDeployXMLContent(autoDeployXml);
                 scanner.setRuntimeFailureCausesRollback(rollbackOnRuntimeFailure);
                 scanner.setDeploymentTimeout(deploymentTimeout);
+                scanner.setWatchEnabled(watchEnabled);
+                scanner.setReconciliationInterval(reconciliationInterval);
+                scanner.setIsolateDeploymentFailures(isolateDeploymentFailures);
                 this.scanner = scanner;
             } else {
                 // The boot-time scanner should use our DeploymentOperations.Factory
@@ -40,6 +40,7 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PER
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RELATIVE_TO;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.RESULT;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLBACK_ON_RUNTIME_FAILURE;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.ROLLED_BACK;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.STEPS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUCCESS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.URL;
@@ -126,14 +127,29 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
      */
     static final long DEFAULT_DEPLOYMENT_TIMEOUT = 600;
 
+    /**
+     * Default interval in ms for the full scan performed when changes are detected using a {@code WatchService}
+     */
+    static final long DEFAULT_RECONCILIATION_INTERVAL = 300000;
+
+    /**
+     * Period in ms without filesystem events after which the changes reported by a {@code WatchService} are scanned
+     */
+    static final long WATCH_QUIET_PERIOD = 500;
+
     private File deploymentDir;
     private long scanInterval = 0;
+    private boolean watchEnabled;
+    private long reconciliationInterval = DEFAULT_RECONCILIATION_INTERVAL;
+    private long watchQuietPeriod = WATCH_QUIET_PERIOD;
     private volatile boolean scanEnabled = false;
     private volatile boolean firstScan = true;
     private volatile boolean deployedContentEstablished = false;
     private ScheduledFuture<?> scanTask;
     private ScheduledFuture<?> rescanIncompleteTask;
     private ScheduledFuture<?> rescanUndeployTask;
+    private ScheduledFuture<?> watchTask;
+    private DeploymentDirectoryWatcher watcher;
     private final Lock scanLock = new ReentrantLock();
 
     private final Map<String, DeploymentMarker> deployed = new HashMap<String, DeploymentMarker>();
@@ -155,6 +171,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     private volatile boolean autoDeployXml;
     private volatile long maxNoProgress = MAX_NO_PROGRESS;
     private volatile boolean rollbackOnRuntimeFailure;
+    private volatile boolean isolateDeploymentFailures;
     private volatile long deploymentTimeout = DEFAULT_DEPLOYMENT_TIMEOUT;
 
     private final ModelNode resourceAddress;
@@ -269,6 +286,29 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private final DeploymentScanRunnable scanRunnable = new DeploymentScanRunnable();
 
+    private class WatchScanRunnable implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                final DeploymentDirectoryWatcher watcher;
+                synchronized (FileSystemDeploymentService.this) {
+                    watcher = FileSystemDeploymentService.this.watcher;
+                }
+                // Wait for the events to settle so a single copy results in a single scan
+                if (watcher != null && !watcher.poll() && watcher.hasChanges()) {
+                    scanChanges(watcher);
+                }
+            } catch (RejectedExecutionException e) {
+                //Do nothing as this happens if a scan occurs during a reload of shutdown of a server.
+            } catch (Exception e) {
+                ROOT_LOGGER.scanException(e, deploymentDir.getAbsolutePath());
+            }
+        }
+    }
+
+    private final WatchScanRunnable watchScanRunnable = new WatchScanRunnable();
+
     FileSystemDeploymentService(final PathAddress resourceAddress, final String relativeTo, final File deploymentDir, final File relativeToDir,
                                 final DeploymentOperations.Factory deploymentOperationsFactory,
                                 final ScheduledExecutorService scheduledExecutor) {
@@ -355,6 +395,44 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         this.deploymentTimeout = deploymentTimeout;
     }
 
+    @Override
+    public synchronized boolean isWatchEnabled() {
+        return watchEnabled;
+    }
+
+    @Override
+    public synchronized void setWatchEnabled(boolean watchEnabled) {
+        if (watchEnabled != this.watchEnabled) {
+            cancelScan();
+            this.watchEnabled = watchEnabled;
+            startScan();
+        }
+    }
+
+    @Override
+    public synchronized long getReconciliationInterval() {
+        return reconciliationInterval;
+    }
+
+    @Override
+    public synchronized void setReconciliationInterval(long reconciliationInterval) {
+        if (reconciliationInterval != this.reconciliationInterval) {
+            cancelScan();
+            this.reconciliationInterval = reconciliationInterval;
+            startScan();
+        }
+    }
+
+    @Override
+    public boolean isIsolateDeploymentFailures() {
+        return isolateDeploymentFailures;
+    }
+
+    @Override
+    public void setIsolateDeploymentFailures(boolean isolateDeploymentFailures) {
+        this.isolateDeploymentFailures = isolateDeploymentFailures;
+    }
+
     @Override
     public synchronized void startScanner() {
         assert deploymentOperationsFactory != null : "deploymentOperationsFactory is null";
@@ -444,6 +522,13 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         this.maxNoProgress = max;
     }
 
+    /**
+     * Hook solely for unit test to control how long the filesystem must be quiet before watched changes are scanned
+     */
+    synchronized void setWatchQuietPeriod(long quietPeriod) {
+        this.watchQuietPeriod = quietPeriod;
+    }
+
     private void establishDeployedContentList(File dir, final DeploymentOperations deploymentOperations) {
         final Set<String> deploymentNames = deploymentOperations.getDeploymentsStatus().keySet();
         final List<File> children = listDirectoryChildren(dir);
@@ -521,6 +606,23 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    /**
+     * Perform a scan restricted to the content a {@link DeploymentDirectoryWatcher} reported as changed
+     */
+    void scanChanges(final DeploymentDirectoryWatcher watcher) {
+        if (acquireScanLock()) {
+            try {
+                final Set<String> changes = watcher.takeChanges();
+                if (scan(false, deploymentOperations, changes)) {
+                    // Incomplete content; retry once the filesystem is quiet again
+                    watcher.requeue(changes);
+                }
+            } finally {
+                releaseScanLock();
+            }
+        }
+    }
+
     /**
      * Perform a post-boot scan to remove any deployments added during boot that failed to deploy properly.
      * This method isn't private solely to allow a unit test in the same package to call it.
@@ -577,6 +679,19 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
     }
 
     private boolean scan(boolean oneOffScan, final DeploymentOperations deploymentOperations) {
+        return scan(oneOffScan, deploymentOperations, null);
+    }
+
+    /**
+     * Scans the deployment directory.
+     *
+     * @param oneOffScan           whether this is a one-off scan rather than a periodic one
+     * @param deploymentOperations the operations used to deploy the content
+     * @param changedPaths         names of the only entries whose content needs to be checked for changes, or
+     *                             {@code null} if all content must be checked
+     * @return {@code true} if incomplete content was found and the scan should be retried
+     */
+    private boolean scan(boolean oneOffScan, final DeploymentOperations deploymentOperations, final Set<String> changedPaths) {
 
         boolean scheduleRescan = false;
 
@@ -600,7 +715,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
             ScanContext scanContext = null;
             try {
-                scanContext = new ScanContext(deploymentOperations);
+                scanContext = new ScanContext(deploymentOperations, changedPaths);
             } catch (RuntimeException ex) {
                 //scanner has stoppped in the meanwhile so we don't need to pursue
                 if (!scanEnabled) {
@@ -647,7 +762,7 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             // Deal with any incomplete or non-scannable auto-deploy content
             ScanStatus status = handleAutoDeployFailures(scanContext);
             if (status != ScanStatus.PROCEED) {
-                if (status == ScanStatus.RETRY && scanInterval > 1000) {
+                if (status == ScanStatus.RETRY && (scanInterval > 1000 || changedPaths != null)) {
                     // schedule a non-repeating task to try again more quickly
                     scheduleRescan = true;
                 }
@@ -688,9 +803,9 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 updates.add(update);
             }
 
-            boolean first = true;
-            while (!updates.isEmpty() && (first || !oneOffScan)) {
-                first = false;
+            boolean retry = true;
+            while (!updates.isEmpty() && retry) {
+                retry = !oneOffScan;
                 final ModelNode results;
                 try {
                     final Future<ModelNode> futureResults = deploymentOperations.deploy(getCompositeUpdate(updates), scheduledExecutor);
@@ -729,6 +844,8 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 final List<ScannerTask> retryTasks = new ArrayList<ScannerTask>();
                 if (results.hasDefined(RESULT)) {
                     final List<Property> resultList = results.get(RESULT).asPropertyList();
+                    final List<Integer> rolledBack = new ArrayList<Integer>();
+                    boolean failed = false;
                     for (int i = 0; i < resultList.size(); i++) {
                         final ModelNode result = resultList.get(i).getValue();
                         final ScannerTask task = scannerTasks.get(i);
@@ -739,11 +856,30 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                         } else if (outcome.isDefined() && CANCELLED.equals(outcome.asString())) {
                             toRetry.add(updates.get(i));
                             retryTasks.add(task);
+                        } else if (isolateDeploymentFailures && isRolledBackOnly(result)) {
+                            // Only rolled back because of the failure of another task
+                            rolledBack.add(i);
                         } else {
                             if (failureDesc.length() > 0) {
                                 result.get(FAILURE_DESCRIPTION).set(failureDesc.toString());
                             }
                             task.handleFailureResult(result);
+                            failed = true;
+                        }
+                    }
+                    for (int i : rolledBack) {
+                        if (failed) {
+                            // Apply them again without the tasks that failed
+                            toRetry.add(updates.get(i));
+                            retryTasks.add(scannerTasks.get(i));
+                            retry = true;
+                        } else {
+                            // None of the tasks failed on its own, so applying them again would not make any progress
+                            final ModelNode result = resultList.get(i).getValue();
+                            if (results.hasDefined(FAILURE_DESCRIPTION)) {
+                                result.get(FAILURE_DESCRIPTION).set(results.get(FAILURE_DESCRIPTION));
+                            }
+                            scannerTasks.get(i).handleFailureResult(result);
                         }
                     }
                     updates = toRetry;
@@ -788,6 +924,11 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    private static boolean isRolledBackOnly(ModelNode resultNode) {
+        return FAILED.equals(resultNode.get(OUTCOME).asString()) && resultNode.get(ROLLED_BACK).asBoolean(false)
+                && !resultNode.hasDefined(FAILURE_DESCRIPTION);
+    }
+
     private boolean handleCompositeResult(ModelNode resultNode, StringBuilder failureDesc) {
         // WFLY-1305, regardless rollback-on-runtime-failure option, check each composite step result
         ModelNode outcome = resultNode.get(OUTCOME);
@@ -936,6 +1077,9 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
             } else if (isEEArchive(fileName)) {
                 boolean autoDeployable = child.isDirectory() ? autoDeployExploded : autoDeployZip;
                 if (autoDeployable) {
+                    if (scanContext.isUnchanged(fileName)) {
+                        continue;
+                    }
                     if (!isAutoDeployDisabled(child)) {
                         long timestamp = getDeploymentTimestamp(child);
                         synchronizeScannerStatus(scanContext, directory, fileName, timestamp);
@@ -973,6 +1117,9 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
                 }
             } else if (isXmlFile(fileName)) {
                 if (autoDeployXml) {
+                    if (scanContext.isUnchanged(fileName)) {
+                        continue;
+                    }
                     if (!isAutoDeployDisabled(child)) {
                         long timestamp = getDeploymentTimestamp(child);
                         if (isFailedOrUndeployed(scanContext, directory, fileName, timestamp) || scanContext.firstScanDeployments.contains(fileName)) {
@@ -1269,7 +1416,12 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
 
     private synchronized void startScan() {
         if (scanEnabled) {
-            if (scanInterval > 0) {
+            if (scanInterval > 0 && watchEnabled && startWatcher()) {
+                // Changes are picked up from the watcher; a full scan is only needed to reconcile anything it missed
+                final long interval = Math.max(scanInterval, reconciliationInterval);
+                scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, interval, TimeUnit.MILLISECONDS);
+                watchTask = scheduledExecutor.scheduleWithFixedDelay(watchScanRunnable, watchQuietPeriod, watchQuietPeriod, TimeUnit.MILLISECONDS);
+            } else if (scanInterval > 0) {
                 scanTask = scheduledExecutor.scheduleWithFixedDelay(scanRunnable, 0, scanInterval, TimeUnit.MILLISECONDS);
             } else {
                 scanTask = scheduledExecutor.schedule(scanRunnable, scanInterval, TimeUnit.MILLISECONDS);
@@ -1277,10 +1429,35 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
         }
     }
 
+    /**
+     * Invoke with the object monitor held
+     *
+     * @return {@code true} if the deployment directory is being watched, {@code false} if the scanner must fall back
+     *         to periodic scans
+     */
+    private boolean startWatcher() {
+        try {
+            watcher = new DeploymentDirectoryWatcher(deploymentDir.toPath(), autoDeployExploded);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            ROOT_LOGGER.cannotWatchDeploymentDirectory(e, deploymentDir.getAbsolutePath());
+            watcher = null;
+            return false;
+        }
+    }
+
     /**
      * Invoke with the object monitor held
      */
     private void cancelScan() {
+        if (watchTask != null) {
+            watchTask.cancel(true);
+            watchTask = null;
+        }
+        if (watcher != null) {
+            safeClose(watcher);
+            watcher = null;
+        }
         if (rescanIncompleteTask != null) {
             rescanIncompleteTask.cancel(true);
             rescanIncompleteTask = null;
@@ -1713,10 +1890,27 @@ class FileSystemDeploymentService implements DeploymentScanner, NotificationHand
          * Timestamp when the scan started
          */
         private final long scanStartTime = System.currentTimeMillis();
+        /**
+         * Names of the entries reported as changed, or {@code null} if all content needs to be checked
+         */
+        private final Set<String> changedPaths;
 
         private ScanContext(final DeploymentOperations deploymentOperations) {
+            this(deploymentOperations, null);
+        }
+
+        private ScanContext(final DeploymentOperations deploymentOperations, final Set<String> changedPaths) {
             registeredDeployments = deploymentOperations.getDeploymentsStatus();
             persistentDeployments = deploymentOperations.getUnrelatedDeployments(resourceAddress);
+            this.changedPaths = changedPaths;
+        }
+
+        /**
+         * Whether the content of an already deployed entry is known not to have changed, in which case checking
+         * its timestamp and completeness can be skipped
+         */
+        private boolean isUnchanged(final String fileName) {
+            return changedPaths != null && !changedPaths.contains(fileName) && deployed.containsKey(fileName);
         }
     }
 
@@ -26,9 +26,12 @@ import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_XML;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.AUTO_DEPLOY_ZIPPED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.DEPLOYMENT_TIMEOUT;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.ISOLATE_DEPLOYMENT_FAILURES;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.RECONCILIATION_INTERVAL;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.RUNTIME_FAILURE_CAUSES_ROLLBACK;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_ENABLED;
 import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.SCAN_INTERVAL;
+import static org.jboss.as.server.deployment.scanner.DeploymentScannerDefinition.WATCH_ENABLED;
 
 import org.jboss.as.controller.AbstractWriteAttributeHandler;
 import org.jboss.as.controller.AttributeDefinition;
@@ -47,7 +50,8 @@ final class UpdateScannerWriteAttributeHandler extends AbstractWriteAttributeHan
 
     UpdateScannerWriteAttributeHandler() {
         super(AUTO_DEPLOY_EXPLODED, AUTO_DEPLOY_XML, AUTO_DEPLOY_ZIPPED, DEPLOYMENT_TIMEOUT,
-                RUNTIME_FAILURE_CAUSES_ROLLBACK, SCAN_ENABLED, SCAN_INTERVAL);
+                RUNTIME_FAILURE_CAUSES_ROLLBACK, SCAN_ENABLED, SCAN_INTERVAL, WATCH_ENABLED, RECONCILIATION_INTERVAL,
+                ISOLATE_DEPLOYMENT_FAILURES);
     }
 
     @Override
@@ -88,6 +92,12 @@ final class UpdateScannerWriteAttributeHandler extends AbstractWriteAttributeHan
             scanner.setRuntimeFailureCausesRollback(resolvedNewValue.asBoolean());
         } else if (ad == SCAN_INTERVAL) {
             scanner.setScanInterval(resolvedNewValue.asInt());
+        } else if (ad == WATCH_ENABLED) {
+            scanner.setWatchEnabled(resolvedNewValue.asBoolean());
+        } else if (ad == RECONCILIATION_INTERVAL) {
+            scanner.setReconciliationInterval(resolvedNewValue.asInt());
+        } else if (ad == ISOLATE_DEPLOYMENT_FAILURES) {
+            scanner.setIsolateDeploymentFailures(resolvedNewValue.asBoolean());
         } else if (ad == SCAN_ENABLED) {
             boolean enable = resolvedNewValue.asBoolean();
             if (enable) {
@@ -54,6 +54,52 @@ public interface DeploymentScanner {
      */
     void setScanInterval(long scanInterval);
 
+    /**
+     * Check whether changes to the scanned directory are detected using filesystem notifications.
+     *
+     * @return true if filesystem notifications are used, false if changes are only detected by periodic scans
+     */
+    boolean isWatchEnabled();
+
+    /**
+     * Set whether changes to the scanned directory are detected using filesystem notifications. If enabled, the
+     * full periodic scan is only performed every {@link #getReconciliationInterval() reconciliation interval} to
+     * pick up anything the notifications missed.
+     *
+     * @param watchEnabled true if filesystem notifications should be used
+     */
+    void setWatchEnabled(boolean watchEnabled);
+
+    /**
+     * Get the interval of the full scans performed if filesystem notifications are used.
+     *
+     * @return the reconciliation interval in ms
+     */
+    long getReconciliationInterval();
+
+    /**
+     * Set the interval of the full scans performed if filesystem notifications are used.
+     *
+     * @param reconciliationInterval the reconciliation interval in ms
+     */
+    void setReconciliationInterval(long reconciliationInterval);
+
+    /**
+     * Check whether a deployment that is only rolled back because another deployment of the same scan failed is
+     * applied again without the failed deployments.
+     *
+     * @return true if deployment failures are isolated, false if a failure rolls back all changes of a scan
+     */
+    boolean isIsolateDeploymentFailures();
+
+    /**
+     * Set whether a deployment that is only rolled back because another deployment of the same scan failed is
+     * applied again without the failed deployments, so that a failure is only reported for the deployment that caused it.
+     *
+     * @param isolateDeploymentFailures true if deployment failures should be isolated
+     */
+    void setIsolateDeploymentFailures(boolean isolateDeploymentFailures);
+
     /**
      * Start the scanner, if not already started, using a default {@link DeploymentOperations}.
      *
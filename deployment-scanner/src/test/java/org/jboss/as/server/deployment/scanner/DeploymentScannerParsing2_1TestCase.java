@@ -0,0 +1,55 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.scanner;
+
+import java.io.IOException;
+
+import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
+
+/**
+ * Tests parsing and marshalling of the 2.1 version of the deployment scanner subsystem.
+ */
+public class DeploymentScannerParsing2_1TestCase extends AbstractSubsystemBaseTest {
+    private static final String SUBSYSTEM_XML =
+            "<subsystem xmlns=\"urn:jboss:domain:deployment-scanner:2.1\">\n" +
+            "    <deployment-scanner name=\"myScanner\" path=\"deployments_${custom.system.property:test}\" " +
+                   "relative-to=\"jboss.server.base.dir\" scan-enabled=\"false\" scan-interval=\"5000\" " +
+                   "auto-deploy-xml=\"true\" deployment-timeout=\"60\" " +
+                    "runtime-failure-causes-rollback=\"${runtime-failure-causes-rollback:false}\"/>\n" +
+            "    <deployment-scanner path=\"deployments\"  relative-to=\"jboss.server.base.dir\" " +
+                   "scan-enabled=\"false\" scan-interval=\"5000\" " +
+                   "auto-deploy-xml=\"true\" deployment-timeout=\"30\" " +
+                   "watch-enabled=\"true\" reconciliation-interval=\"${reconciliation.interval:600000}\" " +
+                   "isolate-deployment-failures=\"true\"/>\n" +
+            "</subsystem>";
+
+    public DeploymentScannerParsing2_1TestCase() {
+        super(DeploymentScannerExtension.SUBSYSTEM_NAME, new DeploymentScannerExtension());
+        System.setProperty("custom.system.property", "prop");
+    }
+
+    @Override
+    protected String getSubsystemXml() throws IOException {
+        return SUBSYSTEM_XML;
+    }
+}
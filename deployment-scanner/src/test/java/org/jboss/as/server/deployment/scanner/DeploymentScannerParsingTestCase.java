@@ -4,6 +4,7 @@ package org.jboss.as.server.deployment.scanner;
 import java.io.IOException;
 
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
+import org.junit.Test;
 
 /**
  * @author Tomaz Cerar
@@ -38,5 +39,12 @@ public class DeploymentScannerParsingTestCase extends AbstractSubsystemBaseTest
     protected String getSubsystemXml() throws IOException {
         return SUBSYSTEM_XML;
     }
+
+    @Test
+    @Override
+    public void testSubsystem() throws Exception {
+        // The 2.0 configuration is marshalled using the current schema
+        standardSubsystemTest(null, false);
+    }
 }
 
@@ -59,6 +59,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -418,6 +419,40 @@ public class FileSystemDeploymentServiceUnitTestCase {
         assertTrue(failed2.exists());
     }
 
+    @Test
+    public void testIsolatedFailure() throws Exception {
+        File war1 = createFile("foo.war");
+        File dodeploy1 = createFile("foo.war" + FileSystemDeploymentService.DO_DEPLOY);
+        File war2 = createFile("bar.war");
+        File dodeploy2 = createFile("bar.war" + FileSystemDeploymentService.DO_DEPLOY);
+        TesteeSet ts = createTestee();
+        ts.testee.setIsolateDeploymentFailures(true);
+        // The first step is only rolled back because the second one failed
+        ts.controller.addCompositeFailureResponse(2, 2);
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+
+        String deployed = null;
+        String failed = null;
+        for (final String name : tmpDir.list()) {
+            if (name.endsWith(FileSystemDeploymentService.DEPLOYED)) {
+                Assert.assertNull(deployed);
+                deployed = name.substring(0, name.length() - FileSystemDeploymentService.DEPLOYED.length());
+            } else if (name.endsWith(FileSystemDeploymentService.FAILED_DEPLOY)) {
+                Assert.assertNull(failed);
+                failed = name.substring(0, name.length() - FileSystemDeploymentService.FAILED_DEPLOY.length());
+            }
+        }
+        Assert.assertNotNull(deployed);
+        Assert.assertNotNull(failed);
+        assertNotEquals(deployed, failed);
+        assertTrue(war1.exists());
+        assertFalse(dodeploy1.exists());
+        assertTrue(war2.exists());
+        assertFalse(dodeploy2.exists());
+        assertTrue(ts.controller.responses.isEmpty());
+    }
+
     @Test
     public void testSuccessfulRetry() throws Exception {
         File war1 = createFile("bar.war");
@@ -1643,6 +1678,137 @@ public class FileSystemDeploymentServiceUnitTestCase {
 
     }
 
+    /**
+     * Tests that a scan of the changes reported by a {@link DeploymentDirectoryWatcher} only examines the content
+     * reported as changed, and that the periodic full scan picks up anything else.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWatchedChangesScan() throws Exception {
+        File warA = new File(tmpDir, "a.war");
+        testSupport.createZip(warA, 0, false, false, false, false);
+        File warB = new File(tmpDir, "b.war");
+        testSupport.createZip(warB, 0, false, false, false, false);
+        TesteeSet ts = createTestee();
+        ts.testee.setAutoDeployZippedContent(true);
+        ts.controller.addCompositeSuccessResponse(2);
+        ts.testee.scan();
+        assertTrue(new File(tmpDir, "a.war" + FileSystemDeploymentService.DEPLOYED).exists());
+        assertTrue(new File(tmpDir, "b.war" + FileSystemDeploymentService.DEPLOYED).exists());
+
+        long newLastModifiedTime = warA.lastModified() + 1000;
+        warA.setLastModified(newLastModifiedTime);
+        warB.setLastModified(newLastModifiedTime);
+
+        try (DeploymentDirectoryWatcher watcher = new DeploymentDirectoryWatcher(tmpDir.toPath(), false)) {
+            watcher.requeue(Collections.singleton("a.war"));
+            ts.controller.requests.clear();
+            ts.controller.addCompositeSuccessResponse(1);
+            ts.testee.scanChanges(watcher);
+            assertEquals(1, getLastCompositeSteps(ts.controller).asInt());
+            assertFalse(watcher.hasChanges());
+        }
+
+        // The full scan picks up the unreported change
+        ts.controller.requests.clear();
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+        assertEquals(1, getLastCompositeSteps(ts.controller).asInt());
+    }
+
+    @Test
+    public void testWatcherCoalescesEvents() throws Exception {
+        try (DeploymentDirectoryWatcher watcher = new DeploymentDirectoryWatcher(tmpDir.toPath(), false)) {
+            File war = createFile("c.war");
+            Files.write(war.toPath(), "more".getBytes(StandardCharsets.UTF_8));
+            createFile("c.war" + FileSystemDeploymentService.PENDING);
+            createFile(new File(tmpDir, "nested"), "d.war");
+
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(15);
+            while (!watcher.hasChanges() && System.currentTimeMillis() < deadline) {
+                watcher.poll();
+                Thread.sleep(100);
+            }
+            // Let the remaining events settle
+            while (watcher.poll() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            Set<String> changes = watcher.takeChanges();
+            Assert.assertNotNull(changes);
+            assertTrue(changes.contains("c.war"));
+            assertFalse(changes.contains("c.war" + FileSystemDeploymentService.PENDING));
+            assertFalse(watcher.hasChanges());
+        }
+    }
+
+    /**
+     * Tests that a deployment updated while a {@code .skipdeploy} marker is present is redeployed once the marker
+     * is removed, although only the marker is reported as changed.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testWatchedMarkerRemovalRedeploys() throws Exception {
+        File war = new File(tmpDir, "e.war");
+        testSupport.createZip(war, 0, false, false, false, false);
+        TesteeSet ts = createTestee();
+        ts.testee.setAutoDeployZippedContent(true);
+        ts.controller.addCompositeSuccessResponse(1);
+        ts.testee.scan();
+        assertTrue(new File(tmpDir, "e.war" + FileSystemDeploymentService.DEPLOYED).exists());
+
+        File skipDeploy = createFile("e.war" + FileSystemDeploymentService.SKIP_DEPLOY);
+        war.setLastModified(war.lastModified() + 1000);
+
+        try (DeploymentDirectoryWatcher watcher = new DeploymentDirectoryWatcher(tmpDir.toPath(), false)) {
+            // The update is skipped while the marker is present
+            watcher.requeue(Collections.singleton("e.war"));
+            ts.controller.requests.clear();
+            ts.testee.scanChanges(watcher);
+            for (ModelNode request : ts.controller.requests) {
+                assertFalse(COMPOSITE.equals(request.get(OP).asString()));
+            }
+
+            assertTrue(skipDeploy.delete());
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(15);
+            while (!watcher.hasChanges() && System.currentTimeMillis() < deadline) {
+                watcher.poll();
+                Thread.sleep(100);
+            }
+            while (watcher.poll() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(100);
+            }
+            Set<String> changes = watcher.takeChanges();
+            Assert.assertNotNull(changes);
+            assertTrue(changes.contains("e.war"));
+            watcher.requeue(changes);
+
+            ts.controller.addCompositeSuccessResponse(1);
+            ts.testee.scanChanges(watcher);
+            assertEquals(1, getLastCompositeSteps(ts.controller).asInt());
+        }
+    }
+
+    @Test
+    public void testMarkedDeploymentName() {
+        assertEquals("foo.war", DeploymentDirectoryWatcher.getMarkedDeploymentName("foo.war" + FileSystemDeploymentService.SKIP_DEPLOY));
+        assertEquals("foo.war", DeploymentDirectoryWatcher.getMarkedDeploymentName("foo.war" + FileSystemDeploymentService.DO_DEPLOY));
+        assertEquals("foo.war", DeploymentDirectoryWatcher.getMarkedDeploymentName("foo.war" + FileSystemDeploymentService.DEPLOYED));
+        Assert.assertNull(DeploymentDirectoryWatcher.getMarkedDeploymentName("foo.war"));
+    }
+
+    private static ModelNode getLastCompositeSteps(MockServerController controller) {
+        for (int i = controller.requests.size() - 1; i >= 0; i--) {
+            ModelNode request = controller.requests.get(i);
+            if (COMPOSITE.equals(request.get(OP).asString())) {
+                return new ModelNode(request.get(STEPS).asList().size());
+            }
+        }
+        fail("No composite operation was executed");
+        return null;
+    }
+
     /** AS7-784 */
     @Test
     public void testUndeployedExternally() throws Exception {
@@ -21,6 +21,14 @@
  */
 package org.jboss.as.domain.management.audit;
 
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -28,16 +36,21 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
 import org.jboss.as.controller.audit.AbstractFileAuditLogHandler;
+import org.jboss.as.controller.audit.AuditLogQuery;
+import org.jboss.as.controller.audit.IndexedFileAuditLogHandler;
 import org.jboss.as.controller.audit.ManagedAuditLogger;
 import org.jboss.as.controller.audit.SizeRotatingFileAuditLogHandler;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.operations.validation.EnumValidator;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.services.path.PathManagerService;
 import org.jboss.as.domain.management._private.DomainManagementResolver;
 import org.jboss.as.domain.management.audit.validators.SizeValidator;
+import org.jboss.as.domain.management.logging.DomainManagementLogger;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 
@@ -66,10 +79,50 @@ public class SizeRotatingFileAuditLogHandlerResourceDefinition extends AbstractF
         .setMinSize(1)
         .build();
 
-    protected static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[]{ROTATE_SIZE, MAX_BACKUP_INDEX}; //, FORMATTER, PATH, RELATIVE_TO, MAX_FAILURE_COUNT};
+    public static final SimpleAttributeDefinition FILE_FORMAT = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.FILE_FORMAT, ModelType.STRING)
+        .setRequired(false)
+        .setAllowExpression(true)
+        .setDefaultValue(new ModelNode(FileFormat.TEXT.toString()))
+        .setValidator(new EnumValidator<>(FileFormat.class, true, true))
+        .setMinSize(1)
+        .build();
+
+    protected static final AttributeDefinition[] ATTRIBUTES = new AttributeDefinition[]{ROTATE_SIZE, MAX_BACKUP_INDEX, FILE_FORMAT}; //, FORMATTER, PATH, RELATIVE_TO, MAX_FAILURE_COUNT};
 
     protected static final AttributeDefinition[] FULL_ATTRIBUTES = joinArrays(ATTRIBUTES, AbstractFileAuditLogHandlerResourceDefinition.ATTRIBUTES);
 
+    public static final String QUERY_LOGS = "query-logs";
+
+    static final SimpleAttributeDefinition FROM = new SimpleAttributeDefinitionBuilder("from", ModelType.STRING, true)
+        .build();
+
+    static final SimpleAttributeDefinition TO = new SimpleAttributeDefinitionBuilder("to", ModelType.STRING, true)
+        .build();
+
+    static final SimpleAttributeDefinition USER = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.USER, ModelType.STRING, true)
+        .build();
+
+    static final SimpleAttributeDefinition ADDRESS_PREFIX = new SimpleAttributeDefinitionBuilder("address-prefix", ModelType.STRING, true)
+        .build();
+
+    static final SimpleAttributeDefinition OPERATION_NAME = new SimpleAttributeDefinitionBuilder(ModelDescriptionConstants.OPERATION_NAME, ModelType.STRING, true)
+        .build();
+
+    static final SimpleAttributeDefinition MAX_RESULTS = new SimpleAttributeDefinitionBuilder("max-results", ModelType.INT, true)
+        .setDefaultValue(new ModelNode(100))
+        .setValidator(new IntRangeValidator(1, true))
+        .build();
+
+    /**
+     * The format of the records in the log file.
+     */
+    public enum FileFormat {
+        /** The records are formatted as text, one record per line */
+        TEXT,
+        /** The records are written in a binary format with an index which can be queried */
+        INDEXED
+    }
+
     public SizeRotatingFileAuditLogHandlerResourceDefinition(ManagedAuditLogger auditLogger, PathManagerService pathManager) {
         super(auditLogger, pathManager, PathElement.pathElement(SIZE_ROTATING_FILE_HANDLER), DomainManagementResolver.getResolver("core.management.size-rotating-file-handler"),
                 new SizeRotatingFileAuditLogHandlerAddHandler(auditLogger, pathManager, FULL_ATTRIBUTES), new HandlerRemoveHandler(auditLogger));
@@ -94,6 +147,19 @@ public class SizeRotatingFileAuditLogHandlerResourceDefinition extends AbstractF
         }
     }
 
+    @Override
+    public void registerOperations(ManagementResourceRegistration resourceRegistration) {
+        super.registerOperations(resourceRegistration);
+        resourceRegistration.registerOperationHandler(
+                new SimpleOperationDefinitionBuilder(QUERY_LOGS, getResourceDescriptionResolver())
+                .setParameters(FROM, TO, USER, ADDRESS_PREFIX, OPERATION_NAME, MAX_RESULTS)
+                .setReadOnly()
+                .setRuntimeOnly()
+                .setReplyType(ModelType.LIST)
+                .setReplyValueType(ModelType.STRING)
+                .build(), new QueryLogsHandler(auditLogger));
+    }
+
     @Override
     protected HandlerWriteAttributeHandler getWriteAttributeHandler(ManagedAuditLogger auditLogger, PathManagerService pathManager, AttributeDefinition... attributeDefinitions) {
         return new SizeRotatingHandlerWriteAttributeHandler(auditLogger, pathManager, attributeDefinitions);
@@ -109,9 +175,25 @@ public class SizeRotatingFileAuditLogHandlerResourceDefinition extends AbstractF
         final int maxFailureCount = MAX_FAILURE_COUNT.resolveModelAttribute(context, model).asInt();
         final long rotateSize = SizeValidator.parseSize(ROTATE_SIZE.resolveModelAttribute(context, model));
         final int maxBackupIndex = MAX_BACKUP_INDEX.resolveModelAttribute(context, model).asInt();
+        if (FileFormat.valueOf(FILE_FORMAT.resolveModelAttribute(context, model).asString()) == FileFormat.INDEXED) {
+            return new IndexedFileAuditLogHandler(name, formatterName, maxFailureCount, pathManager, path, relativeTo, rotateSize, maxBackupIndex);
+        }
         return new SizeRotatingFileAuditLogHandler(name, formatterName, maxFailureCount, pathManager, path, relativeTo, rotateSize, maxBackupIndex);
     }
 
+    private static long parseDate(final ModelNode value, final long defaultValue) throws OperationFailedException {
+        if (!value.isDefined()) {
+            return defaultValue;
+        }
+        final String date = value.asString();
+        try {
+            final LocalDateTime dateTime = date.indexOf('T') < 0 ? LocalDate.parse(date).atStartOfDay() : LocalDateTime.parse(date);
+            return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw DomainManagementLogger.ROOT_LOGGER.invalidAuditLogQueryDate(date);
+        }
+    }
+
     protected static class SizeRotatingFileAuditLogHandlerAddHandler extends AbstractFileAuditLogHandlerAddHandler {
 
         protected SizeRotatingFileAuditLogHandlerAddHandler(ManagedAuditLogger auditLogger, PathManagerService pathManager, AttributeDefinition[] attributes) {
@@ -124,6 +206,45 @@ public class SizeRotatingFileAuditLogHandlerResourceDefinition extends AbstractF
         }
     }
 
+    private static class QueryLogsHandler extends AbstractRuntimeOnlyHandler {
+        private final ManagedAuditLogger auditLogger;
+
+        QueryLogsHandler(ManagedAuditLogger auditLogger) {
+            this.auditLogger = auditLogger;
+        }
+
+        @Override
+        protected boolean requiresRuntime(OperationContext context) {
+            return true;
+        }
+
+        @Override
+        protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+            final String name = Util.getNameFromAddress(operation.require(OP_ADDR));
+            final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+            if (FileFormat.valueOf(FILE_FORMAT.resolveModelAttribute(context, model).asString()) != FileFormat.INDEXED) {
+                throw DomainManagementLogger.ROOT_LOGGER.auditLogHandlerNotIndexed(name);
+            }
+            final long from = parseDate(FROM.resolveModelAttribute(context, operation), Long.MIN_VALUE);
+            final long to = parseDate(TO.resolveModelAttribute(context, operation), Long.MAX_VALUE);
+            final AuditLogQuery query = new AuditLogQuery(from, to,
+                    USER.resolveModelAttribute(context, operation).asStringOrNull(),
+                    ADDRESS_PREFIX.resolveModelAttribute(context, operation).asStringOrNull(),
+                    OPERATION_NAME.resolveModelAttribute(context, operation).asStringOrNull(),
+                    MAX_RESULTS.resolveModelAttribute(context, operation).asInt());
+            final List<String> entries;
+            try {
+                entries = auditLogger.queryEntries(name, query);
+            } catch (IOException e) {
+                throw DomainManagementLogger.ROOT_LOGGER.couldNotReadAuditLog(e, name);
+            }
+            final ModelNode result = context.getResult().setEmptyList();
+            for (String entry : entries) {
+                result.add(entry);
+            }
+        }
+    }
+
     protected static class SizeRotatingHandlerWriteAttributeHandler extends AbstractFileAuditLogHandlerWriteAttributeHandler {
 
         public SizeRotatingHandlerWriteAttributeHandler(ManagedAuditLogger auditLogger, PathManagerService pathManager, AttributeDefinition... attributeDefinitions) {
@@ -1270,6 +1270,15 @@ public interface DomainManagementLogger extends BasicLogger {
     @Message(id = 144, value = "Sensitivity constraint %s contains imcompatible attribute value to other sensitive classification constraints.")
     OperationFailedException imcompatibleConfiguredRequiresAttributeValue(String addr);
 
+    @Message(id = 145, value = "The audit log handler '%s' does not use the indexed file format")
+    OperationFailedException auditLogHandlerNotIndexed(String name);
+
+    @Message(id = 146, value = "Invalid date '%s', the date must be in the format yyyy-MM-dd or yyyy-MM-ddTHH:mm:ss")
+    OperationFailedException invalidAuditLogQueryDate(String value);
+
+    @Message(id = 147, value = "Could not read the audit log of handler '%s'")
+    OperationFailedException couldNotReadAuditLog(@Cause Throwable cause, String name);
+
     /**
      * Information message saying the username and password must be different.
      *
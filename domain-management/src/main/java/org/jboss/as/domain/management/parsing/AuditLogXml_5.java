@@ -339,6 +339,9 @@ final class AuditLogXml_5 implements AuditLogXml {
                 case MAX_BACKUP_INDEX:
                     SizeRotatingFileAuditLogHandlerResourceDefinition.MAX_BACKUP_INDEX.parseAndSetParameter(value, add, reader);
                     break;
+                case FILE_FORMAT:
+                    SizeRotatingFileAuditLogHandlerResourceDefinition.FILE_FORMAT.parseAndSetParameter(value, add, reader);
+                    break;
                 default:
                     throw unexpectedAttribute(reader, i);
             }
@@ -734,6 +737,7 @@ final class AuditLogXml_5 implements AuditLogXml {
                     SizeRotatingFileAuditLogHandlerResourceDefinition.RELATIVE_TO.marshallAsAttribute(handler, writer);
                     SizeRotatingFileAuditLogHandlerResourceDefinition.ROTATE_SIZE.marshallAsAttribute(handler, writer);
                     SizeRotatingFileAuditLogHandlerResourceDefinition.MAX_BACKUP_INDEX.marshallAsAttribute(handler, writer);
+                    SizeRotatingFileAuditLogHandlerResourceDefinition.FILE_FORMAT.marshallAsAttribute(handler, writer);
                     writer.writeEndElement();
                 }
             }
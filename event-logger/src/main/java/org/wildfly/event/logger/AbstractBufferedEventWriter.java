@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A writer which formats and encodes events into reused buffers. The encoded events are collected in a buffer which is
+ * written to the target once it is full or the writer is {@linkplain #flush() flushed}.
+ * <p>
+ * Failures writing to the target are thrown as an {@link UncheckedIOException}.
+ * </p>
+ */
+abstract class AbstractBufferedEventWriter implements EventWriter {
+
+    static final int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final EventFormatter formatter;
+    private final int headerLength;
+    private final boolean appendNewLine;
+    private final CharsetEncoder encoder;
+    private final StringBuilder builder;
+    private final ByteBuffer pending;
+    private char[] chars;
+    private CharBuffer charBuffer;
+    private ByteBuffer encoded;
+
+    /**
+     * Creates a new writer.
+     *
+     * @param formatter     the formatter used to format the events
+     * @param bufferSize    the size of the buffer the encoded events are collected in
+     * @param headerLength  the number of bytes reserved in front of each encoded event
+     * @param appendNewLine {@code true} if a new line should be appended to each event
+     */
+    AbstractBufferedEventWriter(final EventFormatter formatter, final int bufferSize, final int headerLength, final boolean appendNewLine) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("The buffer size must be greater than 0: " + bufferSize);
+        }
+        this.formatter = formatter;
+        this.headerLength = headerLength;
+        this.appendNewLine = appendNewLine;
+        encoder = StandardCharsets.UTF_8.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        builder = new StringBuilder(512);
+        pending = ByteBuffer.allocate(bufferSize);
+        chars = new char[512];
+        charBuffer = CharBuffer.wrap(chars);
+        encoded = ByteBuffer.allocate(1024);
+    }
+
+    @Override
+    public synchronized void write(final Event event) {
+        try {
+            write(encode(event));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        try {
+            writePending();
+            flushTarget();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writePending();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            try {
+                closeTarget();
+            } catch (IOException e) {
+                //noinspection ThrowFromFinallyBlock
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Writes an encoded event. The default implementation collects the event in the buffer, events larger than the
+     * buffer are written directly to the target.
+     *
+     * @param encoded the encoded event including the header, only valid until this method returns
+     *
+     * @throws IOException if an error occurs writing to the target
+     */
+    void write(final ByteBuffer encoded) throws IOException {
+        if (encoded.remaining() > pending.remaining()) {
+            writePending();
+            if (encoded.remaining() > pending.capacity()) {
+                writeTarget(encoded);
+                return;
+            }
+        }
+        pending.put(encoded);
+    }
+
+    /**
+     * Writes the bytes remaining in the buffer to the target.
+     *
+     * @param buffer the buffer to write
+     *
+     * @throws IOException if an error occurs writing to the target
+     */
+    abstract void writeTarget(ByteBuffer buffer) throws IOException;
+
+    /**
+     * Flushes the target. The default implementation does nothing.
+     *
+     * @throws IOException if an error occurs flushing the target
+     */
+    void flushTarget() throws IOException {
+    }
+
+    /**
+     * Closes the target.
+     *
+     * @throws IOException if an error occurs closing the target
+     */
+    abstract void closeTarget() throws IOException;
+
+    private void writePending() throws IOException {
+        if (pending.position() > 0) {
+            pending.flip();
+            try {
+                writeTarget(pending);
+            } finally {
+                pending.clear();
+            }
+        }
+    }
+
+    private ByteBuffer encode(final Event event) {
+        final StringBuilder builder = this.builder;
+        builder.setLength(0);
+        formatter.format(event, builder);
+        if (appendNewLine) {
+            builder.append('\n');
+        }
+        final int length = builder.length();
+        if (length > chars.length) {
+            chars = new char[Math.max(length, chars.length << 1)];
+            charBuffer = CharBuffer.wrap(chars);
+        }
+        builder.getChars(0, length, chars, 0);
+        final CharBuffer charBuffer = this.charBuffer;
+        charBuffer.clear();
+        charBuffer.limit(length);
+
+        ByteBuffer encoded = this.encoded;
+        encoded.clear();
+        encoded.position(headerLength);
+        encoder.reset();
+        while (encoder.encode(charBuffer, encoded, true).isOverflow()) {
+            encoded = grow(encoded);
+        }
+        while (encoder.flush(encoded).isOverflow()) {
+            encoded = grow(encoded);
+        }
+        encoded.flip();
+        this.encoded = encoded;
+        return encoded;
+    }
+
+    private static ByteBuffer grow(final ByteBuffer buffer) {
+        final ByteBuffer result = ByteBuffer.allocate(buffer.capacity() << 1);
+        buffer.flip();
+        result.put(buffer);
+        return result;
+    }
+}
@@ -95,5 +95,6 @@ class AsyncEventLogger extends AbstractEventLogger implements EventLogger, Runna
         for (Event event : events) {
             writer.write(event);
         }
+        writer.flush();
     }
 }
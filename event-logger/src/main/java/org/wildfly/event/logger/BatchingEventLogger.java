@@ -0,0 +1,332 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An asynchronous event logger which writes events in batches.
+ * <p>
+ * Events are added to a bounded queue which can be written to from any number of threads without locking. A task
+ * executed by the {@linkplain #builder(String, EventWriter, Executor) executor} writes the queued events, up to
+ * the {@linkplain Builder#setMaxBatchSize(int) maximum batch size}, and then {@linkplain EventWriter#flush() flushes}
+ * the writer once for the whole batch.
+ * </p>
+ * <p>
+ * If the queue is full the {@linkplain OverflowAction overflow action} determines whether the event is discarded or
+ * the logging thread waits for room in the queue.
+ * </p>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public final class BatchingEventLogger extends AbstractEventLogger implements EventLogger, Runnable {
+
+    /**
+     * The action taken when an event is logged and the queue is full.
+     */
+    public enum OverflowAction {
+        /**
+         * The logging thread waits until there is room in the queue.
+         */
+        BLOCK,
+        /**
+         * The event is discarded and counted as {@linkplain #getDroppedCount() dropped}.
+         */
+        DISCARD,
+    }
+
+    //0 = not running
+    //1 = queued
+    //2 = running
+    @SuppressWarnings({"unused", "FieldMayBeFinal"})
+    private volatile int state = 0;
+
+    private static final AtomicIntegerFieldUpdater<BatchingEventLogger> stateUpdater = AtomicIntegerFieldUpdater.newUpdater(BatchingEventLogger.class, "state");
+
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    private final EventWriter writer;
+    private final Executor executor;
+    private final OverflowAction overflowAction;
+    private final int maxBatchSize;
+
+    // The queue is a ring buffer, producers claim a slot by incrementing the tail and the single consumer, the
+    // executing task, releases it by incrementing the head
+    private final AtomicReferenceArray<Event> queue;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private BatchingEventLogger(final Builder builder) {
+        super(builder.eventSource);
+        this.writer = builder.writer;
+        this.executor = builder.executor;
+        this.overflowAction = builder.overflowAction;
+        this.maxBatchSize = builder.maxBatchSize;
+        queue = new AtomicReferenceArray<>(builder.queueLength);
+        mask = builder.queueLength - 1;
+    }
+
+    /**
+     * Creates a new builder to build a {@link BatchingEventLogger}.
+     *
+     * @param eventSource the identifier for the source of the event the logger is used for
+     * @param writer      the writer the logger will write to
+     * @param executor    the executor used to write the events
+     *
+     * @return a new builder
+     */
+    public static Builder builder(final String eventSource, final EventWriter writer, final Executor executor) {
+        return new Builder(eventSource, writer, executor);
+    }
+
+    @Override
+    void log(final Event event) {
+        if (!offer(event)) {
+            if (overflowAction == OverflowAction.DISCARD) {
+                dropped.increment();
+                return;
+            }
+            long parkNanos = 1L;
+            do {
+                // Make sure the queue is being drained while waiting
+                schedule();
+                LockSupport.parkNanos(parkNanos);
+                parkNanos = Math.min(parkNanos << 1, MAX_PARK_NANOS);
+            } while (!offer(event));
+        }
+        schedule();
+    }
+
+    @Override
+    public void run() {
+        if (!stateUpdater.compareAndSet(this, 1, 2)) {
+            return;
+        }
+        try {
+            int count = 0;
+            Event event;
+            while (count < maxBatchSize && (event = poll()) != null) {
+                count++;
+                try {
+                    writer.write(event);
+                    written.increment();
+                } catch (RuntimeException e) {
+                    failed.increment();
+                }
+            }
+            if (count > 0) {
+                try {
+                    writer.flush();
+                } catch (RuntimeException e) {
+                    failed.increment();
+                }
+                batches.increment();
+            }
+        } finally {
+            stateUpdater.set(this, 0);
+            // Check to see if there is still more messages and run again if there are
+            if (getQueueSize() > 0) {
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events waiting to be written.
+     *
+     * @return the number of queued events
+     */
+    public int getQueueSize() {
+        return (int) (tail.get() - head.get());
+    }
+
+    /**
+     * Returns the maximum number of events which can be queued.
+     *
+     * @return the capacity of the queue
+     */
+    public int getQueueCapacity() {
+        return queue.length();
+    }
+
+    /**
+     * Returns the number of events which were discarded because the queue was full or because the executor rejected
+     * the task writing them.
+     *
+     * @return the number of dropped events
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Returns the number of events which were written.
+     *
+     * @return the number of written events
+     */
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    /**
+     * Returns the number of times writing an event or flushing a batch failed.
+     *
+     * @return the number of failures
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Returns the number of batches which were written.
+     *
+     * @return the number of batches
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    private void schedule() {
+        if (stateUpdater.get(this) == 0 && stateUpdater.compareAndSet(this, 0, 1)) {
+            try {
+                executor.execute(this);
+            } catch (RuntimeException e) {
+                // Nothing will write the queued events, drop them so a blocked logging thread does not wait forever.
+                // No task is running while the state is 1 so this is still the only consumer of the queue.
+                while (poll() != null) {
+                    dropped.increment();
+                }
+                stateUpdater.set(this, 0);
+            }
+        }
+    }
+
+    private boolean offer(final Event event) {
+        final int capacity = queue.length();
+        long t;
+        do {
+            t = tail.get();
+            if (t - head.get() >= capacity) {
+                return false;
+            }
+        } while (!tail.compareAndSet(t, t + 1));
+        queue.lazySet((int) t & mask, event);
+        return true;
+    }
+
+    private Event poll() {
+        final long h = head.get();
+        final int index = (int) h & mask;
+        // A null slot is either empty or was claimed by a producer which has not stored the event yet
+        final Event event = queue.get(index);
+        if (event != null) {
+            queue.lazySet(index, null);
+            head.lazySet(h + 1);
+        }
+        return event;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[id=" + getEventSource() + ", queueSize=" + getQueueSize() + ", dropped=" + getDroppedCount() + "]";
+    }
+
+    /**
+     * Builder used to create the {@link BatchingEventLogger}.
+     */
+    public static class Builder {
+        private final String eventSource;
+        private final EventWriter writer;
+        private final Executor executor;
+        private int queueLength = 8192;
+        private int maxBatchSize = 1000;
+        private OverflowAction overflowAction = OverflowAction.DISCARD;
+
+        private Builder(final String eventSource, final EventWriter writer, final Executor executor) {
+            this.eventSource = eventSource;
+            this.writer = writer;
+            this.executor = executor;
+        }
+
+        /**
+         * Sets the maximum number of queued events. The value is rounded up to the next power of two. The default is
+         * {@code 8192}.
+         *
+         * @param queueLength the maximum number of queued events
+         *
+         * @return this builder
+         */
+        public Builder setQueueLength(final int queueLength) {
+            if (queueLength < 1 || queueLength > 1 << 30) {
+                throw new IllegalArgumentException("The queue length must be between 1 and 2^30: " + queueLength);
+            }
+            this.queueLength = queueLength == 1 ? 1 : Integer.highestOneBit(queueLength - 1) << 1;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of events written before the writer is flushed. The default is {@code 1000}.
+         *
+         * @param maxBatchSize the maximum number of events in a batch
+         *
+         * @return this builder
+         */
+        public Builder setMaxBatchSize(final int maxBatchSize) {
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("The maximum batch size must be greater than 0: " + maxBatchSize);
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Sets the action taken when an event is logged and the queue is full. The default is
+         * {@link OverflowAction#DISCARD}.
+         *
+         * @param overflowAction the overflow action or {@code null} to revert to the default
+         *
+         * @return this builder
+         */
+        public Builder setOverflowAction(final OverflowAction overflowAction) {
+            this.overflowAction = overflowAction == null ? OverflowAction.DISCARD : overflowAction;
+            return this;
+        }
+
+        /**
+         * Creates the {@link BatchingEventLogger}.
+         *
+         * @return the newly created logger
+         */
+        public BatchingEventLogger build() {
+            return new BatchingEventLogger(this);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * An event writer which writes each event to an output stream as a 4 byte big-endian length followed by the UTF-8
+ * encoded bytes of the formatted event. Events are buffered and written to the stream when the buffer is full or the
+ * writer is {@linkplain #flush() flushed}.
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class BinaryEventWriter extends AbstractBufferedEventWriter {
+
+    private final OutputStream out;
+
+    private BinaryEventWriter(final OutputStream out, final EventFormatter formatter, final int bufferSize) {
+        super(formatter, bufferSize, Integer.BYTES, false);
+        this.out = out;
+    }
+
+    /**
+     * Creates a new binary event writer.
+     *
+     * @param out       the stream to write the events to, closed when the writer is closed
+     * @param formatter the formatter used to format the events
+     *
+     * @return a new binary event writer
+     */
+    public static BinaryEventWriter of(final OutputStream out, final EventFormatter formatter) {
+        return new BinaryEventWriter(out, formatter, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a new binary event writer.
+     *
+     * @param out        the stream to write the events to, closed when the writer is closed
+     * @param formatter  the formatter used to format the events
+     * @param bufferSize the size, in bytes, of the buffer the events are collected in
+     *
+     * @return a new binary event writer
+     */
+    public static BinaryEventWriter of(final OutputStream out, final EventFormatter formatter, final int bufferSize) {
+        return new BinaryEventWriter(out, formatter, bufferSize);
+    }
+
+    @Override
+    void write(final ByteBuffer encoded) throws IOException {
+        encoded.putInt(0, encoded.remaining() - Integer.BYTES);
+        super.write(encoded);
+    }
+
+    @Override
+    void writeTarget(final ByteBuffer buffer) throws IOException {
+        out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        buffer.position(buffer.limit());
+    }
+
+    @Override
+    void flushTarget() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    void closeTarget() throws IOException {
+        out.close();
+    }
+}
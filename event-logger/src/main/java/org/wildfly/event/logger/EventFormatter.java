@@ -34,4 +34,17 @@ public interface EventFormatter {
      * @return the formatted string
      */
     String format(Event event);
+
+    /**
+     * Formats the event, appending the result to the builder. Writers can reuse the builder for each event.
+     * <p>
+     * The default implementation appends the result of {@link #format(Event)}.
+     * </p>
+     *
+     * @param event   the event to format
+     * @param builder the builder to append the formatted event to
+     */
+    default void format(Event event, StringBuilder builder) {
+        builder.append(format(event));
+    }
 }
@@ -32,4 +32,13 @@ public interface EventWriter extends AutoCloseable {
      * @param event the event to write
      */
     void write(Event event);
+
+    /**
+     * Writes any buffered events to the target. Loggers which write events in batches invoke this once per batch.
+     * <p>
+     * The default implementation does nothing.
+     * </p>
+     */
+    default void flush() {
+    }
 }
@@ -0,0 +1,186 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * An event writer which writes each event on a new line to a file. Events are buffered and written to the file when
+ * the buffer is full or the writer is {@linkplain #flush() flushed}.
+ * <p>
+ * If a {@linkplain Builder#setRotateSize(long) rotate size} is set the file is renamed with a suffix of {@code .1}
+ * once the size is exceeded, previous backups are renamed with an incremented suffix.
+ * </p>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class FileEventWriter extends AbstractBufferedEventWriter {
+
+    private final Path file;
+    private final long rotateSize;
+    private final int maxBackupIndex;
+    private FileChannel channel;
+    private long size;
+
+    private FileEventWriter(final Builder builder) {
+        super(builder.formatter, builder.bufferSize, 0, true);
+        this.file = builder.file;
+        this.rotateSize = builder.rotateSize;
+        this.maxBackupIndex = builder.maxBackupIndex;
+    }
+
+    /**
+     * Creates a new builder to build a {@link FileEventWriter}.
+     *
+     * @param file      the file to write the events to
+     * @param formatter the formatter used to format the events
+     *
+     * @return a new builder
+     */
+    public static Builder builder(final Path file, final EventFormatter formatter) {
+        return new Builder(file, formatter);
+    }
+
+    @Override
+    void writeTarget(final ByteBuffer buffer) throws IOException {
+        FileChannel channel = this.channel;
+        if (channel == null) {
+            channel = open();
+        }
+        if (rotateSize > 0L && size > 0L && size + buffer.remaining() > rotateSize) {
+            channel.close();
+            this.channel = null;
+            rotate();
+            channel = open();
+        }
+        while (buffer.hasRemaining()) {
+            size += channel.write(buffer);
+        }
+    }
+
+    @Override
+    void closeTarget() throws IOException {
+        final FileChannel channel = this.channel;
+        if (channel != null) {
+            this.channel = null;
+            channel.close();
+        }
+    }
+
+    private FileChannel open() throws IOException {
+        final Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = channel.size();
+        this.channel = channel;
+        return channel;
+    }
+
+    private void rotate() throws IOException {
+        if (maxBackupIndex < 1) {
+            Files.deleteIfExists(file);
+            return;
+        }
+        final String fileName = file.getFileName().toString();
+        Files.deleteIfExists(file.resolveSibling(fileName + "." + maxBackupIndex));
+        for (int i = maxBackupIndex - 1; i >= 1; i--) {
+            final Path backup = file.resolveSibling(fileName + "." + i);
+            if (Files.exists(backup)) {
+                Files.move(backup, file.resolveSibling(fileName + "." + (i + 1)), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, file.resolveSibling(fileName + ".1"), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[file=" + file + ", rotateSize=" + rotateSize + ", maxBackupIndex=" + maxBackupIndex + "]";
+    }
+
+    /**
+     * Builder used to create the {@link FileEventWriter}.
+     */
+    public static class Builder {
+        private final Path file;
+        private final EventFormatter formatter;
+        private long rotateSize;
+        private int maxBackupIndex = 1;
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+        private Builder(final Path file, final EventFormatter formatter) {
+            this.file = file;
+            this.formatter = formatter;
+        }
+
+        /**
+         * Sets the size, in bytes, at which the file is rotated. The default is {@code 0} which never rotates the
+         * file.
+         *
+         * @param rotateSize the size at which the file is rotated or {@code 0} to never rotate the file
+         *
+         * @return this builder
+         */
+        public Builder setRotateSize(final long rotateSize) {
+            this.rotateSize = rotateSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of backup files to keep when the file is rotated. The default is {@code 1}.
+         *
+         * @param maxBackupIndex the number of backup files to keep
+         *
+         * @return this builder
+         */
+        public Builder setMaxBackupIndex(final int maxBackupIndex) {
+            this.maxBackupIndex = maxBackupIndex;
+            return this;
+        }
+
+        /**
+         * Sets the size, in bytes, of the buffer the events are collected in before they are written to the file.
+         * The default is {@code 8192}.
+         *
+         * @param bufferSize the size of the buffer
+         *
+         * @return this builder
+         */
+        public Builder setBufferSize(final int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Creates the {@link FileEventWriter}.
+         *
+         * @return the newly created writer
+         */
+        public FileEventWriter build() {
+            return new FileEventWriter(this);
+        }
+    }
+}
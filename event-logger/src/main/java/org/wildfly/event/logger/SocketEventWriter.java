@@ -0,0 +1,201 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ByteChannel;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SocketChannel;
+
+/**
+ * An event writer which writes events to a socket.
+ * <p>
+ * With {@linkplain Protocol#TCP TCP} each event is written on a new line. Events are buffered and written to the
+ * socket when the buffer is full or the writer is {@linkplain #flush() flushed}. If writing to the socket fails the
+ * connection is closed and a new connection is opened for the next event.
+ * </p>
+ * <p>
+ * With {@linkplain Protocol#UDP UDP} each event is sent in its own datagram.
+ * </p>
+ */
+@SuppressWarnings({"unused", "WeakerAccess"})
+public class SocketEventWriter extends AbstractBufferedEventWriter {
+
+    /**
+     * The protocol used to send the events.
+     */
+    public enum Protocol {
+        TCP,
+        UDP,
+    }
+
+    private final Protocol protocol;
+    private final String host;
+    private final int port;
+    private ByteChannel channel;
+
+    private SocketEventWriter(final Builder builder) {
+        super(builder.formatter, builder.bufferSize, 0, builder.protocol == Protocol.TCP);
+        this.protocol = builder.protocol;
+        this.host = builder.host;
+        this.port = builder.port;
+    }
+
+    /**
+     * Creates a new builder to build a {@link SocketEventWriter}.
+     *
+     * @param formatter the formatter used to format the events
+     *
+     * @return a new builder
+     */
+    public static Builder builder(final EventFormatter formatter) {
+        return new Builder(formatter);
+    }
+
+    @Override
+    void write(final ByteBuffer encoded) throws IOException {
+        if (protocol == Protocol.UDP) {
+            writeTarget(encoded);
+        } else {
+            super.write(encoded);
+        }
+    }
+
+    @Override
+    void writeTarget(final ByteBuffer buffer) throws IOException {
+        ByteChannel channel = this.channel;
+        if (channel == null) {
+            channel = this.channel = connect();
+        }
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            // Reconnect on the next write
+            this.channel = null;
+            try {
+                channel.close();
+            } catch (IOException ignore) {
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    void closeTarget() throws IOException {
+        final ByteChannel channel = this.channel;
+        if (channel != null) {
+            this.channel = null;
+            channel.close();
+        }
+    }
+
+    private ByteChannel connect() throws IOException {
+        final InetSocketAddress address = new InetSocketAddress(host, port);
+        if (protocol == Protocol.UDP) {
+            return DatagramChannel.open().connect(address);
+        }
+        return SocketChannel.open(address);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[protocol=" + protocol + ", host=" + host + ", port=" + port + "]";
+    }
+
+    /**
+     * Builder used to create the {@link SocketEventWriter}.
+     */
+    public static class Builder {
+        private final EventFormatter formatter;
+        private Protocol protocol = Protocol.TCP;
+        private String host = "localhost";
+        private int port = -1;
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+        private Builder(final EventFormatter formatter) {
+            this.formatter = formatter;
+        }
+
+        /**
+         * Sets the protocol used to send the events. The default is {@link Protocol#TCP}.
+         *
+         * @param protocol the protocol or {@code null} to revert to the default
+         *
+         * @return this builder
+         */
+        public Builder setProtocol(final Protocol protocol) {
+            this.protocol = protocol == null ? Protocol.TCP : protocol;
+            return this;
+        }
+
+        /**
+         * Sets the host to send the events to. The default is {@code localhost}.
+         *
+         * @param host the host name or address or {@code null} to revert to the default
+         *
+         * @return this builder
+         */
+        public Builder setHost(final String host) {
+            this.host = host == null ? "localhost" : host;
+            return this;
+        }
+
+        /**
+         * Sets the port to send the events to. The port is required.
+         *
+         * @param port the port
+         *
+         * @return this builder
+         */
+        public Builder setPort(final int port) {
+            this.port = port;
+            return this;
+        }
+
+        /**
+         * Sets the size, in bytes, of the buffer the events are collected in before they are written to the socket.
+         * The default is {@code 8192}. The buffer is not used for {@link Protocol#UDP}.
+         *
+         * @param bufferSize the size of the buffer
+         *
+         * @return this builder
+         */
+        public Builder setBufferSize(final int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        /**
+         * Creates the {@link SocketEventWriter}.
+         *
+         * @return the newly created writer
+         */
+        public SocketEventWriter build() {
+            if (port < 0 || port > 0xFFFF) {
+                throw new IllegalArgumentException("A valid port is required: " + port);
+            }
+            return new SocketEventWriter(this);
+        }
+    }
+}
@@ -34,6 +34,7 @@ class StandardEventLogger extends AbstractEventLogger implements EventLogger {
     @Override
     void log(final Event event) {
         writer.write(event);
+        writer.flush();
     }
 
 }
@@ -0,0 +1,225 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("MagicNumber")
+public class BatchingEventLoggerTestCase extends AbstractEventLoggerTestCase {
+
+    @Test
+    public void testLogger() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final QueuedJsonWriter writer = new QueuedJsonWriter();
+            final BatchingEventLogger logger = BatchingEventLogger.builder("test-batching-logger", writer, executor).build();
+            testLogger(logger, writer);
+            Assert.assertEquals(1L, logger.getWrittenCount());
+            Assert.assertEquals(0L, logger.getDroppedCount());
+        } finally {
+            shutdown(executor);
+        }
+    }
+
+    @Test
+    public void testDiscard() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        try {
+            final AtomicInteger flushes = new AtomicInteger();
+            final EventWriter writer = new EventWriter() {
+                @Override
+                public void write(final Event event) {
+                    writing.countDown();
+                    try {
+                        release.await(TIMEOUT, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+
+                @Override
+                public void flush() {
+                    flushes.incrementAndGet();
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            final BatchingEventLogger logger = BatchingEventLogger.builder("test-discard-logger", writer, executor)
+                    .setQueueLength(3)
+                    .build();
+            Assert.assertEquals("The queue length should be rounded to a power of two", 4, logger.getQueueCapacity());
+
+            // The first event blocks the writer
+            logger.log(Collections.singletonMap("count", 0));
+            Assert.assertTrue(writing.await(TIMEOUT, TimeUnit.SECONDS));
+            for (int i = 1; i <= 10; i++) {
+                logger.log(Collections.singletonMap("count", i));
+            }
+            Assert.assertEquals(4, logger.getQueueSize());
+            Assert.assertEquals(6L, logger.getDroppedCount());
+
+            release.countDown();
+            waitFor(() -> logger.getWrittenCount() == 5L);
+            Assert.assertEquals(0, logger.getQueueSize());
+            Assert.assertTrue(flushes.get() >= 1 && flushes.get() == logger.getBatchCount());
+        } finally {
+            release.countDown();
+            shutdown(executor);
+        }
+    }
+
+    @Test
+    public void testBlock() throws Exception {
+        final ExecutorService executor = createExecutor();
+        final ExecutorService loggingExecutor = createExecutor();
+        try {
+            final Set<Integer> written = Collections.synchronizedSet(new HashSet<>());
+            final EventWriter writer = new EventWriter() {
+                @Override
+                public void write(final Event event) {
+                    written.add((Integer) event.getData().get("count"));
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            final BatchingEventLogger logger = BatchingEventLogger.builder("test-block-logger", writer, executor)
+                    .setQueueLength(16)
+                    .setMaxBatchSize(5)
+                    .setOverflowAction(BatchingEventLogger.OverflowAction.BLOCK)
+                    .build();
+            final int logCount = 10000;
+            for (int i = 0; i < logCount; i++) {
+                final int count = i;
+                loggingExecutor.submit(() -> logger.log(Collections.singletonMap("count", count)));
+            }
+            waitFor(() -> logger.getWrittenCount() == logCount);
+            Assert.assertEquals(logCount, written.size());
+            Assert.assertEquals(0L, logger.getDroppedCount());
+            Assert.assertTrue(logger.getBatchCount() >= logCount / 5);
+        } finally {
+            shutdown(loggingExecutor);
+            shutdown(executor);
+        }
+    }
+
+    @Test
+    public void testWriteFailure() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final QueuedJsonWriter delegate = new QueuedJsonWriter();
+            final EventWriter writer = new EventWriter() {
+                @Override
+                public void write(final Event event) {
+                    if (Boolean.TRUE.equals(event.getData().get("fail"))) {
+                        throw new IllegalStateException("Failed");
+                    }
+                    delegate.write(event);
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            final BatchingEventLogger logger = BatchingEventLogger.builder("test-failure-logger", writer, executor).build();
+            logger.log(Collections.singletonMap("fail", true));
+            logger.log(Collections.singletonMap("fail", false));
+            Assert.assertNotNull("A failed event should not stop the logger", delegate.events.poll(TIMEOUT, TimeUnit.SECONDS));
+            waitFor(() -> logger.getFailedCount() == 1L);
+        } finally {
+            shutdown(executor);
+        }
+    }
+
+    @Test
+    public void testRejectedExecution() throws Exception {
+        final ExecutorService delegate = Executors.newSingleThreadExecutor();
+        final ExecutorService loggingExecutor = Executors.newSingleThreadExecutor();
+        try {
+            final AtomicBoolean reject = new AtomicBoolean(true);
+            final Executor executor = task -> {
+                if (reject.get()) {
+                    throw new RejectedExecutionException("Rejected");
+                }
+                delegate.execute(task);
+            };
+            final QueuedJsonWriter writer = new QueuedJsonWriter();
+            final BatchingEventLogger logger = BatchingEventLogger.builder("test-rejected-logger", writer, executor)
+                    .setQueueLength(2)
+                    .setOverflowAction(BatchingEventLogger.OverflowAction.BLOCK)
+                    .build();
+
+            // Logging more events than the queue holds should not block while the executor rejects the task
+            final Future<?> logged = loggingExecutor.submit(() -> {
+                for (int i = 0; i < 10; i++) {
+                    logger.log(Collections.singletonMap("count", i));
+                }
+            });
+            logged.get(TIMEOUT, TimeUnit.SECONDS);
+            Assert.assertEquals(0, logger.getQueueSize());
+            Assert.assertEquals(10L, logger.getDroppedCount());
+
+            // Once the executor accepts the task the events are written again
+            reject.set(false);
+            logger.log(Collections.singletonMap("count", 10));
+            Assert.assertNotNull(writer.events.poll(TIMEOUT, TimeUnit.SECONDS));
+            waitFor(() -> logger.getWrittenCount() == 1L);
+        } finally {
+            shutdown(loggingExecutor);
+            shutdown(delegate);
+        }
+    }
+
+    private static void waitFor(final BooleanSupplier condition) throws InterruptedException {
+        final long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > end) {
+                Assert.fail(String.format("Condition was not met within %d seconds", TIMEOUT));
+            }
+            TimeUnit.MILLISECONDS.sleep(10L);
+        }
+    }
+
+    private static void shutdown(final ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        Assert.assertTrue(String.format("Executed did not complete within %d seconds", TIMEOUT),
+                executor.awaitTermination(TIMEOUT, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.event.logger;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+@SuppressWarnings("MagicNumber")
+public class EventWriterTestCase {
+
+    private static final EventFormatter FORMATTER = JsonEventFormatter.builder()
+            .setIncludeTimestamp(false)
+            .build();
+
+    @Test
+    public void testJsonFormatter() {
+        final JsonEventFormatter formatter = JsonEventFormatter.builder()
+                .setIncludeTimestamp(false)
+                .addMetaData("@version", "1")
+                .addMetaData("host", "localhost")
+                .build();
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("text", "a \"quoted\"\\ line\n\u0001");
+        data.put("host", "override");
+        data.put("list", Arrays.asList(1, 2L, null));
+        data.put("array", new int[] {1, 2});
+        data.put("map", Collections.singletonMap(1, true));
+        data.put("nan", Double.NaN);
+        data.put("double", 1.5d);
+        final StringBuilder builder = new StringBuilder("prefix:");
+        formatter.format(new StandardEvent("test", data), builder);
+        Assert.assertEquals("prefix:{\"eventSource\":\"test\",\"@version\":\"1\",\"host\":\"override\"," +
+                        "\"text\":\"a \\\"quoted\\\"\\\\ line\\n\\u0001\",\"list\":[1,2,null],\"array\":[1,2],\"map\":{\"1\":true}," +
+                        "\"nan\":\"NaN\",\"double\":1.5}",
+                builder.toString());
+        Assert.assertEquals(builder.substring("prefix:".length()), formatter.format(new StandardEvent("test", data)));
+    }
+
+    @Test
+    public void testFileWriter() throws Exception {
+        final Path dir = Files.createTempDirectory("event-writer");
+        final Path file = dir.resolve("events.log");
+        try {
+            try (FileEventWriter writer = FileEventWriter.builder(file, FORMATTER).setBufferSize(64).build()) {
+                writer.write(event(0));
+                writer.flush();
+                Assert.assertEquals(Collections.singletonList(json(0)), Files.readAllLines(file));
+                for (int i = 1; i < 10; i++) {
+                    writer.write(event(i));
+                }
+            }
+            Assert.assertEquals(10, Files.readAllLines(file).size());
+
+            // Each event is 33 bytes including the new line, so each file fits two events
+            try (FileEventWriter writer = FileEventWriter.builder(file, FORMATTER)
+                    .setRotateSize(80)
+                    .setMaxBackupIndex(2)
+                    .setBufferSize(1)
+                    .build()) {
+                for (int i = 0; i < 6; i++) {
+                    writer.write(event(i));
+                }
+            }
+            Assert.assertEquals(Arrays.asList(json(4), json(5)), Files.readAllLines(file));
+            Assert.assertEquals(Arrays.asList(json(2), json(3)), Files.readAllLines(dir.resolve("events.log.1")));
+            Assert.assertEquals(Arrays.asList(json(0), json(1)), Files.readAllLines(dir.resolve("events.log.2")));
+            Assert.assertFalse(Files.exists(dir.resolve("events.log.3")));
+        } finally {
+            try (Stream<Path> paths = Files.list(dir)) {
+                for (Path path : (Iterable<Path>) paths::iterator) {
+                    Files.delete(path);
+                }
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testBinaryWriter() throws Exception {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BinaryEventWriter writer = BinaryEventWriter.of(out, FORMATTER)) {
+            for (int i = 0; i < 3; i++) {
+                writer.write(event(i));
+            }
+            writer.write(new StandardEvent("test", Collections.singletonMap("text", "\u00e9")));
+            Assert.assertEquals("Events should be buffered until flushed", 0, out.size());
+            writer.flush();
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            for (int i = 0; i < 3; i++) {
+                Assert.assertEquals(json(i), readFrame(in));
+            }
+            Assert.assertEquals("{\"eventSource\":\"test\",\"text\":\"\u00e9\"}", readFrame(in));
+            Assert.assertEquals(-1, in.read());
+        }
+    }
+
+    @Test
+    public void testTcpWriter() throws Exception {
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            try (SocketEventWriter writer = SocketEventWriter.builder(FORMATTER)
+                    .setHost(server.getInetAddress().getHostAddress())
+                    .setPort(server.getLocalPort())
+                    .build()) {
+                writer.write(event(0));
+                writer.write(event(1));
+                writer.flush();
+                try (Socket socket = server.accept()) {
+                    socket.setSoTimeout((int) AbstractEventLoggerTestCase.TIMEOUT * 1000);
+                    final BufferedReader reader = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                    Assert.assertEquals(json(0), reader.readLine());
+                    Assert.assertEquals(json(1), reader.readLine());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testUdpWriter() throws Exception {
+        try (DatagramSocket server = new DatagramSocket(0, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout((int) AbstractEventLoggerTestCase.TIMEOUT * 1000);
+            try (SocketEventWriter writer = SocketEventWriter.builder(FORMATTER)
+                    .setProtocol(SocketEventWriter.Protocol.UDP)
+                    .setHost(server.getLocalAddress().getHostAddress())
+                    .setPort(server.getLocalPort())
+                    .build()) {
+                writer.write(event(0));
+                writer.write(event(1));
+                final List<String> received = Arrays.asList(receive(server), receive(server));
+                Assert.assertEquals(Arrays.asList(json(0), json(1)), received);
+            }
+        }
+    }
+
+    private static Event event(final int count) {
+        return new StandardEvent("test", Collections.singletonMap("count", count));
+    }
+
+    private static String json(final int count) {
+        return "{\"eventSource\":\"test\",\"count\":" + count + "}";
+    }
+
+    private static String readFrame(final DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String receive(final DatagramSocket socket) throws IOException {
+        final DatagramPacket packet = new DatagramPacket(new byte[1024], 1024);
+        socket.receive(packet);
+        return new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8);
+    }
+}
@@ -24,6 +24,7 @@
 package org.wildfly.extension.io;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
 
 import java.nio.ByteBuffer;
 import java.util.Arrays;
@@ -40,6 +41,7 @@ import org.jboss.as.controller.CapabilityServiceBuilder;
 import org.jboss.as.controller.ModelVersion;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
@@ -47,14 +49,19 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.ServiceController;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StopContext;
+import org.wildfly.extension.io.logging.IOLogger;
 import org.xnio.Pool;
 
 /**
@@ -109,6 +116,31 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
             .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
             .setAllowExpression(true)
             .build();
+    static final SimpleAttributeDefinition THREAD_LOCAL_CACHE_SIZE = new SimpleAttributeDefinitionBuilder(Constants.THREAD_LOCAL_CACHE_SIZE, ModelType.INT, true)
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+            .setAllowExpression(true)
+            .setValidator(new IntRangeValidator(0, true, true))
+            .build();
+    static final SimpleAttributeDefinition THREAD_ARENAS = new SimpleAttributeDefinitionBuilder(Constants.THREAD_ARENAS, ModelType.BOOLEAN, true)
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.FALSE)
+            .setRequires(Constants.THREAD_LOCAL_CACHE_SIZE)
+            .build();
+    static final SimpleAttributeDefinition MAX_DIRECT_MEMORY = new SimpleAttributeDefinitionBuilder(Constants.MAX_DIRECT_MEMORY, ModelType.LONG, true)
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+            .setAllowExpression(true)
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .setValidator(new LongRangeValidator(1L, true, true))
+            .setRequires(Constants.THREAD_LOCAL_CACHE_SIZE)
+            .build();
+    static final SimpleAttributeDefinition LEAK_DETECTION_SAMPLE_RATE = new SimpleAttributeDefinitionBuilder(Constants.LEAK_DETECTION_SAMPLE_RATE, ModelType.INT, true)
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.ZERO)
+            .setValidator(new IntRangeValidator(0, true, true))
+            .setRequires(Constants.THREAD_LOCAL_CACHE_SIZE)
+            .build();
 
 
     /*<buffer-pool name="default" buffer-size="1024" buffers-per-slice="1024"/>*/
@@ -116,9 +148,22 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
     static List<SimpleAttributeDefinition> ATTRIBUTES = Arrays.asList(
             BUFFER_SIZE,
             BUFFER_PER_SLICE,
-            DIRECT_BUFFERS
+            DIRECT_BUFFERS,
+            THREAD_LOCAL_CACHE_SIZE,
+            THREAD_ARENAS,
+            MAX_DIRECT_MEMORY,
+            LEAK_DETECTION_SAMPLE_RATE
     );
 
+    private static final AttributeDefinition ALLOCATION_COUNT = new SimpleAttributeDefinitionBuilder("allocation-count", ModelType.LONG, true).build();
+    private static final AttributeDefinition CACHE_HIT_COUNT = new SimpleAttributeDefinitionBuilder("cache-hit-count", ModelType.LONG, true).build();
+    private static final AttributeDefinition OUTSTANDING_BUFFER_COUNT = new SimpleAttributeDefinitionBuilder("outstanding-buffer-count", ModelType.LONG, true).build();
+    private static final AttributeDefinition RETAINED_BYTES = new SimpleAttributeDefinitionBuilder("retained-bytes", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .build();
+    private static final AttributeDefinition UNPOOLED_ALLOCATION_COUNT = new SimpleAttributeDefinitionBuilder("unpooled-allocation-count", ModelType.LONG, true).build();
+    private static final AttributeDefinition LEAK_COUNT = new SimpleAttributeDefinitionBuilder("leak-count", ModelType.LONG, true).build();
+
 
     public static final BufferPoolResourceDefinition INSTANCE = new BufferPoolResourceDefinition();
 
@@ -140,6 +185,18 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
         return (Collection) ATTRIBUTES;
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        BufferPoolMetricsHandler metricsHandler = new BufferPoolMetricsHandler();
+        resourceRegistration.registerMetric(ALLOCATION_COUNT, metricsHandler);
+        resourceRegistration.registerMetric(CACHE_HIT_COUNT, metricsHandler);
+        resourceRegistration.registerMetric(OUTSTANDING_BUFFER_COUNT, metricsHandler);
+        resourceRegistration.registerMetric(RETAINED_BYTES, metricsHandler);
+        resourceRegistration.registerMetric(UNPOOLED_ALLOCATION_COUNT, metricsHandler);
+        resourceRegistration.registerMetric(LEAK_COUNT, metricsHandler);
+    }
+
     private static class BufferPoolAdd extends AbstractAddStepHandler {
 
         private BufferPoolAdd() {
@@ -156,10 +213,18 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
             final int bufferSize = bufferSizeModel.isDefined() ? bufferSizeModel.asInt() : defaultBufferSize;
             final int bufferPerSlice = bufferPerSliceModel.isDefined() ? bufferPerSliceModel.asInt() : defaultBuffersPerRegion;
             final boolean direct = directModel.isDefined() ? directModel.asBoolean() : defaultDirectBuffers;
+            final ModelNode threadCacheSizeModel = THREAD_LOCAL_CACHE_SIZE.resolveModelAttribute(context, model);
+            final ModelNode maxDirectMemoryModel = MAX_DIRECT_MEMORY.resolveModelAttribute(context, model);
+
+            final int threadCacheSize = threadCacheSizeModel.isDefined() ? threadCacheSizeModel.asInt() : -1;
+            final boolean threadArenas = THREAD_ARENAS.resolveModelAttribute(context, model).asBoolean();
+            final long maxDirectMemory = maxDirectMemoryModel.isDefined() ? maxDirectMemoryModel.asLong() : -1;
+            final int leakDetectionSampleRate = LEAK_DETECTION_SAMPLE_RATE.resolveModelAttribute(context, model).asInt();
 
             CapabilityServiceBuilder<?> builder = context.getCapabilityServiceTarget().addCapability(IO_POOL_RUNTIME_CAPABILITY);
             final Consumer<Pool<ByteBuffer>> byteBufferConsumer = builder.provides(IO_POOL_RUNTIME_CAPABILITY);
-            builder.setInstance(new BufferPoolService(byteBufferConsumer, bufferSize, bufferPerSlice, direct));
+            builder.setInstance(new BufferPoolService(byteBufferConsumer, address.getLastElement().getValue(), bufferSize, bufferPerSlice, direct,
+                    threadCacheSize, threadArenas, maxDirectMemory, leakDetectionSampleRate));
             builder.setInitialMode(ServiceController.Mode.ON_DEMAND);
             builder.install();
 
@@ -172,6 +237,47 @@ class BufferPoolResourceDefinition extends PersistentResourceDefinition {
         }
     }
 
+    private static class BufferPoolMetricsHandler implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext outContext, ModelNode operation) throws OperationFailedException {
+            if (!PROFILE.equals(outContext.getCurrentAddress().getElement(0).getKey())) {
+                outContext.addStep((context, op) -> {
+                    ThreadLocalBufferPool pool = getThreadLocalBufferPool(context);
+                    // only the thread local pool keeps statistics
+                    if (pool != null) {
+                        String name = op.require(ModelDescriptionConstants.NAME).asString();
+                        if (ALLOCATION_COUNT.getName().equals(name)) {
+                            context.getResult().set(pool.getAllocationCount());
+                        } else if (CACHE_HIT_COUNT.getName().equals(name)) {
+                            context.getResult().set(pool.getCacheHitCount());
+                        } else if (OUTSTANDING_BUFFER_COUNT.getName().equals(name)) {
+                            context.getResult().set(pool.getOutstandingBufferCount());
+                        } else if (RETAINED_BYTES.getName().equals(name)) {
+                            context.getResult().set(pool.getRetainedBytes());
+                        } else if (UNPOOLED_ALLOCATION_COUNT.getName().equals(name)) {
+                            context.getResult().set(pool.getUnpooledAllocationCount());
+                        } else if (LEAK_COUNT.getName().equals(name)) {
+                            context.getResult().set(pool.getLeakCount());
+                        } else {
+                            throw new OperationFailedException(IOLogger.ROOT_LOGGER.noMetrics());
+                        }
+                    }
+                }, OperationContext.Stage.RUNTIME);
+            }
+        }
+
+        private static ThreadLocalBufferPool getThreadLocalBufferPool(OperationContext context) {
+            ServiceController<?> controller = context.getServiceRegistry(false).getService(
+                    IO_POOL_RUNTIME_CAPABILITY.getCapabilityServiceName(context.getCurrentAddressValue(), Pool.class));
+            if (controller == null || controller.getState() != ServiceController.State.UP) {
+                return null;
+            }
+            Object pool = controller.getValue();
+            return pool instanceof ThreadLocalBufferPool ? (ThreadLocalBufferPool) pool : null;
+        }
+    }
+
     private static final class ByteBufferPoolService implements Service<ByteBufferPool> {
         private final Consumer<ByteBufferPool> poolConsumer;
         private final Supplier<Pool> poolSupplier;
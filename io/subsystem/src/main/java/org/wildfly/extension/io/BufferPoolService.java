@@ -46,24 +46,52 @@ public class BufferPoolService implements Service<Pool<ByteBuffer>> {
     private final int bufferSize;
     private final int buffersPerSlice;
     private final boolean directBuffers;
+    private final String name;
+    private final int threadCacheSize;
+    private final boolean threadArenas;
+    private final long maxDirectMemory;
+    private final int leakDetectionSampleRate;
 
     public BufferPoolService(final Consumer<Pool<ByteBuffer>> byteBufferConsumer, final int bufferSize, final int buffersPerSlice, final boolean directBuffers) {
+        this(byteBufferConsumer, null, bufferSize, buffersPerSlice, directBuffers, -1, false, -1, 0);
+    }
+
+    /**
+     * Creates a service for a {@link ThreadLocalBufferPool} if {@code threadCacheSize} is not negative, or for a
+     * {@link ByteBufferSlicePool} otherwise, in which case the remaining thread local pool settings are ignored.
+     */
+    BufferPoolService(final Consumer<Pool<ByteBuffer>> byteBufferConsumer, final String name, final int bufferSize, final int buffersPerSlice,
+                      final boolean directBuffers, final int threadCacheSize, final boolean threadArenas, final long maxDirectMemory,
+                      final int leakDetectionSampleRate) {
         this.byteBufferConsumer = byteBufferConsumer;
+        this.name = name;
         this.bufferSize = bufferSize;
         this.buffersPerSlice = buffersPerSlice;
         this.directBuffers = directBuffers;
+        this.threadCacheSize = threadCacheSize;
+        this.threadArenas = threadArenas;
+        this.maxDirectMemory = maxDirectMemory;
+        this.leakDetectionSampleRate = leakDetectionSampleRate;
     }
 
     @Override
     public void start(final StartContext context) {
-        bufferPool = new ByteBufferSlicePool(directBuffers ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR, bufferSize, buffersPerSlice * bufferSize);
+        if (threadCacheSize >= 0) {
+            bufferPool = new ThreadLocalBufferPool(name, bufferSize, buffersPerSlice, directBuffers, threadCacheSize, threadArenas, maxDirectMemory, leakDetectionSampleRate);
+        } else {
+            bufferPool = new ByteBufferSlicePool(directBuffers ? BufferAllocator.DIRECT_BYTE_BUFFER_ALLOCATOR : BufferAllocator.BYTE_BUFFER_ALLOCATOR, bufferSize, buffersPerSlice * bufferSize);
+        }
         byteBufferConsumer.accept(bufferPool);
     }
 
     @Override
     public void stop(final StopContext context) {
         byteBufferConsumer.accept(null);
-        ((ByteBufferSlicePool) bufferPool).clean();
+        if (bufferPool instanceof ThreadLocalBufferPool) {
+            ((ThreadLocalBufferPool) bufferPool).clean();
+        } else {
+            ((ByteBufferSlicePool) bufferPool).clean();
+        }
         bufferPool = null;
     }
 
@@ -32,12 +32,19 @@ interface Constants {
     String BUFFER_SIZE = "buffer-size";
     String BUFFER_PER_SLICE = "buffers-per-slice";
     String DIRECT_BUFFERS = "direct-buffers";
+    String THREAD_LOCAL_CACHE_SIZE = "thread-local-cache-size";
+    String THREAD_ARENAS = "thread-arenas";
+    String MAX_DIRECT_MEMORY = "max-direct-memory";
+    String LEAK_DETECTION_SAMPLE_RATE = "leak-detection-sample-rate";
     String WORKER = "worker";
     String WORKER_IO_THREADS = "io-threads";
     String WORKER_TASK_CORE_THREADS = "task-core-threads";
     String WORKER_TASK_KEEPALIVE = "task-keepalive";
     String WORKER_TASK_LIMIT = "task-limit";
     String WORKER_TASK_MAX_THREADS = "task-max-threads";
+    String WORKER_ADAPTIVE_TASK_THREADS = "adaptive-task-threads";
+    String TASK_POOL_ADJUSTMENTS = "task-pool-adjustments";
+    String TASK_POOL_ADJUSTMENT = "task-pool-adjustment";
     String THREAD_DAEMON = "thread-daemon";
     String STACK_SIZE = "stack-size";
 }
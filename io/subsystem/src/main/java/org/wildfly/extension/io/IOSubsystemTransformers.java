@@ -37,6 +37,7 @@ import org.jboss.as.controller.transform.description.TransformationDescriptionBu
 public class IOSubsystemTransformers implements ExtensionTransformerRegistration {
     static final ModelVersion VERSION_2_0 = ModelVersion.create(2, 0);
     static final ModelVersion VERSION_3_0 = ModelVersion.create(3, 0);
+    static final ModelVersion VERSION_5_0 = ModelVersion.create(5, 0);
 
 
     @Override
@@ -48,10 +49,28 @@ public class IOSubsystemTransformers implements ExtensionTransformerRegistration
     public void registerTransformers(SubsystemTransformerRegistration registration) {
         ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(registration.getCurrentSubsystemVersion());
 
-        buildTransformers_3_0(chainedBuilder.createBuilder(CURRENT_MODEL_VERSION, VERSION_3_0));
+        buildTransformers_5_0(chainedBuilder.createBuilder(CURRENT_MODEL_VERSION, VERSION_5_0));
+        buildTransformers_3_0(chainedBuilder.createBuilder(VERSION_5_0, VERSION_3_0));
         buildTransformers_2_0(chainedBuilder.createBuilder(VERSION_3_0, VERSION_2_0));
 
-        chainedBuilder.buildAndRegister(registration, new ModelVersion[]{ VERSION_3_0, VERSION_2_0 });
+        chainedBuilder.buildAndRegister(registration, new ModelVersion[]{ VERSION_5_0, VERSION_3_0, VERSION_2_0 });
+    }
+
+    private void buildTransformers_5_0(ResourceTransformationDescriptionBuilder builder) {
+        final ResourceTransformationDescriptionBuilder worker = builder.addChildResource(WorkerResourceDefinition.INSTANCE.getPathElement());
+        worker.getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, WorkerResourceDefinition.ADAPTIVE_TASK_THREADS)
+                .addRejectCheck(RejectAttributeChecker.DEFINED, WorkerResourceDefinition.ADAPTIVE_TASK_THREADS);
+        final ResourceTransformationDescriptionBuilder bufferPool = builder.addChildResource(BufferPoolResourceDefinition.INSTANCE.getPathElement());
+        bufferPool.getAttributeBuilder()
+                .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE,
+                        BufferPoolResourceDefinition.THREAD_ARENAS,
+                        BufferPoolResourceDefinition.LEAK_DETECTION_SAMPLE_RATE)
+                .addRejectCheck(RejectAttributeChecker.DEFINED,
+                        BufferPoolResourceDefinition.THREAD_LOCAL_CACHE_SIZE,
+                        BufferPoolResourceDefinition.THREAD_ARENAS,
+                        BufferPoolResourceDefinition.MAX_DIRECT_MEMORY,
+                        BufferPoolResourceDefinition.LEAK_DETECTION_SAMPLE_RATE);
     }
 
     private void buildTransformers_3_0(ResourceTransformationDescriptionBuilder builder) {
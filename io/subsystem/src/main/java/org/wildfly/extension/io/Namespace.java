@@ -37,12 +37,13 @@ enum Namespace {
     IO_1_0("urn:jboss:domain:io:1.0"),
     IO_1_1("urn:jboss:domain:io:1.1"),
     IO_2_0("urn:jboss:domain:io:2.0"),
-    IO_3_0("urn:jboss:domain:io:3.0");
+    IO_3_0("urn:jboss:domain:io:3.0"),
+    IO_3_1("urn:jboss:domain:io:3.1");
 
     /**
      * The current namespace version.
      */
-    public static final Namespace CURRENT = IO_3_0;
+    public static final Namespace CURRENT = IO_3_1;
 
     private final String name;
 
@@ -0,0 +1,322 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.wildfly.extension.io.logging.IOLogger;
+import org.xnio.Pool;
+import org.xnio.Pooled;
+
+/**
+ * A buffer pool which keeps a small cache of free buffers per thread, so that I/O threads allocating and freeing
+ * buffers do not contend with each other.
+ * <p>
+ * A thread allocates from its own cache first, then from the buffers shared between threads, and finally slices a new
+ * region. Freed buffers go back to the cache of the freeing thread, overflowing into the shared buffers once the cache
+ * is full. Regions are sliced from a single shared region by default; with per-thread arenas each thread slices its
+ * own regions instead, so the memory of a region is first touched by the thread which uses it, which keeps it local to
+ * that thread's NUMA node where the operating system allocates pages on first touch.
+ * <p>
+ * The memory held by direct buffer regions may be capped. Once the cap is reached, allocations which find no free
+ * buffer are served with heap buffers which are not returned to the pool. The memory of a region is counted until the
+ * region and every buffer sliced from it have been garbage collected, e.g. after the thread caching them has ended.
+ * <p>
+ * A sample of the allocations may be tracked to detect buffers which are never freed. A tracked buffer which becomes
+ * unreachable without having been freed is logged with the stack trace of its allocation.
+ */
+final class ThreadLocalBufferPool implements Pool<ByteBuffer> {
+
+    private final String name;
+    private final int bufferSize;
+    private final int regionSize;
+    private final boolean directBuffers;
+    private final int threadCacheSize;
+    private final boolean threadArenas;
+    private final long maxDirectMemory;
+    private final int leakDetectionSampleRate;
+
+    private final ConcurrentLinkedQueue<ByteBuffer> sharedBuffers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ThreadCache> threadCaches = ThreadLocal.withInitial(ThreadCache::new);
+    private final ThreadCache sharedArena = new ThreadCache();
+
+    private final LongAdder allocations = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder outstanding = new LongAdder();
+    private final LongAdder unpooledAllocations = new LongAdder();
+    private final LongAdder leaks = new LongAdder();
+    private final AtomicLong retainedBytes = new AtomicLong();
+
+    private final ReferenceQueue<PooledBuffer> leakQueue = new ReferenceQueue<>();
+    private final Set<LeakTracker> leakTrackers = ConcurrentHashMap.newKeySet();
+    private final ReferenceQueue<Object> regionQueue = new ReferenceQueue<>();
+    private final Set<RegionTracker> regionTrackers = ConcurrentHashMap.newKeySet();
+
+    private volatile boolean closed;
+
+    /**
+     * @param name the name of the pool, used when reporting leaks
+     * @param bufferSize the size of each buffer
+     * @param buffersPerSlice the number of buffers sliced from each region
+     * @param directBuffers whether the regions are direct buffers
+     * @param threadCacheSize the number of free buffers each thread keeps for itself
+     * @param threadArenas whether each thread slices its own regions
+     * @param maxDirectMemory the maximum memory held by direct buffer regions, or {@code -1} if it is unbounded
+     * @param leakDetectionSampleRate track one in this many allocations for leaks, or {@code 0} to disable leak detection
+     */
+    ThreadLocalBufferPool(final String name, final int bufferSize, final int buffersPerSlice, final boolean directBuffers,
+                          final int threadCacheSize, final boolean threadArenas, final long maxDirectMemory,
+                          final int leakDetectionSampleRate) {
+        this.name = name;
+        this.bufferSize = bufferSize;
+        this.regionSize = bufferSize * buffersPerSlice;
+        this.directBuffers = directBuffers;
+        this.threadCacheSize = threadCacheSize;
+        this.threadArenas = threadArenas;
+        this.maxDirectMemory = directBuffers && maxDirectMemory > 0 ? maxDirectMemory : Long.MAX_VALUE;
+        this.leakDetectionSampleRate = leakDetectionSampleRate;
+    }
+
+    @Override
+    public Pooled<ByteBuffer> allocate() {
+        allocations.increment();
+        outstanding.increment();
+        final ThreadCache cache = threadCaches.get();
+        ByteBuffer buffer = cache.buffers.pollLast();
+        if (buffer != null) {
+            cacheHits.increment();
+        } else {
+            buffer = sharedBuffers.poll();
+            if (buffer == null) {
+                buffer = threadArenas ? slice(cache) : sliceShared();
+            }
+        }
+        buffer.clear();
+        final PooledBuffer pooled = new PooledBuffer(buffer);
+        if (leakDetectionSampleRate > 0 && ThreadLocalRandom.current().nextInt(leakDetectionSampleRate) == 0) {
+            reportLeaks();
+            pooled.tracker = new LeakTracker(pooled, leakQueue);
+            leakTrackers.add(pooled.tracker);
+        }
+        return pooled;
+    }
+
+    /**
+     * Releases the buffers held by the pool. Buffers cached by other threads are released once the pool is no longer
+     * referenced, and buffers freed after this call are not retained.
+     */
+    void clean() {
+        closed = true;
+        sharedBuffers.clear();
+        synchronized (sharedArena) {
+            sharedArena.region = null;
+        }
+        leakTrackers.clear();
+    }
+
+    long getAllocationCount() {
+        return allocations.sum();
+    }
+
+    long getCacheHitCount() {
+        return cacheHits.sum();
+    }
+
+    long getOutstandingBufferCount() {
+        return outstanding.sum();
+    }
+
+    /**
+     * @return the number of bytes held by the regions the buffers are sliced from
+     */
+    long getRetainedBytes() {
+        releaseRegions();
+        return retainedBytes.get();
+    }
+
+    /**
+     * @return the number of allocations served with a heap buffer because the direct memory cap was reached
+     */
+    long getUnpooledAllocationCount() {
+        return unpooledAllocations.sum();
+    }
+
+    long getLeakCount() {
+        reportLeaks();
+        return leaks.sum();
+    }
+
+    private ByteBuffer sliceShared() {
+        synchronized (sharedArena) {
+            return slice(sharedArena);
+        }
+    }
+
+    private ByteBuffer slice(final ThreadCache arena) {
+        ByteBuffer region = arena.region;
+        if (region == null || !region.hasRemaining()) {
+            region = arena.region = allocateRegion();
+            if (region == null) {
+                unpooledAllocations.increment();
+                return ByteBuffer.allocate(bufferSize);
+            }
+        }
+        final int position = region.position();
+        region.limit(position + bufferSize);
+        final ByteBuffer buffer = region.slice();
+        region.limit(region.capacity());
+        region.position(position + bufferSize);
+        return buffer;
+    }
+
+    private ByteBuffer allocateRegion() {
+        releaseRegions();
+        long retained;
+        do {
+            retained = retainedBytes.get();
+            if (retained + regionSize > maxDirectMemory) {
+                return null;
+            }
+        } while (!retainedBytes.compareAndSet(retained, retained + regionSize));
+        final ByteBuffer region = directBuffers ? ByteBuffer.allocateDirect(regionSize) : ByteBuffer.allocate(regionSize);
+        // direct slices reference the region they were sliced from, heap slices only share its array
+        regionTrackers.add(new RegionTracker(directBuffers ? region : region.array(), regionQueue));
+        return region;
+    }
+
+    /**
+     * Stops counting the memory of the regions which have been garbage collected along with all of their buffers.
+     */
+    private void releaseRegions() {
+        RegionTracker tracker;
+        while ((tracker = (RegionTracker) regionQueue.poll()) != null) {
+            if (regionTrackers.remove(tracker)) {
+                retainedBytes.addAndGet(-regionSize);
+            }
+        }
+    }
+
+    private void release(final ByteBuffer buffer) {
+        outstanding.decrement();
+        if (closed || buffer.isDirect() != directBuffers) {
+            // the pool is closed, or the buffer is a heap buffer allocated because the direct memory cap was reached
+            return;
+        }
+        final ArrayDeque<ByteBuffer> cache = threadCaches.get().buffers;
+        if (cache.size() < threadCacheSize) {
+            cache.addLast(buffer);
+        } else {
+            sharedBuffers.add(buffer);
+        }
+    }
+
+    private void reportLeaks() {
+        LeakTracker tracker;
+        while ((tracker = (LeakTracker) leakQueue.poll()) != null) {
+            if (leakTrackers.remove(tracker)) {
+                leaks.increment();
+                IOLogger.ROOT_LOGGER.bufferLeak(name, tracker.allocation);
+            }
+        }
+    }
+
+    private static final class ThreadCache {
+        final ArrayDeque<ByteBuffer> buffers = new ArrayDeque<>();
+        ByteBuffer region;
+    }
+
+    private static final class LeakTracker extends PhantomReference<PooledBuffer> {
+        final Throwable allocation = new Throwable();
+
+        LeakTracker(final PooledBuffer referent, final ReferenceQueue<PooledBuffer> queue) {
+            super(referent, queue);
+        }
+    }
+
+    private static final class RegionTracker extends PhantomReference<Object> {
+        RegionTracker(final Object memory, final ReferenceQueue<Object> queue) {
+            super(memory, queue);
+        }
+    }
+
+    private final class PooledBuffer implements Pooled<ByteBuffer> {
+        private volatile ByteBuffer buffer;
+        LeakTracker tracker;
+
+        PooledBuffer(final ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void discard() {
+            if (BUFFER_UPDATER.getAndSet(this, null) != null) {
+                outstanding.decrement();
+                untrack();
+            }
+        }
+
+        @Override
+        public void free() {
+            final ByteBuffer buffer = BUFFER_UPDATER.getAndSet(this, null);
+            if (buffer != null) {
+                release(buffer);
+                untrack();
+            }
+        }
+
+        @Override
+        public ByteBuffer getResource() throws IllegalStateException {
+            final ByteBuffer buffer = this.buffer;
+            if (buffer == null) {
+                throw IOLogger.ROOT_LOGGER.bufferFreed();
+            }
+            return buffer;
+        }
+
+        @Override
+        public void close() {
+            free();
+        }
+
+        private void untrack() {
+            final LeakTracker tracker = this.tracker;
+            if (tracker != null) {
+                leakTrackers.remove(tracker);
+                tracker.clear();
+            }
+        }
+    }
+
+    private static final AtomicReferenceFieldUpdater<PooledBuffer, ByteBuffer> BUFFER_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(PooledBuffer.class, ByteBuffer.class, "buffer");
+}
@@ -26,6 +26,7 @@ package org.wildfly.extension.io;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
+import static org.wildfly.extension.io.WorkerResourceDefinition.ADAPTIVE_TASK_THREADS;
 import static org.wildfly.extension.io.WorkerResourceDefinition.ATTRIBUTES;
 import static org.wildfly.extension.io.WorkerResourceDefinition.IO_WORKER_RUNTIME_CAPABILITY;
 import static org.wildfly.extension.io.WorkerResourceDefinition.WORKER_IO_THREADS;
@@ -34,6 +35,9 @@ import static org.wildfly.extension.io.WorkerResourceDefinition.WORKER_TASK_MAX_
 import static org.wildfly.extension.io.WorkerResourceDefinition.STACK_SIZE;
 
 import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -42,6 +46,7 @@ import javax.management.MBeanServerConnection;
 import javax.management.ObjectName;
 
 import org.jboss.as.controller.AbstractAddStepHandler;
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.CapabilityServiceBuilder;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
@@ -67,7 +72,13 @@ class WorkerAdd extends AbstractAddStepHandler {
     static final WorkerAdd INSTANCE = new WorkerAdd();
 
     private WorkerAdd() {
-        super(ATTRIBUTES);
+        super(getAddAttributes());
+    }
+
+    private static List<AttributeDefinition> getAddAttributes() {
+        List<AttributeDefinition> attributes = new ArrayList<>(Arrays.asList(ATTRIBUTES));
+        attributes.add(ADAPTIVE_TASK_THREADS);
+        return attributes;
     }
 
     private static int getMaxDescriptorCount() {
@@ -223,11 +234,12 @@ class WorkerAdd extends AbstractAddStepHandler {
         }
 
         registerMax(context, name, workerThreads);
+        final boolean adaptiveTaskThreads = ADAPTIVE_TASK_THREADS.resolveModelAttribute(context, model).asBoolean();
 
         final CapabilityServiceBuilder<?> capBuilder = context.getCapabilityServiceTarget().addCapability(IO_WORKER_RUNTIME_CAPABILITY);
         final Consumer<XnioWorker> workerConsumer = capBuilder.provides(IO_WORKER_RUNTIME_CAPABILITY);
         final Supplier<ExecutorService> executorSupplier = capBuilder.requiresCapability("org.wildfly.management.executor", ExecutorService.class);
-        capBuilder.setInstance(new WorkerService(workerConsumer, executorSupplier, builder));
+        capBuilder.setInstance(new WorkerService(workerConsumer, executorSupplier, builder, adaptiveTaskThreads));
         capBuilder.setInitialMode(ServiceController.Mode.ON_DEMAND);
         capBuilder.install();
     }
@@ -0,0 +1,134 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.xnio.XnioExecutor;
+import org.xnio.XnioWorker;
+import org.xnio.management.XnioWorkerMXBean;
+
+/**
+ * Tracks the high-water marks of the busy task threads and the task queue of a worker over a sliding window, and
+ * passes each sample to the tuner of the worker's task pool.
+ * <p>
+ * The worker's task pool is owned by XNIO, so individual tasks cannot be measured. Instead the pool is sampled once a
+ * second on one of the worker's I/O threads, which keeps the cost independent of the task rate and needs no extra
+ * thread. Only workers whose task pool is tuned are sampled.
+ */
+final class WorkerLoadTracker implements Runnable {
+
+    /**
+     * The length of the window the high-water marks are measured over, in seconds.
+     */
+    static final int WINDOW_SECONDS = 60;
+
+    private final XnioWorker worker;
+    private final WorkerTaskPoolTuner tuner;
+    private final AtomicIntegerArray busyThreadCounts = new AtomicIntegerArray(WINDOW_SECONDS);
+    private final AtomicIntegerArray queueSizes = new AtomicIntegerArray(WINDOW_SECONDS);
+    // only accessed by the sampling task, which never runs concurrently with itself
+    private int slot;
+    private volatile XnioExecutor.Key key;
+    private volatile boolean stopped;
+
+    /**
+     * @param worker the worker to sample
+     * @param tuner the tuner to pass the samples to
+     */
+    WorkerLoadTracker(final XnioWorker worker, final WorkerTaskPoolTuner tuner) {
+        this.worker = worker;
+        this.tuner = tuner;
+    }
+
+    void start() {
+        schedule();
+    }
+
+    void stop() {
+        stopped = true;
+        final XnioExecutor.Key key = this.key;
+        if (key != null) {
+            key.remove();
+        }
+    }
+
+    @Override
+    public void run() {
+        if (stopped) {
+            return;
+        }
+        final XnioWorkerMXBean metrics = worker.getMXBean();
+        if (metrics != null) {
+            final int busyThreadCount = metrics.getBusyWorkerThreadCount();
+            final int queueSize = metrics.getWorkerQueueSize();
+            slot = (slot + 1) % WINDOW_SECONDS;
+            busyThreadCounts.set(slot, busyThreadCount);
+            queueSizes.set(slot, queueSize);
+            tuner.sample(busyThreadCount, queueSize);
+        }
+        schedule();
+    }
+
+    /**
+     * @return the tuner of the task pool
+     */
+    WorkerTaskPoolTuner getTuner() {
+        return tuner;
+    }
+
+    /**
+     * @return the largest number of busy task threads sampled within the window
+     */
+    int getPeakBusyThreadCount() {
+        return max(busyThreadCounts);
+    }
+
+    /**
+     * @return the largest task queue size sampled within the window
+     */
+    int getPeakQueueSize() {
+        return max(queueSizes);
+    }
+
+    private void schedule() {
+        if (stopped || worker.isShutdown()) {
+            return;
+        }
+        try {
+            key = worker.getIoThread().executeAfter(this, 1, TimeUnit.SECONDS);
+        } catch (RejectedExecutionException e) {
+            // the worker is shutting down
+        }
+    }
+
+    private static int max(final AtomicIntegerArray values) {
+        int max = 0;
+        for (int i = 0; i < values.length(); i++) {
+            max = Math.max(max, values.get(i));
+        }
+        return max;
+    }
+}
@@ -27,15 +27,19 @@ package org.wildfly.extension.io;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.PROFILE;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.jboss.as.controller.AbstractWriteAttributeHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
@@ -43,9 +47,12 @@ import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.LongRangeValidator;
@@ -105,6 +112,12 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
             .setAllowExpression(true)
             .build();
 
+    static final SimpleAttributeDefinition ADAPTIVE_TASK_THREADS = new SimpleAttributeDefinitionBuilder(Constants.WORKER_ADAPTIVE_TASK_THREADS, ModelType.BOOLEAN, true)
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES)
+            .setDefaultValue(ModelNode.FALSE)
+            .setAllowExpression(true)
+            .build();
+
     static final OptionAttributeDefinition[] ATTRIBUTES = new OptionAttributeDefinition[]{
             WORKER_IO_THREADS,
             WORKER_TASK_CORE_THREADS,
@@ -119,6 +132,35 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
     private static final AttributeDefinition IO_THREAD_COUNT = new SimpleAttributeDefinitionBuilder("io-thread-count", ModelType.INT).build();
     private static final AttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinitionBuilder("queue-size", ModelType.INT).build();
     private static final AttributeDefinition BUSY_WORKER_THREAD_COUNT = new SimpleAttributeDefinitionBuilder("busy-task-thread-count", ModelType.INT).build();
+    private static final AttributeDefinition PEAK_BUSY_WORKER_THREAD_COUNT = new SimpleAttributeDefinitionBuilder("peak-busy-task-thread-count", ModelType.INT).build();
+    private static final AttributeDefinition PEAK_QUEUE_SIZE = new SimpleAttributeDefinitionBuilder("peak-queue-size", ModelType.INT).build();
+
+    private static final SimpleAttributeDefinition ADJUSTMENT_TIME = new SimpleAttributeDefinitionBuilder("time", ModelType.LONG)
+            .setMeasurementUnit(MeasurementUnit.EPOCH_MILLISECONDS)
+            .build();
+    private static final SimpleAttributeDefinition ADJUSTMENT_PREVIOUS_MAX_THREADS = new SimpleAttributeDefinitionBuilder("previous-max-threads", ModelType.INT).build();
+    private static final SimpleAttributeDefinition ADJUSTMENT_MAX_THREADS = new SimpleAttributeDefinitionBuilder("max-threads", ModelType.INT).build();
+    private static final SimpleAttributeDefinition ADJUSTMENT_REASON = new SimpleAttributeDefinitionBuilder("reason", ModelType.STRING).build();
+    private static final SimpleAttributeDefinition ADJUSTMENT_BUSY_THREADS = new SimpleAttributeDefinitionBuilder("busy-task-thread-count", ModelType.INT).build();
+    private static final SimpleAttributeDefinition ADJUSTMENT_QUEUE_SIZE = new SimpleAttributeDefinitionBuilder("queue-size", ModelType.INT).build();
+    private static final SimpleAttributeDefinition ADJUSTMENT_CPU_LOAD = new SimpleAttributeDefinitionBuilder("cpu-load", ModelType.DOUBLE).build();
+    private static final SimpleAttributeDefinition ADJUSTMENT_PROBE_LATENCY = new SimpleAttributeDefinitionBuilder("probe-latency", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    private static final AttributeDefinition TASK_POOL_ADJUSTMENTS = ObjectListAttributeDefinition.Builder.of(Constants.TASK_POOL_ADJUSTMENTS,
+                ObjectTypeAttributeDefinition.Builder.of(Constants.TASK_POOL_ADJUSTMENT,
+                        ADJUSTMENT_TIME,
+                        ADJUSTMENT_PREVIOUS_MAX_THREADS,
+                        ADJUSTMENT_MAX_THREADS,
+                        ADJUSTMENT_REASON,
+                        ADJUSTMENT_BUSY_THREADS,
+                        ADJUSTMENT_QUEUE_SIZE,
+                        ADJUSTMENT_CPU_LOAD,
+                        ADJUSTMENT_PROBE_LATENCY)
+                .build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
 
     static final Map<String, OptionAttributeDefinition> ATTRIBUTES_BY_XMLNAME;
 
@@ -141,10 +183,11 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
                 .addCapabilities(IO_WORKER_RUNTIME_CAPABILITY));
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public Collection<AttributeDefinition> getAttributes() {
-        return (Collection) ATTRIBUTES_BY_XMLNAME.values();
+        List<AttributeDefinition> attributes = new ArrayList<>(ATTRIBUTES_BY_XMLNAME.values());
+        attributes.add(ADAPTIVE_TASK_THREADS);
+        return attributes;
     }
 
     @Override
@@ -190,6 +233,8 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
                     }
                 });
 
+        resourceRegistration.registerReadWriteAttribute(ADAPTIVE_TASK_THREADS, null, new ReloadRequiredWriteAttributeHandler(ADAPTIVE_TASK_THREADS));
+
         WorkerMetricsHandler metricsHandler = new WorkerMetricsHandler();
         resourceRegistration.registerReadOnlyAttribute(SHUTDOWN_REQUESTED, metricsHandler);
 
@@ -198,6 +243,11 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
         resourceRegistration.registerMetric(IO_THREAD_COUNT, metricsHandler);
         resourceRegistration.registerMetric(QUEUE_SIZE, metricsHandler);
         resourceRegistration.registerMetric(BUSY_WORKER_THREAD_COUNT, metricsHandler);
+
+        WorkerLoadMetricsHandler loadMetricsHandler = new WorkerLoadMetricsHandler();
+        resourceRegistration.registerMetric(PEAK_BUSY_WORKER_THREAD_COUNT, loadMetricsHandler);
+        resourceRegistration.registerMetric(PEAK_QUEUE_SIZE, loadMetricsHandler);
+        resourceRegistration.registerMetric(TASK_POOL_ADJUSTMENTS, loadMetricsHandler);
     }
 
     @Override
@@ -305,6 +355,49 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
         }
     }
 
+    private static class WorkerLoadMetricsHandler implements OperationStepHandler {
+
+        @Override
+        public void execute(OperationContext outContext, ModelNode operation) throws OperationFailedException {
+            if (!PROFILE.equals(outContext.getCurrentAddress().getElement(0).getKey())) {
+                outContext.addStep((context, op) -> {
+                    WorkerService service = getWorkerService(context.getServiceRegistry(false), context.getCurrentAddressValue());
+                    WorkerLoadTracker tracker = service == null ? null : service.getLoadTracker();
+                    if (tracker != null) {
+                        String name = op.require(ModelDescriptionConstants.NAME).asString();
+                        if (PEAK_BUSY_WORKER_THREAD_COUNT.getName().equals(name)) {
+                            context.getResult().set(tracker.getPeakBusyThreadCount());
+                        } else if (PEAK_QUEUE_SIZE.getName().equals(name)) {
+                            context.getResult().set(tracker.getPeakQueueSize());
+                        } else if (TASK_POOL_ADJUSTMENTS.getName().equals(name)) {
+                            ModelNode result = context.getResult().setEmptyList();
+                            for (WorkerTaskPoolTuner.Adjustment adjustment : tracker.getTuner().getAdjustments()) {
+                                result.add(toModelNode(adjustment));
+                            }
+                        } else {
+                            throw new OperationFailedException(IOLogger.ROOT_LOGGER.noMetrics());
+                        }
+                    }
+                }, OperationContext.Stage.RUNTIME);
+            }
+        }
+    }
+
+    private static ModelNode toModelNode(WorkerTaskPoolTuner.Adjustment adjustment) {
+        ModelNode node = new ModelNode();
+        node.get(ADJUSTMENT_TIME.getName()).set(adjustment.getTime());
+        node.get(ADJUSTMENT_PREVIOUS_MAX_THREADS.getName()).set(adjustment.getPreviousMaxThreads());
+        node.get(ADJUSTMENT_MAX_THREADS.getName()).set(adjustment.getMaxThreads());
+        node.get(ADJUSTMENT_REASON.getName()).set(adjustment.getReason().toString());
+        node.get(ADJUSTMENT_BUSY_THREADS.getName()).set(adjustment.getBusyThreads());
+        node.get(ADJUSTMENT_QUEUE_SIZE.getName()).set(adjustment.getQueueSize());
+        node.get(ADJUSTMENT_CPU_LOAD.getName()).set(adjustment.getCpuLoad());
+        if (adjustment.getProbeLatency() >= 0) {
+            node.get(ADJUSTMENT_PROBE_LATENCY.getName()).set(adjustment.getProbeLatency());
+        }
+        return node;
+    }
+
     static XnioWorker getXnioWorker(OperationContext context) {
         String name = context.getCurrentAddressValue();
         if (!context.getCurrentAddress().getLastElement().getKey().equals(IOExtension.WORKER_PATH.getKey())) { //we are somewhere deeper, lets find worker name
@@ -327,6 +420,15 @@ class WorkerResourceDefinition extends PersistentResourceDefinition {
         return controller.getValue();
     }
 
+    private static WorkerService getWorkerService(ServiceRegistry serviceRegistry, String name) {
+        ServiceName serviceName = IO_WORKER_RUNTIME_CAPABILITY.getCapabilityServiceName(name, XnioWorker.class);
+        ServiceController<?> controller = serviceRegistry.getService(serviceName);
+        if (controller == null || controller.getState() != ServiceController.State.UP) {
+            return null;
+        }
+        return (WorkerService) controller.getService();
+    }
+
     private static XnioWorkerMXBean getMetrics(ServiceRegistry serviceRegistry, String name) {
         XnioWorker worker = getXnioWorker(serviceRegistry, name);
         if (worker != null && worker.getMXBean() != null) {
@@ -47,26 +47,47 @@ public final class WorkerService implements Service<XnioWorker> {
     private final XnioWorker.Builder builder;
     private final Consumer<XnioWorker> workerConsumer;
     private final Supplier<ExecutorService> executorSupplier;
+    private final boolean adaptiveTaskThreads;
     private final Object stopLock = new Object();
     private XnioWorker worker;
+    private volatile WorkerLoadTracker loadTracker;
     private volatile StopContext stopContext;
 
     public WorkerService(final Consumer<XnioWorker> workerConsumer, final Supplier<ExecutorService> executorSupplier, final XnioWorker.Builder builder) {
+        this(workerConsumer, executorSupplier, builder, false);
+    }
+
+    /**
+     * @param adaptiveTaskThreads whether the maximum size of the task pool is adjusted to the load
+     */
+    public WorkerService(final Consumer<XnioWorker> workerConsumer, final Supplier<ExecutorService> executorSupplier, final XnioWorker.Builder builder,
+                         final boolean adaptiveTaskThreads) {
         this.workerConsumer = workerConsumer;
         this.executorSupplier = executorSupplier;
         this.builder = builder;
+        this.adaptiveTaskThreads = adaptiveTaskThreads;
     }
 
     @Override
     public void start(final StartContext startContext) {
         builder.setTerminationTask(this::stopDone);
         worker = builder.build();
+        if (adaptiveTaskThreads) {
+            final WorkerTaskPoolTuner tuner = new WorkerTaskPoolTuner(worker.getName(), worker, builder.getMaxWorkerPoolSize());
+            loadTracker = new WorkerLoadTracker(worker, tuner);
+            loadTracker.start();
+        }
         workerConsumer.accept(worker);
     }
 
     @Override
     public void stop(final StopContext context) {
         this.stopContext = context;
+        final WorkerLoadTracker loadTracker = this.loadTracker;
+        if (loadTracker != null) {
+            this.loadTracker = null;
+            loadTracker.stop();
+        }
         final ExecutorService executorService = executorSupplier.get();
         Runnable asyncStop = () -> {
             XnioWorker localWorker = worker;
@@ -133,6 +154,13 @@ public final class WorkerService implements Service<XnioWorker> {
         }
     }
 
+    /**
+     * @return the load tracker of the worker, or {@code null} if its task pool is not tuned
+     */
+    WorkerLoadTracker getLoadTracker() {
+        return loadTracker;
+    }
+
     CidrAddressTable<InetSocketAddress> getBindingsTable() {
         return builder.getBindAddressConfigurations();
     }
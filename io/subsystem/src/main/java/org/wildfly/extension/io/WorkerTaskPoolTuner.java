@@ -0,0 +1,313 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.OperatingSystemMXBean;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+import org.wildfly.common.cpu.ProcessorInfo;
+import org.wildfly.extension.io.logging.IOLogger;
+import org.xnio.Option;
+import org.xnio.Options;
+import org.xnio.XnioWorker;
+
+/**
+ * Adjusts the maximum size of a worker's task thread pool to the measured load.
+ * <p>
+ * The pool is sampled once a second by the {@link WorkerLoadTracker}. Each sample is classified as follows:
+ * <ul>
+ * <li>If tasks are waiting, or a probe task waited noticeably to start, while every allowed thread is busy and the
+ * process has CPU to spare, the tasks are most likely blocked on I/O or locks, so more threads would help and the
+ * limit should grow. If some threads are idle the tasks are only waiting for a thread to pick them up, so the limit
+ * is left as it is.</li>
+ * <li>If the process is using nearly all of its CPU and tasks are waiting, more threads only add contention, so the
+ * limit should shrink.</li>
+ * <li>Otherwise, including when the CPU load cannot be measured, the limit is left as it is.</li>
+ * </ul>
+ * To avoid oscillating, the limit only changes after {@link #STABLE_SAMPLES} consecutive samples agree, and not
+ * within {@link #COOLDOWN_SAMPLES} samples of the previous change. The limit grows by a quarter and shrinks by an
+ * eighth, and always stays between the configured core and maximum number of task threads.
+ * <p>
+ * If the maximum number of task threads is changed by a management operation while tuning, the new value becomes the
+ * upper bound.
+ */
+final class WorkerTaskPoolTuner {
+
+    static final int STABLE_SAMPLES = 3;
+    static final int COOLDOWN_SAMPLES = 5;
+    static final int MAX_ADJUSTMENTS = 20;
+
+    private static final double CPU_HEADROOM = 0.75;
+    private static final double CPU_SATURATED = 0.9;
+    private static final long PROBE_LATENCY_THRESHOLD = TimeUnit.MILLISECONDS.toMicros(10);
+
+    private final String name;
+    private final XnioWorker worker;
+    private final DoubleSupplier cpuLoad;
+    private final Deque<Adjustment> adjustments = new ArrayDeque<>();
+
+    // only accessed by the sampling task, which never runs concurrently with itself
+    private int upperBound;
+    private int limit;
+    private Reason pending;
+    private int pendingSamples;
+    private int cooldown;
+
+    private volatile long probeLatency = -1;
+
+    WorkerTaskPoolTuner(final String name, final XnioWorker worker, final int maxThreads) {
+        this(name, worker, maxThreads, CpuLoad::get);
+    }
+
+    /**
+     * @param cpuLoad the source of the recent CPU load of the process between 0 and 1, or a negative value if it is not
+     *                known
+     */
+    WorkerTaskPoolTuner(final String name, final XnioWorker worker, final int maxThreads, final DoubleSupplier cpuLoad) {
+        this.name = name;
+        this.worker = worker;
+        this.cpuLoad = cpuLoad;
+        this.upperBound = maxThreads;
+        this.limit = maxThreads;
+    }
+
+    /**
+     * Takes a sample of the pool, and adjusts its maximum size if the load calls for it.
+     *
+     * @param busyThreads the number of busy task threads
+     * @param queueSize the number of queued tasks
+     */
+    void sample(final int busyThreads, final int queueSize) {
+        final int coreThreads = Math.max(1, getOption(Options.WORKER_TASK_CORE_THREADS, 1));
+        final int maxThreads = getOption(Options.WORKER_TASK_MAX_THREADS, limit);
+        if (maxThreads != limit) {
+            // changed through management, which sets the new upper bound
+            upperBound = maxThreads;
+            limit = maxThreads;
+            pending = null;
+        }
+        final long latency = probeLatency;
+        final double cpuLoad = this.cpuLoad.getAsDouble();
+        sendProbe();
+
+        final Reason reason = classify(busyThreads, queueSize, latency, cpuLoad);
+        if (cooldown > 0) {
+            cooldown--;
+        }
+        if (reason == null || reason != pending) {
+            pending = reason;
+            pendingSamples = reason == null ? 0 : 1;
+            return;
+        }
+        if (++pendingSamples < STABLE_SAMPLES || cooldown > 0) {
+            return;
+        }
+
+        final int lowerBound = Math.min(coreThreads, upperBound);
+        final int newLimit;
+        if (reason == Reason.QUEUE_PRESSURE) {
+            newLimit = Math.min(upperBound, limit + Math.max(1, limit / 4));
+        } else {
+            newLimit = Math.max(lowerBound, limit - Math.max(1, limit / 8));
+        }
+        pending = null;
+        pendingSamples = 0;
+        if (newLimit == limit) {
+            return;
+        }
+        try {
+            worker.setOption(Options.WORKER_TASK_MAX_THREADS, newLimit);
+        } catch (IOException | IllegalArgumentException e) {
+            IOLogger.ROOT_LOGGER.debugf(e, "Failed to resize the task pool of worker %s to %d threads", name, newLimit);
+            return;
+        }
+        IOLogger.ROOT_LOGGER.debugf("Resized the task pool of worker %s from %d to %d threads (%s; %d busy threads, %d queued tasks, CPU load %.2f, probe latency %dus)",
+                name, limit, newLimit, reason, busyThreads, queueSize, cpuLoad, latency);
+        final Adjustment adjustment = new Adjustment(System.currentTimeMillis(), limit, newLimit, reason, busyThreads,
+                queueSize, cpuLoad, latency);
+        synchronized (adjustments) {
+            if (adjustments.size() == MAX_ADJUSTMENTS) {
+                adjustments.removeFirst();
+            }
+            adjustments.addLast(adjustment);
+        }
+        limit = newLimit;
+        cooldown = COOLDOWN_SAMPLES;
+    }
+
+    /**
+     * @return the most recent adjustments, oldest first
+     */
+    List<Adjustment> getAdjustments() {
+        synchronized (adjustments) {
+            return new ArrayList<>(adjustments);
+        }
+    }
+
+    private Reason classify(final int busyThreads, final int queueSize, final long latency, final double cpuLoad) {
+        final boolean waiting = queueSize > 0 || latency > PROBE_LATENCY_THRESHOLD;
+        if (!waiting) {
+            return null;
+        }
+        if (cpuLoad >= CPU_SATURATED) {
+            return Reason.CPU_SATURATION;
+        }
+        if (busyThreads >= limit && cpuLoad >= 0 && cpuLoad < CPU_HEADROOM) {
+            return Reason.QUEUE_PRESSURE;
+        }
+        return null;
+    }
+
+    private void sendProbe() {
+        final long sent = System.nanoTime();
+        try {
+            worker.execute(() -> probeLatency = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - sent));
+        } catch (RejectedExecutionException e) {
+            // the pool is full or shutting down, the queue size tells the same
+        }
+    }
+
+    private int getOption(final Option<Integer> option, final int defaultValue) {
+        try {
+            final Integer value = worker.getOption(option);
+            return value == null ? defaultValue : value;
+        } catch (IOException e) {
+            return defaultValue;
+        }
+    }
+
+    enum Reason {
+        QUEUE_PRESSURE("queue-pressure"),
+        CPU_SATURATION("cpu-saturation");
+
+        private final String name;
+
+        Reason(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * A change of the maximum size of the task pool, with the measurements it was based on.
+     */
+    static final class Adjustment {
+        private final long time;
+        private final int previousMaxThreads;
+        private final int maxThreads;
+        private final Reason reason;
+        private final int busyThreads;
+        private final int queueSize;
+        private final double cpuLoad;
+        private final long probeLatency;
+
+        Adjustment(final long time, final int previousMaxThreads, final int maxThreads, final Reason reason,
+                   final int busyThreads, final int queueSize, final double cpuLoad, final long probeLatency) {
+            this.time = time;
+            this.previousMaxThreads = previousMaxThreads;
+            this.maxThreads = maxThreads;
+            this.reason = reason;
+            this.busyThreads = busyThreads;
+            this.queueSize = queueSize;
+            this.cpuLoad = cpuLoad;
+            this.probeLatency = probeLatency;
+        }
+
+        long getTime() {
+            return time;
+        }
+
+        int getPreviousMaxThreads() {
+            return previousMaxThreads;
+        }
+
+        int getMaxThreads() {
+            return maxThreads;
+        }
+
+        Reason getReason() {
+            return reason;
+        }
+
+        int getBusyThreads() {
+            return busyThreads;
+        }
+
+        int getQueueSize() {
+            return queueSize;
+        }
+
+        double getCpuLoad() {
+            return cpuLoad;
+        }
+
+        /**
+         * @return the time the last probe task waited to start, in microseconds, or {@code -1} if not known
+         */
+        long getProbeLatency() {
+            return probeLatency;
+        }
+    }
+
+    /**
+     * Reads the CPU load of the process, isolating the use of the {@code com.sun.management} API so this class can be
+     * loaded if it is not available.
+     */
+    private static final class CpuLoad {
+        private static final OperatingSystemMXBean OS_BEAN = ManagementFactory.getOperatingSystemMXBean();
+        private static final boolean PROCESS_LOAD_SUPPORTED = isProcessLoadSupported();
+
+        /**
+         * @return the recent CPU load of the process between 0 and 1, or a negative value if it is not known
+         */
+        static double get() {
+            if (PROCESS_LOAD_SUPPORTED) {
+                return ((com.sun.management.OperatingSystemMXBean) OS_BEAN).getProcessCpuLoad();
+            }
+            // the system load average is the best we can do, if it is supported at all
+            final double loadAverage = OS_BEAN.getSystemLoadAverage();
+            return loadAverage < 0 ? -1 : Math.min(1, loadAverage / ProcessorInfo.availableProcessors());
+        }
+
+        private static boolean isProcessLoadSupported() {
+            try {
+                return OS_BEAN instanceof com.sun.management.OperatingSystemMXBean;
+            } catch (LinkageError e) {
+                // jdk.management is not available
+                return false;
+            }
+        }
+    }
+}
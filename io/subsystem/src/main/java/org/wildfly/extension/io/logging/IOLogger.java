@@ -33,6 +33,7 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.logging.BasicLogger;
 import org.jboss.logging.Logger;
+import org.jboss.logging.annotations.Cause;
 import org.jboss.logging.annotations.LogMessage;
 import org.jboss.logging.annotations.Message;
 import org.jboss.logging.annotations.MessageLogger;
@@ -79,4 +80,11 @@ public interface IOLogger extends BasicLogger {
     @LogMessage(level = WARN)
     @Message(id = 8, value = "The stack-size value of %d bytes for IO worker %s is low and may result in problems. A value of at least 150,000 is recommended.")
     void wrongStackSize(long val, String workerName);
+
+    @Message(id = 9, value = "Buffer has already been freed")
+    IllegalStateException bufferFreed();
+
+    @LogMessage(level = WARN)
+    @Message(id = 10, value = "A buffer allocated from buffer pool '%s' was not freed before it became unreachable; the stack trace shows where it was allocated")
+    void bufferLeak(String poolName, @Cause Throwable allocation);
 }
@@ -0,0 +1,99 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2018, Red Hat, Inc., and individual contributors as indicated
+ * by the @authors tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.wildfly.extension.io;
+
+import java.io.IOException;
+package org.wildfly.extension.io;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBSYSTEM;
+
+import java.io.IOException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.RunningMode;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
+import org.jboss.as.subsystem.test.AdditionalInitialization;
+import org.jboss.as.subsystem.test.KernelServices;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.junit.Assert;
+import org.junit.Test;
+import org.xnio.Options;
+import org.xnio.XnioWorker;
+
+/**
+ * Tests parsing of the 3.0 version of the subsystem schema, which has no adaptive task thread pool sizing.
+ */
+public class IOSubsystem30TestCase extends AbstractSubsystemBaseTest {
+
+    public IOSubsystem30TestCase() {
+        super(IOExtension.SUBSYSTEM_NAME, new IOExtension());
+    }
+
+    @Override
+    protected String getSubsystemXml() throws IOException {
+        return readResource("io-3.0.xml");
+    }
+
+    @Override
+    protected String getSubsystemXsdPath() throws Exception {
+        return "schema/wildfly-io_3_0.xsd";
+    }
+
+    protected void standardSubsystemTest(final String configId) throws Exception {
+        standardSubsystemTest(configId, false);
+    }
+
+    @Test
+    public void testTaskThreadsAreNotAdaptive() throws Exception {
+        KernelServices mainServices = createKernelServicesBuilder(createAdditionalInitialization())
+                .setSubsystemXml(getSubsystemXml())
+                .build();
+        if (!mainServices.isSuccessfulBoot()) {
+            Assert.fail(String.valueOf(mainServices.getBootError()));
+        }
+        ModelNode workers = mainServices.readWholeModel().get(SUBSYSTEM, IOExtension.SUBSYSTEM_NAME, Constants.WORKER);
+        for (String name : workers.keys()) {
+            Assert.assertFalse(name, workers.get(name).hasDefined(Constants.WORKER_ADAPTIVE_TASK_THREADS));
+        }
+
+        ServiceController<XnioWorker> workerServiceController = (ServiceController<XnioWorker>) mainServices.getContainer().getService(IOServices.WORKER.append("third-worker"));
+        workerServiceController.setMode(ServiceController.Mode.ACTIVE);
+        workerServiceController.awaitValue();
+        XnioWorker worker = workerServiceController.getService().getValue();
+        Assert.assertEquals(50, worker.getOption(Options.WORKER_TASK_MAX_THREADS).intValue());
+        PathAddress addr = PathAddress.parseCLIStyleAddress("/subsystem=io/worker=third-worker");
+        ModelNode adjustments = mainServices.executeForResult(Util.getReadAttributeOperation(addr, Constants.TASK_POOL_ADJUSTMENTS));
+        Assert.assertFalse(adjustments.isDefined());
+        // the load of a worker whose task pool is not tuned is not sampled
+        ModelNode peakQueueSize = mainServices.executeForResult(Util.getReadAttributeOperation(addr, "peak-queue-size"));
+        Assert.assertFalse(peakQueueSize.isDefined());
+    }
+
+    @Override
+    protected AdditionalInitialization createAdditionalInitialization() {
+        return new AdditionalInitialization() {
+            @Override
+            protected RunningMode getRunningMode() {
+                return RunningMode.NORMAL;
+            }
+        };
+    }
+}
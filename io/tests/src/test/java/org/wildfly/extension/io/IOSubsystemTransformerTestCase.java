@@ -21,8 +21,14 @@ package org.wildfly.extension.io;
 import static org.jboss.as.model.test.ModelTestControllerVersion.EAP_7_0_0;
 import static org.jboss.as.model.test.ModelTestControllerVersion.EAP_7_1_0;
 import static org.junit.Assert.assertTrue;
+import static org.wildfly.extension.io.BufferPoolResourceDefinition.LEAK_DETECTION_SAMPLE_RATE;
+import static org.wildfly.extension.io.BufferPoolResourceDefinition.MAX_DIRECT_MEMORY;
+import static org.wildfly.extension.io.BufferPoolResourceDefinition.THREAD_ARENAS;
+import static org.wildfly.extension.io.BufferPoolResourceDefinition.THREAD_LOCAL_CACHE_SIZE;
+import static org.wildfly.extension.io.IOExtension.BUFFER_POOL_PATH;
 import static org.wildfly.extension.io.IOExtension.SUBSYSTEM_PATH;
 import static org.wildfly.extension.io.IOExtension.WORKER_PATH;
+import static org.wildfly.extension.io.WorkerResourceDefinition.ADAPTIVE_TASK_THREADS;
 import static org.wildfly.extension.io.WorkerResourceDefinition.STACK_SIZE;
 import static org.wildfly.extension.io.WorkerResourceDefinition.WORKER_IO_THREADS;
 import static org.wildfly.extension.io.WorkerResourceDefinition.WORKER_TASK_CORE_THREADS;
@@ -110,7 +116,7 @@ public class IOSubsystemTransformerTestCase extends AbstractSubsystemBaseTest {
         PathAddress subsystemAddress = PathAddress.pathAddress(SUBSYSTEM_PATH);
         FailedOperationTransformationConfig config = new FailedOperationTransformationConfig()
                 .addFailedAttribute(subsystemAddress.append(WORKER_PATH),
-                        ChainedConfig.createBuilder(STACK_SIZE, WORKER_IO_THREADS, WORKER_TASK_KEEPALIVE, WORKER_TASK_MAX_THREADS, WORKER_TASK_CORE_THREADS)
+                        ChainedConfig.createBuilder(STACK_SIZE, WORKER_IO_THREADS, WORKER_TASK_KEEPALIVE, WORKER_TASK_MAX_THREADS, WORKER_TASK_CORE_THREADS, ADAPTIVE_TASK_THREADS)
                             .addConfig(
                                     new FailedOperationTransformationConfig.RejectExpressionsConfig(
                                             STACK_SIZE,
@@ -119,11 +125,19 @@ public class IOSubsystemTransformerTestCase extends AbstractSubsystemBaseTest {
                                             WORKER_TASK_MAX_THREADS
                                     )
                             )
-                            .addConfig(new FailedOperationTransformationConfig.NewAttributesConfig(WORKER_TASK_CORE_THREADS))
+                            .addConfig(new FailedOperationTransformationConfig.NewAttributesConfig(WORKER_TASK_CORE_THREADS, ADAPTIVE_TASK_THREADS))
                             .build()
                 )
                 .addFailedAttribute(subsystemAddress.append(PathElement.pathElement(WORKER_PATH.getKey(), "fourth-worker"), PathElement.pathElement("outbound-bind-address")),
                         FailedOperationTransformationConfig.REJECTED_RESOURCE
+                )
+                .addFailedAttribute(subsystemAddress.append(BUFFER_POOL_PATH),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(
+                                THREAD_LOCAL_CACHE_SIZE,
+                                THREAD_ARENAS,
+                                MAX_DIRECT_MEMORY,
+                                LEAK_DETECTION_SAMPLE_RATE
+                        )
                 );
         testRejectingTransformers(EAP_7_0_0, config);
     }
@@ -134,7 +148,16 @@ public class IOSubsystemTransformerTestCase extends AbstractSubsystemBaseTest {
         FailedOperationTransformationConfig config = new FailedOperationTransformationConfig()
                 .addFailedAttribute(subsystemAddress.append(WORKER_PATH),
                         new FailedOperationTransformationConfig.NewAttributesConfig(
-                                WORKER_TASK_CORE_THREADS
+                                WORKER_TASK_CORE_THREADS,
+                                ADAPTIVE_TASK_THREADS
+                        )
+                )
+                .addFailedAttribute(subsystemAddress.append(BUFFER_POOL_PATH),
+                        new FailedOperationTransformationConfig.NewAttributesConfig(
+                                THREAD_LOCAL_CACHE_SIZE,
+                                THREAD_ARENAS,
+                                MAX_DIRECT_MEMORY,
+                                LEAK_DETECTION_SAMPLE_RATE
                         )
                 );
         testRejectingTransformers(EAP_7_1_0, config);
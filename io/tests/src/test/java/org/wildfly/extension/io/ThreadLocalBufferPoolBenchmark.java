@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.xnio.BufferAllocator;
+import org.xnio.ByteBufferSlicePool;
+import org.xnio.Pool;
+import org.xnio.Pooled;
+
+/**
+ * Compares the throughput of the {@link ThreadLocalBufferPool} to the {@link ByteBufferSlicePool} with many threads
+ * allocating concurrently.
+ * <p>
+ * This is not a test and is not run by the build, as its result depends on the machine. Run its {@code main} method
+ * from the IDE, or with the test classpath of this module, optionally passing the number of threads and the number of
+ * allocations per thread.
+ */
+public final class ThreadLocalBufferPoolBenchmark {
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final int BUFFERS_PER_SLICE = 16;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 10;
+
+    private ThreadLocalBufferPoolBenchmark() {
+    }
+
+    public static void main(final String[] args) throws InterruptedException {
+        final int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        final int allocations = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+
+        final ThreadLocalBufferPool threadLocalPool = new ThreadLocalBufferPool("benchmark", BUFFER_SIZE, BUFFERS_PER_SLICE, false, 8, true, -1, 0);
+        final ByteBufferSlicePool slicePool = new ByteBufferSlicePool(BufferAllocator.BYTE_BUFFER_ALLOCATOR, BUFFER_SIZE, BUFFER_SIZE * BUFFERS_PER_SLICE);
+        try {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                run(threadLocalPool, threads, allocations);
+                run(slicePool, threads, allocations);
+            }
+            long threadLocalTime = 0;
+            long slicePoolTime = 0;
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                threadLocalTime += run(threadLocalPool, threads, allocations);
+                slicePoolTime += run(slicePool, threads, allocations);
+            }
+            System.out.printf("%d threads allocating %d buffers each, mean of %d iterations: thread local pool %d ms, slice pool %d ms%n",
+                    threads, allocations * 2, MEASURED_ITERATIONS, threadLocalTime / MEASURED_ITERATIONS / 1000000,
+                    slicePoolTime / MEASURED_ITERATIONS / 1000000);
+        } finally {
+            slicePool.clean();
+        }
+    }
+
+    /**
+     * Allocates buffers from many threads at once, two at a time as an I/O thread reading and writing would.
+     *
+     * @return the elapsed time in nanoseconds
+     */
+    private static long run(final Pool<ByteBuffer> pool, final int threadsQty, final int allocationsPerThread) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(threadsQty);
+        final List<Thread> threads = new ArrayList<>(threadsQty);
+        for (int threadNo = 0; threadNo < threadsQty; threadNo++) {
+            threads.add(new Thread(() -> {
+                latch.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < allocationsPerThread; i++) {
+                    final Pooled<ByteBuffer> read = pool.allocate();
+                    final Pooled<ByteBuffer> write = pool.allocate();
+                    read.getResource().put((byte) i);
+                    write.getResource().put((byte) i);
+                    write.free();
+                    read.free();
+                }
+            }));
+        }
+        final long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        for (Thread t : threads) {
+            t.join();
+        }
+        return System.nanoTime() - start;
+    }
+}
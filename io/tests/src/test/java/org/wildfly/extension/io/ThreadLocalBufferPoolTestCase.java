@@ -0,0 +1,203 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.xnio.Pooled;
+
+/**
+ * Tests the {@link ThreadLocalBufferPool}.
+ */
+public class ThreadLocalBufferPoolTestCase {
+
+    private static final int BUFFER_SIZE = 1024;
+    private static final int BUFFERS_PER_SLICE = 16;
+    private static final int THREADS_QTY = 8;
+    private static final int ALLOCATIONS_PER_THREAD = 1000;
+
+    @Test
+    public void testFreedBufferIsReusedFromThreadCache() {
+        final ThreadLocalBufferPool pool = new ThreadLocalBufferPool("test", BUFFER_SIZE, BUFFERS_PER_SLICE, false, 4, false, -1, 0);
+        final Pooled<ByteBuffer> first = pool.allocate();
+        final ByteBuffer buffer = first.getResource();
+        assertEquals(BUFFER_SIZE, buffer.capacity());
+        assertEquals(1, pool.getOutstandingBufferCount());
+        first.free();
+        assertEquals(0, pool.getOutstandingBufferCount());
+
+        final Pooled<ByteBuffer> second = pool.allocate();
+        assertSame(buffer, second.getResource());
+        assertEquals(2, pool.getAllocationCount());
+        assertEquals(1, pool.getCacheHitCount());
+        assertEquals(BUFFER_SIZE * BUFFERS_PER_SLICE, pool.getRetainedBytes());
+        second.free();
+    }
+
+    @Test
+    public void testFreedBufferCannotBeUsed() {
+        final ThreadLocalBufferPool pool = new ThreadLocalBufferPool("test", BUFFER_SIZE, BUFFERS_PER_SLICE, false, 4, true, -1, 0);
+        final Pooled<ByteBuffer> pooled = pool.allocate();
+        pooled.free();
+        pooled.free();
+        assertEquals(0, pool.getOutstandingBufferCount());
+        try {
+            pooled.getResource();
+            fail("Buffer was freed");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testDirectMemoryCap() {
+        final ThreadLocalBufferPool pool = new ThreadLocalBufferPool("test", BUFFER_SIZE, BUFFERS_PER_SLICE, true, 0, false, BUFFER_SIZE * BUFFERS_PER_SLICE, 0);
+        final List<Pooled<ByteBuffer>> buffers = new ArrayList<>();
+        for (int i = 0; i < BUFFERS_PER_SLICE; i++) {
+            final Pooled<ByteBuffer> pooled = pool.allocate();
+            assertTrue(pooled.getResource().isDirect());
+            buffers.add(pooled);
+        }
+        final Pooled<ByteBuffer> unpooled = pool.allocate();
+        assertFalse(unpooled.getResource().isDirect());
+        assertEquals(1, pool.getUnpooledAllocationCount());
+        assertEquals(BUFFER_SIZE * BUFFERS_PER_SLICE, pool.getRetainedBytes());
+
+        // heap buffers are not returned to a direct pool
+        final ByteBuffer heapBuffer = unpooled.getResource();
+        unpooled.free();
+        final Pooled<ByteBuffer> pooled = buffers.remove(0);
+        final ByteBuffer directBuffer = pooled.getResource();
+        pooled.free();
+        final Pooled<ByteBuffer> reused = pool.allocate();
+        assertSame(directBuffer, reused.getResource());
+        assertNotSame(heapBuffer, reused.getResource());
+        reused.free();
+        buffers.forEach(Pooled::free);
+        assertEquals(0, pool.getOutstandingBufferCount());
+    }
+
+    @Test
+    public void testRetainedBytesReleasedWhenThreadEnds() throws InterruptedException {
+        final ThreadLocalBufferPool pool = new ThreadLocalBufferPool("test", BUFFER_SIZE, BUFFERS_PER_SLICE, true, 4, true, -1, 0);
+        final Thread thread = new Thread(() -> {
+            pool.allocate().free();
+            pool.allocate().free();
+        });
+        thread.start();
+        thread.join();
+        assertEquals(BUFFER_SIZE * BUFFERS_PER_SLICE, pool.getRetainedBytes());
+
+        // the region of the ended thread is released once it has been collected
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (pool.getRetainedBytes() != 0 && System.currentTimeMillis() < deadline) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(0, pool.getRetainedBytes());
+    }
+
+    @Test
+    public void testRetainedBytesKeptWhileBuffersAreInUse() throws InterruptedException {
+        final ThreadLocalBufferPool pool = new ThreadLocalBufferPool("test", BUFFER_SIZE, BUFFERS_PER_SLICE, false, 4, true, -1, 0);
+        final List<Pooled<ByteBuffer>> buffers = new ArrayList<>();
+        final Thread thread = new Thread(() -> buffers.add(pool.allocate()));
+        thread.start();
+        thread.join();
+
+        // a buffer sliced from the region of the ended thread is still in use
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(BUFFER_SIZE * BUFFERS_PER_SLICE, pool.getRetainedBytes());
+        buffers.forEach(Pooled::free);
+        assertEquals(0, pool.getOutstandingBufferCount());
+    }
+
+    @Test
+    public void testConcurrentAllocation() throws InterruptedException {
+        final ThreadLocalBufferPool pool = new ThreadLocalBufferPool("test", BUFFER_SIZE, BUFFERS_PER_SLICE, false, 8, true, -1, 0);
+        final Set<ByteBuffer> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+        final AtomicInteger sharedBuffers = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(THREADS_QTY);
+        final List<Thread> threads = new ArrayList<>(THREADS_QTY);
+        for (int threadNo = 0; threadNo < THREADS_QTY; threadNo++) {
+            threads.add(new Thread(() -> {
+                latch.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                // allocate two buffers at a time, as an I/O thread reading and writing would
+                for (int i = 0; i < ALLOCATIONS_PER_THREAD; i++) {
+                    final Pooled<ByteBuffer> read = pool.allocate();
+                    final Pooled<ByteBuffer> write = pool.allocate();
+                    if (!acquire(inUse, read.getResource()) | !acquire(inUse, write.getResource())) {
+                        sharedBuffers.incrementAndGet();
+                    }
+                    release(inUse, write.getResource());
+                    release(inUse, read.getResource());
+                    write.free();
+                    read.free();
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread t : threads) {
+            t.join();
+        }
+        assertEquals(0, sharedBuffers.get());
+        assertEquals((long) THREADS_QTY * ALLOCATIONS_PER_THREAD * 2, pool.getAllocationCount());
+        assertEquals(0, pool.getOutstandingBufferCount());
+        assertTrue(pool.getCacheHitCount() > 0);
+    }
+
+    private static boolean acquire(final Set<ByteBuffer> inUse, final ByteBuffer buffer) {
+        synchronized (inUse) {
+            return inUse.add(buffer);
+        }
+    }
+
+    private static void release(final Set<ByteBuffer> inUse, final ByteBuffer buffer) {
+        synchronized (inUse) {
+            inUse.remove(buffer);
+        }
+    }
+}
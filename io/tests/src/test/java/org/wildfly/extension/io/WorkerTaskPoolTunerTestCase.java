@@ -0,0 +1,179 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.xnio.OptionMap;
+import org.xnio.Options;
+import org.xnio.Xnio;
+import org.xnio.XnioWorker;
+
+/**
+ * Tests the decisions of the {@link WorkerTaskPoolTuner}, with a simulated CPU load.
+ */
+public class WorkerTaskPoolTunerTestCase {
+
+    private static final int CORE_THREADS = 2;
+    private static final int MAX_THREADS = 16;
+
+    private XnioWorker worker;
+    private double cpuLoad;
+    private WorkerTaskPoolTuner tuner;
+
+    @Before
+    public void createWorker() throws IOException {
+        worker = Xnio.getInstance().createWorker(OptionMap.builder()
+                .set(Options.WORKER_NAME, "tuner-test")
+                .set(Options.WORKER_IO_THREADS, 1)
+                .set(Options.WORKER_TASK_CORE_THREADS, CORE_THREADS)
+                .set(Options.WORKER_TASK_MAX_THREADS, MAX_THREADS)
+                .getMap());
+        tuner = new WorkerTaskPoolTuner("tuner-test", worker, MAX_THREADS, () -> cpuLoad);
+    }
+
+    @After
+    public void shutdownWorker() throws InterruptedException {
+        worker.shutdownNow();
+        worker.awaitTermination();
+    }
+
+    @Test
+    public void testShrinkWhenCpuIsSaturated() throws IOException {
+        cpuLoad = 0.95;
+        sample(WorkerTaskPoolTuner.STABLE_SAMPLES - 1, MAX_THREADS, 10);
+        assertEquals(MAX_THREADS, getMaxThreads());
+        tuner.sample(MAX_THREADS, 10);
+        assertEquals(MAX_THREADS - MAX_THREADS / 8, getMaxThreads());
+
+        final List<WorkerTaskPoolTuner.Adjustment> adjustments = tuner.getAdjustments();
+        assertEquals(1, adjustments.size());
+        final WorkerTaskPoolTuner.Adjustment adjustment = adjustments.get(0);
+        assertEquals(WorkerTaskPoolTuner.Reason.CPU_SATURATION, adjustment.getReason());
+        assertEquals(MAX_THREADS, adjustment.getPreviousMaxThreads());
+        assertEquals(MAX_THREADS - MAX_THREADS / 8, adjustment.getMaxThreads());
+        assertEquals(10, adjustment.getQueueSize());
+    }
+
+    @Test
+    public void testShrinkStopsAtCoreThreads() throws IOException {
+        cpuLoad = 0.95;
+        sample(200, MAX_THREADS, 10);
+        assertEquals(CORE_THREADS, getMaxThreads());
+    }
+
+    @Test
+    public void testGrowWhenAllThreadsAreBusy() throws IOException {
+        cpuLoad = 0.95;
+        sample(WorkerTaskPoolTuner.STABLE_SAMPLES, MAX_THREADS, 10);
+        final int shrunk = getMaxThreads();
+        assertTrue(shrunk < MAX_THREADS);
+
+        // nothing changes until the cooldown after the previous change has passed
+        cpuLoad = 0.5;
+        sample(WorkerTaskPoolTuner.COOLDOWN_SAMPLES - 1, shrunk, 10);
+        assertEquals(shrunk, getMaxThreads());
+        tuner.sample(shrunk, 10);
+        assertEquals(Math.min(MAX_THREADS, shrunk + shrunk / 4), getMaxThreads());
+        assertEquals(WorkerTaskPoolTuner.Reason.QUEUE_PRESSURE, tuner.getAdjustments().get(1).getReason());
+
+        // the limit never grows beyond the configured maximum
+        sample(200, MAX_THREADS, 10);
+        assertEquals(MAX_THREADS, getMaxThreads());
+    }
+
+    @Test
+    public void testHoldWhileThreadsAreIdle() throws IOException {
+        shrink();
+        final int limit = getMaxThreads();
+        cpuLoad = 0.5;
+        sample(20, limit - 1, 10);
+        assertEquals(limit, getMaxThreads());
+    }
+
+    @Test
+    public void testHoldWhenCpuIsModeratelyLoaded() throws IOException {
+        shrink();
+        final int limit = getMaxThreads();
+        cpuLoad = 0.8;
+        sample(20, limit, 10);
+        assertEquals(limit, getMaxThreads());
+    }
+
+    @Test
+    public void testHoldWhenCpuLoadIsUnknown() throws IOException {
+        shrink();
+        final int limit = getMaxThreads();
+        cpuLoad = -1;
+        sample(20, limit, 10);
+        assertEquals(limit, getMaxThreads());
+    }
+
+    @Test
+    public void testHoldWhenSamplesDisagree() throws IOException {
+        shrink();
+        final int limit = getMaxThreads();
+        for (int i = 0; i < 20; i++) {
+            cpuLoad = i % WorkerTaskPoolTuner.STABLE_SAMPLES == 0 ? 0.95 : 0.5;
+            tuner.sample(limit, 10);
+        }
+        assertEquals(limit, getMaxThreads());
+    }
+
+    @Test
+    public void testMaxThreadsChangedThroughManagement() throws IOException {
+        worker.setOption(Options.WORKER_TASK_MAX_THREADS, 8);
+        cpuLoad = 0.5;
+        sample(20, 8, 10);
+        assertEquals(8, getMaxThreads());
+        assertTrue(tuner.getAdjustments().isEmpty());
+    }
+
+    /**
+     * Shrinks the pool once, and waits out the cooldown.
+     */
+    private void shrink() throws IOException {
+        cpuLoad = 0.95;
+        sample(WorkerTaskPoolTuner.STABLE_SAMPLES, MAX_THREADS, 10);
+        assertEquals(1, tuner.getAdjustments().size());
+        cpuLoad = -1;
+        sample(WorkerTaskPoolTuner.COOLDOWN_SAMPLES, 0, 0);
+    }
+
+    private void sample(final int samples, final int busyThreads, final int queueSize) {
+        for (int i = 0; i < samples; i++) {
+            tuner.sample(busyThreads, queueSize);
+        }
+    }
+
+    private int getMaxThreads() throws IOException {
+        return worker.getOption(Options.WORKER_TASK_MAX_THREADS);
+    }
+}
@@ -33,6 +33,7 @@ import org.jboss.as.logging.formatters.PatternFormatterResourceDefinition;
 import org.jboss.as.logging.formatters.XmlFormatterResourceDefinition;
 import org.jboss.as.logging.handlers.AbstractHandlerDefinition;
 import org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition;
+import org.jboss.as.logging.handlers.BatchingAsyncHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.ConsoleHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.CustomHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.FileHandlerResourceDefinition;
@@ -59,7 +60,9 @@ enum Element {
     APP_NAME(SyslogHandlerResourceDefinition.APP_NAME),
     APPEND(CommonAttributes.APPEND),
     ASYNC_HANDLER(AsyncHandlerResourceDefinition.NAME),
+    BATCHING_ASYNC_HANDLER(BatchingAsyncHandlerResourceDefinition.NAME),
     CHANGE_LEVEL(CommonAttributes.CHANGE_LEVEL),
+    COMPRESSION(SizeRotatingHandlerResourceDefinition.COMPRESSION),
     CONSOLE_HANDLER(ConsoleHandlerResourceDefinition.NAME),
     CONSTRUCTOR_PROPERTIES(FilterResourceDefinition.CONSTRUCTOR_PROPERTIES),
     CUSTOM_FORMATTER(CustomFormatterResourceDefinition.CUSTOM_FORMATTER),
@@ -81,7 +84,10 @@ enum Element {
     LOGGING_PROFILE(CommonAttributes.LOGGING_PROFILE),
     LOGGING_PROFILES(CommonAttributes.LOGGING_PROFILES),
     MATCH(CommonAttributes.MATCH),
+    MAX_AGE(SizeRotatingHandlerResourceDefinition.MAX_AGE),
     MAX_BACKUP_INDEX(SizeRotatingHandlerResourceDefinition.MAX_BACKUP_INDEX),
+    MAX_BATCH_SIZE(BatchingAsyncHandlerResourceDefinition.MAX_BATCH_SIZE),
+    MAX_TOTAL_SIZE(SizeRotatingHandlerResourceDefinition.MAX_TOTAL_SIZE),
     NAMED_FORMATTER(AbstractHandlerDefinition.NAMED_FORMATTER),
     NOT(CommonAttributes.NOT),
     OVERFLOW_ACTION(AsyncHandlerResourceDefinition.OVERFLOW_ACTION),
@@ -105,6 +111,7 @@ enum Element {
     SYSLOG_HANDLER(SyslogHandlerResourceDefinition.NAME),
     TARGET(ConsoleHandlerResourceDefinition.TARGET),
     USE_DEPLOYMENT_LOGGING_CONFIG(LoggingResourceDefinition.USE_DEPLOYMENT_LOGGING_CONFIG),
+    WAIT_STRATEGY(BatchingAsyncHandlerResourceDefinition.WAIT_STRATEGY),
     XML_FORMATTER(XmlFormatterResourceDefinition.NAME),;
 
     private final String name;
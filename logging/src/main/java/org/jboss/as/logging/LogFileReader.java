@@ -0,0 +1,551 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads lines from a log file without reading the whole file.
+ * <p/>
+ * The file is memory-mapped in windows. Reading from the end of the file scans backward from the end of the file for
+ * line feeds, so only the lines returned and the lines skipped are read. Reading from the start of the file uses a
+ * sparse index holding the offset of every {@value #INDEX_INTERVAL}th line. The index is built lazily, as far as the
+ * lines requested, and is kept for the most recently read files. As log files are only appended to, the index stays
+ * valid as the file grows and is discarded if the file is replaced or truncated.
+ * <p/>
+ * A file truncated while it is mapped, e.g. by a file handler which does not append, can't be read from the mapping,
+ * so the file is then read with a {@link BufferedReader} instead.
+ * <p/>
+ * Lines are found by searching the bytes of the file for a line feed, which requires an encoding where a line feed is
+ * always the single byte {@code 0x0A}. Files in other encodings, e.g. UTF-16, are read with a {@link BufferedReader}.
+ * <p/>
+ * Compressed rotated files, i.e. {@code .gz} files or the first entry of {@code .zip} files, can't be read from an
+ * offset so are decompressed from the start with a {@link BufferedReader}.
+ */
+final class LogFileReader implements Closeable {
+
+    static final int INDEX_INTERVAL = 1024;
+
+    // Files mapped on Windows can't be renamed or deleted until the mapping is garbage collected, which would break
+    // log rotation, so the bytes are copied instead
+    private static final boolean MAP_FILE = File.separatorChar != '\\';
+    private static final int WINDOW_SIZE = MAP_FILE ? 8 * 1024 * 1024 : 64 * 1024;
+    private static final int MAX_INDEXES = 16;
+    private static final int SAMPLE_SIZE = 512;
+
+    private static final Map<Path, LineIndex> INDEXES = new LinkedHashMap<Path, LineIndex>(MAX_INDEXES, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Path, LineIndex> eldest) {
+            return size() > MAX_INDEXES;
+        }
+    };
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long size;
+    private ByteBuffer window;
+    private long windowStart;
+    private ByteBuffer buffer;
+
+    LogFileReader(final Path path) throws IOException {
+        this.path = path;
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        // Anything written after the file was opened is ignored
+        size = channel.size();
+    }
+
+    /**
+     * Reads lines from a log file.
+     *
+     * @param path          the log file
+     * @param encoding      the encoding of the file or {@code null} to use the system default
+     * @param tail          {@code true} to read the last lines of the file
+     * @param skip          the number of lines to skip, from the end of the file if reading the tail
+     * @param numberOfLines the number of lines to read or {@code -1} to read all lines
+     *
+     * @return the lines read, in the order they appear in the file
+     *
+     * @throws IOException if the file could not be read
+     */
+    static List<String> readLines(final Path path, final String encoding, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+        if (numberOfLines == 0) {
+            return Collections.emptyList();
+        }
+        final Charset charset = getCharset(encoding);
+        if (isCompressed(path) || !hasSingleByteLineFeed(charset)) {
+            try (InputStream in = newInputStream(path)) {
+                return readLinesWithReader(in, charset, tail, skip, numberOfLines);
+            }
+        }
+        try (LogFileReader reader = new LogFileReader(path)) {
+            final long[] range = reader.findRange(tail, skip, numberOfLines);
+            return reader.decodeLines(range[0], range[1], charset);
+        } catch (FileTruncatedException | InternalError e) {
+            // The JVM reports an access to a mapping past the end of a truncated file as an InternalError
+            discardIndex(path);
+            try (InputStream in = newInputStream(path)) {
+                return readLinesWithReader(in, charset, tail, skip, numberOfLines);
+            }
+        }
+    }
+
+    /**
+     * Opens a stream of the bytes of the lines selected from the log file. The caller is responsible for closing the
+     * stream.
+     *
+     * @param path          the log file
+     * @param tail          {@code true} to read the last lines of the file
+     * @param skip          the number of lines to skip, from the end of the file if reading the tail
+     * @param numberOfLines the number of lines to read or {@code -1} to read all lines
+     *
+     * @return a stream of the lines, in the order they appear in the file
+     *
+     * @throws IOException if the file could not be read
+     */
+    static InputStream openStream(final Path path, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+        if (isCompressed(path)) {
+            if (numberOfLines < 0 && skip == 0) {
+                return newInputStream(path);
+            }
+            return openLinesStream(path, tail, skip, numberOfLines);
+        }
+        final LogFileReader reader = new LogFileReader(path);
+        try {
+            final long[] range = (numberOfLines == 0 ? new long[] {0L, 0L} : reader.findRange(tail, skip, numberOfLines));
+            return new RangeInputStream(reader.channel, range[0], range[1]);
+        } catch (FileTruncatedException | InternalError e) {
+            reader.close();
+            discardIndex(path);
+            return openLinesStream(path, tail, skip, numberOfLines);
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the lines selected from the log file as a stream, without mapping the file.
+     */
+    private static InputStream openLinesStream(final Path path, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+        if (numberOfLines == 0) {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+        // ISO-8859-1 maps each byte to a char, so the bytes of the lines are kept whatever the encoding of the file
+        final List<String> lines;
+        try (InputStream in = newInputStream(path)) {
+            lines = readLinesWithReader(in, StandardCharsets.ISO_8859_1, tail, skip, numberOfLines);
+        }
+        final StringBuilder result = new StringBuilder();
+        for (String line : lines) {
+            result.append(line).append('\n');
+        }
+        return new ByteArrayInputStream(result.toString().getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        buffer = null;
+        channel.close();
+    }
+
+    private long[] findRange(final boolean tail, final int skip, final int numberOfLines) throws IOException {
+        final long start;
+        final long end;
+        if (tail) {
+            long pos = size;
+            for (int i = 0; i < skip && pos > 0; i++) {
+                pos = findLineStart(pos);
+            }
+            end = pos;
+            if (numberOfLines < 0) {
+                pos = 0L;
+            }
+            for (int i = 0; i < numberOfLines && pos > 0; i++) {
+                pos = findLineStart(pos);
+            }
+            start = pos;
+        } else {
+            final LineIndex index = getIndex();
+            synchronized (index) {
+                index.validate(this);
+                start = index.findLine(this, skip);
+            }
+            end = (numberOfLines < 0 ? size : skipLines(start, numberOfLines));
+        }
+        return new long[] {start, end};
+    }
+
+    /**
+     * Finds the offset of the line which ends at the offset. The end of a line includes its line feed.
+     */
+    long findLineStart(final long lineEnd) throws IOException {
+        long pos = lineEnd - 1;
+        if (pos >= 0 && byteAt(pos) == '\n') {
+            pos--;
+        }
+        while (pos >= 0 && byteAt(pos) != '\n') {
+            pos--;
+        }
+        return pos + 1;
+    }
+
+    /**
+     * Finds the offset of the line the number of lines after the line starting at the offset, or the end of the file
+     * if there are not enough lines.
+     */
+    long skipLines(final long offset, final long lines) throws IOException {
+        long pos = offset;
+        long remaining = lines;
+        while (remaining > 0 && pos < size) {
+            if (byteAt(pos++) == '\n') {
+                remaining--;
+            }
+        }
+        return pos;
+    }
+
+    private List<String> decodeLines(final long start, final long end, final Charset charset) throws IOException {
+        final List<String> lines = new ArrayList<>();
+        long pos = start;
+        while (pos < end) {
+            final long next = skipLines(pos, 1);
+            lines.add(decodeLine(pos, Math.min(next, end), charset));
+            pos = next;
+        }
+        return lines;
+    }
+
+    /**
+     * Decodes the line between the offsets, without its line terminator.
+     */
+    String decodeLine(final long start, final long end, final Charset charset) throws IOException {
+        long length = end - start;
+        if (length > 0 && byteAt(start + length - 1) == '\n') {
+            length--;
+        }
+        if (length > 0 && byteAt(start + length - 1) == '\r') {
+            length--;
+        }
+        final byte[] bytes = new byte[(int) length];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = byteAt(start + i);
+        }
+        return new String(bytes, charset);
+    }
+
+    long size() {
+        return size;
+    }
+
+    byte byteAt(final long pos) throws IOException {
+        if (window == null || pos < windowStart || pos >= windowStart + window.limit()) {
+            loadWindow(pos);
+        }
+        return window.get((int) (pos - windowStart));
+    }
+
+    private void loadWindow(final long pos) throws IOException {
+        final long start = pos - (pos % WINDOW_SIZE);
+        final int length = (int) Math.min(WINDOW_SIZE, size - start);
+        if (MAP_FILE) {
+            // Accessing a mapping past the end of the file crashes the thread, so check the file was not truncated
+            if (channel.size() < start + length) {
+                throw new FileTruncatedException(path);
+            }
+            window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        } else {
+            if (buffer == null) {
+                buffer = ByteBuffer.allocate((int) Math.min(WINDOW_SIZE, size));
+            }
+            buffer.clear();
+            buffer.limit(length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    throw new EOFException();
+                }
+            }
+            buffer.flip();
+            window = buffer;
+        }
+        windowStart = start;
+    }
+
+    private LineIndex getIndex() {
+        final Path key = path.toAbsolutePath().normalize();
+        synchronized (INDEXES) {
+            return INDEXES.computeIfAbsent(key, p -> new LineIndex());
+        }
+    }
+
+    private static void discardIndex(final Path path) {
+        final Path key = path.toAbsolutePath().normalize();
+        synchronized (INDEXES) {
+            INDEXES.remove(key);
+        }
+    }
+
+    static Charset getCharset(final String encoding) throws UnsupportedEncodingException {
+        if (encoding == null) {
+            // The file handlers use the system default rather than UTF-8 if no encoding is defined
+            return Charset.defaultCharset();
+        }
+        try {
+            return Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedEncodingException(encoding);
+        }
+    }
+
+    /**
+     * Opens a stream of the content of a log file, decompressing the file if it's a compressed rotated file. The caller
+     * is responsible for closing the stream.
+     *
+     * @param path the log file
+     *
+     * @return a stream of the content of the file
+     *
+     * @throws IOException if the file could not be opened
+     */
+    static InputStream newInputStream(final Path path) throws IOException {
+        final String name = path.getFileName().toString();
+        final InputStream in = Files.newInputStream(path);
+        try {
+            if (name.endsWith(".gz")) {
+                return new GZIPInputStream(in);
+            }
+            if (name.endsWith(".zip")) {
+                final ZipInputStream zip = new ZipInputStream(in);
+                // Rotated files are archived as a single entry
+                if (zip.getNextEntry() == null) {
+                    throw new EOFException(name);
+                }
+                return zip;
+            }
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+        return in;
+    }
+
+    static boolean isCompressed(final Path path) {
+        final String name = path.getFileName().toString();
+        return name.endsWith(".gz") || name.endsWith(".zip");
+    }
+
+    static boolean hasSingleByteLineFeed(final Charset charset) {
+        if (!charset.canEncode()) {
+            return false;
+        }
+        final byte[] bytes = "\n".getBytes(charset);
+        return bytes.length == 1 && bytes[0] == '\n';
+    }
+
+    private static List<String> readLinesWithReader(final InputStream in, final Charset charset, final boolean tail, final int skip, final int numberOfLines) throws IOException {
+        final LinkedList<String> lines = new LinkedList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, charset))) {
+            final long maxTailLines = (long) skip + numberOfLines;
+            int lineCount = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (tail) {
+                    lines.add(line);
+                    if (numberOfLines > 0 && lines.size() > maxTailLines) {
+                        lines.removeFirst();
+                    }
+                } else {
+                    if (++lineCount <= skip) continue;
+                    if (lines.size() == numberOfLines) break;
+                    lines.add(line);
+                }
+            }
+        }
+        if (tail) {
+            for (int i = 0; i < skip && !lines.isEmpty(); i++) {
+                lines.removeLast();
+            }
+        }
+        return new ArrayList<>(lines);
+    }
+
+    /**
+     * The offsets of every {@value #INDEX_INTERVAL}th line of a file, up to the last line feed read.
+     */
+    private static final class LineIndex {
+        private Object fileKey;
+        // The size and modification time of the file when the index was last validated
+        private long fileSize;
+        private long lastModified;
+        private long[] offsets;
+        private int count;
+        // The number of line feeds read and the offset of the line following the last one
+        private long lines;
+        private long end;
+        // A hash of the bytes at the start of the file and before the end of the index
+        private long hash;
+
+        LineIndex() {
+            reset(null);
+        }
+
+        void validate(final LogFileReader reader) throws IOException {
+            final BasicFileAttributes attributes = Files.readAttributes(reader.path, BasicFileAttributes.class);
+            final Object fileKey = attributes.fileKey();
+            final long lastModified = attributes.lastModifiedTime().toMillis();
+            // Log files are only appended to, anything else means the file was replaced or truncated. A file handler
+            // which does not append truncates the file, so also check the file did not shrink or go back in time,
+            // and that the start of the file and the last line indexed have not changed.
+            if (!Objects.equals(this.fileKey, fileKey) || reader.size < fileSize || lastModified < this.lastModified
+                    || end > reader.size || (end > 0 && reader.byteAt(end - 1) != '\n') || hash(reader) != hash) {
+                reset(fileKey);
+                hash = hash(reader);
+            }
+            fileSize = reader.size;
+            this.lastModified = lastModified;
+        }
+
+        private long hash(final LogFileReader reader) throws IOException {
+            long result = 1L;
+            for (long pos = 0; pos < end && pos < SAMPLE_SIZE; pos++) {
+                result = 31 * result + reader.byteAt(pos);
+            }
+            for (long pos = Math.max(SAMPLE_SIZE, end - SAMPLE_SIZE); pos < end; pos++) {
+                result = 31 * result + reader.byteAt(pos);
+            }
+            return result;
+        }
+
+        long findLine(final LogFileReader reader, final long line) throws IOException {
+            if (line <= lines) {
+                final int checkpoint = (int) (line / INDEX_INTERVAL);
+                return reader.skipLines(offsets[checkpoint], line - (long) checkpoint * INDEX_INTERVAL);
+            }
+            long pos = end;
+            while (lines < line && pos < reader.size) {
+                if (reader.byteAt(pos++) == '\n') {
+                    lines++;
+                    end = pos;
+                    if (lines % INDEX_INTERVAL == 0) {
+                        if (count == offsets.length) {
+                            offsets = Arrays.copyOf(offsets, count * 2);
+                        }
+                        offsets[count++] = pos;
+                    }
+                }
+            }
+            hash = hash(reader);
+            return pos;
+        }
+
+        private void reset(final Object fileKey) {
+            this.fileKey = fileKey;
+            fileSize = 0L;
+            lastModified = 0L;
+            offsets = new long[16];
+            count = 1;
+            lines = 0L;
+            end = 0L;
+        }
+    }
+
+    /**
+     * Thrown if the file was truncated after it was opened, so it can't be read from a mapping.
+     */
+    private static final class FileTruncatedException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private FileTruncatedException(final Path path) {
+            super(path.toString());
+        }
+    }
+
+    private static final class RangeInputStream extends InputStream {
+        private final FileChannel channel;
+        private final long end;
+        private long pos;
+
+        private RangeInputStream(final FileChannel channel, final long start, final long end) {
+            this.channel = channel;
+            this.pos = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (pos >= end) {
+                return -1;
+            }
+            if (len == 0) {
+                return 0;
+            }
+            final int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - pos)), pos);
+            if (read > 0) {
+                pos += read;
+            }
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, end - pos);
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -24,12 +24,9 @@ package org.jboss.as.logging;
 
 import static org.jboss.as.logging.CommonAttributes.ENCODING;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
 import java.nio.file.FileVisitOption;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
@@ -38,19 +35,27 @@ import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationContext.ResultHandler;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.PropertiesAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleOperationDefinition;
@@ -63,6 +68,7 @@ import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.services.path.PathManager;
 import org.jboss.as.logging.logging.LoggingLogger;
+import org.jboss.as.logging.validators.LogLevelValidator;
 import org.jboss.as.server.ServerEnvironment;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -124,6 +130,71 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
             .setRuntimeOnly()
             .build();
 
+    private static final SimpleOperationDefinition STREAM_LOG_FILE = new SimpleOperationDefinitionBuilder("stream-log-file", LoggingExtension.getResourceDescriptionResolver())
+            .addAccessConstraint(VIEW_SERVER_LOGS)
+            .setParameters(LINES, SKIP, TAIL)
+            .setReplyType(ModelType.STRING)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+
+    private static final SimpleAttributeDefinition PATTERN = SimpleAttributeDefinitionBuilder.create("pattern", ModelType.STRING, true)
+            .build();
+
+    private static final SimpleAttributeDefinition MIN_LEVEL = SimpleAttributeDefinitionBuilder.create("level", ModelType.STRING, true)
+            .setValidator(new LogLevelValidator(true))
+            .build();
+
+    private static final SimpleAttributeDefinition FROM = SimpleAttributeDefinitionBuilder.create("from", ModelType.STRING, true)
+            .build();
+
+    private static final SimpleAttributeDefinition TO = SimpleAttributeDefinitionBuilder.create("to", ModelType.STRING, true)
+            .build();
+
+    private static final SimpleAttributeDefinition DATE_FORMAT = SimpleAttributeDefinitionBuilder.create("date-format", ModelType.STRING, true)
+            .setDefaultValue(new ModelNode("yyyy-MM-dd HH:mm:ss,SSS"))
+            .build();
+
+    private static final PropertiesAttributeDefinition MDC = new PropertiesAttributeDefinition.Builder("mdc", true)
+            .build();
+
+    private static final SimpleAttributeDefinition INCLUDE_ROTATED = SimpleAttributeDefinitionBuilder.create("include-rotated", ModelType.BOOLEAN, true)
+            .setDefaultValue(ModelNode.TRUE)
+            .build();
+
+    private static final SimpleAttributeDefinition MAX_RESULTS = SimpleAttributeDefinitionBuilder.create("max-results", ModelType.INT, true)
+            .setDefaultValue(new ModelNode(100))
+            .setValidator(new IntRangeValidator(1, true))
+            .build();
+
+    private static final SimpleAttributeDefinition CONTINUATION = SimpleAttributeDefinitionBuilder.create("continuation", ModelType.STRING, true)
+            .build();
+
+    private static final SimpleAttributeDefinition RECORD_FILE = SimpleAttributeDefinitionBuilder.create("file", ModelType.STRING)
+            .build();
+
+    private static final SimpleAttributeDefinition RECORD_OFFSET = SimpleAttributeDefinitionBuilder.create("offset", ModelType.LONG)
+            .build();
+
+    private static final SimpleAttributeDefinition RECORD_LEVEL = SimpleAttributeDefinitionBuilder.create("level", ModelType.STRING, true)
+            .build();
+
+    private static final SimpleAttributeDefinition RECORD_LINE = SimpleAttributeDefinitionBuilder.create("line", ModelType.STRING)
+            .build();
+
+    private static final ObjectListAttributeDefinition RECORDS = ObjectListAttributeDefinition.Builder.of("records",
+            ObjectTypeAttributeDefinition.Builder.of("record", RECORD_FILE, RECORD_OFFSET, RECORD_LEVEL, RECORD_LINE).build())
+            .build();
+
+    private static final SimpleOperationDefinition SEARCH_LOG_FILE = new SimpleOperationDefinitionBuilder("search-log-file", LoggingExtension.getResourceDescriptionResolver())
+            .addAccessConstraint(VIEW_SERVER_LOGS)
+            .setParameters(ENCODING, PATTERN, MIN_LEVEL, FROM, TO, DATE_FORMAT, MDC, INCLUDE_ROTATED, MAX_RESULTS, CONTINUATION)
+            .setReplyType(ModelType.OBJECT)
+            .setReplyParameters(RECORDS, CONTINUATION)
+            .setReadOnly()
+            .setRuntimeOnly()
+            .build();
+
     private static final PathElement LOG_FILE_PATH = PathElement.pathElement("log-file");
 
     private final PathManager pathManager;
@@ -139,7 +210,8 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
     public void registerOperations(final ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
         resourceRegistration.registerOperationHandler(READ_LOG_FILE, new ReadLogFileOperation(pathManager));
-
+        resourceRegistration.registerOperationHandler(STREAM_LOG_FILE, new StreamLogFileOperation(pathManager));
+        resourceRegistration.registerOperationHandler(SEARCH_LOG_FILE, new SearchLogFileOperation(pathManager));
     }
 
     @Override
@@ -173,7 +245,7 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
                 validateFile(context, logDir, name);
                 final Path path = Paths.get(logDir, name);
                 try {
-                    String uuid = context.attachResultStream("text/plain", Files.newInputStream(path));
+                    String uuid = context.attachResultStream("text/plain", LogFileReader.newInputStream(path));
                     context.getResult().set(uuid);
                 } catch (IOException e) {
                     throw new RuntimeException(e);
@@ -244,12 +316,7 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
 
             // Read the contents of the log file
             try {
-                final List<String> lines;
-                if (numberOfLines == 0) {
-                    lines = Collections.emptyList();
-                } else {
-                    lines = readLines(path, encoding, tail, skip, numberOfLines);
-                }
+                final List<String> lines = LogFileReader.readLines(path.toPath(), encoding, tail, skip, numberOfLines);
                 final ModelNode result = context.getResult().setEmptyList();
                 for (String line : lines) {
                     result.add(line);
@@ -259,99 +326,165 @@ class LogFileResourceDefinition extends SimpleResourceDefinition {
             }
             context.completeStep(ResultHandler.NOOP_RESULT_HANDLER);
         }
+    }
 
-        private List<String> readLines(final File file, final String encoding, final boolean tail, final int skip, final int numberOfLines) throws IOException {
-            final List<String> lines;
-            if (numberOfLines < 0) {
-                lines = new ArrayList<>();
-            } else {
-                lines = new ArrayList<>(numberOfLines);
+    /**
+     * Attaches the lines of a log file to the response as a stream and returns the id of the attachment.
+     */
+    static class StreamLogFileOperation implements OperationStepHandler {
+
+        private final PathManager pathManager;
+
+        private StreamLogFileOperation(final PathManager pathManager) {
+            this.pathManager = pathManager;
+        }
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final String fileName = context.getCurrentAddressValue();
+            final String logDir = pathManager.getPathEntry(ServerEnvironment.SERVER_LOG_DIR).resolvePath();
+            validateFile(context, logDir, fileName);
+            for (AttributeDefinition attribute : STREAM_LOG_FILE.getParameters()) {
+                attribute.validateOperation(operation);
             }
-            try (
-                    final InputStream in = (tail ? new LifoFileInputStream(file) : Files.newInputStream(file.toPath()));
-                    /* we should stick with the default here and not use UTF-8.
-                    The encoding on the file handler does not default to UTF-8 but the system default.
-                    I think here we should stick with the system default unless explicitly defined.
-                    I could see a UTF-8 default possibly being problematic on IBM bases systems.
-                     */
-                    final InputStreamReader isr = (encoding == null ? new InputStreamReader(in) : new InputStreamReader(in, encoding));
-                    final BufferedReader reader = new BufferedReader(isr)
-            ) {
-                int lineCount = 0;
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (++lineCount <= skip) continue;
-                    if (lines.size() == numberOfLines) break;
-                    lines.add(line);
-                }
-                if (tail) {
-                    Collections.reverse(lines);
-                }
-                return lines;
+            final int numberOfLines = LINES.resolveModelAttribute(context, operation).asInt();
+            final int skip = SKIP.resolveModelAttribute(context, operation).asInt();
+            final boolean tail = TAIL.resolveModelAttribute(context, operation).asBoolean();
+            final Path path = Paths.get(logDir, fileName);
+            if (Files.notExists(path)) {
+                throw LoggingLogger.ROOT_LOGGER.logFileNotFound(fileName, ServerEnvironment.SERVER_LOG_DIR);
+            }
+            try {
+                final String uuid = context.attachResultStream("text/plain", LogFileReader.openStream(path, tail, skip, numberOfLines));
+                context.getResult().set(uuid);
+            } catch (IOException e) {
+                throw LoggingLogger.ROOT_LOGGER.failedToReadLogFile(e, fileName);
             }
+            context.completeStep(ResultHandler.NOOP_RESULT_HANDLER);
         }
     }
 
-    static final class LifoFileInputStream extends InputStream {
-        private final RandomAccessFile raf;
-        private final long len;
-        private long start;
-        private long end;
-        private long pos;
-
-        LifoFileInputStream(final File file) throws IOException {
-            raf = new RandomAccessFile(file, "r");
-            len = raf.length();
-            start = len;
-            end = len;
-            pos = end;
+    /**
+     * Searches a log file, and optionally the files rotated from it, on the server and returns the matching lines.
+     */
+    static class SearchLogFileOperation implements OperationStepHandler {
+
+        private final PathManager pathManager;
+
+        private SearchLogFileOperation(final PathManager pathManager) {
+            this.pathManager = pathManager;
         }
 
-        private void positionFile() throws IOException {
-            end = start;
-            // If we're at the beginning of the file, nothing more to read
-            if (end == 0) {
-                end = -1;
-                start = -1;
-                pos = -1;
-                return;
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final String fileName = context.getCurrentAddressValue();
+            final String logDir = pathManager.getPathEntry(ServerEnvironment.SERVER_LOG_DIR).resolvePath();
+            validateFile(context, logDir, fileName);
+            for (AttributeDefinition attribute : SEARCH_LOG_FILE.getParameters()) {
+                attribute.validateOperation(operation);
+            }
+            final ModelNode encodingModel = ENCODING.resolveModelAttribute(context, operation);
+            final String encoding = (encodingModel.isDefined() ? encodingModel.asString() : null);
+            final ModelNode patternModel = PATTERN.resolveModelAttribute(context, operation);
+            final ModelNode levelModel = MIN_LEVEL.resolveModelAttribute(context, operation);
+            final ModelNode continuationModel = CONTINUATION.resolveModelAttribute(context, operation);
+            final boolean includeRotated = INCLUDE_ROTATED.resolveModelAttribute(context, operation).asBoolean();
+            final int maxResults = MAX_RESULTS.resolveModelAttribute(context, operation).asInt();
+
+            final Path dir = Paths.get(logDir);
+            final Path path = dir.resolve(fileName);
+            if (Files.notExists(path)) {
+                throw LoggingLogger.ROOT_LOGGER.logFileNotFound(fileName, ServerEnvironment.SERVER_LOG_DIR);
             }
+            if (LogFileReader.isCompressed(path)) {
+                throw LoggingLogger.ROOT_LOGGER.compressedSearchNotSupported(fileName);
+            }
+            try {
+                final Charset charset = LogFileReader.getCharset(encoding);
+                if (!LogFileReader.hasSingleByteLineFeed(charset)) {
+                    throw LoggingLogger.ROOT_LOGGER.searchNotSupported(fileName, charset.name());
+                }
+                final Pattern pattern;
+                try {
+                    pattern = (patternModel.isDefined() ? Pattern.compile(patternModel.asString()) : null);
+                } catch (PatternSyntaxException e) {
+                    throw LoggingLogger.ROOT_LOGGER.invalidSearchParameter(e, PATTERN.getName(), patternModel.asString());
+                }
+                final LogFileSearch search = new LogFileSearch(charset, pattern,
+                        (levelModel.isDefined() ? Level.parse(levelModel.asString()) : null),
+                        parseTime(context, operation, FROM), parseTime(context, operation, TO),
+                        parseDateFormat(context, operation), MDC.unwrap(context, operation), maxResults);
+
+                final List<Path> files = (includeRotated ? LogFileSearch.findRotatedFiles(path) : Collections.singletonList(path));
+                int first = 0;
+                long offset = 0L;
+                if (continuationModel.isDefined()) {
+                    // The continuation is the name of the file and the offset to continue at
+                    final String continuation = continuationModel.asString();
+                    final int index = continuation.lastIndexOf(':');
+                    first = -1;
+                    if (index > 0) {
+                        final String name = continuation.substring(0, index);
+                        for (int i = 0; i < files.size(); i++) {
+                            if (dir.relativize(files.get(i)).toString().equals(name)) {
+                                first = i;
+                            }
+                        }
+                        try {
+                            offset = Long.parseLong(continuation.substring(index + 1));
+                        } catch (NumberFormatException e) {
+                            first = -1;
+                        }
+                    }
+                    if (first < 0 || offset < 0L) {
+                        throw LoggingLogger.ROOT_LOGGER.invalidSearchContinuation(continuation);
+                    }
+                }
 
-            long filePointer = start - 1;
-            while (true) {
-                filePointer--;
-                // We're at the start of the file
-                if (filePointer < 0) {
-                    break;
+                final LogFileSearch.Result result = search.search(files.subList(first, files.size()), offset);
+                final ModelNode records = context.getResult().get(RECORDS.getName()).setEmptyList();
+                for (LogFileSearch.Match match : result.getMatches()) {
+                    final ModelNode record = records.add();
+                    record.get(RECORD_FILE.getName()).set(dir.relativize(match.getFile()).toString());
+                    record.get(RECORD_OFFSET.getName()).set(match.getOffset());
+                    if (match.getLevel() != null) {
+                        record.get(RECORD_LEVEL.getName()).set(match.getLevel().getName());
+                    }
+                    record.get(RECORD_LINE.getName()).set(match.getLine());
                 }
-                // Position the file
-                raf.seek(filePointer);
-                final byte readByte = raf.readByte();
-                // If the byte is a line feed we've found the next line ignoring the last line feed in the file
-                if (readByte == '\n' && filePointer != (len - 1)) {
-                    break;
+                final int next = first + result.getNextFile();
+                if (next < files.size()) {
+                    context.getResult().get(CONTINUATION.getName()).set(dir.relativize(files.get(next)) + ":" + result.getNextOffset());
                 }
+            } catch (IOException e) {
+                throw LoggingLogger.ROOT_LOGGER.failedToReadLogFile(e, fileName);
+            } catch (InterruptedException e) {
+                // The operation was cancelled
+                Thread.currentThread().interrupt();
+                throw LoggingLogger.ROOT_LOGGER.searchCancelled(fileName);
             }
-            start = filePointer + 1;
-            pos = start;
+            context.completeStep(ResultHandler.NOOP_RESULT_HANDLER);
         }
 
-        @Override
-        public int read() throws IOException {
-            if (pos < end) {
-                raf.seek(pos++);
-                return raf.readByte();
-            } else if (pos < 0) {
-                return -1;
-            } else {
-                positionFile();
-                return read();
+        private static LocalDateTime parseTime(final OperationContext context, final ModelNode operation, final AttributeDefinition attribute) throws OperationFailedException {
+            final ModelNode value = attribute.resolveModelAttribute(context, operation);
+            if (!value.isDefined()) {
+                return null;
+            }
+            try {
+                return LocalDateTime.parse(value.asString());
+            } catch (DateTimeParseException e) {
+                throw LoggingLogger.ROOT_LOGGER.invalidSearchParameter(e, attribute.getName(), value.asString());
             }
         }
 
-        @Override
-        public void close() throws IOException {
-            raf.close();
+        private static DateTimeFormatter parseDateFormat(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+            final String value = DATE_FORMAT.resolveModelAttribute(context, operation).asString();
+            try {
+                return DateTimeFormatter.ofPattern(value);
+            } catch (IllegalArgumentException e) {
+                throw LoggingLogger.ROOT_LOGGER.invalidSearchParameter(e, DATE_FORMAT.getName(), value);
+            }
         }
     }
 
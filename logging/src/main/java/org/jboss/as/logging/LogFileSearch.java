@@ -0,0 +1,497 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jboss.as.logging.logmanager.LogFileArchiver;
+
+/**
+ * Searches log files for the lines of records which match a set of filters.
+ * <p/>
+ * A record starts with a line which has a level or a timestamp, and includes any following lines without one, e.g.
+ * the lines of a stack trace. The level, timestamp and MDC filters are checked against the first line of the record
+ * and the pattern against each line, so the lines of a stack trace are found when searching for errors.
+ * <p/>
+ * Files are split into chunks which are searched in parallel, by a pool of threads shared by all searches and bounded
+ * by the number of processors. The search stops once the maximum number of results was found and returns the position
+ * to continue from in the next search. Interrupting the thread which runs the search cancels it, including a pattern
+ * which is being matched.
+ */
+final class LogFileSearch {
+
+    static final int CHUNK_SIZE = 4 * 1024 * 1024;
+
+    // The number of lines searched back from the start of a chunk for the first line of the record it starts in
+    private static final int MAX_RECORD_LINES = 1000;
+    // The number of words at the start of a line which may be the level
+    private static final int LEVEL_WORDS = 6;
+    private static final Pattern JSON_LEVEL = Pattern.compile("\"level\"\\s*:\\s*\"(\\w+)\"");
+    private static final Map<String, Level> LEVELS = new HashMap<>();
+    // The number of characters of a line the pattern may read between checks whether the search was cancelled
+    private static final int CANCEL_CHECK_INTERVAL = 1024;
+    private static final ThreadPoolExecutor EXECUTOR;
+
+    static {
+        for (Level level : new Level[] {
+                org.jboss.logmanager.Level.FATAL,
+                org.jboss.logmanager.Level.ERROR,
+                org.jboss.logmanager.Level.WARN,
+                org.jboss.logmanager.Level.INFO,
+                org.jboss.logmanager.Level.DEBUG,
+                org.jboss.logmanager.Level.TRACE,
+                Level.SEVERE,
+                Level.WARNING,
+                Level.CONFIG,
+                Level.FINE,
+                Level.FINER,
+                Level.FINEST,
+        }) {
+            LEVELS.put(level.getName(), level);
+        }
+        final int threads = Runtime.getRuntime().availableProcessors();
+        final AtomicInteger count = new AtomicInteger();
+        EXECUTOR = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            final Thread thread = new Thread(r, "logging-file-search-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        EXECUTOR.allowCoreThreadTimeOut(true);
+    }
+
+    private final Charset charset;
+    private final Pattern pattern;
+    private final Level level;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final DateTimeFormatter dateFormat;
+    private final Map<String, String> mdc;
+    private final int maxResults;
+
+    /**
+     * Creates a new search. All filters are optional.
+     *
+     * @param charset    the encoding of the files, which must encode a line feed as a single byte
+     * @param pattern    the pattern to find in a line
+     * @param level      the minimum level of a record
+     * @param from       the time records must be logged at or after
+     * @param to         the time records must be logged before
+     * @param dateFormat the format of the timestamp at the start of a record, required if a time is defined
+     * @param mdc        the MDC entries the first line of a record must contain
+     * @param maxResults the maximum number of lines to return
+     */
+    LogFileSearch(final Charset charset, final Pattern pattern, final Level level, final LocalDateTime from, final LocalDateTime to,
+                  final DateTimeFormatter dateFormat, final Map<String, String> mdc, final int maxResults) {
+        assert LogFileReader.hasSingleByteLineFeed(charset);
+        this.charset = charset;
+        this.pattern = pattern;
+        this.level = level;
+        this.from = from;
+        this.to = to;
+        this.dateFormat = (from == null && to == null ? null : dateFormat);
+        this.mdc = (mdc == null ? Collections.emptyMap() : mdc);
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * Finds the files rotated from the log file, e.g. {@code server.log.1} or {@code server.log.2020-01-01}, oldest
+     * first, followed by the log file itself. Compressed files are ignored.
+     *
+     * @param file the log file
+     *
+     * @return the rotated files and the log file
+     *
+     * @throws IOException if the directory of the log file could not be read
+     */
+    static List<Path> findRotatedFiles(final Path file) throws IOException {
+        final String prefix = file.getFileName().toString() + ".";
+        final Map<Path, Long> rotated = new HashMap<>();
+        try (Stream<Path> siblings = Files.list(file.getParent())) {
+            for (Path sibling : siblings.collect(Collectors.toList())) {
+                final String name = sibling.getFileName().toString();
+                if (name.startsWith(prefix) && !LogFileReader.isCompressed(sibling) && !LogFileArchiver.isWorkFile(sibling)
+                        && Files.isRegularFile(sibling)) {
+                    rotated.put(sibling, Files.getLastModifiedTime(sibling).toMillis());
+                }
+            }
+        }
+        final List<Path> result = new ArrayList<>(rotated.keySet());
+        result.sort((p1, p2) -> Long.compare(rotated.get(p1), rotated.get(p2)));
+        result.add(file);
+        return result;
+    }
+
+    /**
+     * Searches the files, in order, starting at the offset of the first file.
+     *
+     * @param files  the files to search
+     * @param offset the offset to start searching the first file at
+     *
+     * @return the lines found and the position to continue from
+     *
+     * @throws IOException          if a file could not be read
+     * @throws InterruptedException if the search was cancelled
+     */
+    Result search(final List<Path> files, final long offset) throws IOException, InterruptedException {
+        final int parallelism = EXECUTOR.getMaximumPoolSize();
+        final List<Match> matches = new ArrayList<>();
+        long start = offset;
+        for (int i = 0; i < files.size(); i++) {
+            final Path file = files.get(i);
+            final long size = Files.size(file);
+            while (start < size) {
+                final List<long[]> chunks = new ArrayList<>(parallelism);
+                for (int c = 0; c < parallelism && start < size; c++) {
+                    final long end = Math.min(size, start + CHUNK_SIZE);
+                    chunks.add(new long[] {start, end});
+                    start = end;
+                }
+                for (ChunkResult result : searchChunks(file, chunks)) {
+                    for (Match match : result.matches) {
+                        if (matches.size() == maxResults) {
+                            return new Result(matches, i, match.offset);
+                        }
+                        matches.add(match);
+                    }
+                    if (result.next >= 0) {
+                        return new Result(matches, i, result.next);
+                    }
+                }
+                if (matches.size() == maxResults) {
+                    return (start < size ? new Result(matches, i, start) : new Result(matches, i + 1, 0L));
+                }
+            }
+            start = 0L;
+        }
+        return new Result(matches, files.size(), 0L);
+    }
+
+    private List<ChunkResult> searchChunks(final Path file, final List<long[]> chunks) throws IOException, InterruptedException {
+        final List<Future<ChunkResult>> futures = new ArrayList<>(chunks.size());
+        final List<ChunkResult> results = new ArrayList<>(chunks.size());
+        try {
+            for (long[] chunk : chunks) {
+                futures.add(EXECUTOR.submit(() -> search(file, chunk[0], chunk[1])));
+            }
+            for (Future<ChunkResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            if (results.size() < futures.size()) {
+                // Stop the other chunks, interrupting their threads stops the pattern being matched
+                for (Future<ChunkResult> future : futures) {
+                    future.cancel(true);
+                }
+            }
+        }
+        return results;
+    }
+
+    private ChunkResult search(final Path file, final long start, final long end) throws IOException {
+        try (LogFileReader reader = new LogFileReader(file)) {
+            final List<Match> matches = new ArrayList<>();
+            long pos = start;
+            if (pos > 0 && reader.byteAt(pos - 1) != '\n') {
+                // The line was searched with the previous chunk
+                pos = reader.skipLines(pos, 1);
+            }
+            Record record = findRecord(reader, pos);
+            while (pos < end && pos < reader.size()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException();
+                }
+                final long next = reader.skipLines(pos, 1);
+                final String line = reader.decodeLine(pos, next, charset);
+                final Record current = parseRecord(line);
+                if (current != null) {
+                    record = current;
+                }
+                if (accept(record, line)) {
+                    if (matches.size() == maxResults) {
+                        return new ChunkResult(matches, pos);
+                    }
+                    matches.add(new Match(file, pos, record == null ? null : record.level, line));
+                }
+                pos = next;
+            }
+            return new ChunkResult(matches, -1L);
+        }
+    }
+
+    private Record findRecord(final LogFileReader reader, final long offset) throws IOException {
+        long end = offset;
+        for (int i = 0; i < MAX_RECORD_LINES && end > 0; i++) {
+            final long start = reader.findLineStart(end);
+            final Record record = parseRecord(reader.decodeLine(start, end, charset));
+            if (record != null) {
+                return record;
+            }
+            end = start;
+        }
+        return null;
+    }
+
+    private Record parseRecord(final String line) {
+        final Level level = findLevel(line);
+        final LocalDateTime time = parseTime(line);
+        return (level == null && time == null ? null : new Record(level, time, line));
+    }
+
+    private boolean accept(final Record record, final String line) {
+        if (level != null && (record == null || record.level == null || record.level.intValue() < level.intValue())) {
+            return false;
+        }
+        if (dateFormat != null) {
+            if (record == null || record.time == null) {
+                return false;
+            }
+            if ((from != null && record.time.isBefore(from)) || (to != null && !record.time.isBefore(to))) {
+                return false;
+            }
+        }
+        for (Map.Entry<String, String> entry : mdc.entrySet()) {
+            if (record == null || !containsEntry(record.line, entry.getKey(), entry.getValue())) {
+                return false;
+            }
+        }
+        return pattern == null || pattern.matcher(new CancellableLine(line)).find();
+    }
+
+    private LocalDateTime parseTime(final String line) {
+        if (dateFormat == null || dateFormat.parseUnresolved(line, new ParsePosition(0)) == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.from(dateFormat.parse(line, new ParsePosition(0)));
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static Level findLevel(final String line) {
+        if (line.startsWith("{")) {
+            final Matcher matcher = JSON_LEVEL.matcher(line);
+            return (matcher.find() ? LEVELS.get(matcher.group(1)) : null);
+        }
+        int words = 0;
+        int pos = 0;
+        final int length = line.length();
+        while (words < LEVEL_WORDS && pos < length) {
+            while (pos < length && isSeparator(line.charAt(pos))) {
+                pos++;
+            }
+            final int start = pos;
+            while (pos < length && !isSeparator(line.charAt(pos))) {
+                pos++;
+            }
+            if (pos > start) {
+                final Level level = LEVELS.get(line.substring(start, pos));
+                if (level != null) {
+                    return level;
+                }
+                words++;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isSeparator(final char c) {
+        return Character.isWhitespace(c) || c == '[' || c == ']' || c == '(' || c == ')' || c == ':';
+    }
+
+    private static boolean containsEntry(final String line, final String key, final String value) {
+        // The pattern formatter writes the MDC as key=value and the JSON formatter as "key":"value"
+        return line.contains(key + "=" + value) || line.contains("\"" + key + "\":\"" + value + "\"");
+    }
+
+    /**
+     * A line which stops the pattern matching it once the thread searching it is interrupted, as a pattern may take a
+     * very long time to match a line.
+     */
+    private static final class CancellableLine implements CharSequence {
+        private final CharSequence line;
+        private int reads;
+
+        private CancellableLine(final CharSequence line) {
+            this.line = line;
+        }
+
+        @Override
+        public int length() {
+            return line.length();
+        }
+
+        @Override
+        public char charAt(final int index) {
+            if (++reads == CANCEL_CHECK_INTERVAL) {
+                reads = 0;
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new CancellationException();
+                }
+            }
+            return line.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return line.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return line.toString();
+        }
+    }
+
+    /**
+     * The result of a search.
+     */
+    static final class Result {
+        private final List<Match> matches;
+        private final int nextFile;
+        private final long nextOffset;
+
+        private Result(final List<Match> matches, final int nextFile, final long nextOffset) {
+            this.matches = matches;
+            this.nextFile = nextFile;
+            this.nextOffset = nextOffset;
+        }
+
+        /**
+         * @return the lines found
+         */
+        List<Match> getMatches() {
+            return matches;
+        }
+
+        /**
+         * @return the index of the file to continue searching, which is the number of files searched if all files
+         * were searched
+         */
+        int getNextFile() {
+            return nextFile;
+        }
+
+        /**
+         * @return the offset in the next file to continue searching at
+         */
+        long getNextOffset() {
+            return nextOffset;
+        }
+    }
+
+    /**
+     * A line found by a search.
+     */
+    static final class Match {
+        private final Path file;
+        private final long offset;
+        private final Level level;
+        private final String line;
+
+        private Match(final Path file, final long offset, final Level level, final String line) {
+            this.file = file;
+            this.offset = offset;
+            this.level = level;
+            this.line = line;
+        }
+
+        Path getFile() {
+            return file;
+        }
+
+        long getOffset() {
+            return offset;
+        }
+
+        /**
+         * @return the level of the record the line belongs to or {@code null} if it is not known
+         */
+        Level getLevel() {
+            return level;
+        }
+
+        String getLine() {
+            return line;
+        }
+    }
+
+    private static final class ChunkResult {
+        private final List<Match> matches;
+        // The offset of the first match which was not returned, or -1 if all matches were returned
+        private final long next;
+
+        private ChunkResult(final List<Match> matches, final long next) {
+            this.matches = matches;
+            this.next = next;
+        }
+    }
+
+    private static final class Record {
+        private final Level level;
+        private final LocalDateTime time;
+        private final String line;
+
+        private Record(final Level level, final LocalDateTime time, final String line) {
+            this.level = level;
+            this.time = time;
+            this.line = line;
+        }
+    }
+}
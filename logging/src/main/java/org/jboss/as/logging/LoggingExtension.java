@@ -62,6 +62,7 @@ import org.jboss.as.logging.formatters.PatternFormatterResourceDefinition;
 import org.jboss.as.logging.formatters.XmlFormatterResourceDefinition;
 import org.jboss.as.logging.handlers.AbstractHandlerDefinition;
 import org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition;
+import org.jboss.as.logging.handlers.BatchingAsyncHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.ConsoleHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.CustomHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.FileHandlerResourceDefinition;
@@ -99,7 +100,7 @@ public class LoggingExtension implements Extension {
 
     private static final GenericSubsystemDescribeHandler DESCRIBE_HANDLER = GenericSubsystemDescribeHandler.create(LoggingChildResourceComparator.INSTANCE);
 
-    private static final int MANAGEMENT_API_MAJOR_VERSION = 9;
+    private static final int MANAGEMENT_API_MAJOR_VERSION = 10;
     private static final int MANAGEMENT_API_MINOR_VERSION = 0;
     private static final int MANAGEMENT_API_MICRO_VERSION = 0;
 
@@ -261,6 +262,7 @@ public class LoggingExtension implements Extension {
         setParser(context, Namespace.LOGGING_6_0, new LoggingSubsystemParser_6_0());
         setParser(context, Namespace.LOGGING_7_0, new LoggingSubsystemParser_7_0());
         setParser(context, Namespace.LOGGING_8_0, new LoggingSubsystemParser_8_0());
+        setParser(context, Namespace.LOGGING_9_0, new LoggingSubsystemParser_9_0());
 
         // Hack to ensure the Element and Attribute enums are loaded during this call which
         // is part of concurrent boot. These enums trigger a lot of classloading and static
@@ -326,6 +328,7 @@ public class LoggingExtension implements Extension {
         registration.registerSubModel(XmlFormatterResourceDefinition.INSTANCE);
         registration.registerSubModel(SocketHandlerResourceDefinition.INSTANCE);
         registration.registerSubModel(FilterResourceDefinition.INSTANCE);
+        registration.registerSubModel(BatchingAsyncHandlerResourceDefinition.INSTANCE);
 
         if (registerTransformers) {
             registerTransformers(subsystem,
@@ -345,14 +348,16 @@ public class LoggingExtension implements Extension {
                     JsonFormatterResourceDefinition.INSTANCE,
                     XmlFormatterResourceDefinition.INSTANCE,
                     SocketHandlerResourceDefinition.INSTANCE,
-                    FilterResourceDefinition.INSTANCE);
+                    FilterResourceDefinition.INSTANCE,
+                    BatchingAsyncHandlerResourceDefinition.INSTANCE);
         }
     }
 
     private void registerTransformers(final SubsystemRegistration registration, final TransformerResourceDefinition... defs) {
         ChainedTransformationDescriptionBuilder chainedBuilder = TransformationDescriptionBuilder.Factory.createChainedSubystemInstance(registration.getSubsystemVersion());
 
-        registerTransformers(chainedBuilder, registration.getSubsystemVersion(), KnownModelVersion.VERSION_8_0_0, defs);
+        registerTransformers(chainedBuilder, registration.getSubsystemVersion(), KnownModelVersion.VERSION_9_0_0, defs);
+        registerTransformers(chainedBuilder, KnownModelVersion.VERSION_9_0_0, KnownModelVersion.VERSION_8_0_0, defs);
         registerTransformers(chainedBuilder, KnownModelVersion.VERSION_8_0_0, KnownModelVersion.VERSION_7_0_0, defs);
         registerTransformers(chainedBuilder, KnownModelVersion.VERSION_7_0_0, KnownModelVersion.VERSION_6_0_0, defs);
         registerTransformers(chainedBuilder, KnownModelVersion.VERSION_6_0_0, KnownModelVersion.VERSION_5_0_0, defs);
@@ -366,6 +371,7 @@ public class LoggingExtension implements Extension {
                 KnownModelVersion.VERSION_6_0_0.getModelVersion(),
                 KnownModelVersion.VERSION_7_0_0.getModelVersion(),
                 KnownModelVersion.VERSION_8_0_0.getModelVersion(),
+                KnownModelVersion.VERSION_9_0_0.getModelVersion(),
         }, new ModelVersion[] {
                 KnownModelVersion.VERSION_1_5_0.getModelVersion(),
                 KnownModelVersion.VERSION_3_0_0.getModelVersion(),
@@ -374,6 +380,7 @@ public class LoggingExtension implements Extension {
                 KnownModelVersion.VERSION_6_0_0.getModelVersion(),
                 KnownModelVersion.VERSION_7_0_0.getModelVersion(),
                 KnownModelVersion.VERSION_8_0_0.getModelVersion(),
+                KnownModelVersion.VERSION_9_0_0.getModelVersion(),
         });
     }
 
@@ -444,9 +451,9 @@ public class LoggingExtension implements Extension {
                     result = GREATER;
                 } else if (LoggerResourceDefinition.NAME.equals(key2)) {
                     result = LESS;
-                } else if (AsyncHandlerResourceDefinition.NAME.equals(key1)) {
+                } else if (AsyncHandlerResourceDefinition.NAME.equals(key1) || BatchingAsyncHandlerResourceDefinition.NAME.equals(key1)) {
                     result = GREATER;
-                } else if (AsyncHandlerResourceDefinition.NAME.equals(key2)) {
+                } else if (AsyncHandlerResourceDefinition.NAME.equals(key2) || BatchingAsyncHandlerResourceDefinition.NAME.equals(key2)) {
                     result = LESS;
                 }
             }
@@ -22,6 +22,11 @@
 
 package org.jboss.as.logging;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.jboss.as.controller.AbstractAddStepHandler;
 import org.jboss.as.controller.AbstractRemoveStepHandler;
 import org.jboss.as.controller.AbstractWriteAttributeHandler;
@@ -84,7 +89,7 @@ public final class LoggingOperations {
         // This should only check that it's a server for the commit step. The logging.properties may need to be written
         // in ADMIN_ONLY mode
         if (context.getProcessType().isServer()) {
-            context.addStep(new CommitOperationStepHandler(configurationPersistence, afterPrepare), Stage.RUNTIME);
+            CommitOperationStepHandler.add(context, configurationPersistence, afterPrepare);
         }
     }
 
@@ -111,28 +116,67 @@ public final class LoggingOperations {
         return ConfigurationPersistence.getConfigurationPersistence(logContext);
     }
 
+    /**
+     * Prepares and commits the logging configuration once for all the operations in a context which changed it.
+     * <p>
+     * Composite operations, and the boot operations, may change hundreds of resources. Rather than preparing and
+     * committing the configuration for each of them a single commit step is added per configuration. Operations
+     * executed before the commit step prepares the configuration join the pending step, any later changes get a new
+     * commit step.
+     * </p>
+     */
     private static final class CommitOperationStepHandler implements OperationStepHandler {
         private static final AttachmentKey<Boolean> WRITTEN_KEY = AttachmentKey.create(Boolean.class);
+        private static final AttachmentKey<Map<ConfigurationPersistence, CommitOperationStepHandler>> PENDING_KEY = AttachmentKey.create(Map.class);
         private final ConfigurationPersistence configurationPersistence;
-        private final OperationStepHandler afterPrepare;
+        private final List<OperationStepHandler> afterPrepare = new ArrayList<>();
         private final boolean persistConfig;
 
         @SuppressWarnings("deprecation")
-        CommitOperationStepHandler(final ConfigurationPersistence configurationPersistence, final OperationStepHandler afterPrepare) {
+        private CommitOperationStepHandler(final ConfigurationPersistence configurationPersistence) {
             this.configurationPersistence = configurationPersistence;
-            this.afterPrepare = afterPrepare;
             persistConfig = Boolean.parseBoolean(WildFlySecurityManager.getPropertyPrivileged(ServerEnvironment.JBOSS_PERSIST_SERVER_CONFIG, Boolean.toString(true)));
         }
 
+        static void add(final OperationContext context, final ConfigurationPersistence configurationPersistence, final OperationStepHandler afterPrepare) {
+            final Map<ConfigurationPersistence, CommitOperationStepHandler> pending = getPending(context);
+            CommitOperationStepHandler commitStep = pending.get(configurationPersistence);
+            if (commitStep == null) {
+                commitStep = new CommitOperationStepHandler(configurationPersistence);
+                pending.put(configurationPersistence, commitStep);
+                context.addStep(commitStep, Stage.RUNTIME);
+            } else {
+                LoggingLogger.ROOT_LOGGER.tracef("Using the pending commit step for operation: %s", context.getCurrentAddress());
+            }
+            if (afterPrepare != null) {
+                commitStep.afterPrepare.add(afterPrepare);
+            }
+        }
+
+        private static Map<ConfigurationPersistence, CommitOperationStepHandler> getPending(final OperationContext context) {
+            Map<ConfigurationPersistence, CommitOperationStepHandler> pending = context.getAttachment(PENDING_KEY);
+            if (pending == null) {
+                // Boot contexts share the attachments
+                pending = new ConcurrentHashMap<>();
+                final Map<ConfigurationPersistence, CommitOperationStepHandler> existing = context.attachIfAbsent(PENDING_KEY, pending);
+                if (existing != null) {
+                    pending = existing;
+                }
+            }
+            return pending;
+        }
+
         @Override
         public void execute(final OperationContext context, final ModelNode operation) {
             // Add as a new step to ensure it's executed as late as possible
             context.addStep((c, o) -> {
+                // Changes made after the configuration has been prepared need to be committed by a new step
+                getPending(c).remove(configurationPersistence, this);
                 configurationPersistence.prepare();
                 LoggingLogger.ROOT_LOGGER.tracef("Prepared the configuration for commit on operation: %s", o);
                 // Add any steps that may need to occur after the configuration has been prepared.
-                if (afterPrepare != null) {
-                    c.addStep(afterPrepare, Stage.RUNTIME);
+                for (OperationStepHandler step : afterPrepare) {
+                    c.addStep(step, Stage.RUNTIME);
                 }
                 c.completeStep(new ResultHandler() {
                     @Override
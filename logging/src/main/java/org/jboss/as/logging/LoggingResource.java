@@ -55,6 +55,7 @@ import org.jboss.as.logging.handlers.PeriodicHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.PeriodicSizeRotatingHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition;
 import org.jboss.as.logging.logging.LoggingLogger;
+import org.jboss.as.logging.logmanager.LogFileArchiver;
 import org.jboss.as.server.ServerEnvironment;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
@@ -350,6 +351,10 @@ public class LoggingResource implements Resource {
 
             @Override
             public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                if (LogFileArchiver.isWorkFile(file)) {
+                    // The file is being compressed and will be replaced by the compressed file
+                    return FileVisitResult.CONTINUE;
+                }
                 final Path relativeFile = dir.relativize(file);
                 final String resourceName = relativeFile.toString();
                 // Check each valid file name, rotated files will just start with the name
@@ -103,7 +103,7 @@ class LoggingSubsystemParser_5_0 extends LoggingSubsystemParser_4_0 {
                     final ModelNode operation = Util.createAddOperation();
                     // Setup the operation address
                     addOperationAddress(operation, address, JsonFormatterResourceDefinition.NAME, name);
-                    parseStructuredFormatter(reader, operation);
+                    parseJsonFormatter(reader, operation);
                     operations.add(operation);
                     break;
                 }
@@ -123,6 +123,10 @@ class LoggingSubsystemParser_5_0 extends LoggingSubsystemParser_4_0 {
         }
     }
 
+    void parseJsonFormatter(final XMLExtendedStreamReader reader, final ModelNode operation) throws XMLStreamException {
+        parseStructuredFormatter(reader, operation);
+    }
+
     void parseStructuredFormatter(final XMLExtendedStreamReader reader, final ModelNode operation,
                                   final SimpleAttributeDefinition... additionalAttributes) throws XMLStreamException {
         final int count = reader.getAttributeCount();
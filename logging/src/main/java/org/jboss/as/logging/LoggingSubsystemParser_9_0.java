@@ -0,0 +1,695 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ *
+ * Copyright 2020 Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.logging;
+
+import static org.jboss.as.controller.parsing.ParseUtils.duplicateNamedElement;
+import static org.jboss.as.controller.parsing.ParseUtils.missingRequired;
+import static org.jboss.as.controller.parsing.ParseUtils.requireNoNamespaceAttribute;
+import static org.jboss.as.controller.parsing.ParseUtils.unexpectedAttribute;
+import static org.jboss.as.controller.parsing.ParseUtils.unexpectedElement;
+import static org.jboss.as.logging.CommonAttributes.APPEND;
+import static org.jboss.as.logging.CommonAttributes.AUTOFLUSH;
+import static org.jboss.as.logging.CommonAttributes.ENABLED;
+import static org.jboss.as.logging.CommonAttributes.ENCODING;
+import static org.jboss.as.logging.CommonAttributes.FILE;
+import static org.jboss.as.logging.CommonAttributes.LEVEL;
+import static org.jboss.as.logging.CommonAttributes.LOGGING_PROFILE;
+import static org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition.OVERFLOW_ACTION;
+import static org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition.QUEUE_LENGTH;
+import static org.jboss.as.logging.handlers.BatchingAsyncHandlerResourceDefinition.MAX_BATCH_SIZE;
+import static org.jboss.as.logging.handlers.BatchingAsyncHandlerResourceDefinition.WAIT_STRATEGY;
+import static org.jboss.as.logging.handlers.PeriodicHandlerResourceDefinition.SUFFIX;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.COMPRESSION;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_AGE;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_BACKUP_INDEX;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_TOTAL_SIZE;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.ROTATE_ON_BOOT;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.ROTATE_SIZE;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import javax.xml.stream.XMLStreamException;
+
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.parsing.ParseUtils;
+import org.jboss.as.logging.formatters.StructuredFormatterResourceDefinition;
+import org.jboss.as.logging.handlers.BatchingAsyncHandlerResourceDefinition;
+import org.jboss.as.logging.handlers.PeriodicHandlerResourceDefinition;
+import org.jboss.as.logging.handlers.PeriodicSizeRotatingHandlerResourceDefinition;
+import org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition;
+import org.jboss.dmr.ModelNode;
+import org.jboss.staxmapper.XMLExtendedStreamReader;
+
+/**
+ * Subsystem parser for 9.0 of the logging subsystem.
+ */
+class LoggingSubsystemParser_9_0 extends LoggingSubsystemParser_8_0 {
+
+    @Override
+    public void readElement(final XMLExtendedStreamReader reader, final List<ModelNode> operations) throws XMLStreamException {
+        // No attributes
+        ParseUtils.requireNoAttributes(reader);
+
+        // Subsystem add operation
+        final ModelNode subsystemAddOp = Util.createAddOperation(SUBSYSTEM_ADDRESS);
+        operations.add(subsystemAddOp);
+
+        final List<ModelNode> loggerOperations = new ArrayList<>();
+        final List<ModelNode> asyncHandlerOperations = new ArrayList<>();
+        final List<ModelNode> handlerOperations = new ArrayList<>();
+        final List<ModelNode> formatterOperations = new ArrayList<>();
+        final List<ModelNode> filterOperations = new ArrayList<>();
+
+        // Elements
+        final Set<String> loggerNames = new HashSet<>();
+        final Set<String> handlerNames = new HashSet<>();
+        final Set<String> formatterNames = new HashSet<>();
+        final Set<String> filterNames = new HashSet<>();
+        boolean rootDefined = false;
+        while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+            final Element element = Element.forName(reader.getLocalName());
+            switch (element) {
+                case ADD_LOGGING_API_DEPENDENCIES: {
+                    final String value = ParseUtils.readStringAttributeElement(reader, Attribute.VALUE.getLocalName());
+                    LoggingResourceDefinition.ADD_LOGGING_API_DEPENDENCIES.parseAndSetParameter(value, subsystemAddOp, reader);
+                    break;
+                }
+                case USE_DEPLOYMENT_LOGGING_CONFIG: {
+                    final String value = ParseUtils.readStringAttributeElement(reader, Attribute.VALUE.getLocalName());
+                    LoggingResourceDefinition.USE_DEPLOYMENT_LOGGING_CONFIG.parseAndSetParameter(value, subsystemAddOp, reader);
+                    break;
+                }
+                case LOGGER: {
+                    parseLoggerElement(reader, SUBSYSTEM_ADDRESS, loggerOperations, loggerNames);
+                    break;
+                }
+                case ROOT_LOGGER: {
+                    if (rootDefined) {
+                        throw unexpectedElement(reader);
+                    }
+                    rootDefined = true;
+                    parseRootLoggerElement(reader, SUBSYSTEM_ADDRESS, loggerOperations);
+                    break;
+                }
+                case CONSOLE_HANDLER: {
+                    parseConsoleHandlerElement(reader, SUBSYSTEM_ADDRESS, handlerOperations, handlerNames);
+                    break;
+                }
+                case FILE_HANDLER: {
+                    parseFileHandlerElement(reader, SUBSYSTEM_ADDRESS, handlerOperations, handlerNames);
+                    break;
+                }
+                case CUSTOM_HANDLER: {
+                    parseCustomHandlerElement(reader, SUBSYSTEM_ADDRESS, handlerOperations, handlerNames);
+                    break;
+                }
+                case PERIODIC_ROTATING_FILE_HANDLER: {
+                    parsePeriodicRotatingFileHandlerElement(reader, SUBSYSTEM_ADDRESS, handlerOperations, handlerNames);
+                    break;
+                }
+                case PERIODIC_SIZE_ROTATING_FILE_HANDLER: {
+                    parsePeriodicSizeRotatingHandlerElement(reader, SUBSYSTEM_ADDRESS, handlerOperations, handlerNames);
+                    break;
+                }
+                case SIZE_ROTATING_FILE_HANDLER: {
+                    parseSizeRotatingHandlerElement(reader, SUBSYSTEM_ADDRESS, handlerOperations, handlerNames);
+                    break;
+                }
+                case SOCKET_HANDLER: {
+                    parseSocketHandlerElement(reader, SUBSYSTEM_ADDRESS, handlerOperations, handlerNames);
+                    break;
+                }
+                case ASYNC_HANDLER: {
+                    parseAsyncHandlerElement(reader, SUBSYSTEM_ADDRESS, asyncHandlerOperations, handlerNames);
+                    break;
+                }
+                case BATCHING_ASYNC_HANDLER: {
+                    parseBatchingAsyncHandlerElement(reader, SUBSYSTEM_ADDRESS, asyncHandlerOperations, handlerNames);
+                    break;
+                }
+                case SYSLOG_HANDLER: {
+                    parseSyslogHandler(reader, SUBSYSTEM_ADDRESS, handlerOperations, handlerNames);
+                    break;
+                }
+                case LOGGING_PROFILES: {
+                    parseLoggingProfilesElement(reader, operations);
+                }
+                break;
+                case FORMATTER: {
+                    parseFormatter(reader, SUBSYSTEM_ADDRESS, formatterOperations, formatterNames);
+                    break;
+                }
+                case FILTER: {
+                    parseFilterElement(reader, SUBSYSTEM_ADDRESS, filterOperations, filterNames);
+                    break;
+                }
+                default: {
+                    reader.handleAny(operations);
+                    break;
+                }
+            }
+        }
+        // Filters have no dependencies, but may be dependencies of handlers and/or loggers so they should be processed
+        // first.
+        operations.addAll(filterOperations);
+        operations.addAll(formatterOperations);
+        operations.addAll(handlerOperations);
+        operations.addAll(asyncHandlerOperations);
+        operations.addAll(loggerOperations);
+    }
+
+    @Override
+    void parseLoggingProfileElement(final XMLExtendedStreamReader reader, final List<ModelNode> operations, final Set<String> profileNames) throws XMLStreamException {
+        // Attributes
+        String name = null;
+        final EnumSet<Attribute> required = EnumSet.of(Attribute.NAME);
+        final int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            required.remove(attribute);
+            if (attribute == Attribute.NAME) {
+                name = value;
+            } else {
+                throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (!required.isEmpty()) {
+            throw missingRequired(reader, required);
+        }
+        if (!profileNames.add(name)) {
+            throw duplicateNamedElement(reader, name);
+        }
+        // Setup the address
+        final PathAddress profileAddress = SUBSYSTEM_ADDRESS.append(LOGGING_PROFILE, name);
+        operations.add(Util.createAddOperation(profileAddress));
+
+        final List<ModelNode> loggerOperations = new ArrayList<>();
+        final List<ModelNode> asyncHandlerOperations = new ArrayList<>();
+        final List<ModelNode> handlerOperations = new ArrayList<>();
+        final List<ModelNode> formatterOperations = new ArrayList<>();
+        final List<ModelNode> filterOperations = new ArrayList<>();
+
+        final Set<String> loggerNames = new HashSet<>();
+        final Set<String> handlerNames = new HashSet<>();
+        final Set<String> formatterNames = new HashSet<>();
+        final Set<String> filterNames = new HashSet<>();
+        boolean gotRoot = false;
+        while (reader.hasNext() && reader.nextTag() != END_ELEMENT) {
+            final Element element = Element.forName(reader.getLocalName());
+            switch (element) {
+                case LOGGER: {
+                    parseLoggerElement(reader, profileAddress, loggerOperations, loggerNames);
+                    break;
+                }
+                case ROOT_LOGGER: {
+                    if (gotRoot) {
+                        throw unexpectedElement(reader);
+                    }
+                    gotRoot = true;
+                    parseRootLoggerElement(reader, profileAddress, loggerOperations);
+                    break;
+                }
+                case CONSOLE_HANDLER: {
+                    parseConsoleHandlerElement(reader, profileAddress, handlerOperations, handlerNames);
+                    break;
+                }
+                case FILE_HANDLER: {
+                    parseFileHandlerElement(reader, profileAddress, handlerOperations, handlerNames);
+                    break;
+                }
+                case CUSTOM_HANDLER: {
+                    parseCustomHandlerElement(reader, profileAddress, handlerOperations, handlerNames);
+                    break;
+                }
+                case PERIODIC_ROTATING_FILE_HANDLER: {
+                    parsePeriodicRotatingFileHandlerElement(reader, profileAddress, handlerOperations, handlerNames);
+                    break;
+                }
+                case PERIODIC_SIZE_ROTATING_FILE_HANDLER: {
+                    parsePeriodicSizeRotatingHandlerElement(reader, profileAddress, handlerOperations, handlerNames);
+                    break;
+                }
+                case SIZE_ROTATING_FILE_HANDLER: {
+                    parseSizeRotatingHandlerElement(reader, profileAddress, handlerOperations, handlerNames);
+                    break;
+                }
+                case SOCKET_HANDLER: {
+                    parseSocketHandlerElement(reader, profileAddress, handlerOperations, handlerNames);
+                    break;
+                }
+                case ASYNC_HANDLER: {
+                    parseAsyncHandlerElement(reader, profileAddress, asyncHandlerOperations, handlerNames);
+                    break;
+                }
+                case BATCHING_ASYNC_HANDLER: {
+                    parseBatchingAsyncHandlerElement(reader, profileAddress, asyncHandlerOperations, handlerNames);
+                    break;
+                }
+                case SYSLOG_HANDLER: {
+                    parseSyslogHandler(reader, profileAddress, handlerOperations, handlerNames);
+                    break;
+                }
+                case FORMATTER: {
+                    parseFormatter(reader, profileAddress, formatterOperations, formatterNames);
+                    break;
+                }
+                case FILTER: {
+                    parseFilterElement(reader, profileAddress, filterOperations, filterNames);
+                    break;
+                }
+                default: {
+                    reader.handleAny(operations);
+                    break;
+                }
+            }
+        }
+        // Filters have no dependencies, but may be dependencies of handlers and/or loggers so they should be processed
+        // first.
+        operations.addAll(filterOperations);
+        operations.addAll(formatterOperations);
+        operations.addAll(handlerOperations);
+        operations.addAll(asyncHandlerOperations);
+        operations.addAll(loggerOperations);
+    }
+
+    @SuppressWarnings("WeakerAccess")
+    void parseBatchingAsyncHandlerElement(final XMLExtendedStreamReader reader, final PathAddress address, final List<ModelNode> operations, final Set<String> names) throws XMLStreamException {
+        final ModelNode operation = Util.createAddOperation();
+        // Attributes
+        String name = null;
+        final EnumSet<Attribute> required = EnumSet.of(Attribute.NAME);
+        final int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            required.remove(attribute);
+            switch (attribute) {
+                case NAME: {
+                    name = value;
+                    break;
+                }
+                case ENABLED: {
+                    ENABLED.parseAndSetParameter(value, operation, reader);
+                    break;
+                }
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (!required.isEmpty()) {
+            throw missingRequired(reader, required);
+        }
+        if (!names.add(name)) {
+            throw duplicateNamedElement(reader, name);
+        }
+
+        // Setup the operation address
+        addOperationAddress(operation, address, BatchingAsyncHandlerResourceDefinition.NAME, name);
+
+        // Elements
+        final EnumSet<Element> encountered = EnumSet.noneOf(Element.class);
+        while (reader.nextTag() != END_ELEMENT) {
+            final Element element = Element.forName(reader.getLocalName());
+            if (!encountered.add(element)) {
+                throw unexpectedElement(reader);
+            }
+            switch (element) {
+                case LEVEL: {
+                    LEVEL.parseAndSetParameter(readNameAttribute(reader), operation, reader);
+                    break;
+                }
+                case SUBHANDLERS: {
+                    parseHandlersElement(element.getDefinition(), operation, reader);
+                    break;
+                }
+                case FILTER_SPEC: {
+                    BatchingAsyncHandlerResourceDefinition.FILTER_SPEC.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case QUEUE_LENGTH: {
+                    QUEUE_LENGTH.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case OVERFLOW_ACTION: {
+                    OVERFLOW_ACTION.parseAndSetParameter(readValueAttribute(reader).toUpperCase(Locale.US), operation, reader);
+                    break;
+                }
+                case WAIT_STRATEGY: {
+                    WAIT_STRATEGY.parseAndSetParameter(readValueAttribute(reader).toUpperCase(Locale.US), operation, reader);
+                    break;
+                }
+                case MAX_BATCH_SIZE: {
+                    MAX_BATCH_SIZE.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+        operations.add(operation);
+    }
+
+    @Override
+    void parseJsonFormatter(final XMLExtendedStreamReader reader, final ModelNode operation) throws XMLStreamException {
+        parseStructuredFormatter(reader, operation, StructuredFormatterResourceDefinition.GARBAGE_FREE);
+    }
+
+    @Override
+    void parsePeriodicRotatingFileHandlerElement(final XMLExtendedStreamReader reader, final PathAddress address, final List<ModelNode> operations, final Set<String> names) throws XMLStreamException {
+        final ModelNode operation = Util.createAddOperation();
+        // Attributes
+        String name = null;
+        final EnumSet<Attribute> required = EnumSet.of(Attribute.NAME);
+        final int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            required.remove(attribute);
+            switch (attribute) {
+                case NAME: {
+                    name = value;
+                    break;
+                }
+                case AUTOFLUSH: {
+                    AUTOFLUSH.parseAndSetParameter(value, operation, reader);
+                    break;
+                }
+                case ENABLED: {
+                    ENABLED.parseAndSetParameter(value, operation, reader);
+                    break;
+                }
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (!required.isEmpty()) {
+            throw missingRequired(reader, required);
+        }
+        if (!names.add(name)) {
+            throw duplicateNamedElement(reader, name);
+        }
+
+        // Setup the operation address
+        addOperationAddress(operation, address, PeriodicHandlerResourceDefinition.NAME, name);
+
+        final EnumSet<Element> requiredElem = EnumSet.of(Element.FILE, Element.SUFFIX);
+        final EnumSet<Element> encountered = EnumSet.noneOf(Element.class);
+        while (reader.nextTag() != END_ELEMENT) {
+            final Element element = Element.forName(reader.getLocalName());
+            if (!encountered.add(element)) {
+                throw unexpectedElement(reader);
+            }
+            requiredElem.remove(element);
+            switch (element) {
+                case LEVEL: {
+                    LEVEL.parseAndSetParameter(readNameAttribute(reader), operation, reader);
+                    break;
+                }
+                case ENCODING: {
+                    ENCODING.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case FILTER_SPEC: {
+                    PeriodicHandlerResourceDefinition.FILTER_SPEC.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case FORMATTER: {
+                    parseHandlerFormatterElement(reader, operation);
+                    break;
+                }
+                case FILE: {
+                    parseFileElement(operation.get(FILE.getName()), reader);
+                    break;
+                }
+                case APPEND: {
+                    APPEND.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case SUFFIX: {
+                    SUFFIX.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case COMPRESSION: {
+                    COMPRESSION.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case MAX_TOTAL_SIZE: {
+                    MAX_TOTAL_SIZE.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case MAX_AGE: {
+                    MAX_AGE.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+        if (!requiredElem.isEmpty()) {
+            throw missingRequired(reader, requiredElem);
+        }
+        operations.add(operation);
+    }
+
+    @Override
+    void parsePeriodicSizeRotatingHandlerElement(final XMLExtendedStreamReader reader, final PathAddress address, final List<ModelNode> operations, final Set<String> names) throws XMLStreamException {
+        final ModelNode operation = Util.createAddOperation();
+        // Attributes
+        String name = null;
+        final EnumSet<Attribute> required = EnumSet.of(Attribute.NAME);
+        final int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            required.remove(attribute);
+            switch (attribute) {
+                case NAME: {
+                    name = value;
+                    break;
+                }
+                case AUTOFLUSH: {
+                    AUTOFLUSH.parseAndSetParameter(value, operation, reader);
+                    break;
+                }
+                case ENABLED:
+                    ENABLED.parseAndSetParameter(value, operation, reader);
+                    break;
+                case ROTATE_ON_BOOT:
+                    ROTATE_ON_BOOT.parseAndSetParameter(value, operation, reader);
+                    break;
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (!required.isEmpty()) {
+            throw missingRequired(reader, required);
+        }
+        if (!names.add(name)) {
+            throw duplicateNamedElement(reader, name);
+        }
+
+        // Setup the operation address
+        addOperationAddress(operation, address, PeriodicSizeRotatingHandlerResourceDefinition.NAME, name);
+
+        final EnumSet<Element> requiredElem = EnumSet.of(Element.FILE);
+        final EnumSet<Element> encountered = EnumSet.noneOf(Element.class);
+        while (reader.nextTag() != END_ELEMENT) {
+            final Element element = Element.forName(reader.getLocalName());
+            if (!encountered.add(element)) {
+                throw unexpectedElement(reader);
+            }
+            requiredElem.remove(element);
+            switch (element) {
+                case LEVEL: {
+                    LEVEL.parseAndSetParameter(readNameAttribute(reader), operation, reader);
+                    break;
+                }
+                case ENCODING: {
+                    ENCODING.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case FILTER_SPEC: {
+                    PeriodicSizeRotatingHandlerResourceDefinition.FILTER_SPEC.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case FORMATTER: {
+                    parseHandlerFormatterElement(reader, operation);
+                    break;
+                }
+                case FILE: {
+                    parseFileElement(operation.get(FILE.getName()), reader);
+                    break;
+                }
+                case APPEND: {
+                    APPEND.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case ROTATE_SIZE: {
+                    ROTATE_SIZE.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case MAX_BACKUP_INDEX: {
+                    MAX_BACKUP_INDEX.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case SUFFIX: {
+                    SUFFIX.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case COMPRESSION: {
+                    COMPRESSION.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case MAX_TOTAL_SIZE: {
+                    MAX_TOTAL_SIZE.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case MAX_AGE: {
+                    MAX_AGE.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+        operations.add(operation);
+    }
+
+    @Override
+    void parseSizeRotatingHandlerElement(final XMLExtendedStreamReader reader, final PathAddress address, final List<ModelNode> operations, final Set<String> names) throws XMLStreamException {
+        final ModelNode operation = Util.createAddOperation();
+        // Attributes
+        String name = null;
+        final EnumSet<Attribute> required = EnumSet.of(Attribute.NAME);
+        final int count = reader.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            requireNoNamespaceAttribute(reader, i);
+            final String value = reader.getAttributeValue(i);
+            final Attribute attribute = Attribute.forName(reader.getAttributeLocalName(i));
+            required.remove(attribute);
+            switch (attribute) {
+                case NAME: {
+                    name = value;
+                    break;
+                }
+                case AUTOFLUSH: {
+                    AUTOFLUSH.parseAndSetParameter(value, operation, reader);
+                    break;
+                }
+                case ENABLED: {
+                    ENABLED.parseAndSetParameter(value, operation, reader);
+                    break;
+                }
+                case ROTATE_ON_BOOT: {
+                    ROTATE_ON_BOOT.parseAndSetParameter(value, operation, reader);
+                    break;
+                }
+                default:
+                    throw unexpectedAttribute(reader, i);
+            }
+        }
+        if (!required.isEmpty()) {
+            throw missingRequired(reader, required);
+        }
+        if (!names.add(name)) {
+            throw duplicateNamedElement(reader, name);
+        }
+
+        // Setup the operation address
+        addOperationAddress(operation, address, SizeRotatingHandlerResourceDefinition.NAME, name);
+
+        final EnumSet<Element> requiredElem = EnumSet.of(Element.FILE);
+        final EnumSet<Element> encountered = EnumSet.noneOf(Element.class);
+        while (reader.nextTag() != END_ELEMENT) {
+            final Element element = Element.forName(reader.getLocalName());
+            if (!encountered.add(element)) {
+                throw unexpectedElement(reader);
+            }
+            requiredElem.remove(element);
+            switch (element) {
+                case LEVEL: {
+                    LEVEL.parseAndSetParameter(readNameAttribute(reader), operation, reader);
+                    break;
+                }
+                case ENCODING: {
+                    ENCODING.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case FILTER_SPEC: {
+                    SizeRotatingHandlerResourceDefinition.FILTER_SPEC.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case FORMATTER: {
+                    parseHandlerFormatterElement(reader, operation);
+                    break;
+                }
+                case FILE: {
+                    parseFileElement(operation.get(FILE.getName()), reader);
+                    break;
+                }
+                case APPEND: {
+                    APPEND.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case ROTATE_SIZE: {
+                    ROTATE_SIZE.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case MAX_BACKUP_INDEX: {
+                    MAX_BACKUP_INDEX.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case SUFFIX: {
+                    SizeRotatingHandlerResourceDefinition.SUFFIX.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case COMPRESSION: {
+                    COMPRESSION.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case MAX_TOTAL_SIZE: {
+                    MAX_TOTAL_SIZE.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                case MAX_AGE: {
+                    MAX_AGE.parseAndSetParameter(readValueAttribute(reader), operation, reader);
+                    break;
+                }
+                default: {
+                    throw unexpectedElement(reader);
+                }
+            }
+        }
+        operations.add(operation);
+    }
+}
@@ -43,7 +43,10 @@ import static org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition.QUEUE
 import static org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition.SUBHANDLERS;
 import static org.jboss.as.logging.handlers.ConsoleHandlerResourceDefinition.TARGET;
 import static org.jboss.as.logging.handlers.PeriodicHandlerResourceDefinition.SUFFIX;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.COMPRESSION;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_AGE;
 import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_BACKUP_INDEX;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_TOTAL_SIZE;
 import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.ROTATE_ON_BOOT;
 import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.ROTATE_SIZE;
 import static org.jboss.as.logging.handlers.SyslogHandlerResourceDefinition.APP_NAME;
@@ -71,6 +74,7 @@ import org.jboss.as.logging.formatters.StructuredFormatterResourceDefinition;
 import org.jboss.as.logging.formatters.XmlFormatterResourceDefinition;
 import org.jboss.as.logging.handlers.AbstractHandlerDefinition;
 import org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition;
+import org.jboss.as.logging.handlers.BatchingAsyncHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.ConsoleHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.CustomHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.FileHandlerResourceDefinition;
@@ -135,6 +139,17 @@ public class LoggingSubsystemWriter implements XMLStreamConstants, XMLElementWri
                 }
             }
         }
+        if (model.hasDefined(BatchingAsyncHandlerResourceDefinition.NAME)) {
+            final ModelNode handlers = model.get(BatchingAsyncHandlerResourceDefinition.NAME);
+
+            for (Property handlerProp : handlers.asPropertyList()) {
+                final String name = handlerProp.getName();
+                final ModelNode handler = handlerProp.getValue();
+                if (handler.isDefined()) {
+                    writeBatchingAsyncHandler(writer, handler, name);
+                }
+            }
+        }
         if (model.hasDefined(ConsoleHandlerResourceDefinition.NAME)) {
             final ModelNode handlers = model.get(ConsoleHandlerResourceDefinition.NAME);
 
@@ -233,7 +248,8 @@ public class LoggingSubsystemWriter implements XMLStreamConstants, XMLElementWri
 
         writeFormatters(writer, PatternFormatterResourceDefinition.NAME, PatternFormatterResourceDefinition.PATTERN_FORMATTER, model);
         writeFormatters(writer, CustomFormatterResourceDefinition.NAME, CustomFormatterResourceDefinition.CUSTOM_FORMATTER, model);
-        writeStructuredFormatters(writer, JsonFormatterResourceDefinition.NAME, model);
+        writeStructuredFormatters(writer, JsonFormatterResourceDefinition.NAME, model,
+                StructuredFormatterResourceDefinition.GARBAGE_FREE);
         writeStructuredFormatters(writer, XmlFormatterResourceDefinition.NAME, model,
                 XmlFormatterResourceDefinition.PRINT_NAMESPACE, XmlFormatterResourceDefinition.NAMESPACE_URI);
 
@@ -304,6 +320,9 @@ public class LoggingSubsystemWriter implements XMLStreamConstants, XMLElementWri
         FILE.marshallAsElement(model, writer);
         SUFFIX.marshallAsElement(model, writer);
         APPEND.marshallAsElement(model, writer);
+        COMPRESSION.marshallAsElement(model, writer);
+        MAX_TOTAL_SIZE.marshallAsElement(model, writer);
+        MAX_AGE.marshallAsElement(model, writer);
 
         writer.writeEndElement();
     }
@@ -320,6 +339,9 @@ public class LoggingSubsystemWriter implements XMLStreamConstants, XMLElementWri
         MAX_BACKUP_INDEX.marshallAsElement(model, writer);
         SUFFIX.marshallAsElement(model, writer);
         APPEND.marshallAsElement(model, writer);
+        COMPRESSION.marshallAsElement(model, writer);
+        MAX_TOTAL_SIZE.marshallAsElement(model, writer);
+        MAX_AGE.marshallAsElement(model, writer);
 
         writer.writeEndElement();
     }
@@ -336,6 +358,9 @@ public class LoggingSubsystemWriter implements XMLStreamConstants, XMLElementWri
         MAX_BACKUP_INDEX.marshallAsElement(model, writer);
         APPEND.marshallAsElement(model, writer);
         SizeRotatingHandlerResourceDefinition.SUFFIX.marshallAsElement(model, writer);
+        COMPRESSION.marshallAsElement(model, writer);
+        MAX_TOTAL_SIZE.marshallAsElement(model, writer);
+        MAX_AGE.marshallAsElement(model, writer);
 
         writer.writeEndElement();
     }
@@ -395,6 +420,21 @@ public class LoggingSubsystemWriter implements XMLStreamConstants, XMLElementWri
         writer.writeEndElement();
     }
 
+    private void writeBatchingAsyncHandler(final XMLExtendedStreamWriter writer, final ModelNode model, final String name) throws XMLStreamException {
+        writer.writeStartElement(Element.BATCHING_ASYNC_HANDLER.getLocalName());
+        writer.writeAttribute(HANDLER_NAME.getXmlName(), name);
+        ENABLED.marshallAsAttribute(model, false, writer);
+        LEVEL.marshallAsElement(model, writer);
+        AbstractHandlerDefinition.FILTER_SPEC.marshallAsElement(model, writer);
+        QUEUE_LENGTH.marshallAsElement(model, writer);
+        OVERFLOW_ACTION.marshallAsElement(model, writer);
+        BatchingAsyncHandlerResourceDefinition.WAIT_STRATEGY.marshallAsElement(model, writer);
+        BatchingAsyncHandlerResourceDefinition.MAX_BATCH_SIZE.marshallAsElement(model, writer);
+        SUBHANDLERS.marshallAsElement(model, writer);
+
+        writer.writeEndElement();
+    }
+
     private void writeLogger(final XMLExtendedStreamWriter writer, String name, final ModelNode model) throws XMLStreamException {
         writer.writeStartElement(Element.LOGGER.getLocalName());
         writer.writeAttribute(CATEGORY.getXmlName(), name);
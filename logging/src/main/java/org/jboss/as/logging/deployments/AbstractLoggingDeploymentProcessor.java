@@ -95,7 +95,9 @@ abstract class AbstractLoggingDeploymentProcessor implements DeploymentUnitProce
             final Module subDeploymentModule = subDeployment.getAttachment(Attachments.MODULE);
             // Sub-deployment should never have a default log context
             unregisterLogContext(subDeployment, LOG_CONTEXT_KEY, subDeploymentModule);
+            processUndeploy(subDeployment);
         }
+        processUndeploy(context);
     }
 
     /**
@@ -109,6 +111,15 @@ abstract class AbstractLoggingDeploymentProcessor implements DeploymentUnitProce
      */
     protected abstract void processDeployment(DeploymentPhaseContext phaseContext, DeploymentUnit deploymentUnit, ResourceRoot root) throws DeploymentUnitProcessingException;
 
+    /**
+     * Invoked for the deployment and each of its sub-deployments once the log contexts have been unregistered.
+     *
+     * @param deploymentUnit the deployment unit
+     */
+    void processUndeploy(final DeploymentUnit deploymentUnit) {
+        // no-op by default
+    }
+
     void registerLogContext(final DeploymentUnit deploymentUnit, final Module module, final LogContext logContext) {
         // If the default log context is registered we need to remove it and unregister before we register a defined log
         // context
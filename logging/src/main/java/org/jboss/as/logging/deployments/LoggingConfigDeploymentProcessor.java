@@ -22,6 +22,8 @@
 
 package org.jboss.as.logging.deployments;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -36,6 +38,7 @@ import java.util.Set;
 import org.apache.log4j.xml.DOMConfigurator;
 import org.jboss.as.logging.logging.LoggingLogger;
 import org.jboss.as.logging.logmanager.WildFlyLogContextSelector;
+import org.jboss.as.server.deployment.AttachmentKey;
 import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
 import org.jboss.as.server.deployment.DeploymentUnit;
@@ -44,6 +47,7 @@ import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.module.ResourceRoot;
 import org.jboss.logmanager.LogContext;
 import org.jboss.logmanager.PropertyConfigurator;
+import org.jboss.logmanager.config.LogContextConfiguration;
 import org.jboss.modules.Module;
 import org.jboss.vfs.VirtualFile;
 import org.jboss.vfs.VirtualFileFilter;
@@ -67,8 +71,11 @@ public class LoggingConfigDeploymentProcessor extends AbstractLoggingDeploymentP
     private static final String DEFAULT_PROPERTIES = "logging.properties";
     private static final String JBOSS_PROPERTIES = "jboss-logging.properties";
 
+    private static final AttachmentKey<SharedLogContexts.Entry> SHARED_LOG_CONTEXT_KEY = AttachmentKey.create(SharedLogContexts.Entry.class);
+
     private final String attributeName;
     private final boolean process;
+    private final SharedLogContexts sharedLogContexts = new SharedLogContexts();
 
     public LoggingConfigDeploymentProcessor(final WildFlyLogContextSelector logContextSelector, final String attributeName, final boolean process) {
         super(logContextSelector);
@@ -100,18 +107,13 @@ public class LoggingConfigDeploymentProcessor extends AbstractLoggingDeploymentP
             if (configFile != null) {
                 // Get the module
                 final Module module = deploymentUnit.getAttachment(Attachments.MODULE);
-                // Create the log context and load into the selector for the module and keep a strong reference
-                final LogContext logContext;
-                if (isLog4jConfiguration(configFile.getName())) {
-                    logContext = LogContext.create(true);
-                } else {
-                    logContext = LogContext.create();
-                }
 
                 boolean processSubdeployments = true;
                 // Configure the deployments logging based on the top-level configuration file
-                loggingConfigurationService = configure(root, configFile, module.getClassLoader(), logContext);
-                if (loggingConfigurationService != null) {
+                final LogContext logContext = configure(deploymentUnit, root, configFile, module.getClassLoader());
+                if (logContext != null) {
+                    // Load into the selector for the module and keep a strong reference
+                    loggingConfigurationService = deploymentUnit.getAttachment(LoggingDeploymentResourceProcessor.LOGGING_CONFIGURATION_SERVICE_KEY);
                     registerLogContext(deploymentUnit, module, logContext);
                 } else {
                     processSubdeployments = false;
@@ -150,6 +152,14 @@ public class LoggingConfigDeploymentProcessor extends AbstractLoggingDeploymentP
         }
     }
 
+    @Override
+    void processUndeploy(final DeploymentUnit deploymentUnit) {
+        final SharedLogContexts.Entry entry = deploymentUnit.removeAttachment(SHARED_LOG_CONTEXT_KEY);
+        if (entry != null) {
+            sharedLogContexts.release(entry);
+        }
+    }
+
     /**
      * Finds the configuration file to be used and returns the first one found.
      * <p/>
@@ -206,17 +216,21 @@ public class LoggingConfigDeploymentProcessor extends AbstractLoggingDeploymentP
     }
 
     /**
-     * Configures the log context.
+     * Configures the log context for the deployment. A log context configured from a {@literal logging.properties}
+     * file is shared with other deployments with the same configuration file if possible.
+     * <p/>
+     * If a log context was configured the {@link LoggingConfigurationService} is attached to the deployment.
      *
-     * @param configFile  the configuration file
-     * @param classLoader the class loader to use for the configuration
-     * @param logContext  the log context to configure
+     * @param deploymentUnit the deployment unit
+     * @param root           the root resource of the deployment
+     * @param configFile     the configuration file
+     * @param classLoader    the class loader to use for the configuration
      *
-     * @return {@code true} if the log context was successfully configured, otherwise {@code false}
+     * @return the configured log context or {@code null} if the log context was not configured
      *
      * @throws DeploymentUnitProcessingException if the configuration fails
      */
-    private LoggingConfigurationService configure(final ResourceRoot root, final VirtualFile configFile, final ClassLoader classLoader, final LogContext logContext) throws DeploymentUnitProcessingException {
+    private LogContext configure(final DeploymentUnit deploymentUnit, final ResourceRoot root, final VirtualFile configFile, final ClassLoader classLoader) throws DeploymentUnitProcessingException {
         InputStream configStream = null;
         try {
             LoggingLogger.ROOT_LOGGER.debugf("Found logging configuration file: %s", configFile);
@@ -227,6 +241,7 @@ public class LoggingConfigDeploymentProcessor extends AbstractLoggingDeploymentP
 
             // Check the type of the configuration file
             if (isLog4jConfiguration(fileName)) {
+                final LogContext logContext = LogContext.create(true);
                 final ClassLoader current = WildFlySecurityManager.getCurrentContextClassLoaderPrivileged();
                 final LogContext old = logContextSelector.setLocalContext(logContext);
                 try {
@@ -242,19 +257,37 @@ public class LoggingConfigDeploymentProcessor extends AbstractLoggingDeploymentP
                     logContextSelector.setLocalContext(old);
                     WildFlySecurityManager.setCurrentContextClassLoaderPrivileged(current);
                 }
-                return new LoggingConfigurationService(null, resolveRelativePath(root, configFile));
+                deploymentUnit.putAttachment(LoggingDeploymentResourceProcessor.LOGGING_CONFIGURATION_SERVICE_KEY,
+                        new LoggingConfigurationService(null, resolveRelativePath(root, configFile)));
+                return logContext;
             } else {
+                // Keep the content so it can be used to find a shared log context
+                final byte[] content = readContent(configStream);
                 // Create a properties file
                 final Properties properties = new Properties();
-                properties.load(new InputStreamReader(configStream, ENCODING));
+                properties.load(new InputStreamReader(new ByteArrayInputStream(content), ENCODING));
                 // Attempt to see if this is a J.U.L. configuration file
                 if (isJulConfiguration(properties)) {
                     LoggingLogger.ROOT_LOGGER.julConfigurationFileFound(configFile.getName());
                 } else {
-                    // Load non-log4j types
-                    final PropertyConfigurator propertyConfigurator = new PropertyConfigurator(logContext);
-                    propertyConfigurator.configure(properties);
-                    return new LoggingConfigurationService(propertyConfigurator.getLogContextConfiguration(), resolveRelativePath(root, configFile));
+                    final LogContext logContext;
+                    final LogContextConfiguration logContextConfiguration;
+                    if (SharedLogContexts.isShareable(properties)) {
+                        final SharedLogContexts.Entry entry = sharedLogContexts.acquire(SharedLogContexts.key(content), properties);
+                        deploymentUnit.putAttachment(SHARED_LOG_CONTEXT_KEY, entry);
+                        logContext = entry.createLogContext();
+                        logContextConfiguration = entry.getConfiguration();
+                        LoggingLogger.ROOT_LOGGER.tracef("Using the handlers of shared LogContext %s for deployment %s", entry.getLogContext(), deploymentUnit.getName());
+                    } else {
+                        // Load non-log4j types
+                        logContext = LogContext.create();
+                        final PropertyConfigurator propertyConfigurator = new PropertyConfigurator(logContext);
+                        propertyConfigurator.configure(properties);
+                        logContextConfiguration = propertyConfigurator.getLogContextConfiguration();
+                    }
+                    deploymentUnit.putAttachment(LoggingDeploymentResourceProcessor.LOGGING_CONFIGURATION_SERVICE_KEY,
+                            new LoggingConfigurationService(logContextConfiguration, resolveRelativePath(root, configFile)));
+                    return logContext;
                 }
             }
         } catch (Exception e) {
@@ -265,6 +298,16 @@ public class LoggingConfigDeploymentProcessor extends AbstractLoggingDeploymentP
         return null;
     }
 
+    private static byte[] readContent(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int len;
+        while ((len = in.read(buffer)) != -1) {
+            out.write(buffer, 0, len);
+        }
+        return out.toByteArray();
+    }
+
     private static boolean isLog4jConfiguration(final String fileName) {
         return LOG4J_PROPERTIES.equals(fileName) || LOG4J_XML.equals(fileName) || JBOSS_LOG4J_XML.equals(fileName);
     }
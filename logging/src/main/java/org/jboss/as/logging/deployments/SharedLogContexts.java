@@ -0,0 +1,190 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.deployments;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.jboss.as.controller.HashUtil;
+import org.jboss.logmanager.LogContext;
+import org.jboss.logmanager.Logger;
+import org.jboss.logmanager.PropertyConfigurator;
+import org.jboss.logmanager.config.LogContextConfiguration;
+
+/**
+ * The log contexts configured from a deployments {@code logging.properties} file, shared by all deployments with
+ * identical configuration files.
+ * <p>
+ * Deployments are often built from the same template, so configuring a new log context for each of them parses the
+ * same file and creates the same handlers over and over again. A log context is instead looked up by a hash of the
+ * content of the configuration file and is only configured by the first deployment. Each deployment holds a
+ * reference to the shared log context, once the last deployment referencing it is undeployed the next deployment
+ * configures a new log context.
+ * </p>
+ * <p>
+ * The shared log context is never given to a deployment, as a deployment may change its loggers. Each deployment
+ * gets its {@linkplain Entry#createLogContext() own log context} with loggers configured the same way, which use the
+ * handlers of the shared log context.
+ * </p>
+ * <p>
+ * A configuration can only be shared if it does not depend on the deployment, i.e. every handler, formatter, filter,
+ * error manager and POJO either names the module to load it from or is loaded from the log manager.
+ * </p>
+ */
+final class SharedLogContexts {
+
+    private static final Pattern CLASS_KEY = Pattern.compile("(?:handler|formatter|filter|errorManager|pojo)\\.[^.]+");
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a key for the content of a configuration file.
+     *
+     * @param content the content of the configuration file
+     *
+     * @return the key for the content
+     */
+    static String key(final byte[] content) {
+        try {
+            return HashUtil.bytesToHexString(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Checks whether the log context configured from the properties can be shared with other deployments.
+     *
+     * @param properties the logging configuration
+     *
+     * @return {@code true} if the configuration does not depend on the deployment, otherwise {@code false}
+     */
+    static boolean isShareable(final Properties properties) {
+        final ClassLoader classLoader = LogContext.class.getClassLoader();
+        for (String key : properties.stringPropertyNames()) {
+            if (CLASS_KEY.matcher(key).matches() && !properties.containsKey(key + ".module")) {
+                try {
+                    Class.forName(properties.getProperty(key).trim(), false, classLoader);
+                } catch (ClassNotFoundException | LinkageError e) {
+                    // The type is likely in the deployment
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the log context for the configuration, configuring a new log context if no deployment references one. The
+     * returned entry must be {@linkplain #release(Entry) released} once the deployment is undeployed.
+     *
+     * @param key        the key for the content of the configuration file
+     * @param properties the configuration
+     *
+     * @return the shared log context
+     */
+    Entry acquire(final String key, final Properties properties) {
+        while (true) {
+            final Entry entry = entries.computeIfAbsent(key, Entry::new);
+            synchronized (entry) {
+                if (entry.released) {
+                    // The last reference was released while waiting for the lock
+                    continue;
+                }
+                if (entry.logContext == null) {
+                    try {
+                        final LogContext logContext = LogContext.create();
+                        final PropertyConfigurator propertyConfigurator = new PropertyConfigurator(logContext);
+                        propertyConfigurator.configure(properties);
+                        entry.logContext = logContext;
+                        entry.configuration = propertyConfigurator.getLogContextConfiguration();
+                    } catch (RuntimeException | Error e) {
+                        entry.released = true;
+                        entries.remove(key, entry);
+                        throw e;
+                    }
+                }
+                entry.references++;
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * Releases a reference to a shared log context.
+     *
+     * @param entry the entry returned from {@link #acquire(String, Properties)}
+     */
+    void release(final Entry entry) {
+        synchronized (entry) {
+            if (--entry.references == 0) {
+                entry.released = true;
+                entries.remove(entry.key, entry);
+            }
+        }
+    }
+
+    static final class Entry {
+        private final String key;
+        private LogContext logContext;
+        private LogContextConfiguration configuration;
+        private int references;
+        private boolean released;
+
+        private Entry(final String key) {
+            this.key = key;
+        }
+
+        LogContext getLogContext() {
+            return logContext;
+        }
+
+        LogContextConfiguration getConfiguration() {
+            return configuration;
+        }
+
+        /**
+         * Creates a log context for a deployment. The configured loggers get the level, filter and handlers of the
+         * same logger in the shared log context, so a deployment changing its loggers does not change the loggers of
+         * the other deployments.
+         *
+         * @return a new log context
+         */
+        LogContext createLogContext() {
+            final LogContext result = LogContext.create();
+            for (String name : configuration.getLoggerNames()) {
+                final Logger shared = logContext.getLogger(name);
+                final Logger logger = result.getLogger(name);
+                logger.setLevel(shared.getLevel());
+                logger.setFilter(shared.getFilter());
+                logger.setUseParentHandlers(shared.getUseParentHandlers());
+                logger.setHandlers(shared.getHandlers());
+            }
+            return result;
+        }
+    }
+}
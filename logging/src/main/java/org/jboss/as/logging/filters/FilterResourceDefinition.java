@@ -20,10 +20,12 @@
 package org.jboss.as.logging.filters;
 
 import static org.jboss.as.logging.CommonAttributes.CLASS;
+import static org.jboss.as.logging.CommonAttributes.LOGGING_PROFILE;
 import static org.jboss.as.logging.CommonAttributes.MODULE;
 import static org.jboss.as.logging.CommonAttributes.PROPERTIES;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -34,7 +36,10 @@ import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.OperationStepHandler;
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleMapAttributeDefinition;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
@@ -46,7 +51,12 @@ import org.jboss.as.logging.PropertyAttributeMarshaller;
 import org.jboss.as.logging.TransformerResourceDefinition;
 import org.jboss.as.logging.capabilities.Capabilities;
 import org.jboss.as.logging.logging.LoggingLogger;
+import org.jboss.as.logging.logmanager.CountingFilter;
+import org.jboss.as.logging.logmanager.DuplicateMessageFilter;
+import org.jboss.as.logging.logmanager.RateLimitFilter;
+import org.jboss.as.logging.logmanager.SamplingFilter;
 import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
 import org.jboss.dmr.Property;
 import org.jboss.logmanager.config.FilterConfiguration;
 import org.jboss.logmanager.config.LogContextConfiguration;
@@ -65,8 +75,32 @@ public class FilterResourceDefinition extends TransformerResourceDefinition {
             .setXmlName("constructor-properties")
             .build();
 
+    public static final SimpleAttributeDefinition ACCEPTED_RECORD_COUNT = SimpleAttributeDefinitionBuilder.create("accepted-record-count", ModelType.LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .build();
+
+    public static final SimpleAttributeDefinition REJECTED_RECORD_COUNT = SimpleAttributeDefinitionBuilder.create("rejected-record-count", ModelType.LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .build();
+
     private static final PathElement PATH = PathElement.pathElement(NAME);
 
+    /**
+     * The module the filters provided by this subsystem are loaded from if no module is defined.
+     */
+    private static final String FILTER_MODULE = "org.jboss.as.logging";
+
+    /**
+     * The filters provided by this subsystem, these count the records they accept and reject.
+     */
+    private static final Collection<String> COUNTING_FILTERS = Arrays.asList(
+            DuplicateMessageFilter.class.getName(),
+            RateLimitFilter.class.getName(),
+            SamplingFilter.class.getName()
+    );
+
     private static final AttributeDefinition[] ATTRIBUTES = {
             CLASS,
             MODULE,
@@ -118,7 +152,8 @@ public class FilterResourceDefinition extends TransformerResourceDefinition {
             FilterConfiguration configuration = logContextConfiguration.getFilterConfiguration(name);
             final String className = CLASS.resolveModelAttribute(context, model).asString();
             final ModelNode moduleNameNode = MODULE.resolveModelAttribute(context, model);
-            final String moduleName = moduleNameNode.isDefined() ? moduleNameNode.asString() : null;
+            final boolean countingFilter = COUNTING_FILTERS.contains(className);
+            final String moduleName = moduleNameNode.isDefined() ? moduleNameNode.asString() : (countingFilter ? FILTER_MODULE : null);
             final ModelNode properties = PROPERTIES.resolveModelAttribute(context, model);
             final ModelNode constructorProperties = CONSTRUCTOR_PROPERTIES.resolveModelAttribute(context, model);
 
@@ -163,6 +198,16 @@ public class FilterResourceDefinition extends TransformerResourceDefinition {
                     configuration.setPropertyValueString(property.getName(), property.getValue().asString());
                 }
             }
+            if (countingFilter) {
+                // Register the filter with its address so the metrics can be read
+                configuration.setPropertyValueString("address", context.getCurrentAddress().toCLIStyleString());
+                // The duplicate message filter logs to the log context of the profile
+                for (PathElement element : context.getCurrentAddress()) {
+                    if (LOGGING_PROFILE.equals(element.getKey())) {
+                        configuration.setPropertyValueString("loggingProfile", element.getValue());
+                    }
+                }
+            }
         }
     };
 
@@ -207,6 +252,26 @@ public class FilterResourceDefinition extends TransformerResourceDefinition {
                 throw LoggingLogger.ROOT_LOGGER.filterNotFound(name);
             }
             logContextConfiguration.removeFilterConfiguration(name);
+            final CountingFilter filter = CountingFilter.forAddress(context.getCurrentAddress().toCLIStyleString());
+            if (filter != null) {
+                filter.setAddress(null);
+            }
+        }
+    };
+
+    /**
+     * Reads the counters of the filters provided by this subsystem.
+     */
+    private static final OperationStepHandler METRICS = (context, operation) -> {
+        final CountingFilter filter = CountingFilter.forAddress(context.getCurrentAddress().toCLIStyleString());
+        if (filter == null) {
+            return;
+        }
+        final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+        if (ACCEPTED_RECORD_COUNT.getName().equals(attributeName)) {
+            context.getResult().set(filter.getAcceptedRecordCount());
+        } else if (REJECTED_RECORD_COUNT.getName().equals(attributeName)) {
+            context.getResult().set(filter.getRejectedRecordCount());
         }
     };
 
@@ -225,6 +290,8 @@ public class FilterResourceDefinition extends TransformerResourceDefinition {
         for (AttributeDefinition def : ATTRIBUTES) {
             resourceRegistration.registerReadWriteAttribute(def, null, WRITE);
         }
+        resourceRegistration.registerMetric(ACCEPTED_RECORD_COUNT, METRICS);
+        resourceRegistration.registerMetric(REJECTED_RECORD_COUNT, METRICS);
     }
 
     @Override
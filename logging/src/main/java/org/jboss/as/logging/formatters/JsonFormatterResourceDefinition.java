@@ -20,6 +20,7 @@
 package org.jboss.as.logging.formatters;
 
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.logging.logmanager.GarbageFreeJsonFormatter;
 import org.jboss.logmanager.formatters.JsonFormatter;
 
 /**
@@ -32,6 +33,6 @@ public class JsonFormatterResourceDefinition extends StructuredFormatterResource
     public static final JsonFormatterResourceDefinition INSTANCE = new JsonFormatterResourceDefinition();
 
     private JsonFormatterResourceDefinition() {
-        super(PATH, NAME, JsonFormatter.class);
+        super(PATH, NAME, JsonFormatter.class, GarbageFreeJsonFormatter.class, GARBAGE_FREE);
     }
 }
@@ -23,6 +23,7 @@ import static org.jboss.as.logging.Logging.createOperationFailure;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.logging.Formatter;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.AttributeMarshallers;
@@ -37,6 +38,8 @@ import org.jboss.as.controller.SimpleMapAttributeDefinition;
 import org.jboss.as.controller.operations.validation.StringAllowedValuesValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
 import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
 import org.jboss.as.logging.ElementAttributeMarshaller;
 import org.jboss.as.logging.KnownModelVersion;
@@ -261,6 +264,12 @@ public abstract class StructuredFormatterResourceDefinition extends TransformerR
             .setPropertyName("zoneId")
             .build();
 
+    public static final SimpleAttributeDefinition GARBAGE_FREE = SimpleAttributeDefinitionBuilder.create("garbage-free", ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.FALSE)
+            .setFlags(AttributeAccess.Flag.RESTART_RESOURCE_SERVICES)
+            .build();
+
     private static final AttributeDefinition[] DEFAULT_ATTRIBUTES = {
             DATE_FORMAT,
             EXCEPTION_OUTPUT_TYPE,
@@ -298,9 +307,26 @@ public abstract class StructuredFormatterResourceDefinition extends TransformerR
 
     StructuredFormatterResourceDefinition(final PathElement pathElement, final String descriptionPrefix,
                                           final Class<? extends StructuredFormatter> type, final AttributeDefinition... additionalAttributes) {
+        this(pathElement, descriptionPrefix, type, null, additionalAttributes);
+    }
+
+    /**
+     * Creates a new structured formatter resource.
+     *
+     * @param pathElement          the path for the resource
+     * @param descriptionPrefix    the prefix for the descriptions
+     * @param type                 the formatter type
+     * @param garbageFreeType      the formatter type to use if the {@link #GARBAGE_FREE} attribute is {@code true}, the
+     *                             type must be in the logging subsystems module, may be {@code null} if the formatter
+     *                             has no garbage-free alternative
+     * @param additionalAttributes any additional attributes for the resource
+     */
+    StructuredFormatterResourceDefinition(final PathElement pathElement, final String descriptionPrefix,
+                                          final Class<? extends StructuredFormatter> type, final Class<? extends Formatter> garbageFreeType,
+                                          final AttributeDefinition... additionalAttributes) {
         super(
                 new Parameters(pathElement, LoggingExtension.getResourceDescriptionResolver(descriptionPrefix))
-                        .setAddHandler(new AddStructuredFormatterStepHandler(type, Logging.join(DEFAULT_ATTRIBUTES, additionalAttributes)))
+                        .setAddHandler(new AddStructuredFormatterStepHandler(type, garbageFreeType, Logging.join(DEFAULT_ATTRIBUTES, additionalAttributes)))
                         .setRemoveHandler(REMOVE)
                         .setCapabilities(Capabilities.FORMATTER_CAPABILITY)
         );
@@ -327,7 +353,28 @@ public abstract class StructuredFormatterResourceDefinition extends TransformerR
                 rootResourceBuilder.rejectChildResource(getPathElement());
                 loggingProfileBuilder.rejectChildResource(getPathElement());
                 break;
+            case VERSION_9_0_0:
+                if (hasAttribute(GARBAGE_FREE)) {
+                    rootResourceBuilder.addChildResource(getPathElement()).getAttributeBuilder()
+                            .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, GARBAGE_FREE)
+                            .addRejectCheck(RejectAttributeChecker.DEFINED, GARBAGE_FREE)
+                            .end();
+                    loggingProfileBuilder.addChildResource(getPathElement()).getAttributeBuilder()
+                            .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, GARBAGE_FREE)
+                            .addRejectCheck(RejectAttributeChecker.DEFINED, GARBAGE_FREE)
+                            .end();
+                }
+                break;
+        }
+    }
+
+    private boolean hasAttribute(final AttributeDefinition attribute) {
+        for (AttributeDefinition a : attributes) {
+            if (a == attribute) {
+                return true;
+            }
         }
+        return false;
     }
 
     private static String modelValueToMetaData(final ModelNode metaData) {
@@ -354,10 +401,13 @@ public abstract class StructuredFormatterResourceDefinition extends TransformerR
 
     private static class AddStructuredFormatterStepHandler extends LoggingOperations.LoggingAddOperationStepHandler {
         private final Class<? extends StructuredFormatter> type;
+        private final Class<? extends Formatter> garbageFreeType;
 
-        private AddStructuredFormatterStepHandler(final Class<? extends StructuredFormatter> type, final AttributeDefinition[] attributes) {
+        private AddStructuredFormatterStepHandler(final Class<? extends StructuredFormatter> type, final Class<? extends Formatter> garbageFreeType,
+                                                  final AttributeDefinition[] attributes) {
             super(attributes);
             this.type = type;
+            this.garbageFreeType = garbageFreeType;
         }
 
         @SuppressWarnings({"OverlyStrongTypeCast", "StatementWithEmptyBody"})
@@ -373,20 +423,35 @@ public abstract class StructuredFormatterResourceDefinition extends TransformerR
                 throw LoggingLogger.ROOT_LOGGER.illegalFormatterName();
             }
             FormatterConfiguration configuration = logContextConfiguration.getFormatterConfiguration(name);
-            final String className = type.getName();
+            final String className;
+            final String moduleName;
+            if (garbageFreeType != null && GARBAGE_FREE.resolveModelAttribute(context, model).asBoolean()) {
+                // The garbage-free formatters live in this subsystem so the module is required
+                className = garbageFreeType.getName();
+                moduleName = "org.jboss.as.logging";
+            } else {
+                className = type.getName();
+                moduleName = null;
+            }
+
+            if (configuration != null && !className.equals(configuration.getClassName())) {
+                LoggingLogger.ROOT_LOGGER.tracef("Removing formatter '%s' at '%s' as the type has changed", name, context.getCurrentAddress());
+                logContextConfiguration.removeFormatterConfiguration(name);
+                configuration = null;
+            }
 
             if (configuration == null) {
                 LoggingLogger.ROOT_LOGGER.tracef("Adding formatter '%s' at '%s'", name, context.getCurrentAddress());
                 if (keyOverrides == null) {
-                    configuration = logContextConfiguration.addFormatterConfiguration(null, className, name);
+                    configuration = logContextConfiguration.addFormatterConfiguration(moduleName, className, name);
                 } else {
-                    configuration = logContextConfiguration.addFormatterConfiguration(null, className, name, "keyOverrides");
+                    configuration = logContextConfiguration.addFormatterConfiguration(moduleName, className, name, "keyOverrides");
                     configuration.setPropertyValueString("keyOverrides", keyOverrides);
                 }
             } else if (isSamePropertyValue(configuration, "keyOverrides", keyOverrides)) {
                 LoggingLogger.ROOT_LOGGER.tracef("Removing then adding formatter '%s' at '%s'", name, context.getCurrentAddress());
                 logContextConfiguration.removeFormatterConfiguration(name);
-                configuration = logContextConfiguration.addFormatterConfiguration(null, className, name, "keyOverrides");
+                configuration = logContextConfiguration.addFormatterConfiguration(moduleName, className, name, "keyOverrides");
                 configuration.setPropertyValueString("keyOverrides", keyOverrides);
             }
 
@@ -401,8 +466,8 @@ public abstract class StructuredFormatterResourceDefinition extends TransformerR
                     } else {
                         configuration.removeProperty("metaData");
                     }
-                } else if (attribute == KEY_OVERRIDES) {
-                    // Ignore the key-overrides as it was already taken care of
+                } else if (attribute == KEY_OVERRIDES || attribute == GARBAGE_FREE) {
+                    // Ignore the key-overrides and garbage-free as they were already taken care of
                 } else {
                     if (attribute instanceof PropertyAttributeDefinition) {
                         ((PropertyAttributeDefinition) attribute).setPropertyValue(context, model, configuration);
@@ -446,7 +511,7 @@ public abstract class StructuredFormatterResourceDefinition extends TransformerR
                 } else {
                     configuration.removeProperty("metaData");
                 }
-            } else if (attributeName.equals(KEY_OVERRIDES.getName())) {
+            } else if (attributeName.equals(KEY_OVERRIDES.getName()) || attributeName.equals(GARBAGE_FREE.getName())) {
                 // Require a restart of the resource
                 return true;
             } else {
@@ -0,0 +1,206 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.handlers;
+
+import static org.jboss.as.logging.CommonAttributes.ADD_HANDLER_OPERATION_NAME;
+import static org.jboss.as.logging.CommonAttributes.ENABLED;
+import static org.jboss.as.logging.CommonAttributes.LEVEL;
+import static org.jboss.as.logging.CommonAttributes.REMOVE_HANDLER_OPERATION_NAME;
+import static org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition.OVERFLOW_ACTION;
+import static org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition.QUEUE_LENGTH;
+import static org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition.SUBHANDLERS;
+
+import java.util.Locale;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.DefaultAttributeMarshaller;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleOperationDefinitionBuilder;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
+import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.registry.AttributeAccess;
+import org.jboss.as.controller.registry.ManagementResourceRegistration;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.logging.CommonAttributes;
+import org.jboss.as.logging.ElementAttributeMarshaller;
+import org.jboss.as.logging.KnownModelVersion;
+import org.jboss.as.logging.LoggingExtension;
+import org.jboss.as.logging.PropertyAttributeDefinition;
+import org.jboss.as.logging.capabilities.Capabilities;
+import org.jboss.as.logging.logmanager.BatchingAsyncHandler;
+import org.jboss.as.logging.logmanager.BatchingAsyncHandler.WaitStrategy;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+import org.jboss.logmanager.config.HandlerConfiguration;
+import org.jboss.logmanager.config.LogContextConfiguration;
+
+/**
+ * Defines an asynchronous handler which queues records in a lock-free ring buffer and publishes them to the
+ * sub-handlers in batches, flushing the sub-handlers once per batch.
+ */
+public class BatchingAsyncHandlerResourceDefinition extends AbstractHandlerDefinition {
+
+    public static final String NAME = "batching-async-handler";
+    private static final PathElement BATCHING_ASYNC_HANDLER_PATH = PathElement.pathElement(NAME);
+
+    /**
+     * The module the {@link BatchingAsyncHandler} is loaded from.
+     */
+    private static final String HANDLER_MODULE = "org.jboss.as.logging";
+
+    public static final PropertyAttributeDefinition MAX_BATCH_SIZE = PropertyAttributeDefinition.Builder.of("max-batch-size", ModelType.INT, true)
+            .setAllowExpression(true)
+            .setAttributeMarshaller(ElementAttributeMarshaller.VALUE_ATTRIBUTE_MARSHALLER)
+            .setDefaultValue(new ModelNode(BatchingAsyncHandler.DEFAULT_MAX_BATCH_SIZE))
+            .setPropertyName("maxBatchSize")
+            .setValidator(new IntRangeValidator(1, true, true))
+            .build();
+
+    public static final PropertyAttributeDefinition WAIT_STRATEGY = PropertyAttributeDefinition.Builder.of("wait-strategy", ModelType.STRING, true)
+            .setAllowExpression(true)
+            .setAttributeMarshaller(new DefaultAttributeMarshaller() {
+                @Override
+                public void marshallAsElement(final AttributeDefinition attribute, final ModelNode resourceModel, final boolean marshallDefault, final XMLStreamWriter writer) throws XMLStreamException {
+                    if (isMarshallable(attribute, resourceModel, marshallDefault)) {
+                        writer.writeStartElement(attribute.getXmlName());
+                        String content = resourceModel.get(attribute.getName()).asString().toLowerCase(Locale.ENGLISH);
+                        writer.writeAttribute("value", content);
+                        writer.writeEndElement();
+                    }
+                }
+            })
+            .setDefaultValue(new ModelNode(WaitStrategy.BLOCKING.name()))
+            .setPropertyName("waitStrategy")
+            .setValidator(EnumValidator.create(WaitStrategy.class, true, true))
+            .build();
+
+    public static final SimpleAttributeDefinition QUEUE_SIZE = SimpleAttributeDefinitionBuilder.create("queue-size", ModelType.INT)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .build();
+
+    public static final SimpleAttributeDefinition DROPPED_RECORD_COUNT = SimpleAttributeDefinitionBuilder.create("dropped-record-count", ModelType.LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .build();
+
+    public static final SimpleAttributeDefinition BATCH_COUNT = SimpleAttributeDefinitionBuilder.create("batch-count", ModelType.LONG)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0L))
+            .build();
+
+    public static final SimpleAttributeDefinition AVERAGE_BATCH_SIZE = SimpleAttributeDefinitionBuilder.create("average-batch-size", ModelType.DOUBLE)
+            .setStorageRuntime()
+            .setUndefinedMetricValue(new ModelNode(0D))
+            .build();
+
+    private static final AttributeDefinition[] ATTRIBUTES = {ENABLED, LEVEL, FILTER_SPEC, QUEUE_LENGTH, OVERFLOW_ACTION, WAIT_STRATEGY, MAX_BATCH_SIZE, SUBHANDLERS};
+
+    private static final AttributeDefinition[] METRICS = {QUEUE_SIZE, DROPPED_RECORD_COUNT, BATCH_COUNT, AVERAGE_BATCH_SIZE};
+
+    public static final BatchingAsyncHandlerResourceDefinition INSTANCE = new BatchingAsyncHandlerResourceDefinition();
+
+    private BatchingAsyncHandlerResourceDefinition() {
+        super(new Parameters(BATCHING_ASYNC_HANDLER_PATH, LoggingExtension.getResourceDescriptionResolver(NAME))
+                        .setAddHandler(new BatchingAsyncHandlerAddOperationStepHandler())
+                        .setRemoveHandler(HandlerOperations.REMOVE_HANDLER)
+                        .setCapabilities(Capabilities.HANDLER_CAPABILITY),
+                false, null, ATTRIBUTES);
+    }
+
+    @Override
+    public void registerAttributes(final ManagementResourceRegistration resourceRegistration) {
+        super.registerAttributes(resourceRegistration);
+        for (AttributeDefinition metric : METRICS) {
+            resourceRegistration.registerMetric(metric, MetricsHandler.INSTANCE);
+        }
+    }
+
+    @Override
+    public void registerOperations(final ManagementResourceRegistration registration) {
+        super.registerOperations(registration);
+        final ResourceDescriptionResolver resourceDescriptionResolver = getResourceDescriptionResolver();
+        registration.registerOperationHandler(new SimpleOperationDefinitionBuilder(ADD_HANDLER_OPERATION_NAME, resourceDescriptionResolver)
+                .setParameters(CommonAttributes.HANDLER_NAME)
+                .build(), HandlerOperations.ADD_SUBHANDLER);
+
+        registration.registerOperationHandler(new SimpleOperationDefinitionBuilder(REMOVE_HANDLER_OPERATION_NAME, resourceDescriptionResolver)
+                .setParameters(CommonAttributes.HANDLER_NAME)
+                .build(), HandlerOperations.REMOVE_SUBHANDLER);
+    }
+
+    @Override
+    public void registerTransformers(final KnownModelVersion modelVersion, final ResourceTransformationDescriptionBuilder rootResourceBuilder, final ResourceTransformationDescriptionBuilder loggingProfileBuilder) {
+        if (modelVersion == KnownModelVersion.VERSION_9_0_0) {
+            rootResourceBuilder.rejectChildResource(getPathElement());
+            loggingProfileBuilder.rejectChildResource(getPathElement());
+        }
+    }
+
+    private static class BatchingAsyncHandlerAddOperationStepHandler extends HandlerOperations.HandlerAddOperationStepHandler {
+
+        BatchingAsyncHandlerAddOperationStepHandler() {
+            super(BatchingAsyncHandler.class, HANDLER_MODULE, ATTRIBUTES, QUEUE_LENGTH);
+        }
+
+        @Override
+        public void performRuntime(final OperationContext context, final ModelNode operation, final ModelNode model, final LogContextConfiguration logContextConfiguration) throws OperationFailedException {
+            super.performRuntime(context, operation, model, logContextConfiguration);
+            // Register the handler with its address so the metrics can be read
+            final HandlerConfiguration configuration = logContextConfiguration.getHandlerConfiguration(context.getCurrentAddressValue());
+            configuration.setPropertyValueString("address", context.getCurrentAddress().toCLIStyleString());
+        }
+    }
+
+    private static class MetricsHandler implements OperationStepHandler {
+        static final MetricsHandler INSTANCE = new MetricsHandler();
+
+        @Override
+        public void execute(final OperationContext context, final ModelNode operation) {
+            final BatchingAsyncHandler handler = BatchingAsyncHandler.forAddress(context.getCurrentAddress().toCLIStyleString());
+            if (handler == null) {
+                return;
+            }
+            final String attributeName = operation.require(ModelDescriptionConstants.NAME).asString();
+            final ModelNode result = context.getResult();
+            if (QUEUE_SIZE.getName().equals(attributeName)) {
+                result.set(handler.getQueueSize());
+            } else if (DROPPED_RECORD_COUNT.getName().equals(attributeName)) {
+                result.set(handler.getDroppedRecordCount());
+            } else if (BATCH_COUNT.getName().equals(attributeName)) {
+                result.set(handler.getBatchCount());
+            } else if (AVERAGE_BATCH_SIZE.getName().equals(attributeName)) {
+                result.set(handler.getAverageBatchSize());
+            }
+        }
+    }
+}
@@ -38,12 +38,20 @@ import static org.jboss.as.logging.handlers.AbstractHandlerDefinition.NAMED_FORM
 import static org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition.HANDLER;
 import static org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition.QUEUE_LENGTH;
 import static org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition.SUBHANDLERS;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.COMPRESSION;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_AGE;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_BACKUP_INDEX;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_TOTAL_SIZE;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.SUFFIX;
 
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Handler;
 
 import org.apache.log4j.Appender;
@@ -62,7 +70,9 @@ import org.jboss.as.logging.filters.Filters;
 import org.jboss.as.logging.loggers.RootLoggerResourceDefinition;
 import org.jboss.as.logging.logging.LoggingLogger;
 import org.jboss.as.logging.logmanager.Log4jAppenderHandler;
+import org.jboss.as.logging.logmanager.LogFileArchiver;
 import org.jboss.as.logging.resolvers.ModelNodeResolver;
+import org.jboss.as.logging.resolvers.SizeResolver;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.Property;
 import org.jboss.logmanager.LogContext;
@@ -123,6 +133,12 @@ final class HandlerOperations {
                 } else if (reloadRequired) {
                     context.reloadRequired();
                 }
+                for (AttributeDefinition attribute : attributes) {
+                    if (operation.has(attribute.getName()) && isArchiveAttribute(attribute.getName())) {
+                        configureArchiving(context, configuration);
+                        break;
+                    }
+                }
             }
         }
     }
@@ -134,10 +150,24 @@ final class HandlerOperations {
         private final String[] constructionProperties;
         private final AttributeDefinition[] attributes;
         private final Class<? extends Handler> type;
+        private final String moduleName;
 
         HandlerAddOperationStepHandler(final Class<? extends Handler> type, final AttributeDefinition[] attributes, final ConfigurationProperty<?>... constructionProperties) {
+            this(type, null, attributes, constructionProperties);
+        }
+
+        /**
+         * Creates a step handler for a handler of a known type which is loaded from a module.
+         *
+         * @param type                   the type of the handler
+         * @param moduleName             the module to load the type from or {@code null} if the type is from the log manager
+         * @param attributes             the attributes for the add operation
+         * @param constructionProperties the construction properties required for the handler
+         */
+        HandlerAddOperationStepHandler(final Class<? extends Handler> type, final String moduleName, final AttributeDefinition[] attributes, final ConfigurationProperty<?>... constructionProperties) {
             super(attributes);
             this.type = type;
+            this.moduleName = moduleName;
             this.attributes = attributes;
             final List<String> names = new ArrayList<>();
             for (ConfigurationProperty<?> prop : constructionProperties) {
@@ -173,7 +203,7 @@ final class HandlerOperations {
                 moduleName = MODULE.resolveModelAttribute(context, model).asString();
             } else {
                 className = type.getName();
-                moduleName = null;
+                moduleName = this.moduleName;
             }
 
             final String name = context.getCurrentAddressValue();
@@ -239,6 +269,7 @@ final class HandlerOperations {
                     handleProperty(attribute, context, model, logContextConfiguration, configuration);
                 }
             }
+            configureArchiving(context, configuration);
         }
 
         HandlerConfiguration createHandlerConfiguration(final String className,
@@ -247,7 +278,7 @@ final class HandlerOperations {
 
             final HandlerConfiguration configuration;
 
-            if (moduleName != null) {
+            if (moduleName != null && type == null) {
                 // Check if this is a log4j appender
                 final ModuleLoader moduleLoader = ModuleLoader.forClass(HandlerOperations.class);
                 try {
@@ -281,9 +312,9 @@ final class HandlerOperations {
             } else {
                 // Check for construction parameters
                 if (constructionProperties == null) {
-                    configuration = logContextConfiguration.addHandlerConfiguration(null, className, name);
+                    configuration = logContextConfiguration.addHandlerConfiguration(moduleName, className, name);
                 } else {
-                    configuration = logContextConfiguration.addHandlerConfiguration(null, className, name, constructionProperties);
+                    configuration = logContextConfiguration.addHandlerConfiguration(moduleName, className, name, constructionProperties);
                 }
                 // If this is an AsyncHandler we need to setCloseChildren() to false
                 if (AsyncHandler.class.getName().equals(className)) {
@@ -361,6 +392,9 @@ final class HandlerOperations {
                         }
                     }
                 }
+                if (isArchiveAttribute(attributeName)) {
+                    configureArchiving(context, configuration);
+                }
             }
             return restartRequired;
         }
@@ -430,6 +464,14 @@ final class HandlerOperations {
             if (logContextConfiguration.getPojoNames().contains(name)) {
                 logContextConfiguration.removePojoConfiguration(name);
             }
+            if (isArchivingSupported(context)) {
+                final String key = context.getCurrentAddress().toCLIStyleString();
+                context.addStep((c, op) -> c.completeStep((resultAction, c1, op1) -> {
+                    if (resultAction == OperationContext.ResultAction.KEEP) {
+                        LogFileArchiver.remove(key);
+                    }
+                }), Stage.RUNTIME);
+            }
         }
     }
 
@@ -670,6 +712,8 @@ final class HandlerOperations {
             configuration.setHandlerNames(resolvedValue);
         } else if (attribute.getName().equals(HANDLER_NAME.getName())) {
             // no-op just ignore the name attribute
+        } else if (isArchiveOnlyAttribute(attribute.getName())) {
+            // no-op the archive attributes are not handler properties, see configureArchiving()
         } else if (attribute.getName().equals(PROPERTIES.getName())) {
             final PropertyConfigurable propertyConfigurable;
             // A POJO configuration will have the same name as the handler
@@ -738,6 +782,82 @@ final class HandlerOperations {
         }
     }
 
+    /**
+     * Checks whether the attribute is used to configure the {@link LogFileArchiver} of a handler.
+     *
+     * @param attributeName the name of the attribute
+     *
+     * @return {@code true} if the archiving needs to be reconfigured if the attribute is changed
+     */
+    private static boolean isArchiveAttribute(final String attributeName) {
+        // The file, suffix and max-backup-index determine the names of the rotated files
+        if (FILE.getName().equals(attributeName) || SUFFIX.getName().equals(attributeName) || MAX_BACKUP_INDEX.getName().equals(attributeName)) {
+            return true;
+        }
+        return isArchiveOnlyAttribute(attributeName);
+    }
+
+    /**
+     * Checks whether the attribute only configures the {@link LogFileArchiver} and is not a property of the handler.
+     *
+     * @param attributeName the name of the attribute
+     *
+     * @return {@code true} if the attribute is not a property of the handler
+     */
+    private static boolean isArchiveOnlyAttribute(final String attributeName) {
+        for (AttributeDefinition attribute : SizeRotatingHandlerResourceDefinition.ARCHIVE_ATTRIBUTES) {
+            if (attribute.getName().equals(attributeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isArchivingSupported(final OperationContext context) {
+        return context.getResourceRegistration().getAttributeAccess(PathAddress.EMPTY_ADDRESS, COMPRESSION.getName()) != null;
+    }
+
+    /**
+     * Adds a step which configures the archiving of the files rotated by the current handler once the operation has
+     * completed successfully. Handlers which do not support archiving are ignored.
+     *
+     * @param context       the context of the operation
+     * @param configuration the configuration of the handler
+     */
+    private static void configureArchiving(final OperationContext context, final HandlerConfiguration configuration) {
+        if (!isArchivingSupported(context)) {
+            return;
+        }
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(final OperationContext context, final ModelNode operation) throws OperationFailedException {
+                final ModelNode model = context.readResource(PathAddress.EMPTY_ADDRESS).getModel();
+                final String key = context.getCurrentAddress().toCLIStyleString();
+                final String file = FILE.resolvePropertyValue(context, model);
+                // The suffix is defined the same way for the periodic handlers, it's only required there
+                final ModelNode suffixValue = SUFFIX.resolveModelAttribute(context, model);
+                final String suffix = suffixValue.isDefined() ? suffixValue.asString() : null;
+                final int maxBackupIndex = context.getResourceRegistration().getAttributeAccess(PathAddress.EMPTY_ADDRESS, MAX_BACKUP_INDEX.getName()) == null
+                        ? -1 : MAX_BACKUP_INDEX.resolveModelAttribute(context, model).asInt();
+                final LogFileArchiver.Compression compression = LogFileArchiver.Compression.valueOf(
+                        COMPRESSION.resolveModelAttribute(context, model).asString().toUpperCase(Locale.ROOT));
+                final ModelNode maxTotalSizeValue = MAX_TOTAL_SIZE.resolveModelAttribute(context, model);
+                final long maxTotalSize = maxTotalSizeValue.isDefined() ? SizeResolver.INSTANCE.parseSize(maxTotalSizeValue) : -1L;
+                final ModelNode maxAgeValue = MAX_AGE.resolveModelAttribute(context, model);
+                final long maxAge = maxAgeValue.isDefined() ? TimeUnit.DAYS.toMillis(maxAgeValue.asInt()) : -1L;
+                context.completeStep(new OperationContext.ResultHandler() {
+                    @Override
+                    public void handleResult(final OperationContext.ResultAction resultAction, final OperationContext context, final ModelNode operation) {
+                        if (resultAction == OperationContext.ResultAction.KEEP) {
+                            // The handler instance has been created once the configuration was prepared
+                            LogFileArchiver.configure(key, configuration.getInstance(), Paths.get(file), suffix, maxBackupIndex, compression, maxTotalSize, maxAge);
+                        }
+                    }
+                });
+            }
+        }, Stage.RUNTIME);
+    }
+
     /**
      * Compare the model value with the current value. If the model value equals the currently configured value {@code
      * true} is returned, otherwise {@code false}.
@@ -22,12 +22,17 @@ package org.jboss.as.logging.handlers;
 import static org.jboss.as.logging.CommonAttributes.APPEND;
 import static org.jboss.as.logging.CommonAttributes.AUTOFLUSH;
 import static org.jboss.as.logging.CommonAttributes.FILE;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.COMPRESSION;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_AGE;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_TOTAL_SIZE;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PathElement;
 import org.jboss.as.controller.services.path.PathInfoHandler;
 import org.jboss.as.controller.services.path.ResolvePathHandler;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
 import org.jboss.as.logging.ElementAttributeMarshaller;
+import org.jboss.as.logging.KnownModelVersion;
 import org.jboss.as.logging.Logging;
 import org.jboss.as.logging.PropertyAttributeDefinition;
 import org.jboss.as.logging.validators.SuffixValidator;
@@ -49,7 +54,8 @@ public class PeriodicHandlerResourceDefinition extends AbstractFileHandlerDefini
             .setValidator(new SuffixValidator())
             .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = Logging.join(DEFAULT_ATTRIBUTES, AUTOFLUSH, APPEND, FILE, SUFFIX, NAMED_FORMATTER);
+    private static final AttributeDefinition[] ATTRIBUTES = Logging.join(DEFAULT_ATTRIBUTES, AUTOFLUSH, APPEND, FILE, SUFFIX, NAMED_FORMATTER,
+            COMPRESSION, MAX_TOTAL_SIZE, MAX_AGE);
 
     public PeriodicHandlerResourceDefinition(final ResolvePathHandler resolvePathHandler, final boolean includeLegacyAttributes) {
         this(resolvePathHandler, null, includeLegacyAttributes);
@@ -59,4 +65,15 @@ public class PeriodicHandlerResourceDefinition extends AbstractFileHandlerDefini
         super(PERIODIC_HANDLER_PATH, PeriodicRotatingFileHandler.class, resolvePathHandler, diskUsagePathHandler,
                 (includeLegacyAttributes ? Logging.join(ATTRIBUTES, LEGACY_ATTRIBUTES) : ATTRIBUTES));
     }
+
+    @Override
+    protected void registerResourceTransformers(final KnownModelVersion modelVersion, final ResourceTransformationDescriptionBuilder resourceBuilder, final ResourceTransformationDescriptionBuilder loggingProfileBuilder) {
+        switch (modelVersion) {
+            case VERSION_9_0_0: {
+                SizeRotatingHandlerResourceDefinition.rejectArchiveAttributes(resourceBuilder);
+                SizeRotatingHandlerResourceDefinition.rejectArchiveAttributes(loggingProfileBuilder);
+                break;
+            }
+        }
+    }
 }
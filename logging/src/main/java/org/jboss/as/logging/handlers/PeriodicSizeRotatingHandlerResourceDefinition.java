@@ -23,7 +23,10 @@ import static org.jboss.as.logging.CommonAttributes.APPEND;
 import static org.jboss.as.logging.CommonAttributes.AUTOFLUSH;
 import static org.jboss.as.logging.CommonAttributes.FILE;
 import static org.jboss.as.logging.handlers.PeriodicHandlerResourceDefinition.SUFFIX;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.COMPRESSION;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_AGE;
 import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_BACKUP_INDEX;
+import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.MAX_TOTAL_SIZE;
 import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.ROTATE_ON_BOOT;
 import static org.jboss.as.logging.handlers.SizeRotatingHandlerResourceDefinition.ROTATE_SIZE;
 
@@ -46,7 +49,8 @@ public class PeriodicSizeRotatingHandlerResourceDefinition extends AbstractFileH
     public static final String NAME = "periodic-size-rotating-file-handler";
     private static final PathElement PERIODIC_SIZE_ROTATING_HANDLER_PATH = PathElement.pathElement(NAME);
 
-    private static final AttributeDefinition[] ATTRIBUTES = Logging.join(DEFAULT_ATTRIBUTES, AUTOFLUSH, APPEND, MAX_BACKUP_INDEX, ROTATE_SIZE, ROTATE_ON_BOOT, SUFFIX, NAMED_FORMATTER, FILE);
+    private static final AttributeDefinition[] ATTRIBUTES = Logging.join(DEFAULT_ATTRIBUTES, AUTOFLUSH, APPEND, MAX_BACKUP_INDEX, ROTATE_SIZE, ROTATE_ON_BOOT, SUFFIX, NAMED_FORMATTER, FILE,
+            COMPRESSION, MAX_TOTAL_SIZE, MAX_AGE);
 
     public PeriodicSizeRotatingHandlerResourceDefinition(final ResolvePathHandler resolvePathHandler, final PathInfoHandler diskUsagePathHandler) {
         super(PERIODIC_SIZE_ROTATING_HANDLER_PATH, false, PeriodicSizeRotatingFileHandler.class, resolvePathHandler, diskUsagePathHandler, ATTRIBUTES);
@@ -63,6 +67,11 @@ public class PeriodicSizeRotatingHandlerResourceDefinition extends AbstractFileH
                 loggingProfileBuilder.rejectChildResource(PERIODIC_SIZE_ROTATING_HANDLER_PATH);
                 break;
             }
+            case VERSION_9_0_0: {
+                SizeRotatingHandlerResourceDefinition.rejectArchiveAttributes(rootResourceBuilder.addChildResource(PERIODIC_SIZE_ROTATING_HANDLER_PATH));
+                SizeRotatingHandlerResourceDefinition.rejectArchiveAttributes(loggingProfileBuilder.addChildResource(PERIODIC_SIZE_ROTATING_HANDLER_PATH));
+                break;
+            }
         }
     }
 
@@ -25,7 +25,11 @@ import static org.jboss.as.logging.CommonAttributes.FILE;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.StringAllowedValuesValidator;
 import org.jboss.as.controller.services.path.PathInfoHandler;
 import org.jboss.as.controller.services.path.ResolvePathHandler;
 import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
@@ -82,7 +86,38 @@ public class SizeRotatingHandlerResourceDefinition extends AbstractFileHandlerDe
             .setValidator(new SuffixValidator(true, false))
             .build();
 
-    private static final AttributeDefinition[] ATTRIBUTES = Logging.join(DEFAULT_ATTRIBUTES, AUTOFLUSH, APPEND, MAX_BACKUP_INDEX, ROTATE_SIZE, ROTATE_ON_BOOT, NAMED_FORMATTER, FILE, SUFFIX);
+    public static final SimpleAttributeDefinition COMPRESSION = SimpleAttributeDefinitionBuilder.create("compression", ModelType.STRING, true)
+            .setAllowExpression(true)
+            .setAttributeMarshaller(ElementAttributeMarshaller.VALUE_ATTRIBUTE_MARSHALLER)
+            .setDefaultValue(new ModelNode("none"))
+            .setValidator(new StringAllowedValuesValidator("none", "gzip"))
+            .build();
+
+    public static final SimpleAttributeDefinition MAX_TOTAL_SIZE = SimpleAttributeDefinitionBuilder.create("max-total-size", ModelType.STRING, true)
+            .setAllowExpression(true)
+            .setAttributeMarshaller(ElementAttributeMarshaller.VALUE_ATTRIBUTE_MARSHALLER)
+            .setValidator(new SizeValidator(true))
+            .build();
+
+    public static final SimpleAttributeDefinition MAX_AGE = SimpleAttributeDefinitionBuilder.create("max-age", ModelType.INT, true)
+            .setAllowExpression(true)
+            .setAttributeMarshaller(ElementAttributeMarshaller.VALUE_ATTRIBUTE_MARSHALLER)
+            .setMeasurementUnit(MeasurementUnit.DAYS)
+            .setValidator(new IntRangeValidator(1, true, true))
+            .build();
+
+    /**
+     * The attributes which configure the {@link org.jboss.as.logging.logmanager.LogFileArchiver archiving} of the
+     * rotated files. These are not properties of the handler.
+     */
+    static final AttributeDefinition[] ARCHIVE_ATTRIBUTES = {
+            COMPRESSION,
+            MAX_TOTAL_SIZE,
+            MAX_AGE,
+    };
+
+    private static final AttributeDefinition[] ATTRIBUTES = Logging.join(DEFAULT_ATTRIBUTES, AUTOFLUSH, APPEND, MAX_BACKUP_INDEX, ROTATE_SIZE, ROTATE_ON_BOOT, NAMED_FORMATTER, FILE, SUFFIX,
+            COMPRESSION, MAX_TOTAL_SIZE, MAX_AGE);
 
     public SizeRotatingHandlerResourceDefinition(final ResolvePathHandler resolvePathHandler, final boolean includeLegacyAttributes) {
         this(resolvePathHandler, null, includeLegacyAttributes);
@@ -111,8 +146,29 @@ public class SizeRotatingHandlerResourceDefinition extends AbstractFileHandlerDe
                 }
                 break;
             }
+            case VERSION_9_0_0: {
+                rejectArchiveAttributes(resourceBuilder);
+                rejectArchiveAttributes(loggingProfileBuilder);
+                break;
+            }
         }
 
     }
 
+    /**
+     * Rejects the {@linkplain #ARCHIVE_ATTRIBUTES archive attributes} unless they are undefined or the default value.
+     *
+     * @param resourceBuilder the builder for the handler resource, may be {@code null}
+     */
+    static void rejectArchiveAttributes(final ResourceTransformationDescriptionBuilder resourceBuilder) {
+        if (resourceBuilder != null) {
+            resourceBuilder
+                    .getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, COMPRESSION)
+                    .setDiscard(DiscardAttributeChecker.UNDEFINED, MAX_TOTAL_SIZE, MAX_AGE)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, ARCHIVE_ATTRIBUTES)
+                    .end();
+        }
+    }
+
 }
@@ -27,6 +27,7 @@ import static org.jboss.logging.Logger.Level.WARN;
 
 import java.io.Closeable;
 import java.io.File;
+import java.nio.file.Path;
 import java.util.Collection;
 import java.util.Set;
 
@@ -1029,4 +1030,101 @@ public interface LoggingLogger extends BasicLogger {
 //     */
 //    @Message(id = 98, value = "Cannot remove filter %s as it's assigned to: %s")
 //    OperationFailedException cannotRemoveFilter(String name, Collection<String> references);
+
+    /**
+     * Creates an exception indicating the log file cannot be searched as lines cannot be found in its encoding.
+     *
+     * @param name     the name of the file
+     * @param encoding the encoding of the file
+     *
+     * @return an {@link OperationFailedException} for the error
+     */
+    @Message(id = 99, value = "The log file '%s' cannot be searched as the encoding %s does not encode a line feed as a single byte")
+    OperationFailedException searchNotSupported(String name, String encoding);
+
+    /**
+     * Creates an exception indicating the continuation of a search is invalid, e.g. as the file was rotated.
+     *
+     * @param continuation the continuation
+     *
+     * @return an {@link OperationFailedException} for the error
+     */
+    @Message(id = 100, value = "The search cannot be continued from '%s', the log file may have been rotated")
+    OperationFailedException invalidSearchContinuation(String continuation);
+
+    /**
+     * Creates an exception indicating the value of a search parameter is invalid.
+     *
+     * @param cause the cause of the error
+     * @param name  the name of the parameter
+     * @param value the invalid value
+     *
+     * @return an {@link OperationFailedException} for the error
+     */
+    @Message(id = 101, value = "Invalid value '%2$s' for parameter %1$s")
+    OperationFailedException invalidSearchParameter(@Cause Throwable cause, String name, String value);
+
+    /**
+     * Logs a warning message indicating a rotated log file could not be compressed.
+     *
+     * @param cause the cause of the error
+     * @param file  the rotated file
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 102, value = "Failed to compress the rotated log file %s")
+    void failedToCompressLogFile(@Cause Throwable cause, Path file);
+
+    /**
+     * Logs a warning message indicating a rotated log file which is outside of the retention limits could not be
+     * deleted.
+     *
+     * @param cause the cause of the error
+     * @param file  the rotated file
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 103, value = "Failed to delete the rotated log file %s")
+    void failedToDeleteLogFile(@Cause Throwable cause, Path file);
+
+    /**
+     * Creates an exception indicating the log file cannot be searched as it is compressed.
+     *
+     * @param name the name of the file
+     *
+     * @return an {@link OperationFailedException} for the error
+     */
+    @Message(id = 104, value = "The log file '%s' cannot be searched as it is compressed")
+    OperationFailedException compressedSearchNotSupported(String name);
+
+    /**
+     * Creates an exception indicating the search of the log file was cancelled.
+     *
+     * @param name the name of the file
+     *
+     * @return an {@link OperationFailedException} for the error
+     */
+    @Message(id = 105, value = "The search of the log file '%s' was cancelled")
+    OperationFailedException searchCancelled(String name);
+
+    /**
+     * Logs a warning message indicating a compressed log file could not be renamed to the next backup index.
+     *
+     * @param cause  the cause of the error
+     * @param file   the compressed file
+     * @param target the file it was being renamed to
+     */
+    @LogMessage(level = WARN)
+    @Message(id = 106, value = "Failed to rename the compressed log file %s to %s")
+    void failedToRenameLogFile(@Cause Throwable cause, Path file, Path target);
+
+    /**
+     * Creates a message noting the number of duplicates of the message which were suppressed.
+     *
+     * @param message    the message which was repeated
+     * @param suppressed the number of suppressed duplicates
+     * @param window     the window, in milliseconds, the duplicates were suppressed in
+     *
+     * @return the message
+     */
+    @Message(id = Message.NONE, value = "%s (suppressed %d duplicate messages in the last %d ms)")
+    String duplicateMessagesSuppressed(String message, long suppressed, long window);
 }
@@ -0,0 +1,489 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.logmanager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+
+import org.jboss.logmanager.ExtHandler;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.handlers.AsyncHandler.OverflowAction;
+
+/**
+ * An asynchronous handler which queues records in a lock-free ring buffer and publishes them to the nested handlers
+ * in batches from a single background thread.
+ * <p/>
+ * Logging threads only claim a slot in the buffer, they never take a lock. The background thread drains up to
+ * {@linkplain #setMaxBatchSize(int) max batch size} records, publishes each of them to the nested handlers and then
+ * flushes the nested handlers once for the whole batch. Nested handlers which write to a stream should have
+ * {@code autoflush} disabled to benefit from this.
+ * <p/>
+ * How the background thread waits for records when the buffer is empty is defined by the {@linkplain WaitStrategy
+ * wait strategy}. The strategies other than {@link WaitStrategy#BLOCKING} trade CPU time for a lower latency.
+ * <p/>
+ * Nested handlers are not closed when this handler is closed.
+ */
+public class BatchingAsyncHandler extends ExtHandler {
+
+    /**
+     * The default length of the queue.
+     */
+    public static final int DEFAULT_QUEUE_LENGTH = 512;
+
+    /**
+     * The default maximum number of records published between two flushes of the nested handlers.
+     */
+    public static final int DEFAULT_MAX_BATCH_SIZE = 128;
+
+    /**
+     * Defines how the background thread waits when there are no records to publish.
+     */
+    public enum WaitStrategy {
+        /**
+         * Parks the background thread until a record is queued.
+         */
+        BLOCKING,
+        /**
+         * Spins, then yields and finally sleeps for short periods.
+         */
+        SLEEPING,
+        /**
+         * Spins, then yields the processor.
+         */
+        YIELDING,
+        /**
+         * Spins. This gives the lowest latency, but uses a processor while idle.
+         */
+        BUSY_SPIN,
+    }
+
+    private static final Map<String, BatchingAsyncHandler> REGISTRY = new ConcurrentHashMap<>();
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100L);
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100L);
+
+    private static final int NEW = 0;
+    private static final int RUNNING = 1;
+    private static final int CLOSED = 2;
+
+    private final AtomicReferenceArray<ExtLogRecord> buffer;
+    private final int mask;
+    private final AtomicLong producerIndex = new AtomicLong();
+    private final AtomicLong consumerIndex = new AtomicLong();
+    private final LongAdder droppedRecords = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedRecords = new LongAdder();
+    private final Object stateLock = new Object();
+
+    private volatile OverflowAction overflowAction = OverflowAction.BLOCK;
+    private volatile WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+    private volatile int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private volatile String address;
+    private volatile int state = NEW;
+    private volatile boolean consumerParked;
+    private volatile Thread thread;
+
+    /**
+     * Creates a new handler with the {@linkplain #DEFAULT_QUEUE_LENGTH default queue length}.
+     */
+    public BatchingAsyncHandler() {
+        this(DEFAULT_QUEUE_LENGTH);
+    }
+
+    /**
+     * Creates a new handler.
+     *
+     * @param queueLength the minimum number of records which can be queued, rounded up to a power of two
+     */
+    public BatchingAsyncHandler(final int queueLength) {
+        if (queueLength < 1) {
+            throw new IllegalArgumentException("Queue length must be at least 1");
+        }
+        final int capacity = queueLength == 1 ? 1 : Integer.highestOneBit(queueLength - 1) << 1;
+        buffer = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+    }
+
+    /**
+     * Finds the handler registered with the {@linkplain #setAddress(String) address}.
+     *
+     * @param address the address of the handler
+     *
+     * @return the handler or {@code null} if no open handler is registered with the address
+     */
+    public static BatchingAsyncHandler forAddress(final String address) {
+        return REGISTRY.get(address);
+    }
+
+    /**
+     * Returns the address of the management resource this handler was configured by, if any.
+     *
+     * @return the address or {@code null}
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * Sets the address of the management resource this handler is configured by. The handler can be looked up
+     * with {@link #forAddress(String)} until it's closed.
+     *
+     * @param address the address or {@code null} to not register the handler
+     */
+    public void setAddress(final String address) {
+        checkAccess(this);
+        synchronized (stateLock) {
+            final String old = this.address;
+            if (old != null) {
+                REGISTRY.remove(old, this);
+            }
+            this.address = address;
+            if (address != null && state != CLOSED) {
+                REGISTRY.put(address, this);
+            }
+        }
+    }
+
+    /**
+     * Returns the action taken when a record is published and the queue is full.
+     *
+     * @return the overflow action
+     */
+    public OverflowAction getOverflowAction() {
+        return overflowAction;
+    }
+
+    /**
+     * Sets the action taken when a record is published and the queue is full.
+     *
+     * @param overflowAction the overflow action
+     */
+    public void setOverflowAction(final OverflowAction overflowAction) {
+        if (overflowAction == null) {
+            throw new IllegalArgumentException("Overflow action cannot be null");
+        }
+        checkAccess(this);
+        this.overflowAction = overflowAction;
+    }
+
+    /**
+     * Returns how the background thread waits for new records.
+     *
+     * @return the wait strategy
+     */
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * Sets how the background thread waits for new records.
+     *
+     * @param waitStrategy the wait strategy
+     */
+    public void setWaitStrategy(final WaitStrategy waitStrategy) {
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("Wait strategy cannot be null");
+        }
+        checkAccess(this);
+        this.waitStrategy = waitStrategy;
+        // Wake the thread up so it picks up the new strategy
+        final Thread thread = this.thread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Returns the maximum number of records published to the nested handlers before they're flushed.
+     *
+     * @return the maximum batch size
+     */
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * Sets the maximum number of records published to the nested handlers before they're flushed.
+     *
+     * @param maxBatchSize the maximum batch size
+     */
+    public void setMaxBatchSize(final int maxBatchSize) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be at least 1");
+        }
+        checkAccess(this);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Returns the number of records which can be queued.
+     *
+     * @return the capacity of the queue
+     */
+    public int getQueueCapacity() {
+        return buffer.length();
+    }
+
+    /**
+     * Returns the number of records currently waiting to be published.
+     *
+     * @return the number of queued records
+     */
+    public int getQueueSize() {
+        final long size = producerIndex.get() - consumerIndex.get();
+        return (int) Math.max(0L, Math.min(size, buffer.length()));
+    }
+
+    /**
+     * Returns the number of records discarded because the queue was full.
+     *
+     * @return the number of dropped records
+     */
+    public long getDroppedRecordCount() {
+        return droppedRecords.sum();
+    }
+
+    /**
+     * Returns the number of batches published to the nested handlers.
+     *
+     * @return the number of batches
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * Returns the average number of records published per batch.
+     *
+     * @return the average batch size or {@code 0} if nothing was published yet
+     */
+    public double getAverageBatchSize() {
+        final long batches = this.batches.sum();
+        return batches == 0L ? 0D : (double) batchedRecords.sum() / batches;
+    }
+
+    @Override
+    protected void doPublish(final ExtLogRecord record) {
+        if (state != RUNNING && !start()) {
+            return;
+        }
+        if (Thread.currentThread() == thread) {
+            // A nested handler logged, queueing the record could dead lock if the queue is full
+            publishToHandlers(record);
+            return;
+        }
+        // Take a snapshot of the record as it's published on another thread
+        record.copyAll();
+        if (!offer(record)) {
+            if (overflowAction == OverflowAction.DISCARD) {
+                droppedRecords.increment();
+                return;
+            }
+            int tries = 0;
+            do {
+                if (state == CLOSED) {
+                    droppedRecords.increment();
+                    return;
+                }
+                tries = backOff(tries);
+            } while (!offer(record));
+        }
+        if (consumerParked) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    @Override
+    public void flush() {
+        for (Handler handler : handlers) {
+            try {
+                handler.flush();
+            } catch (Exception e) {
+                reportError("Failed to flush nested handler", e, ErrorManager.FLUSH_FAILURE);
+            }
+        }
+    }
+
+    /**
+     * Publishes the records still queued, then stops the background thread. The nested handlers are flushed, but
+     * not closed.
+     */
+    @Override
+    public void close() throws SecurityException {
+        checkAccess(this);
+        final Thread thread;
+        synchronized (stateLock) {
+            if (state == CLOSED) {
+                return;
+            }
+            state = CLOSED;
+            thread = this.thread;
+            final String address = this.address;
+            if (address != null) {
+                REGISTRY.remove(address, this);
+            }
+        }
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            if (thread != Thread.currentThread()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    private boolean start() {
+        synchronized (stateLock) {
+            if (state == NEW) {
+                final Thread thread = new Thread(this::run, "Batching Async Log Handler");
+                thread.setDaemon(true);
+                this.thread = thread;
+                state = RUNNING;
+                thread.start();
+            }
+            return state == RUNNING;
+        }
+    }
+
+    private boolean offer(final ExtLogRecord record) {
+        final int capacity = buffer.length();
+        long index;
+        do {
+            index = producerIndex.get();
+            if (index - consumerIndex.get() >= capacity) {
+                return false;
+            }
+        } while (!producerIndex.compareAndSet(index, index + 1L));
+        buffer.lazySet((int) index & mask, record);
+        return true;
+    }
+
+    private ExtLogRecord poll() {
+        final long index = consumerIndex.get();
+        final int offset = (int) index & mask;
+        ExtLogRecord record = buffer.get(offset);
+        if (record == null) {
+            if (index == producerIndex.get()) {
+                return null;
+            }
+            // The slot was claimed, but the record is not visible yet
+            do {
+                record = buffer.get(offset);
+            } while (record == null);
+        }
+        buffer.lazySet(offset, null);
+        consumerIndex.lazySet(index + 1L);
+        return record;
+    }
+
+    private void run() {
+        int idle = 0;
+        while (true) {
+            // Read the state before draining so records queued before the handler was closed are published
+            final boolean closed = state == CLOSED;
+            if (publishBatch() > 0) {
+                idle = 0;
+            } else if (closed) {
+                break;
+            } else {
+                idle = await(idle);
+            }
+        }
+    }
+
+    private int publishBatch() {
+        final int max = maxBatchSize;
+        int count = 0;
+        ExtLogRecord record;
+        while (count < max && (record = poll()) != null) {
+            publishToHandlers(record);
+            count++;
+        }
+        if (count > 0) {
+            flush();
+            batches.increment();
+            batchedRecords.add(count);
+        }
+        return count;
+    }
+
+    private void publishToHandlers(final ExtLogRecord record) {
+        for (Handler handler : handlers) {
+            try {
+                handler.publish(record);
+            } catch (Exception e) {
+                reportError("Failed to publish record to nested handler", e, ErrorManager.WRITE_FAILURE);
+            }
+        }
+    }
+
+    private int await(final int idle) {
+        switch (waitStrategy) {
+            case BUSY_SPIN:
+                return idle;
+            case YIELDING:
+                if (idle < SPIN_TRIES) {
+                    return idle + 1;
+                }
+                Thread.yield();
+                return idle;
+            case SLEEPING:
+                return backOff(idle);
+            default:
+                if (idle < SPIN_TRIES) {
+                    return idle + 1;
+                }
+                consumerParked = true;
+                // Check again as a record may have been queued before the flag was visible to the producer
+                if (producerIndex.get() == consumerIndex.get() && state != CLOSED) {
+                    LockSupport.parkNanos(this, MAX_PARK_NANOS);
+                }
+                consumerParked = false;
+                return idle;
+        }
+    }
+
+    private static int backOff(final int tries) {
+        if (tries < SPIN_TRIES) {
+            return tries + 1;
+        }
+        if (tries < SPIN_TRIES + YIELD_TRIES) {
+            Thread.yield();
+            return tries + 1;
+        }
+        LockSupport.parkNanos(SLEEP_NANOS);
+        return tries;
+    }
+}
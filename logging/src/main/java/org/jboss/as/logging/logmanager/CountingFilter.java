@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.logmanager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Filter;
+import java.util.logging.LogRecord;
+
+import org.jboss.as.logging.LoggingProfileContextSelector;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.LogContext;
+
+/**
+ * A filter which counts the records it accepted and rejected. Filters configured by a management resource are
+ * {@linkplain #setAddress(String) registered} with the address of the resource so the counters can be read.
+ */
+public abstract class CountingFilter implements Filter {
+
+    private static final Map<String, CountingFilter> REGISTRY = new ConcurrentHashMap<>();
+
+    private final LongAdder acceptedRecords = new LongAdder();
+    private final LongAdder rejectedRecords = new LongAdder();
+    private volatile String address;
+    private volatile String loggingProfile;
+
+    CountingFilter() {
+    }
+
+    /**
+     * Finds the filter registered with the {@linkplain #setAddress(String) address}.
+     *
+     * @param address the address of the filter
+     *
+     * @return the filter or {@code null} if no filter is registered with the address
+     */
+    public static CountingFilter forAddress(final String address) {
+        return REGISTRY.get(address);
+    }
+
+    @Override
+    public final boolean isLoggable(final LogRecord record) {
+        if (accept(ExtLogRecord.wrap(record))) {
+            acceptedRecords.increment();
+            return true;
+        }
+        rejectedRecords.increment();
+        return false;
+    }
+
+    /**
+     * Checks whether the record should be logged.
+     *
+     * @param record the record to check
+     *
+     * @return {@code true} if the record should be logged, otherwise {@code false}
+     */
+    abstract boolean accept(ExtLogRecord record);
+
+    /**
+     * Returns the number of records this filter accepted.
+     *
+     * @return the number of accepted records
+     */
+    public long getAcceptedRecordCount() {
+        return acceptedRecords.sum();
+    }
+
+    /**
+     * Returns the number of records this filter rejected.
+     *
+     * @return the number of rejected records
+     */
+    public long getRejectedRecordCount() {
+        return rejectedRecords.sum();
+    }
+
+    /**
+     * Returns the address of the management resource this filter was configured by, if any.
+     *
+     * @return the address or {@code null}
+     */
+    public String getAddress() {
+        return address;
+    }
+
+    /**
+     * Sets the address of the management resource this filter is configured by. The filter can be looked up with
+     * {@link #forAddress(String)} until the address is set to {@code null}.
+     *
+     * @param address the address or {@code null} to not register the filter
+     */
+    public synchronized void setAddress(final String address) {
+        final String old = this.address;
+        if (old != null) {
+            REGISTRY.remove(old, this);
+        }
+        this.address = address;
+        if (address != null) {
+            REGISTRY.put(address, this);
+        }
+    }
+
+    /**
+     * Returns the name of the logging profile the management resource this filter was configured by belongs to.
+     *
+     * @return the name of the logging profile or {@code null}
+     */
+    public String getLoggingProfile() {
+        return loggingProfile;
+    }
+
+    /**
+     * Sets the name of the logging profile the management resource this filter is configured by belongs to.
+     *
+     * @param loggingProfile the name of the logging profile or {@code null} if the resource is not in a profile
+     */
+    public void setLoggingProfile(final String loggingProfile) {
+        this.loggingProfile = loggingProfile;
+    }
+
+    /**
+     * Returns the log context this filter was configured in. A filter configured by a management resource belongs to
+     * the log context of the subsystem or of its logging profile. Otherwise it's assumed to belong to the log context
+     * of the caller, e.g. the deployment which configured it.
+     *
+     * @return the log context
+     */
+    LogContext getLogContext() {
+        if (address == null) {
+            return LogContext.getLogContext();
+        }
+        final String loggingProfile = this.loggingProfile;
+        if (loggingProfile == null) {
+            return LogContext.getSystemLogContext();
+        }
+        final LogContext logContext = LoggingProfileContextSelector.getInstance().get(loggingProfile);
+        return logContext == null ? LogContext.getSystemLogContext() : logContext;
+    }
+}
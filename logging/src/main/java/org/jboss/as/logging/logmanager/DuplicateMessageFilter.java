@@ -0,0 +1,221 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.logmanager;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+
+import org.jboss.as.logging.logging.LoggingLogger;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.ExtLogRecord.FormatStyle;
+
+/**
+ * A filter which rejects records repeating a message within a {@linkplain #setWindow(long) window}. A message is
+ * repeated if a record from the same logger with the same level and formatted message was accepted within the window.
+ * <p/>
+ * The first record after the window ended is accepted unchanged. If duplicates were rejected in the window, a separate
+ * record noting the number of suppressed duplicates is logged to the same logger just before it. The logger is looked
+ * up in the {@linkplain #getLogContext() log context the filter belongs to}, not the one of the logging thread.
+ * Duplicates which are not followed by another record with the same message are only counted in the
+ * {@linkplain #getRejectedRecordCount() rejected records}.
+ */
+public class DuplicateMessageFilter extends CountingFilter {
+
+    /**
+     * The default window in milliseconds.
+     */
+    public static final long DEFAULT_WINDOW = 10000L;
+
+    /**
+     * The default maximum number of messages tracked.
+     */
+    public static final int DEFAULT_MAX_MESSAGES = 1000;
+
+    /**
+     * The number of times per window the expired messages may be removed once the maximum is reached.
+     */
+    private static final int REMOVALS_PER_WINDOW = 10;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong nextRemoval = new AtomicLong(System.nanoTime());
+    private final ThreadLocal<Boolean> loggingSummary = new ThreadLocal<>();
+    private volatile long window = DEFAULT_WINDOW;
+    private volatile long windowNanos = TimeUnit.MILLISECONDS.toNanos(DEFAULT_WINDOW);
+    private volatile int maxMessages = DEFAULT_MAX_MESSAGES;
+
+    @Override
+    boolean accept(final ExtLogRecord record) {
+        if (loggingSummary.get() != null) {
+            // The summary of suppressed duplicates logged by this filter
+            return true;
+        }
+        final Key key = new Key(record.getLoggerName(), record.getLevel(), record.getFormattedMessage());
+        final long now = System.nanoTime();
+        final long windowNanos = this.windowNanos;
+        while (true) {
+            final Entry entry = entries.get(key);
+            if (entry == null) {
+                if (entries.size() >= maxMessages) {
+                    removeExpired(now);
+                    if (entries.size() >= maxMessages) {
+                        // Too many different messages to track
+                        return true;
+                    }
+                }
+                if (entries.putIfAbsent(key, new Entry(now)) == null) {
+                    return true;
+                }
+            } else if (now - entry.start < windowNanos) {
+                entry.suppressed.increment();
+                return false;
+            } else if (entries.replace(key, entry, new Entry(now))) {
+                final long suppressed = entry.suppressed.sum();
+                if (suppressed > 0L) {
+                    logSummary(record, key.message, suppressed);
+                }
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns the time, in milliseconds, in which repeated messages are rejected.
+     *
+     * @return the window in milliseconds
+     */
+    public long getWindow() {
+        return window;
+    }
+
+    /**
+     * Sets the time, in milliseconds, in which repeated messages are rejected. The default is 10 seconds.
+     *
+     * @param window the window in milliseconds, must be greater than 0
+     */
+    public void setWindow(final long window) {
+        if (window < 1L) {
+            throw new IllegalArgumentException("The window must be greater than 0");
+        }
+        this.window = window;
+        windowNanos = TimeUnit.MILLISECONDS.toNanos(window);
+    }
+
+    /**
+     * Returns the maximum number of different messages tracked.
+     *
+     * @return the maximum number of messages
+     */
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    /**
+     * Sets the maximum number of different messages tracked. Once the limit is reached records with other messages
+     * are accepted until the expired messages are removed, which is checked at most ten times per window. The default
+     * is {@code 1000}.
+     *
+     * @param maxMessages the maximum number of messages, must be greater than 0
+     */
+    public void setMaxMessages(final int maxMessages) {
+        if (maxMessages < 1) {
+            throw new IllegalArgumentException("The maximum number of messages must be greater than 0");
+        }
+        this.maxMessages = maxMessages;
+    }
+
+    private void logSummary(final ExtLogRecord record, final String message, final long suppressed) {
+        final ExtLogRecord summary = new ExtLogRecord(record.getLevel(),
+                LoggingLogger.ROOT_LOGGER.duplicateMessagesSuppressed(message, suppressed, window), FormatStyle.NO_FORMAT,
+                DuplicateMessageFilter.class.getName());
+        summary.setLoggerName(record.getLoggerName());
+        loggingSummary.set(Boolean.TRUE);
+        try {
+            getLogContext().getLogger(record.getLoggerName()).logRaw(summary);
+        } finally {
+            loggingSummary.remove();
+        }
+    }
+
+    private void removeExpired(final long now) {
+        final long windowNanos = this.windowNanos;
+        final long next = nextRemoval.get();
+        // Scanning every entry for each record would be too expensive, so only one thread removes the expired entries
+        // and only at a bounded rate. Until then records with untracked messages are accepted.
+        if (now - next < 0L || !nextRemoval.compareAndSet(next, now + windowNanos / REMOVALS_PER_WINDOW)) {
+            return;
+        }
+        final Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            // Suppressed duplicates of expired messages are not reported
+            if (now - iterator.next().start >= windowNanos) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static final class Key {
+        private final String loggerName;
+        private final Level level;
+        private final String message;
+        private final int hashCode;
+
+        private Key(final String loggerName, final Level level, final String message) {
+            this.loggerName = loggerName;
+            this.level = level;
+            this.message = message;
+            hashCode = Objects.hash(loggerName, level, message);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            final Key other = (Key) obj;
+            return Objects.equals(loggerName, other.loggerName) && Objects.equals(level, other.level) && Objects.equals(message, other.message);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Entry {
+        private final long start;
+        private final LongAdder suppressed = new LongAdder();
+
+        private Entry(final long start) {
+            this.start = start;
+        }
+    }
+}
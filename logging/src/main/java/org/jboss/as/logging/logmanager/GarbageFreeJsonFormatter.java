@@ -0,0 +1,635 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.logmanager;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+
+import org.jboss.logmanager.ExtFormatter;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.PropertyValues;
+import org.jboss.logmanager.formatters.StructuredFormatter.ExceptionOutputType;
+import org.jboss.logmanager.formatters.StructuredFormatter.Key;
+
+/**
+ * A JSON formatter which writes the same structure as the {@link org.jboss.logmanager.formatters.JsonFormatter}, but
+ * avoids allocating per record where it can.
+ * <p/>
+ * Each thread encodes records into its own reusable buffer. The quoted key names, including any overrides, and the
+ * meta data are encoded once when the formatter is configured. Stack frames are encoded once and cached, and the
+ * formatted timestamp is reused for records logged in the same millisecond. The only allocation left on the common
+ * path is the {@link String} returned by {@link #format(ExtLogRecord)}, which the {@link java.util.logging.Formatter}
+ * contract requires.
+ * <p/>
+ * Causes and suppressed exceptions nested too deeply to fit in {@value #MAX_DEPTH} levels of JSON are left out.
+ */
+public class GarbageFreeJsonFormatter extends ExtFormatter {
+
+    private static final int MAX_CACHED_FRAMES = 4096;
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+    private static final int MAX_DEPTH = 64;
+    private static final String[] EMPTY = new String[0];
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+    // An exception nests its own object, the frames array and a frame object below the depth it's written at
+    private static final int EXCEPTION_DEPTH = 3;
+    // The record only exposes the MDC it captured as a new map of strings, read the captured map itself when allowed
+    private static final Field MDC_FIELD = AccessController.doPrivileged((PrivilegedAction<Field>) () -> {
+        try {
+            final Field field = ExtLogRecord.class.getDeclaredField("mdcCopy");
+            if (!Map.class.isAssignableFrom(field.getType())) {
+                return null;
+            }
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | RuntimeException e) {
+            return null;
+        }
+    });
+
+    private final String keyOverrides;
+    private final String[] keys;
+    private final Map<StackTraceElement, String> frames = new ConcurrentHashMap<>();
+    private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+
+    private volatile String dateFormat;
+    private volatile ZoneId zoneId = ZoneId.systemDefault();
+    private volatile DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(zoneId);
+    private volatile ExceptionOutputType exceptionOutputType = ExceptionOutputType.DETAILED;
+    private volatile String[] metaDataKeys = EMPTY;
+    private volatile String[] metaDataValues = EMPTY;
+    private volatile boolean prettyPrint;
+    private volatile boolean printDetails;
+    private volatile String recordDelimiter = "\n";
+
+    /**
+     * Creates a new formatter using the default key names.
+     */
+    public GarbageFreeJsonFormatter() {
+        this(null);
+    }
+
+    /**
+     * Creates a new formatter.
+     *
+     * @param keyOverrides a comma delimited list of {@code key=name} pairs which override the default key names, the
+     *                     key is the name of the {@link Key} in lower case with dashes, e.g. {@code exception-frame},
+     *                     may be {@code null}
+     */
+    public GarbageFreeJsonFormatter(final String keyOverrides) {
+        this.keyOverrides = keyOverrides;
+        final Key[] values = Key.values();
+        keys = new String[values.length];
+        for (Key key : values) {
+            keys[key.ordinal()] = quote(key.getKey());
+        }
+        if (keyOverrides != null && !keyOverrides.isEmpty()) {
+            for (Map.Entry<String, String> entry : PropertyValues.stringToMap(keyOverrides).entrySet()) {
+                final Key key = Key.valueOf(entry.getKey().toUpperCase(Locale.ROOT).replace('-', '_'));
+                keys[key.ordinal()] = quote(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns the key overrides this formatter was created with.
+     *
+     * @return the key overrides or {@code null}
+     */
+    public String getKeyOverrides() {
+        return keyOverrides;
+    }
+
+    public String getDateFormat() {
+        return dateFormat;
+    }
+
+    /**
+     * Sets the pattern used to format the timestamp. If {@code null} the ISO-8601 format with the offset is used.
+     *
+     * @param dateFormat the pattern or {@code null}
+     */
+    public void setDateFormat(final String dateFormat) {
+        this.dateFormat = dateFormat;
+        dateTimeFormatter = createDateTimeFormatter(dateFormat, zoneId);
+    }
+
+    public String getZoneId() {
+        return zoneId.getId();
+    }
+
+    /**
+     * Sets the zone used to format the timestamp.
+     *
+     * @param zoneId the zone id or {@code null} for the system default
+     */
+    public void setZoneId(final String zoneId) {
+        this.zoneId = zoneId == null ? ZoneId.systemDefault() : ZoneId.of(zoneId);
+        dateTimeFormatter = createDateTimeFormatter(dateFormat, this.zoneId);
+    }
+
+    public ExceptionOutputType getExceptionOutputType() {
+        return exceptionOutputType;
+    }
+
+    public void setExceptionOutputType(final ExceptionOutputType exceptionOutputType) {
+        this.exceptionOutputType = exceptionOutputType == null ? ExceptionOutputType.DETAILED : exceptionOutputType;
+    }
+
+    /**
+     * Sets the meta data added to each record.
+     *
+     * @param metaData a comma delimited list of {@code key=value} pairs or {@code null}
+     */
+    public void setMetaData(final String metaData) {
+        if (metaData == null || metaData.isEmpty()) {
+            metaDataValues = EMPTY;
+            metaDataKeys = EMPTY;
+            return;
+        }
+        final Map<String, String> map = PropertyValues.stringToMap(metaData);
+        final String[] keys = new String[map.size()];
+        final String[] values = new String[map.size()];
+        int i = 0;
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            keys[i] = quote(entry.getKey());
+            values[i++] = entry.getValue();
+        }
+        // Set the values first, a concurrent format which sees the new keys must see the new values
+        metaDataValues = values;
+        metaDataKeys = keys;
+    }
+
+    public boolean isPrettyPrint() {
+        return prettyPrint;
+    }
+
+    public void setPrettyPrint(final boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+    }
+
+    public boolean isPrintDetails() {
+        return printDetails;
+    }
+
+    public void setPrintDetails(final boolean printDetails) {
+        this.printDetails = printDetails;
+    }
+
+    public String getRecordDelimiter() {
+        return recordDelimiter;
+    }
+
+    public void setRecordDelimiter(final String recordDelimiter) {
+        this.recordDelimiter = recordDelimiter;
+    }
+
+    @Override
+    public boolean isCallerCalculationRequired() {
+        return printDetails;
+    }
+
+    @Override
+    public String format(final ExtLogRecord record) {
+        Buffer buffer = buffers.get();
+        if (buffer.inUse) {
+            // Something logged while this thread was formatting a record, don't overwrite the record being formatted
+            buffer = new Buffer();
+        }
+        buffer.inUse = true;
+        try {
+            buffer.reset(prettyPrint);
+            writeRecord(buffer, record);
+            final String recordDelimiter = this.recordDelimiter;
+            if (recordDelimiter != null) {
+                buffer.sb.append(recordDelimiter);
+            }
+            return buffer.sb.toString();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private void writeRecord(final Buffer buffer, final ExtLogRecord record) {
+        buffer.beginObject();
+        buffer.key(key(Key.TIMESTAMP)).string(formatTimestamp(buffer, record.getMillis()));
+        buffer.key(key(Key.SEQUENCE)).number(record.getSequenceNumber());
+        buffer.key(key(Key.LOGGER_CLASS_NAME)).string(record.getLoggerClassName());
+        buffer.key(key(Key.LOGGER_NAME)).string(record.getLoggerName());
+        final Level level = record.getLevel();
+        buffer.key(key(Key.LEVEL)).string(level == null ? null : level.getName());
+        buffer.key(key(Key.MESSAGE)).string(record.getFormattedMessage());
+        buffer.key(key(Key.THREAD_NAME)).string(record.getThreadName());
+        buffer.key(key(Key.THREAD_ID)).number(record.getThreadID());
+        buffer.key(key(Key.MDC)).beginObject();
+        for (Map.Entry<String, ?> entry : getMdc(record).entrySet()) {
+            final Object value = entry.getValue();
+            buffer.dynamicKey(entry.getKey()).string(value == null ? null : value.toString());
+        }
+        buffer.endObject();
+        buffer.key(key(Key.NDC)).string(record.getNdc());
+        final String hostName = record.getHostName();
+        if (hostName != null && !hostName.isEmpty()) {
+            buffer.key(key(Key.HOST_NAME)).string(hostName);
+        }
+        final String processName = record.getProcessName();
+        if (processName != null && !processName.isEmpty()) {
+            buffer.key(key(Key.PROCESS_NAME)).string(processName);
+        }
+        final long processId = record.getProcessId();
+        if (processId >= 0) {
+            buffer.key(key(Key.PROCESS_ID)).number(processId);
+        }
+
+        final Throwable thrown = record.getThrown();
+        if (thrown != null) {
+            final ExceptionOutputType exceptionOutputType = this.exceptionOutputType;
+            if (exceptionOutputType != ExceptionOutputType.FORMATTED) {
+                buffer.key(key(Key.EXCEPTION));
+                writeException(buffer, thrown);
+            }
+            if (exceptionOutputType != ExceptionOutputType.DETAILED) {
+                buffer.key(key(Key.STACK_TRACE)).stackTrace(thrown);
+            }
+        }
+
+        if (printDetails) {
+            buffer.key(key(Key.SOURCE_CLASS_NAME)).string(record.getSourceClassName());
+            buffer.key(key(Key.SOURCE_FILE_NAME)).string(record.getSourceFileName());
+            buffer.key(key(Key.SOURCE_METHOD_NAME)).string(record.getSourceMethodName());
+            buffer.key(key(Key.SOURCE_LINE_NUMBER)).number(record.getSourceLineNumber());
+            final String moduleName = record.getSourceModuleName();
+            if (moduleName != null && !moduleName.isEmpty()) {
+                buffer.key(key(Key.SOURCE_MODULE_NAME)).string(moduleName);
+                buffer.key(key(Key.SOURCE_MODULE_VERSION)).string(record.getSourceModuleVersion());
+            }
+        }
+
+        final String[] metaDataKeys = this.metaDataKeys;
+        final String[] metaDataValues = this.metaDataValues;
+        for (int i = 0; i < metaDataKeys.length; i++) {
+            buffer.key(metaDataKeys[i]).string(metaDataValues[i]);
+        }
+        buffer.endObject();
+    }
+
+    private void writeException(final Buffer buffer, final Throwable throwable) {
+        final Integer seen = buffer.references.get(throwable);
+        buffer.beginObject();
+        if (seen != null) {
+            buffer.key(key(Key.EXCEPTION_CIRCULAR_REFERENCE)).beginObject();
+            buffer.key(key(Key.EXCEPTION_REFERENCE_ID)).number(seen);
+            buffer.key(key(Key.EXCEPTION_TYPE)).string(throwable.getClass().getName());
+            buffer.key(key(Key.EXCEPTION_MESSAGE)).string(throwable.getMessage());
+            buffer.endObject();
+            buffer.endObject();
+            return;
+        }
+        final int id = buffer.references.size() + 1;
+        buffer.references.put(throwable, id);
+        buffer.key(key(Key.EXCEPTION_REFERENCE_ID)).number(id);
+        buffer.key(key(Key.EXCEPTION_TYPE)).string(throwable.getClass().getName());
+        buffer.key(key(Key.EXCEPTION_MESSAGE)).string(throwable.getMessage());
+
+        buffer.key(key(Key.EXCEPTION_FRAMES)).beginArray();
+        for (StackTraceElement frame : throwable.getStackTrace()) {
+            buffer.element();
+            if (buffer.pretty) {
+                writeFrame(buffer, frame);
+            } else {
+                buffer.raw(encodeFrame(frame));
+            }
+        }
+        buffer.endArray();
+
+        final Throwable cause = throwable.getCause();
+        if (cause != null && buffer.depth + 1 + EXCEPTION_DEPTH < MAX_DEPTH) {
+            buffer.key(key(Key.EXCEPTION_CAUSED_BY)).beginObject();
+            buffer.key(key(Key.EXCEPTION));
+            writeException(buffer, cause);
+            buffer.endObject();
+        }
+
+        final Throwable[] suppressed = throwable.getSuppressed();
+        if (suppressed.length > 0 && buffer.depth + 2 + EXCEPTION_DEPTH < MAX_DEPTH) {
+            buffer.key(key(Key.EXCEPTION_SUPPRESSED)).beginArray();
+            for (Throwable s : suppressed) {
+                buffer.element().beginObject();
+                buffer.key(key(Key.EXCEPTION));
+                writeException(buffer, s);
+                buffer.endObject();
+            }
+            buffer.endArray();
+        }
+        buffer.endObject();
+    }
+
+    private void writeFrame(final Buffer buffer, final StackTraceElement frame) {
+        buffer.beginObject();
+        buffer.key(key(Key.EXCEPTION_FRAME_CLASS)).string(frame.getClassName());
+        buffer.key(key(Key.EXCEPTION_FRAME_METHOD)).string(frame.getMethodName());
+        final int line = frame.getLineNumber();
+        if (line >= 0) {
+            buffer.key(key(Key.EXCEPTION_FRAME_LINE)).number(line);
+        }
+        buffer.endObject();
+    }
+
+    private String encodeFrame(final StackTraceElement frame) {
+        String encoded = frames.get(frame);
+        if (encoded == null) {
+            final Buffer buffer = new Buffer();
+            buffer.reset(false);
+            writeFrame(buffer, frame);
+            encoded = buffer.sb.toString();
+            // Stop caching once the limit is reached rather than evicting, the cache is only there for the common frames
+            if (frames.size() < MAX_CACHED_FRAMES) {
+                frames.put(frame, encoded);
+            }
+        }
+        return encoded;
+    }
+
+    private String formatTimestamp(final Buffer buffer, final long millis) {
+        final DateTimeFormatter formatter = dateTimeFormatter;
+        if (millis != buffer.lastMillis || formatter != buffer.lastFormatter) {
+            buffer.lastTimestamp = formatter.format(Instant.ofEpochMilli(millis));
+            buffer.lastMillis = millis;
+            buffer.lastFormatter = formatter;
+        }
+        return buffer.lastTimestamp;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, ?> getMdc(final ExtLogRecord record) {
+        if (MDC_FIELD != null) {
+            // Captures the MDC of the logging thread once, the handlers formatting the record afterwards reuse it
+            record.copyMdc();
+            try {
+                final Object mdc = MDC_FIELD.get(record);
+                if (mdc != null) {
+                    return (Map<String, ?>) mdc;
+                }
+            } catch (IllegalAccessException ignore) {
+                // Fall back to the copy
+            }
+        }
+        return record.getMdcCopy();
+    }
+
+    private String key(final Key key) {
+        return keys[key.ordinal()];
+    }
+
+    private static DateTimeFormatter createDateTimeFormatter(final String dateFormat, final ZoneId zoneId) {
+        if (dateFormat == null) {
+            return DateTimeFormatter.ISO_OFFSET_DATE_TIME.withZone(zoneId);
+        }
+        return DateTimeFormatter.ofPattern(dateFormat).withZone(zoneId);
+    }
+
+    private static String quote(final String name) {
+        final StringBuilder sb = new StringBuilder(name.length() + 3);
+        sb.append('"');
+        escape(sb, name);
+        return sb.append("\":").toString();
+    }
+
+    private static void escape(final StringBuilder sb, final String value) {
+        final int len = value.length();
+        for (int i = 0; i < len; i++) {
+            escape(sb, value.charAt(i));
+        }
+    }
+
+    private static void escape(final StringBuilder sb, final char c) {
+        switch (c) {
+            case '"':
+                sb.append("\\\"");
+                break;
+            case '\\':
+                sb.append("\\\\");
+                break;
+            case '\n':
+                sb.append("\\n");
+                break;
+            case '\r':
+                sb.append("\\r");
+                break;
+            case '\t':
+                sb.append("\\t");
+                break;
+            case '\b':
+                sb.append("\\b");
+                break;
+            case '\f':
+                sb.append("\\f");
+                break;
+            default:
+                if (c < 0x20) {
+                    sb.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                } else {
+                    sb.append(c);
+                }
+        }
+    }
+
+    /**
+     * The per-thread state used to encode a record.
+     */
+    private static final class Buffer {
+        private StringBuilder sb = new StringBuilder(1024);
+        private final IdentityHashMap<Throwable, Integer> references = new IdentityHashMap<>();
+        private final boolean[] first = new boolean[MAX_DEPTH];
+        private int depth;
+        private boolean pretty;
+        private boolean inUse;
+        private long lastMillis = Long.MIN_VALUE;
+        private DateTimeFormatter lastFormatter;
+        private String lastTimestamp;
+        private final PrintWriter stackTraceWriter = new PrintWriter(new EscapingWriter());
+
+        void reset(final boolean pretty) {
+            this.pretty = pretty;
+            sb.setLength(0);
+            depth = 0;
+            first[0] = true;
+        }
+
+        void release() {
+            inUse = false;
+            references.clear();
+            if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+                // Don't keep the memory of an unusually large record for the life of the thread
+                sb = new StringBuilder(1024);
+            }
+        }
+
+        Buffer beginObject() {
+            return begin('{');
+        }
+
+        Buffer endObject() {
+            return end('}');
+        }
+
+        Buffer beginArray() {
+            return begin('[');
+        }
+
+        Buffer endArray() {
+            return end(']');
+        }
+
+        Buffer key(final String quotedKey) {
+            separate();
+            sb.append(quotedKey);
+            if (pretty) {
+                sb.append(' ');
+            }
+            return this;
+        }
+
+        Buffer dynamicKey(final String key) {
+            separate();
+            sb.append('"');
+            escape(sb, key);
+            sb.append("\":");
+            if (pretty) {
+                sb.append(' ');
+            }
+            return this;
+        }
+
+        Buffer element() {
+            separate();
+            return this;
+        }
+
+        Buffer string(final String value) {
+            if (value == null) {
+                sb.append("null");
+            } else {
+                sb.append('"');
+                escape(sb, value);
+                sb.append('"');
+            }
+            return this;
+        }
+
+        Buffer stackTrace(final Throwable thrown) {
+            sb.append('"');
+            thrown.printStackTrace(stackTraceWriter);
+            stackTraceWriter.flush();
+            sb.append('"');
+            return this;
+        }
+
+        Buffer number(final long value) {
+            sb.append(value);
+            return this;
+        }
+
+        Buffer raw(final String value) {
+            sb.append(value);
+            return this;
+        }
+
+        private Buffer begin(final char c) {
+            sb.append(c);
+            first[++depth] = true;
+            return this;
+        }
+
+        private Buffer end(final char c) {
+            final boolean empty = first[depth];
+            depth--;
+            if (pretty && !empty) {
+                newLine();
+            }
+            sb.append(c);
+            return this;
+        }
+
+        private void separate() {
+            if (first[depth]) {
+                first[depth] = false;
+            } else {
+                sb.append(',');
+            }
+            if (pretty) {
+                newLine();
+            }
+        }
+
+        private void newLine() {
+            sb.append('\n');
+            for (int i = 0; i < depth; i++) {
+                sb.append("    ");
+            }
+        }
+
+        /**
+         * Escapes what is written to it straight into the buffer, the stack trace is never copied into a string.
+         */
+        private final class EscapingWriter extends Writer {
+
+            @Override
+            public void write(final int c) {
+                escape(sb, (char) c);
+            }
+
+            @Override
+            public void write(final char[] cbuf, final int off, final int len) {
+                for (int i = off; i < off + len; i++) {
+                    escape(sb, cbuf[i]);
+                }
+            }
+
+            @Override
+            public void write(final String str, final int off, final int len) {
+                for (int i = off; i < off + len; i++) {
+                    escape(sb, str.charAt(i));
+                }
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        }
+    }
+}
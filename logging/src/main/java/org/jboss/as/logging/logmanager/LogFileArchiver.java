@@ -0,0 +1,548 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.logmanager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Field;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+import org.jboss.as.logging.logging.LoggingLogger;
+import org.jboss.logmanager.handlers.WriterHandler;
+
+/**
+ * Compresses the files rotated from a file handlers file and deletes the rotated files which are outside of the
+ * retention limits. This is done in the background, so neither happens on the thread which rotated the file.
+ * <p/>
+ * Only the names the handler rotates to are considered rotated files: the name of the handlers file followed by the
+ * date formatted with the handlers suffix, if it has one, and the backup index if the handler rotates on size. A
+ * rotated file is first moved to a work file, leaving the handler free to rotate again while the file is compressed.
+ * The compressed file is written to a second work file which is moved into place once complete, so a partially
+ * written file is never seen as an archive.
+ * <p/>
+ * The handler rotates while holding its output lock. The rotated files are listed, moved to work files and deleted
+ * while holding the same lock, so the handler never renames a file the archiver is working on. Only the compression
+ * happens without the lock, so the handler isn't blocked while a large file is compressed.
+ * <p/>
+ * A compressed file keeps the backup index of the file it was compressed from, e.g. {@code server.log.1} is
+ * compressed to {@code server.log.1.gz}. The handler only moves the files it wrote to the next index, so the
+ * compressed files are moved to the next index when newer files have been rotated and the ones past the max backup
+ * index are deleted.
+ */
+public final class LogFileArchiver {
+
+    /**
+     * The compression applied to rotated files.
+     */
+    public enum Compression {
+        NONE(null),
+        GZIP(".gz"),
+        ;
+
+        private final String extension;
+
+        Compression(final String extension) {
+            this.extension = extension;
+        }
+    }
+
+    /**
+     * The suffix of the files being compressed.
+     */
+    static final String WORK_SUFFIX = ".archiving";
+
+    /**
+     * How often, in seconds, the directory is checked for rotated files.
+     */
+    static final long INTERVAL = 10L;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final Map<String, LogFileArchiver> REGISTRY = new ConcurrentHashMap<>();
+    private static ScheduledExecutorService executor;
+    // The lock a WriterHandler holds while it writes a record, which is also when it rotates
+    private static final Field OUTPUT_LOCK = AccessController.doPrivileged((PrivilegedAction<Field>) () -> {
+        try {
+            final Field field = WriterHandler.class.getDeclaredField("outputLock");
+            field.setAccessible(true);
+            return field;
+        } catch (NoSuchFieldException | RuntimeException e) {
+            return null;
+        }
+    });
+
+    private Object rotationLock;
+    private Path file;
+    private Pattern rotatedFilePattern;
+    private int maxBackupIndex;
+    private Compression compression;
+    private long maxTotalSize;
+    private long maxAge;
+    private ScheduledFuture<?> future;
+
+    LogFileArchiver(final Handler handler, final Path file, final String suffix, final int maxBackupIndex, final Compression compression,
+                    final long maxTotalSize, final long maxAge) {
+        update(handler, file, suffix, maxBackupIndex, compression, maxTotalSize, maxAge);
+    }
+
+    /**
+     * Configures the archiving of the files rotated by a handler. If there is nothing to do, no compression and no
+     * retention limits, any archiving already configured for the handler is stopped.
+     *
+     * @param key            the key for the handler, e.g. the address of the handler resource
+     * @param handler        the handler which rotates the files or {@code null} if it's not known
+     * @param file           the file the handler writes to
+     * @param suffix         the date suffix the handler appends to rotated files or {@code null} if it has none
+     * @param maxBackupIndex the maximum backup index of the handler or {@code -1} if the handler does not rotate
+     *                       on size
+     * @param compression    the compression to apply to rotated files
+     * @param maxTotalSize   the maximum total size, in bytes, of the rotated files or {@code -1} for no limit
+     * @param maxAge         the maximum age, in milliseconds, of the rotated files or {@code -1} for no limit
+     */
+    public static synchronized void configure(final String key, final Handler handler, final Path file, final String suffix,
+                                              final int maxBackupIndex, final Compression compression, final long maxTotalSize,
+                                              final long maxAge) {
+        if (compression == Compression.NONE && maxTotalSize < 0L && maxAge < 0L) {
+            remove(key);
+            return;
+        }
+        LogFileArchiver archiver = REGISTRY.get(key);
+        if (archiver == null) {
+            archiver = new LogFileArchiver(handler, file, suffix, maxBackupIndex, compression, maxTotalSize, maxAge);
+            if (executor == null) {
+                executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                    final Thread thread = new Thread(r, "logging-file-archiver");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            archiver.future = executor.scheduleWithFixedDelay(archiver::run, 0L, INTERVAL, TimeUnit.SECONDS);
+            REGISTRY.put(key, archiver);
+        } else {
+            archiver.update(handler, file, suffix, maxBackupIndex, compression, maxTotalSize, maxAge);
+        }
+    }
+
+    /**
+     * Stops archiving the files rotated by a handler. Files already being compressed are completed.
+     *
+     * @param key the key for the handler
+     */
+    public static synchronized void remove(final String key) {
+        final LogFileArchiver archiver = REGISTRY.remove(key);
+        if (archiver != null) {
+            archiver.future.cancel(false);
+            if (REGISTRY.isEmpty()) {
+                executor.shutdown();
+                executor = null;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the file is a work file of an archiver, i.e. a file which is being compressed.
+     *
+     * @param file the file to check
+     *
+     * @return {@code true} if this is a work file, otherwise {@code false}
+     */
+    public static boolean isWorkFile(final Path file) {
+        return file.getFileName().toString().endsWith(WORK_SUFFIX);
+    }
+
+    private synchronized void update(final Handler handler, final Path file, final String suffix, final int maxBackupIndex,
+                                     final Compression compression, final long maxTotalSize, final long maxAge) {
+        this.rotationLock = rotationLock(handler);
+        this.file = file.toAbsolutePath();
+        this.rotatedFilePattern = rotatedFilePattern(this.file.getFileName().toString(), suffix, maxBackupIndex >= 0);
+        this.maxBackupIndex = maxBackupIndex;
+        this.compression = compression;
+        this.maxTotalSize = maxTotalSize;
+        this.maxAge = maxAge;
+    }
+
+    private synchronized void run() {
+        try {
+            archive();
+        } catch (IOException | RuntimeException e) {
+            LoggingLogger.ROOT_LOGGER.debugf(e, "Failed to archive the files rotated from %s", file);
+        }
+    }
+
+    /**
+     * Compresses the rotated files and deletes the files outside of the retention limits.
+     *
+     * @throws IOException if the directory could not be read
+     */
+    synchronized void archive() throws IOException {
+        final Path dir = file.getParent();
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        if (compression != Compression.NONE) {
+            final List<WorkFile> workFiles = new ArrayList<>();
+            synchronized (rotationLock) {
+                // Work files are left behind if the server stopped while compressing, resume them
+                for (RotatedName rotated : findRotatedFiles(dir)) {
+                    if (rotated.work) {
+                        if (rotated.extension != null) {
+                            // A partially written compressed file
+                            Files.deleteIfExists(rotated.path);
+                        } else {
+                            workFiles.add(new WorkFile(rotated.path, rotated.archiveName(), rotated.index >= 0));
+                        }
+                    }
+                }
+                moveRotatedFiles(dir, findRotatedFiles(dir), workFiles);
+            }
+            // The handler never rotates to the name of a work file, so it can rotate again while these are compressed
+            for (WorkFile workFile : workFiles) {
+                compress(dir, workFile);
+            }
+        }
+        if (maxTotalSize >= 0L || maxAge >= 0L) {
+            synchronized (rotationLock) {
+                applyRetention(findRotatedFiles(dir), maxTotalSize, maxAge);
+            }
+        }
+    }
+
+    private static Object rotationLock(final Handler handler) {
+        if (OUTPUT_LOCK != null && handler instanceof WriterHandler) {
+            try {
+                return OUTPUT_LOCK.get(handler);
+            } catch (IllegalAccessException ignore) {
+                // Archive without coordinating with the handler
+            }
+        }
+        return new Object();
+    }
+
+    /**
+     * Creates the pattern matching the names the handler rotates its file to, optionally compressed and optionally
+     * followed by the {@linkplain #WORK_SUFFIX work suffix}.
+     *
+     * @param name    the name of the handlers file
+     * @param suffix  the date suffix of the handler or {@code null} if it has none
+     * @param indexed {@code true} if the handler appends a backup index to the rotated files
+     *
+     * @return the pattern
+     */
+    static Pattern rotatedFilePattern(final String name, final String suffix, final boolean indexed) {
+        final StringBuilder regex = new StringBuilder("(?<base>").append(Pattern.quote(name));
+        if (suffix != null) {
+            regex.append(dateRegex(suffix));
+        }
+        regex.append(')');
+        if (indexed) {
+            regex.append("(?:\\.(?<index>\\d{1,9}))?");
+        }
+        regex.append("(?<extension>\\.gz|\\.zip)?(?<work>").append(Pattern.quote(WORK_SUFFIX)).append(")?");
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * Converts a {@link java.text.SimpleDateFormat} pattern to a regular expression. Each date or time field matches
+     * any letters and digits, the remaining characters match themselves.
+     */
+    private static String dateRegex(final String suffix) {
+        // The handler compresses the rotated file itself if the suffix ends with a compression extension
+        final String format = isCompressed(suffix) ? suffix.substring(0, suffix.lastIndexOf('.')) : suffix;
+        final StringBuilder result = new StringBuilder();
+        boolean quoted = false;
+        boolean field = false;
+        for (int i = 0; i < format.length(); i++) {
+            final char c = format.charAt(i);
+            if (c == '\'') {
+                if (i + 1 < format.length() && format.charAt(i + 1) == '\'') {
+                    result.append('\'');
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+                field = false;
+            } else if (!quoted && ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))) {
+                if (!field) {
+                    result.append("\\p{Alnum}+");
+                    field = true;
+                }
+            } else {
+                if (!Character.isLetterOrDigit(c)) {
+                    result.append('\\');
+                }
+                result.append(c);
+                field = false;
+            }
+        }
+        return result.toString();
+    }
+
+    private List<RotatedName> findRotatedFiles(final Path dir) throws IOException {
+        final String name = file.getFileName().toString();
+        final boolean indexed = maxBackupIndex >= 0;
+        final List<RotatedName> result = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path path : stream) {
+                final Matcher matcher = rotatedFilePattern.matcher(path.getFileName().toString());
+                if (!matcher.matches() || !Files.isRegularFile(path)) {
+                    continue;
+                }
+                final String base = matcher.group("base");
+                final String index = indexed ? matcher.group("index") : null;
+                if (index == null && base.equals(name)) {
+                    // The handlers file, or a file named after it which the handler did not rotate
+                    continue;
+                }
+                result.add(new RotatedName(path, base, index == null ? -1 : Integer.parseInt(index),
+                        matcher.group("extension"), matcher.group("work") != null));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Moves the rotated files which are not compressed yet to work files, adding them to the work files to compress.
+     */
+    private void moveRotatedFiles(final Path dir, final List<RotatedName> files, final List<WorkFile> workFiles) {
+        final Map<String, List<RotatedName>> indexed = new HashMap<>();
+        for (RotatedName rotated : files) {
+            if (rotated.work) {
+                continue;
+            }
+            if (rotated.index >= 0) {
+                indexed.computeIfAbsent(rotated.base, k -> new ArrayList<>()).add(rotated);
+            } else if (rotated.extension == null) {
+                moveToWorkFile(dir, rotated.path, rotated.archiveName(), false, workFiles);
+            }
+        }
+        for (List<RotatedName> backups : indexed.values()) {
+            moveBackups(dir, backups, workFiles);
+        }
+    }
+
+    /**
+     * Moves the uncompressed backups of a rotated file name to work files. The uncompressed files were rotated after
+     * the compressed files were written, so the compressed files are moved up one index for each uncompressed file.
+     */
+    private void moveBackups(final Path dir, final List<RotatedName> backups, final List<WorkFile> workFiles) {
+        final List<RotatedName> uncompressed = new ArrayList<>();
+        final List<RotatedName> compressed = new ArrayList<>();
+        for (RotatedName backup : backups) {
+            (backup.extension == null ? uncompressed : compressed).add(backup);
+        }
+        if (uncompressed.isEmpty()) {
+            return;
+        }
+        // Move the highest index first so no file is overwritten
+        compressed.sort(Comparator.comparingInt((RotatedName backup) -> backup.index).reversed());
+        for (RotatedName backup : compressed) {
+            final int index = backup.index + uncompressed.size();
+            if (index > maxBackupIndex) {
+                try {
+                    Files.deleteIfExists(backup.path);
+                } catch (IOException e) {
+                    LoggingLogger.ROOT_LOGGER.failedToDeleteLogFile(e, backup.path);
+                }
+            } else {
+                final Path target = dir.resolve(backup.base + "." + index + backup.extension);
+                try {
+                    Files.move(backup.path, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    LoggingLogger.ROOT_LOGGER.failedToRenameLogFile(e, backup.path, target);
+                }
+            }
+        }
+        uncompressed.sort(Comparator.comparingInt(backup -> backup.index));
+        int index = 1;
+        for (RotatedName backup : uncompressed) {
+            moveToWorkFile(dir, backup.path, backup.base + "." + index++, true, workFiles);
+        }
+    }
+
+    private static void moveToWorkFile(final Path dir, final Path rotated, final String archiveName, final boolean backup,
+                                       final List<WorkFile> workFiles) {
+        final Path work = dir.resolve(archiveName + WORK_SUFFIX);
+        try {
+            Files.move(rotated, work, StandardCopyOption.ATOMIC_MOVE);
+            workFiles.add(new WorkFile(work, archiveName, backup));
+        } catch (NoSuchFileException ignore) {
+            // Deleted since the directory was read
+        } catch (IOException e) {
+            LoggingLogger.ROOT_LOGGER.failedToCompressLogFile(e, rotated);
+        }
+    }
+
+    /**
+     * Compresses a work file to the archive name with the compression extension appended. A backup replaces an
+     * existing archive with the same name, which can only be left behind by a failed rename, so the name keeps its
+     * index.
+     */
+    private void compress(final Path dir, final WorkFile workFile) {
+        final String extension = compression.extension;
+        final Path work = workFile.path;
+        final String archiveName = workFile.archiveName;
+        final Path compressed = dir.resolve(archiveName + extension + WORK_SUFFIX);
+        try {
+            final FileTime lastModified = Files.getLastModifiedTime(work);
+            try (
+                    InputStream in = Files.newInputStream(work);
+                    OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed), BUFFER_SIZE)
+            ) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                int len;
+                while ((len = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, len);
+                }
+            }
+            // Keep the time of the original file so the retention limits are applied to the time it was rotated
+            Files.setLastModifiedTime(compressed, lastModified);
+            final Path target = workFile.backup ? dir.resolve(archiveName + extension) : uniquePath(dir, archiveName, extension);
+            Files.move(compressed, target, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(work);
+        } catch (IOException e) {
+            LoggingLogger.ROOT_LOGGER.failedToCompressLogFile(e, work);
+            try {
+                Files.deleteIfExists(compressed);
+            } catch (IOException ignore) {
+            }
+        }
+    }
+
+    private static void applyRetention(final List<RotatedName> rotated, final long maxTotalSize, final long maxAge) {
+        final List<RotatedFile> files = new ArrayList<>(rotated.size());
+        long totalSize = 0L;
+        for (RotatedName name : rotated) {
+            if (name.work) {
+                continue;
+            }
+            try {
+                final RotatedFile file = new RotatedFile(name.path, Files.size(name.path), Files.getLastModifiedTime(name.path).toMillis());
+                files.add(file);
+                totalSize += file.size;
+            } catch (NoSuchFileException ignore) {
+                // Deleted or rotated since the directory was read
+            } catch (IOException e) {
+                LoggingLogger.ROOT_LOGGER.failedToDeleteLogFile(e, name.path);
+            }
+        }
+        // Delete the oldest files first
+        files.sort(Comparator.comparingLong(f -> f.lastModified));
+        final long oldest = maxAge < 0L ? Long.MIN_VALUE : System.currentTimeMillis() - maxAge;
+        for (RotatedFile file : files) {
+            final boolean expired = file.lastModified < oldest;
+            final boolean oversized = maxTotalSize >= 0L && totalSize > maxTotalSize;
+            if (!expired && !oversized) {
+                // All remaining files are newer
+                break;
+            }
+            try {
+                Files.deleteIfExists(file.path);
+                totalSize -= file.size;
+            } catch (IOException e) {
+                LoggingLogger.ROOT_LOGGER.failedToDeleteLogFile(e, file.path);
+            }
+        }
+    }
+
+    private static Path uniquePath(final Path dir, final String baseName, final String extension) {
+        Path result = dir.resolve(baseName + extension);
+        int i = 1;
+        while (Files.exists(result)) {
+            result = dir.resolve(baseName + "-" + i++ + extension);
+        }
+        return result;
+    }
+
+    private static boolean isCompressed(final String name) {
+        return name.endsWith(".gz") || name.endsWith(".zip");
+    }
+
+    private static final class RotatedName {
+        private final Path path;
+        private final String base;
+        private final int index;
+        private final String extension;
+        private final boolean work;
+
+        private RotatedName(final Path path, final String base, final int index, final String extension, final boolean work) {
+            this.path = path;
+            this.base = base;
+            this.index = index;
+            this.extension = extension;
+            this.work = work;
+        }
+
+        /**
+         * Returns the name of the file without the compression extension or work suffix.
+         */
+        private String archiveName() {
+            return index < 0 ? base : base + "." + index;
+        }
+    }
+
+    private static final class WorkFile {
+        private final Path path;
+        private final String archiveName;
+        private final boolean backup;
+
+        private WorkFile(final Path path, final String archiveName, final boolean backup) {
+            this.path = path;
+            this.archiveName = archiveName;
+            this.backup = backup;
+        }
+    }
+
+    private static final class RotatedFile {
+        private final Path path;
+        private final long size;
+        private final long lastModified;
+
+        private RotatedFile(final Path path, final long size, final long lastModified) {
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+}
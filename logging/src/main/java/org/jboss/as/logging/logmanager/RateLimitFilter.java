@@ -0,0 +1,161 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.logmanager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.logmanager.ExtLogRecord;
+
+/**
+ * A filter which limits the number of records logged per second. The limit is applied to each logger separately
+ * unless {@linkplain #setPerLogger(boolean) per logger} is disabled.
+ * <p/>
+ * The limit is a token bucket holding up to {@linkplain #setBurst(int) burst} tokens which is refilled at
+ * {@linkplain #setMaxRate(int) max rate} tokens per second. Each record takes a token, records are rejected while the
+ * bucket is empty. The bucket is implemented as the time the bucket is full again, which is updated without locking.
+ */
+public class RateLimitFilter extends CountingFilter {
+
+    /**
+     * The default number of records per second.
+     */
+    public static final int DEFAULT_MAX_RATE = 10;
+
+    /**
+     * The maximum number of loggers tracked separately. Records from other loggers share a single limit.
+     */
+    private static final int MAX_LOGGERS = 1024;
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1L);
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong sharedBucket = new AtomicLong(System.nanoTime());
+    private volatile int maxRate = DEFAULT_MAX_RATE;
+    private volatile int burst = -1;
+    private volatile boolean perLogger = true;
+    private volatile long interval = NANOS_PER_SECOND / DEFAULT_MAX_RATE;
+    private volatile long tolerance = interval * (DEFAULT_MAX_RATE - 1);
+
+    @Override
+    boolean accept(final ExtLogRecord record) {
+        final long now = System.nanoTime();
+        final AtomicLong bucket = perLogger ? bucket(record.getLoggerName(), now) : sharedBucket;
+        final long interval = this.interval;
+        final long tolerance = this.tolerance;
+        long full;
+        long next;
+        do {
+            full = bucket.get();
+            // The bucket cannot hold more than the burst
+            next = (full - now < 0L ? now : full) + interval;
+            if (next - now > tolerance + interval) {
+                return false;
+            }
+        } while (!bucket.compareAndSet(full, next));
+        return true;
+    }
+
+    /**
+     * Returns the maximum number of records logged per second.
+     *
+     * @return the maximum rate
+     */
+    public int getMaxRate() {
+        return maxRate;
+    }
+
+    /**
+     * Sets the maximum number of records logged per second.
+     *
+     * @param maxRate the maximum rate, must be greater than 0
+     */
+    public void setMaxRate(final int maxRate) {
+        if (maxRate < 1) {
+            throw new IllegalArgumentException("The maximum rate must be greater than 0");
+        }
+        this.maxRate = maxRate;
+        update();
+    }
+
+    /**
+     * Returns the number of records which can be logged at once after no records were logged for a while.
+     *
+     * @return the burst
+     */
+    public int getBurst() {
+        final int burst = this.burst;
+        return burst < 1 ? maxRate : burst;
+    }
+
+    /**
+     * Sets the number of records which can be logged at once after no records were logged for a while. The default
+     * is the {@linkplain #setMaxRate(int) maximum rate}.
+     *
+     * @param burst the burst or a value less than 1 to use the maximum rate
+     */
+    public void setBurst(final int burst) {
+        this.burst = burst;
+        update();
+    }
+
+    /**
+     * Indicates whether the limit is applied to each logger separately.
+     *
+     * @return {@code true} if each logger has its own limit, {@code false} if all records share one limit
+     */
+    public boolean isPerLogger() {
+        return perLogger;
+    }
+
+    /**
+     * Sets whether the limit is applied to each logger separately. The default is {@code true}.
+     *
+     * @param perLogger {@code true} if each logger has its own limit, {@code false} if all records share one limit
+     */
+    public void setPerLogger(final boolean perLogger) {
+        this.perLogger = perLogger;
+    }
+
+    private AtomicLong bucket(final String loggerName, final long now) {
+        if (loggerName == null) {
+            return sharedBucket;
+        }
+        final AtomicLong bucket = buckets.get(loggerName);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= MAX_LOGGERS) {
+            return sharedBucket;
+        }
+        return buckets.computeIfAbsent(loggerName, name -> new AtomicLong(now));
+    }
+
+    private synchronized void update() {
+        final long interval = NANOS_PER_SECOND / maxRate;
+        tolerance = interval * (getBurst() - 1);
+        this.interval = interval;
+    }
+}
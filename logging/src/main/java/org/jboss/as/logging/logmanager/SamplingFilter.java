@@ -0,0 +1,68 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.logmanager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.logmanager.ExtLogRecord;
+
+/**
+ * A filter which accepts one in every {@linkplain #setSampleRate(int) sample rate} records.
+ */
+public class SamplingFilter extends CountingFilter {
+
+    /**
+     * The default sample rate.
+     */
+    public static final int DEFAULT_SAMPLE_RATE = 10;
+
+    private final AtomicLong count = new AtomicLong();
+    private volatile int sampleRate = DEFAULT_SAMPLE_RATE;
+
+    @Override
+    boolean accept(final ExtLogRecord record) {
+        return count.getAndIncrement() % sampleRate == 0L;
+    }
+
+    /**
+     * Returns the number of records for each record accepted.
+     *
+     * @return the sample rate
+     */
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Sets the number of records for each record accepted, i.e. a rate of 100 accepts one in 100 records. The first
+     * record is always accepted.
+     *
+     * @param sampleRate the sample rate, must be greater than 0
+     */
+    public void setSampleRate(final int sampleRate) {
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("The sample rate must be greater than 0");
+        }
+        this.sampleRate = sampleRate;
+    }
+}
@@ -50,6 +50,7 @@ import org.jboss.as.logging.formatters.CustomFormatterResourceDefinition;
 import org.jboss.as.logging.formatters.PatternFormatterResourceDefinition;
 import org.jboss.as.logging.handlers.AbstractHandlerDefinition;
 import org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition;
+import org.jboss.as.logging.handlers.BatchingAsyncHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.ConsoleHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.CustomHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.FileHandlerResourceDefinition;
@@ -91,6 +92,7 @@ public abstract class AbstractLoggingSubsystemTest extends AbstractSubsystemBase
 
     private static final String[] HANDLER_RESOURCE_KEYS = {
             AsyncHandlerResourceDefinition.NAME,
+            BatchingAsyncHandlerResourceDefinition.NAME,
             ConsoleHandlerResourceDefinition.NAME,
             CustomHandlerResourceDefinition.NAME,
             FileHandlerResourceDefinition.NAME,
@@ -19,15 +19,21 @@
 
 package org.jboss.as.logging;
 
+import static org.junit.Assert.assertEquals;
+
 import java.io.IOException;
 
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.client.helpers.Operations;
 import org.jboss.as.controller.client.helpers.Operations.CompositeOperationBuilder;
 import org.jboss.as.logging.filters.FilterResourceDefinition;
 import org.jboss.as.logging.loggers.LoggerAttributes;
+import org.jboss.as.logging.logmanager.SamplingFilter;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.SubsystemOperations;
 import org.jboss.dmr.ModelNode;
+import org.jboss.logmanager.LogContext;
+import org.jboss.logmanager.Logger;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -79,6 +85,12 @@ public class FilterOperationsTestCase extends AbstractOperationsTestCase {
         testHandlerFilter(PROFILE);
     }
 
+    @Test
+    public void testCountingFilterMetrics() {
+        testCountingFilterMetrics(null);
+        testCountingFilterMetrics(PROFILE);
+    }
+
     @Test
     public void testInvalidFilterNames() {
         executeOperationForFailure(kernelServices,
@@ -178,6 +190,48 @@ public class FilterOperationsTestCase extends AbstractOperationsTestCase {
         verifyRemoved(kernelServices, filterAddress);
     }
 
+    private void testCountingFilterMetrics(final String profileName) {
+        final CompositeOperationBuilder builder = CompositeOperationBuilder.create();
+
+        // The module defaults to the module of the subsystem for the filters it provides
+        final ModelNode filterAddress = createAddress(profileName, "filter", "sampling").toModelNode();
+        ModelNode op = SubsystemOperations.createAddOperation(filterAddress);
+        op.get("class").set(SamplingFilter.class.getName());
+        op.get("properties", "sampleRate").set("4");
+        builder.addStep(op);
+
+        final String loggerName = FilterOperationsTestCase.class.getName();
+        final ModelNode loggerAddress = createLoggerAddress(profileName, loggerName).toModelNode();
+        op = SubsystemOperations.createAddOperation(loggerAddress);
+        op.get("filter-spec").set("sampling");
+        builder.addStep(op);
+
+        executeOperation(kernelServices, builder.build().getOperation());
+        assertCount(filterAddress, FilterResourceDefinition.ACCEPTED_RECORD_COUNT, 0L);
+        assertCount(filterAddress, FilterResourceDefinition.REJECTED_RECORD_COUNT, 0L);
+
+        final LogContext logContext = profileName == null ? LogContext.getSystemLogContext() :
+                LoggingProfileContextSelector.getInstance().get(profileName);
+        final Logger logger = logContext.getLogger(loggerName);
+        for (int i = 0; i < 10; i++) {
+            logger.info("Test message " + i);
+        }
+        // The first record and every fourth record after it are accepted
+        assertCount(filterAddress, FilterResourceDefinition.ACCEPTED_RECORD_COUNT, 3L);
+        assertCount(filterAddress, FilterResourceDefinition.REJECTED_RECORD_COUNT, 7L);
+
+        final CompositeOperationBuilder removeBuilder = CompositeOperationBuilder.create();
+        removeBuilder.addStep(Operations.createRemoveOperation(loggerAddress));
+        removeBuilder.addStep(Operations.createRemoveOperation(filterAddress));
+        executeOperation(kernelServices, removeBuilder.build().getOperation());
+        verifyRemoved(kernelServices, filterAddress);
+    }
+
+    private void assertCount(final ModelNode address, final AttributeDefinition attribute, final long expected) {
+        final ModelNode result = executeOperation(kernelServices, SubsystemOperations.createReadAttributeOperation(address, attribute));
+        assertEquals(attribute.getName(), expected, SubsystemOperations.readResult(result).asLong());
+    }
+
     private void testFilterRemoveFailure(final String profileName) {
         CompositeOperationBuilder builder = CompositeOperationBuilder.create();
 
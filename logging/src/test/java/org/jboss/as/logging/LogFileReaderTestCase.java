@@ -0,0 +1,184 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests reading lines with the {@link LogFileReader}.
+ */
+public class LogFileReaderTestCase {
+
+    private Path file;
+    private List<String> lines;
+
+    @Before
+    public void createFile() throws IOException {
+        file = Files.createTempFile("log-file-reader", ".log");
+        lines = new ArrayList<>();
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    public void testTail() throws IOException {
+        append(50, "\n");
+        assertEquals(lines.subList(40, 50), LogFileReader.readLines(file, null, true, 0, 10));
+        assertEquals(lines.subList(25, 45), LogFileReader.readLines(file, null, true, 5, 20));
+        assertEquals(lines.subList(0, 45), LogFileReader.readLines(file, null, true, 5, -1));
+        assertEquals(lines.subList(0, 50), LogFileReader.readLines(file, null, true, 0, 100));
+        assertEquals(Collections.emptyList(), LogFileReader.readLines(file, null, true, 60, 10));
+        assertEquals(Collections.emptyList(), LogFileReader.readLines(file, null, true, 0, 0));
+    }
+
+    @Test
+    public void testReadFromStart() throws IOException {
+        append(50, "\n");
+        assertEquals(lines.subList(0, 10), LogFileReader.readLines(file, null, false, 0, 10));
+        assertEquals(lines.subList(5, 25), LogFileReader.readLines(file, null, false, 5, 20));
+        assertEquals(lines.subList(5, 50), LogFileReader.readLines(file, null, false, 5, -1));
+        assertEquals(Collections.emptyList(), LogFileReader.readLines(file, null, false, 60, 10));
+    }
+
+    @Test
+    public void testIndexedPaging() throws IOException {
+        final int interval = LogFileReader.INDEX_INTERVAL;
+        append(interval * 3, "\n");
+        assertEquals(lines.subList(interval * 2 + 5, interval * 2 + 15), LogFileReader.readLines(file, null, false, interval * 2 + 5, 10));
+        assertEquals(lines.subList(interval - 1, interval + 1), LogFileReader.readLines(file, null, false, interval - 1, 2));
+
+        // The index is extended as the file grows
+        append(interval * 2, "\n");
+        assertEquals(lines.subList(interval * 4, interval * 4 + 10), LogFileReader.readLines(file, null, false, interval * 4, 10));
+
+        // A file which was rewritten is indexed again
+        Files.delete(file);
+        lines.clear();
+        append(interval * 5, "\r\n");
+        assertEquals(lines.subList(interval * 4 + 3, interval * 4 + 6), LogFileReader.readLines(file, null, false, interval * 4 + 3, 3));
+    }
+
+    @Test
+    public void testTruncatedFileIsIndexedAgain() throws IOException {
+        final int interval = LogFileReader.INDEX_INTERVAL;
+        append(interval * 3, "\n");
+        assertEquals(lines.subList(interval * 2, interval * 2 + 2), LogFileReader.readLines(file, null, false, interval * 2, 2));
+
+        // The file is truncated in place, as a file handler which does not append would
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(0L);
+        }
+        lines.clear();
+        append(interval * 2, "\r\n");
+        assertEquals(lines.subList(interval + 1, interval + 3), LogFileReader.readLines(file, null, false, interval + 1, 2));
+    }
+
+    @Test
+    public void testFileTruncatedWhileOpen() throws IOException {
+        append(50, "\n");
+        try (LogFileReader reader = new LogFileReader(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(10L);
+            }
+            reader.byteAt(reader.size() - 1);
+            fail("Read past the end of the truncated file");
+        } catch (IOException expected) {
+        }
+        // The remaining content is still read
+        assertEquals(Collections.singletonList("Test messa"), LogFileReader.readLines(file, null, true, 0, 10));
+    }
+
+    @Test
+    public void testLastLineWithoutLineFeed() throws IOException {
+        append(5, "\n");
+        Files.write(file, "last".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        lines.add("last");
+        assertEquals(lines.subList(3, 6), LogFileReader.readLines(file, null, true, 0, 3));
+        assertEquals(lines.subList(4, 6), LogFileReader.readLines(file, null, false, 4, 10));
+    }
+
+    @Test
+    public void testMultiByteLineFeed() throws IOException {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            lines.add("Test message " + i);
+            content.append(lines.get(i)).append('\n');
+        }
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_16));
+        assertEquals(lines.subList(10, 15), LogFileReader.readLines(file, "UTF-16", true, 5, 5));
+        assertEquals(lines.subList(5, 10), LogFileReader.readLines(file, "UTF-16", false, 5, 5));
+    }
+
+    @Test
+    public void testOpenStream() throws IOException {
+        append(50, "\n");
+        assertEquals(lines.subList(40, 45), readStream(LogFileReader.openStream(file, true, 5, 5)));
+        assertEquals(lines.subList(10, 12), readStream(LogFileReader.openStream(file, false, 10, 2)));
+        assertEquals(lines, readStream(LogFileReader.openStream(file, false, 0, -1)));
+    }
+
+    private void append(final int count, final String lineSeparator) throws IOException {
+        final StringBuilder content = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            final String line = "Test message " + lines.size();
+            lines.add(line);
+            content.append(line).append(lineSeparator);
+        }
+        Files.write(file, content.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static List<String> readStream(final InputStream in) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            final byte[] buffer = new byte[512];
+            int len;
+            while ((len = in.read(buffer)) != -1) {
+                out.write(buffer, 0, len);
+            }
+        } finally {
+            in.close();
+        }
+        return Arrays.asList(new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n"));
+    }
+}
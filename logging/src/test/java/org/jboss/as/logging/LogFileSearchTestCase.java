@@ -0,0 +1,214 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.jboss.logmanager.Level;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests searching log files with the {@link LogFileSearch}.
+ */
+public class LogFileSearchTestCase {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss,SSS");
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 10, 0);
+
+    private Path dir;
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        dir = Files.createTempDirectory("log-file-search");
+        file = dir.resolve("server.log");
+    }
+
+    @After
+    public void deleteFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void testLevelIncludesFollowingLines() throws Exception {
+        write(file, 0, 10);
+        final List<String> found = lines(search(null, Level.ERROR, null, null, 100).search(Collections.singletonList(file), 0L));
+        // Every 5th record is an error with a stack trace line
+        assertEquals(Arrays.asList(line(0, "ERROR"), "\tat org.jboss.Test.method0", line(5, "ERROR"), "\tat org.jboss.Test.method5"), found);
+    }
+
+    @Test
+    public void testPatternAndTime() throws Exception {
+        write(file, 0, 100);
+        final LogFileSearch search = search(Pattern.compile("message 4\\d$"), null, START.plusSeconds(45), START.plusSeconds(48), 100);
+        assertEquals(Arrays.asList(line(45, "ERROR"), line(46, "INFO"), line(47, "INFO")), lines(search.search(Collections.singletonList(file), 0L)));
+    }
+
+    @Test
+    public void testContinuationAcrossRotatedFiles() throws Exception {
+        final Path rotated = dir.resolve("server.log.1");
+        write(rotated, 0, 20);
+        Files.setLastModifiedTime(rotated, FileTime.fromMillis(System.currentTimeMillis() - 60000L));
+        write(file, 20, 20);
+        final List<Path> files = LogFileSearch.findRotatedFiles(file);
+        assertEquals(Arrays.asList(rotated, file), files);
+
+        final LogFileSearch search = search(Pattern.compile("message"), null, null, null, 15);
+        final List<String> found = new ArrayList<>();
+        int first = 0;
+        long offset = 0L;
+        while (first < files.size()) {
+            final LogFileSearch.Result result = search.search(files.subList(first, files.size()), offset);
+            found.addAll(lines(result));
+            first += result.getNextFile();
+            offset = result.getNextOffset();
+        }
+        assertEquals(40, found.size());
+        for (int i = 0; i < 40; i++) {
+            assertEquals(line(i, i % 5 == 0 ? "ERROR" : "INFO"), found.get(i));
+        }
+    }
+
+    @Test
+    public void testChunks() throws Exception {
+        final int records = LogFileSearch.CHUNK_SIZE / 30;
+        write(file, 0, records);
+        final LogFileSearch.Result result = search(null, Level.ERROR, null, null, records).search(Collections.singletonList(file), 0L);
+        // Each error is followed by a stack trace line
+        assertEquals((records / 5) * 2, result.getMatches().size());
+        long previous = -1L;
+        for (LogFileSearch.Match match : result.getMatches()) {
+            assertTrue(match.getOffset() > previous);
+            previous = match.getOffset();
+        }
+        assertEquals(1, result.getNextFile());
+    }
+
+    @Test
+    public void testNoMatches() throws Exception {
+        write(file, 0, 10);
+        final LogFileSearch.Result result = search(Pattern.compile("not logged"), null, null, null, 100).search(Collections.singletonList(file), 0L);
+        assertEquals(0, result.getMatches().size());
+        assertEquals(1, result.getNextFile());
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        // Matching the pattern against the line takes exponential time
+        final StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 64; i++) {
+            line.append('a');
+        }
+        Files.write(file, line.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+        final LogFileSearch search = search(Pattern.compile("(a|aa)+\\1b"), null, null, null, 100);
+
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread thread = new Thread(() -> {
+            try {
+                search.search(Collections.singletonList(file), 0L);
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        thread.start();
+        Thread.sleep(100L);
+        thread.interrupt();
+        thread.join(10000L);
+        assertFalse(thread.isAlive());
+        assertTrue(String.valueOf(failure.get()), failure.get() instanceof InterruptedException);
+
+        // The threads searching the file stop matching the pattern
+        final long deadline = System.currentTimeMillis() + 10000L;
+        while (isSearching() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10L);
+        }
+        assertFalse(isSearching());
+
+        write(file, 0, 10);
+        final LogFileSearch.Result result = search(Pattern.compile("message"), null, null, null, 100).search(Collections.singletonList(file), 0L);
+        assertEquals(10, result.getMatches().size());
+    }
+
+    private static boolean isSearching() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("logging-file-search") && thread.getState() == Thread.State.RUNNABLE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static LogFileSearch search(final Pattern pattern, final Level level, final LocalDateTime from, final LocalDateTime to, final int maxResults) {
+        return new LogFileSearch(StandardCharsets.UTF_8, pattern, level, from, to, DATE_FORMAT, null, maxResults);
+    }
+
+    private static List<String> lines(final LogFileSearch.Result result) {
+        final List<String> lines = new ArrayList<>();
+        for (LogFileSearch.Match match : result.getMatches()) {
+            lines.add(match.getLine());
+        }
+        return lines;
+    }
+
+    private static void write(final Path path, final int first, final int count) throws IOException {
+        final StringBuilder content = new StringBuilder();
+        for (int i = first; i < first + count; i++) {
+            if (i % 5 == 0) {
+                content.append(line(i, "ERROR")).append('\n').append("\tat org.jboss.Test.method").append(i).append('\n');
+            } else {
+                content.append(line(i, "INFO")).append('\n');
+            }
+        }
+        Files.write(path, content.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String line(final int i, final String level) {
+        return String.format("%s %-5s [org.jboss.test] (main) message %d", DATE_FORMAT.format(START.plusSeconds(i)), level, i);
+    }
+}
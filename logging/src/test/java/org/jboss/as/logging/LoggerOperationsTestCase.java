@@ -33,9 +33,12 @@ import org.jboss.as.logging.handlers.AbstractHandlerDefinition;
 import org.jboss.as.logging.loggers.LoggerAttributes;
 import org.jboss.as.logging.loggers.LoggerResourceDefinition;
 import org.jboss.as.logging.loggers.RootLoggerResourceDefinition;
+import org.jboss.as.logging.logmanager.ConfigurationPersistence;
 import org.jboss.as.subsystem.test.KernelServices;
 import org.jboss.as.subsystem.test.SubsystemOperations;
 import org.jboss.dmr.ModelNode;
+import org.jboss.logmanager.Level;
+import org.jboss.logmanager.LogContext;
 import org.junit.Test;
 
 /**
@@ -66,6 +69,40 @@ public class LoggerOperationsTestCase extends AbstractOperationsTestCase {
         kernelServices.shutdown();
     }
 
+    @Test
+    public void testCompositeOperations() throws Exception {
+        final KernelServices kernelServices = boot();
+        final int count = 500;
+
+        // Add the loggers in a single operation, which should all be committed together
+        CompositeOperationBuilder builder = CompositeOperationBuilder.create();
+        for (int i = 0; i < count; i++) {
+            builder.addStep(OperationBuilder.createAddOperation(createLoggerAddress(null, "org.jboss.as.logging.composite" + i).toModelNode())
+                    .addAttribute(CommonAttributes.LEVEL, "DEBUG")
+                    .build());
+        }
+        executeOperation(kernelServices, builder.build().getOperation());
+        final LogContext logContext = LogContext.getLogContext();
+        for (int i = 0; i < count; i++) {
+            assertEquals(Level.DEBUG, logContext.getLogger("org.jboss.as.logging.composite" + i).getLevel());
+        }
+        compare(getSubsystemModel(kernelServices), ConfigurationPersistence.getConfigurationPersistence(logContext));
+
+        // Write the attributes in a single operation with a failing step, none of the changes should be committed
+        builder = CompositeOperationBuilder.create();
+        for (int i = 0; i < count; i++) {
+            builder.addStep(SubsystemOperations.createWriteAttributeOperation(createLoggerAddress(null, "org.jboss.as.logging.composite" + i).toModelNode(),
+                    CommonAttributes.LEVEL, "TRACE"));
+        }
+        builder.addStep(SubsystemOperations.createAddOperation(createLoggerAddress(null, "org.jboss.as.logging.composite0").toModelNode()));
+        executeOperationForFailure(kernelServices, builder.build().getOperation());
+        for (int i = 0; i < count; i++) {
+            assertEquals(Level.DEBUG, logContext.getLogger("org.jboss.as.logging.composite" + i).getLevel());
+        }
+
+        kernelServices.shutdown();
+    }
+
     private void testRootLogger(final KernelServices kernelServices, final String profileName) {
         final ModelNode address = createRootLoggerAddress(profileName).toModelNode();
         final ModelNode handlers = new ModelNode().setEmptyList().add("CONSOLE");
@@ -36,9 +36,18 @@ import java.util.regex.Pattern;
 
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.as.controller.operations.common.Util;
+import org.jboss.as.controller.transform.OperationTransformer;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescription;
+import org.jboss.as.controller.transform.description.TransformationDescriptionBuilder;
 import org.jboss.as.logging.handlers.AbstractHandlerDefinition;
 import org.jboss.as.logging.handlers.AsyncHandlerResourceDefinition;
+import org.jboss.as.logging.handlers.BatchingAsyncHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.ConsoleHandlerResourceDefinition;
 import org.jboss.as.logging.handlers.SyslogHandlerResourceDefinition;
 import org.jboss.as.logging.logmanager.ConfigurationPersistence;
@@ -72,7 +81,7 @@ public class LoggingSubsystemTestCase extends AbstractLoggingSubsystemTest {
 
     @Override
     protected String getSubsystemXsdPath() throws Exception {
-        return "schema/jboss-as-logging_8_0.xsd";
+        return "schema/jboss-as-logging_9_0.xsd";
     }
 
     @Test
@@ -164,6 +173,8 @@ public class LoggingSubsystemTestCase extends AbstractLoggingSubsystemTest {
                                 FailedOperationTransformationConfig.REJECTED_RESOURCE)
                         .addFailedAttribute(SUBSYSTEM_ADDRESS.append("socket-handler"),
                                 FailedOperationTransformationConfig.REJECTED_RESOURCE)
+                        .addFailedAttribute(SUBSYSTEM_ADDRESS.append(BatchingAsyncHandlerResourceDefinition.NAME),
+                                FailedOperationTransformationConfig.REJECTED_RESOURCE)
                         .addFailedAttribute(SUBSYSTEM_ADDRESS.append("syslog-handler"),
                                 new NewAttributesConfig(SyslogHandlerResourceDefinition.NAMED_FORMATTER))
                         .addFailedAttribute(loggingProfileAddress.append("socket-handler"),
@@ -195,6 +206,8 @@ public class LoggingSubsystemTestCase extends AbstractLoggingSubsystemTest {
                                 FailedOperationTransformationConfig.REJECTED_RESOURCE)
                         .addFailedAttribute(SUBSYSTEM_ADDRESS.append("socket-handler"),
                                 FailedOperationTransformationConfig.REJECTED_RESOURCE)
+                        .addFailedAttribute(SUBSYSTEM_ADDRESS.append(BatchingAsyncHandlerResourceDefinition.NAME),
+                                FailedOperationTransformationConfig.REJECTED_RESOURCE)
                         .addFailedAttribute(SUBSYSTEM_ADDRESS.append("syslog-handler"),
                                 new NewAttributesConfig(SyslogHandlerResourceDefinition.NAMED_FORMATTER))
                         .addFailedAttribute(SUBSYSTEM_ADDRESS.append(CommonAttributes.LOGGING_PROFILE).append("socket-handler"),
@@ -220,6 +233,8 @@ public class LoggingSubsystemTestCase extends AbstractLoggingSubsystemTest {
         // Test against current
         testEap7FailedTransformers(controllerVersion, modelVersion, readResource("/expressions.xml"),
                 new FailedOperationTransformationConfig()
+                        .addFailedAttribute(SUBSYSTEM_ADDRESS.append(BatchingAsyncHandlerResourceDefinition.NAME),
+                                FailedOperationTransformationConfig.REJECTED_RESOURCE)
                         .addFailedAttribute(SUBSYSTEM_ADDRESS.append("syslog-handler"),
                                 new NewAttributesConfig(SyslogHandlerResourceDefinition.NAMED_FORMATTER))
                         .addFailedAttribute(SUBSYSTEM_ADDRESS.append(CommonAttributes.LOGGING_PROFILE).append("syslog-handler"),
@@ -230,6 +245,21 @@ public class LoggingSubsystemTestCase extends AbstractLoggingSubsystemTest {
                                 FailedOperationTransformationConfig.REJECTED_RESOURCE));
     }
 
+    @Test
+    public void testRejectBatchingAsyncHandler() throws Exception {
+        // No legacy controller ships the 9.0.0 model, so check the transformation description for that step directly
+        final PathElement loggingProfilePath = PathElement.pathElement(CommonAttributes.LOGGING_PROFILE);
+        final PathElement handlerPath = PathElement.pathElement(BatchingAsyncHandlerResourceDefinition.NAME);
+        final ResourceTransformationDescriptionBuilder subsystemBuilder = TransformationDescriptionBuilder.Factory.createSubsystemInstance();
+        final ResourceTransformationDescriptionBuilder loggingProfileBuilder = subsystemBuilder.addChildResource(loggingProfilePath);
+        BatchingAsyncHandlerResourceDefinition.INSTANCE.registerTransformers(KnownModelVersion.VERSION_9_0_0, subsystemBuilder, loggingProfileBuilder);
+        final TransformationDescription description = subsystemBuilder.build();
+
+        assertRejected(findChild(description, handlerPath), SUBSYSTEM_ADDRESS.append(BatchingAsyncHandlerResourceDefinition.NAME, "batching"));
+        assertRejected(findChild(findChild(description, loggingProfilePath), handlerPath),
+                SUBSYSTEM_ADDRESS.append(CommonAttributes.LOGGING_PROFILE, "test-profile").append(BatchingAsyncHandlerResourceDefinition.NAME, "batching"));
+    }
+
     private void testEap7Transformer(final ModelTestControllerVersion controllerVersion, final ModelVersion legacyModelVersion, final String subsystemXml, final ModelFixer... modelFixers) throws Exception {
         final KernelServicesBuilder builder = createKernelServicesBuilder(LoggingTestEnvironment.getManagementInstance())
                 .setSubsystemXml(subsystemXml);
@@ -313,6 +343,25 @@ public class LoggingSubsystemTestCase extends AbstractLoggingSubsystemTest {
         ModelTestUtils.checkFailedTransformedBootOperations(mainServices, legacyModelVersion, ops, config);
     }
 
+    private static TransformationDescription findChild(final TransformationDescription description, final PathElement path) {
+        for (TransformationDescription child : description.getChildren()) {
+            if (path.equals(child.getPath())) {
+                return child;
+            }
+        }
+        Assert.fail(String.format("No transformation description found for %s", path));
+        return null;
+    }
+
+    private static void assertRejected(final TransformationDescription description, final PathAddress address) throws OperationFailedException {
+        final ModelNode op = Util.createAddOperation(address);
+        op.get(AsyncHandlerResourceDefinition.QUEUE_LENGTH.getName()).set(1024);
+        final OperationTransformer.TransformedOperation transformed = description.getOperationTransformer().transformOperation(null, address, op);
+        final ModelNode result = new ModelNode();
+        result.get(ModelDescriptionConstants.OUTCOME).set(ModelDescriptionConstants.SUCCESS);
+        Assert.assertTrue(String.format("Expected the add operation for %s to be rejected", address), transformed.rejectOperation(result));
+    }
+
     private static class ChainedModelFixer implements ModelFixer {
         private final ModelFixer[] modelFixers;
 
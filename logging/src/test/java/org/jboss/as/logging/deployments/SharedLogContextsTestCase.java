@@ -0,0 +1,121 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.deployments;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+
+import org.jboss.logmanager.LogContext;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SharedLogContextsTestCase {
+
+    @Test
+    public void testKey() {
+        final String key = SharedLogContexts.key("logger.level=INFO".getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(key, SharedLogContexts.key("logger.level=INFO".getBytes(StandardCharsets.UTF_8)));
+        Assert.assertNotEquals(key, SharedLogContexts.key("logger.level=DEBUG".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testIsShareable() {
+        final Properties properties = createProperties();
+        Assert.assertTrue(SharedLogContexts.isShareable(properties));
+
+        // A type from a module does not depend on the deployment
+        properties.setProperty("formatter.CUSTOM", "org.example.DeploymentFormatter");
+        properties.setProperty("formatter.CUSTOM.module", "org.example");
+        Assert.assertTrue(SharedLogContexts.isShareable(properties));
+
+        // A type which can only be loaded from the deployment
+        properties.setProperty("handler.CUSTOM", "org.example.DeploymentHandler");
+        Assert.assertFalse(SharedLogContexts.isShareable(properties));
+    }
+
+    @Test
+    public void testAcquireAndRelease() {
+        final SharedLogContexts sharedLogContexts = new SharedLogContexts();
+        final Properties properties = createProperties();
+        final String key = SharedLogContexts.key("test".getBytes(StandardCharsets.UTF_8));
+
+        final SharedLogContexts.Entry first = sharedLogContexts.acquire(key, properties);
+        Assert.assertNotNull(first.getLogContext());
+        Assert.assertNotNull(first.getConfiguration());
+        Assert.assertTrue(first.getConfiguration().getHandlerNames().contains("CONSOLE"));
+
+        final SharedLogContexts.Entry second = sharedLogContexts.acquire(key, properties);
+        Assert.assertSame(first, second);
+        Assert.assertSame(first.getLogContext(), second.getLogContext());
+
+        final SharedLogContexts.Entry other = sharedLogContexts.acquire(SharedLogContexts.key("other".getBytes(StandardCharsets.UTF_8)), properties);
+        Assert.assertNotSame(first.getLogContext(), other.getLogContext());
+
+        // The log context is only replaced once all references have been released
+        sharedLogContexts.release(first);
+        Assert.assertSame(second, sharedLogContexts.acquire(key, properties));
+        sharedLogContexts.release(second);
+        sharedLogContexts.release(second);
+        Assert.assertNotSame(first, sharedLogContexts.acquire(key, properties));
+    }
+
+    @Test
+    public void testDeploymentsGetTheirOwnLogContext() {
+        final SharedLogContexts sharedLogContexts = new SharedLogContexts();
+        final SharedLogContexts.Entry entry = sharedLogContexts.acquire(SharedLogContexts.key("test".getBytes(StandardCharsets.UTF_8)), createProperties());
+        final LogContext first = entry.createLogContext();
+        final LogContext second = entry.createLogContext();
+        Assert.assertNotSame(first, second);
+        Assert.assertNotSame(entry.getLogContext(), first);
+
+        // The handlers are only created once
+        final Handler[] handlers = entry.getLogContext().getLogger("").getHandlers();
+        Assert.assertEquals(1, handlers.length);
+        Assert.assertArrayEquals(handlers, first.getLogger("").getHandlers());
+        Assert.assertArrayEquals(handlers, second.getLogger("").getHandlers());
+        Assert.assertEquals(Level.INFO, first.getLogger("").getLevel());
+
+        // A deployment changing its loggers does not change the loggers of other deployments
+        first.getLogger("").setLevel(Level.FINE);
+        first.getLogger("").clearHandlers();
+        Assert.assertEquals(Level.INFO, second.getLogger("").getLevel());
+        Assert.assertArrayEquals(handlers, second.getLogger("").getHandlers());
+        Assert.assertEquals(Level.INFO, entry.getLogContext().getLogger("").getLevel());
+        Assert.assertArrayEquals(handlers, entry.getLogContext().getLogger("").getHandlers());
+        sharedLogContexts.release(entry);
+    }
+
+    private static Properties createProperties() {
+        final Properties properties = new Properties();
+        properties.setProperty("logger.level", "INFO");
+        properties.setProperty("logger.handlers", "CONSOLE");
+        properties.setProperty("handler.CONSOLE", "org.jboss.logmanager.handlers.ConsoleHandler");
+        properties.setProperty("handler.CONSOLE.formatter", "PATTERN");
+        properties.setProperty("formatter.PATTERN", "org.jboss.logmanager.formatters.PatternFormatter");
+        properties.setProperty("formatter.PATTERN.properties", "pattern");
+        properties.setProperty("formatter.PATTERN.pattern", "%s%n");
+        return properties;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.logmanager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.jboss.as.logging.logmanager.BatchingAsyncHandler.WaitStrategy;
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.handlers.AsyncHandler.OverflowAction;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BatchingAsyncHandlerTestCase {
+
+    private BatchingAsyncHandler handler;
+
+    @After
+    public void closeHandler() {
+        if (handler != null) {
+            handler.close();
+        }
+    }
+
+    @Test
+    public void testRecordsPublishedInOrder() throws Exception {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            final CollectingHandler collector = new CollectingHandler();
+            handler = new BatchingAsyncHandler(16);
+            handler.setWaitStrategy(waitStrategy);
+            handler.setMaxBatchSize(4);
+            handler.addHandler(collector);
+
+            final int threads = 4;
+            final int perThread = 500;
+            final List<Thread> publishers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final String prefix = t + ":";
+                publishers.add(new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        handler.publish(createRecord(prefix + i));
+                    }
+                }));
+            }
+            publishers.forEach(Thread::start);
+            for (Thread publisher : publishers) {
+                publisher.join();
+            }
+            handler.close();
+
+            final List<String> messages = collector.getMessages();
+            Assert.assertEquals(waitStrategy.name(), threads * perThread, messages.size());
+            // Records from a single thread must keep their order
+            final int[] next = new int[threads];
+            for (String message : messages) {
+                final int thread = Integer.parseInt(message.substring(0, message.indexOf(':')));
+                final int index = Integer.parseInt(message.substring(message.indexOf(':') + 1));
+                Assert.assertEquals(message, next[thread]++, index);
+            }
+            Assert.assertEquals(0L, handler.getDroppedRecordCount());
+            Assert.assertTrue(handler.getAverageBatchSize() <= 4D);
+            Assert.assertEquals(handler.getBatchCount(), collector.flushes.get());
+        }
+    }
+
+    @Test
+    public void testDiscard() throws Exception {
+        final CountDownLatch publishing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CollectingHandler collector = new CollectingHandler() {
+            @Override
+            public void publish(final LogRecord record) {
+                publishing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.publish(record);
+            }
+        };
+        handler = new BatchingAsyncHandler(2);
+        handler.setOverflowAction(OverflowAction.DISCARD);
+        handler.addHandler(collector);
+
+        // The first record blocks the handler thread
+        handler.publish(createRecord("blocked"));
+        Assert.assertTrue(publishing.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 5; i++) {
+            handler.publish(createRecord("queued" + i));
+        }
+        Assert.assertEquals(2, handler.getQueueSize());
+        Assert.assertEquals(3L, handler.getDroppedRecordCount());
+
+        release.countDown();
+        handler.close();
+        Assert.assertEquals(3, collector.getMessages().size());
+        Assert.assertEquals(0, handler.getQueueSize());
+    }
+
+    @Test
+    public void testRegistry() {
+        handler = new BatchingAsyncHandler();
+        handler.setAddress("/subsystem=logging/batching-async-handler=test");
+        Assert.assertSame(handler, BatchingAsyncHandler.forAddress("/subsystem=logging/batching-async-handler=test"));
+        handler.close();
+        Assert.assertNull(BatchingAsyncHandler.forAddress("/subsystem=logging/batching-async-handler=test"));
+    }
+
+    private static ExtLogRecord createRecord(final String message) {
+        return new ExtLogRecord(Level.INFO, message, BatchingAsyncHandlerTestCase.class.getName());
+    }
+
+    private static class CollectingHandler extends Handler {
+        private final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+        private final AtomicInteger flushes = new AtomicInteger();
+
+        @Override
+        public void publish(final LogRecord record) {
+            messages.add(record.getMessage());
+        }
+
+        @Override
+        public void flush() {
+            flushes.incrementAndGet();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        List<String> getMessages() {
+            synchronized (messages) {
+                return new ArrayList<>(messages);
+            }
+        }
+    }
+}
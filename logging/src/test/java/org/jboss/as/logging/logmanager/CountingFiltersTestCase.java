@@ -0,0 +1,183 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.logmanager;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.LogContext;
+import org.jboss.logmanager.Logger;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CountingFiltersTestCase {
+
+    @Test
+    public void testRateLimit() {
+        final RateLimitFilter filter = new RateLimitFilter();
+        filter.setMaxRate(1);
+        filter.setBurst(5);
+        Assert.assertEquals(5, count(filter, "a", "message", 20));
+        // Each logger has its own limit
+        Assert.assertEquals(5, count(filter, "b", "message", 20));
+        Assert.assertEquals(10L, filter.getAcceptedRecordCount());
+        Assert.assertEquals(30L, filter.getRejectedRecordCount());
+
+        final RateLimitFilter shared = new RateLimitFilter();
+        shared.setMaxRate(1);
+        shared.setBurst(5);
+        shared.setPerLogger(false);
+        Assert.assertEquals(5, count(shared, "a", "message", 20));
+        Assert.assertEquals(0, count(shared, "b", "message", 20));
+    }
+
+    @Test
+    public void testSampling() {
+        final SamplingFilter filter = new SamplingFilter();
+        filter.setSampleRate(10);
+        Assert.assertEquals(10, count(filter, "a", "message", 100));
+        Assert.assertEquals(90L, filter.getRejectedRecordCount());
+    }
+
+    @Test
+    public void testDuplicateMessages() throws Exception {
+        final DuplicateMessageFilter filter = new DuplicateMessageFilter();
+        filter.setWindow(100L);
+        Assert.assertEquals(1, count(filter, "a", "message", 10));
+        Assert.assertEquals(1, count(filter, "b", "message", 10));
+        Assert.assertEquals(1, count(filter, "a", "other", 10));
+        Assert.assertEquals(27L, filter.getRejectedRecordCount());
+
+        Thread.sleep(150L);
+        final List<LogRecord> summaries = new CopyOnWriteArrayList<>();
+        final Handler handler = new CollectingHandler(summaries);
+        final Logger logger = LogContext.getLogContext().getLogger("a");
+        logger.addHandler(handler);
+        try {
+            final ExtLogRecord record = createRecord("a", "message");
+            Assert.assertTrue(filter.isLoggable(record));
+            Assert.assertEquals("The accepted record should not be changed", "message", record.getMessage());
+            Assert.assertEquals(ExtLogRecord.FormatStyle.MESSAGE_FORMAT, record.getFormatStyle());
+        } finally {
+            logger.removeHandler(handler);
+        }
+        Assert.assertEquals(1, summaries.size());
+        final String summary = summaries.get(0).getMessage();
+        Assert.assertTrue(summary, summary.startsWith("message") && summary.contains("9"));
+
+        // Once the limit is reached further messages are not tracked
+        filter.setMaxMessages(1);
+        Assert.assertEquals(10, count(filter, "c", "message", 10));
+    }
+
+    @Test
+    public void testDuplicateMessagesSummaryInOwnLogContext() throws Exception {
+        final DuplicateMessageFilter filter = new DuplicateMessageFilter();
+        filter.setWindow(100L);
+        // Configured by the subsystem, so the filter belongs to the system log context
+        filter.setAddress("/subsystem=logging/filter=duplicates");
+        final List<LogRecord> ownSummaries = new CopyOnWriteArrayList<>();
+        final List<LogRecord> callerSummaries = new CopyOnWriteArrayList<>();
+        final Handler ownHandler = new CollectingHandler(ownSummaries);
+        final Handler callerHandler = new CollectingHandler(callerSummaries);
+        final LogContext callerContext = LogContext.create();
+        callerContext.getLogger("a").addHandler(callerHandler);
+        LogContext.getSystemLogContext().getLogger("a").addHandler(ownHandler);
+        // The records are logged by a thread which selects another log context, e.g. a deployment
+        LogContext.setLogContextSelector(() -> callerContext);
+        try {
+            Assert.assertEquals(1, count(filter, "a", "message", 10));
+            Thread.sleep(150L);
+            Assert.assertTrue(filter.isLoggable(createRecord("a", "message")));
+        } finally {
+            LogContext.setLogContextSelector(LogContext.DEFAULT_LOG_CONTEXT_SELECTOR);
+            LogContext.getSystemLogContext().getLogger("a").removeHandler(ownHandler);
+            filter.setAddress(null);
+            callerContext.close();
+        }
+        Assert.assertEquals(1, ownSummaries.size());
+        Assert.assertEquals(0, callerSummaries.size());
+    }
+
+    @Test
+    public void testDuplicateMessagesExpired() throws Exception {
+        final DuplicateMessageFilter filter = new DuplicateMessageFilter();
+        filter.setWindow(100L);
+        filter.setMaxMessages(1);
+        Assert.assertEquals(1, count(filter, "a", "first", 10));
+        // Other messages are not tracked until the first message has expired
+        Assert.assertEquals(10, count(filter, "a", "second", 10));
+        Thread.sleep(150L);
+        Assert.assertEquals(1, count(filter, "a", "second", 10));
+    }
+
+    @Test
+    public void testAddress() {
+        final SamplingFilter filter = new SamplingFilter();
+        filter.setAddress("/subsystem=logging/filter=sampling");
+        Assert.assertSame(filter, CountingFilter.forAddress("/subsystem=logging/filter=sampling"));
+        filter.setAddress(null);
+        Assert.assertNull(CountingFilter.forAddress("/subsystem=logging/filter=sampling"));
+    }
+
+    private static int count(final CountingFilter filter, final String loggerName, final String message, final int records) {
+        int accepted = 0;
+        for (int i = 0; i < records; i++) {
+            if (filter.isLoggable(createRecord(loggerName, message))) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    private static class CollectingHandler extends Handler {
+        private final List<LogRecord> records;
+
+        private CollectingHandler(final List<LogRecord> records) {
+            this.records = records;
+        }
+
+        @Override
+        public void publish(final LogRecord record) {
+            records.add(record);
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static ExtLogRecord createRecord(final String loggerName, final String message) {
+        final ExtLogRecord record = new ExtLogRecord(Level.WARNING, message, CountingFiltersTestCase.class.getName());
+        record.setLoggerName(loggerName);
+        return record;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.logmanager;
+
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.logging.Level;
+import javax.json.Json;
+import javax.json.JsonArray;
+import javax.json.JsonObject;
+import javax.json.JsonReader;
+
+import org.jboss.logmanager.ExtLogRecord;
+import org.jboss.logmanager.formatters.JsonFormatter;
+import org.jboss.logmanager.formatters.StructuredFormatter.ExceptionOutputType;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GarbageFreeJsonFormatterTestCase {
+
+    @Test
+    public void testSameOutputAsJsonFormatter() {
+        final JsonFormatter expectedFormatter = new JsonFormatter("message=msg,logger-name=logger");
+        expectedFormatter.setMetaData("env=test,app=a\\,b");
+        final GarbageFreeJsonFormatter formatter = new GarbageFreeJsonFormatter("message=msg,logger-name=logger");
+        formatter.setMetaData("env=test,app=a\\,b");
+
+        final ExtLogRecord record = createRecord("Test \"quoted\"\n\ttab \u0001 message");
+        record.setMdc(Collections.singletonMap("mdc\"key", "mdc value"));
+        record.setNdc("ndc");
+        Assert.assertEquals(parse(expectedFormatter.format(record)), parse(formatter.format(record)));
+
+        // Format again to ensure the reused buffer and cached timestamp produce the same result
+        Assert.assertEquals(parse(expectedFormatter.format(record)), parse(formatter.format(record)));
+    }
+
+    @Test
+    public void testPrettyPrint() {
+        final GarbageFreeJsonFormatter formatter = new GarbageFreeJsonFormatter();
+        final ExtLogRecord record = createRecord("pretty");
+        record.setThrown(new IllegalStateException("failed", new RuntimeException("cause")));
+        final JsonObject compact = parse(formatter.format(record));
+        formatter.setPrettyPrint(true);
+        final String pretty = formatter.format(record);
+        Assert.assertTrue(pretty.contains("\n    \"message\": \"pretty\""));
+        Assert.assertEquals(compact, parse(pretty));
+    }
+
+    @Test
+    public void testException() {
+        final GarbageFreeJsonFormatter formatter = new GarbageFreeJsonFormatter();
+        formatter.setExceptionOutputType(ExceptionOutputType.DETAILED_AND_FORMATTED);
+        final IllegalStateException e = new IllegalStateException("failed", new RuntimeException("cause"));
+        e.addSuppressed(new IllegalArgumentException("suppressed"));
+        final ExtLogRecord record = createRecord("exception");
+        record.setThrown(e);
+
+        // Format twice so the second pass uses the cached frames
+        formatter.format(record);
+        final JsonObject json = parse(formatter.format(record));
+        final StringWriter stackTrace = new StringWriter();
+        e.printStackTrace(new PrintWriter(stackTrace));
+        Assert.assertEquals(stackTrace.toString(), json.getString("stackTrace"));
+
+        final JsonObject exception = json.getJsonObject("exception");
+        Assert.assertEquals(1, exception.getInt("refId"));
+        Assert.assertEquals(IllegalStateException.class.getName(), exception.getString("exceptionType"));
+        Assert.assertEquals("failed", exception.getString("message"));
+
+        final JsonArray frames = exception.getJsonArray("frames");
+        Assert.assertEquals(e.getStackTrace().length, frames.size());
+        final JsonObject frame = frames.getJsonObject(0);
+        Assert.assertEquals(e.getStackTrace()[0].getClassName(), frame.getString("class"));
+        Assert.assertEquals(e.getStackTrace()[0].getMethodName(), frame.getString("method"));
+        Assert.assertEquals(e.getStackTrace()[0].getLineNumber(), frame.getInt("line"));
+
+        final JsonObject cause = exception.getJsonObject("causedBy").getJsonObject("exception");
+        Assert.assertEquals(2, cause.getInt("refId"));
+        Assert.assertEquals("cause", cause.getString("message"));
+
+        final JsonObject suppressed = exception.getJsonArray("suppressed").getJsonObject(0).getJsonObject("exception");
+        Assert.assertEquals(IllegalArgumentException.class.getName(), suppressed.getString("exceptionType"));
+    }
+
+    @Test
+    public void testDeepCauseChain() {
+        final GarbageFreeJsonFormatter formatter = new GarbageFreeJsonFormatter();
+        Throwable e = new RuntimeException("cause 0");
+        for (int i = 1; i < 100; i++) {
+            e = new RuntimeException("cause " + i, e);
+            e.addSuppressed(new IllegalArgumentException("suppressed " + i));
+        }
+        final ExtLogRecord record = createRecord("deep");
+        record.setThrown(e);
+
+        // Both outputs must be valid JSON, with the causes nested too deeply left out
+        for (boolean prettyPrint : new boolean[] {false, true}) {
+            formatter.setPrettyPrint(prettyPrint);
+            JsonObject exception = parse(formatter.format(record)).getJsonObject("exception");
+            int causes = 0;
+            while (exception.containsKey("causedBy")) {
+                exception = exception.getJsonObject("causedBy").getJsonObject("exception");
+                Assert.assertEquals("cause " + (99 - ++causes), exception.getString("message"));
+            }
+            Assert.assertTrue(causes > 0);
+            Assert.assertTrue(causes < 99);
+        }
+    }
+
+    private static ExtLogRecord createRecord(final String msg) {
+        final ExtLogRecord record = new ExtLogRecord(Level.INFO, msg, ExtLogRecord.FormatStyle.NO_FORMAT,
+                GarbageFreeJsonFormatterTestCase.class.getName());
+        record.setLoggerName("org.jboss.as.logging.test");
+        return record;
+    }
+
+    private static JsonObject parse(final String json) {
+        try (JsonReader reader = Json.createReader(new StringReader(json))) {
+            return reader.readObject();
+        }
+    }
+}
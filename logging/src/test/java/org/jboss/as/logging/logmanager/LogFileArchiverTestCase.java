@@ -0,0 +1,255 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.logging.logmanager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.jboss.as.logging.logmanager.LogFileArchiver.Compression;
+import org.jboss.logmanager.handlers.WriterHandler;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LogFileArchiverTestCase {
+
+    private static final String SUFFIX = ".yyyy-MM-dd";
+
+    private Path dir;
+    private Path file;
+
+    @Before
+    public void createDirectory() throws IOException {
+        dir = Files.createTempDirectory("log-file-archiver");
+        file = dir.resolve("server.log");
+        Files.write(file, "current\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path p : files.collect(Collectors.toList())) {
+                Files.delete(p);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    @Test
+    public void testCompress() throws IOException {
+        final Path rotated = dir.resolve("server.log.2020-01-01");
+        Files.write(rotated, "rotated line 1\nrotated line 2\n".getBytes(StandardCharsets.UTF_8));
+        final FileTime lastModified = FileTime.fromMillis(TimeUnit.SECONDS.toMillis(Files.getLastModifiedTime(rotated).to(TimeUnit.SECONDS)) - 60000L);
+        Files.setLastModifiedTime(rotated, lastModified);
+
+        new LogFileArchiver(null, file, SUFFIX, -1, Compression.GZIP, -1L, -1L).archive();
+
+        final Path compressed = dir.resolve("server.log.2020-01-01.gz");
+        Assert.assertTrue(Files.exists(compressed));
+        Assert.assertFalse(Files.exists(rotated));
+        Assert.assertEquals(lastModified, Files.getLastModifiedTime(compressed));
+        Assert.assertEquals("rotated line 1\nrotated line 2\n", decompress(compressed));
+        Assert.assertEquals("current\n", new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        Assert.assertEquals(2, list().size());
+
+        // Archiving again should not compress the compressed file
+        new LogFileArchiver(null, file, SUFFIX, -1, Compression.GZIP, -1L, -1L).archive();
+        Assert.assertEquals(2, list().size());
+    }
+
+    @Test
+    public void testResumeInterruptedCompression() throws IOException {
+        final Path work = dir.resolve("server.log.2020-01-01" + LogFileArchiver.WORK_SUFFIX);
+        Files.write(work, "rotated\n".getBytes(StandardCharsets.UTF_8));
+        final Path partial = dir.resolve("server.log.2020-01-01.gz" + LogFileArchiver.WORK_SUFFIX);
+        Files.write(partial, new byte[] {1, 2, 3});
+
+        new LogFileArchiver(null, file, SUFFIX, -1, Compression.GZIP, -1L, -1L).archive();
+
+        Assert.assertFalse(Files.exists(work));
+        Assert.assertFalse(Files.exists(partial));
+        Assert.assertEquals("rotated\n", decompress(dir.resolve("server.log.2020-01-01.gz")));
+    }
+
+    @Test
+    public void testMaxTotalSize() throws IOException {
+        final long now = System.currentTimeMillis();
+        for (int i = 1; i <= 4; i++) {
+            final Path rotated = dir.resolve("server.log.2020-01-0" + i);
+            Files.write(rotated, new byte[100]);
+            Files.setLastModifiedTime(rotated, FileTime.fromMillis(now - TimeUnit.DAYS.toMillis(5 - i)));
+        }
+
+        new LogFileArchiver(null, file, SUFFIX, -1, Compression.NONE, 250L, -1L).archive();
+
+        // The oldest files are deleted first, the current file is never deleted
+        Assert.assertFalse(Files.exists(dir.resolve("server.log.2020-01-01")));
+        Assert.assertFalse(Files.exists(dir.resolve("server.log.2020-01-02")));
+        Assert.assertTrue(Files.exists(dir.resolve("server.log.2020-01-03")));
+        Assert.assertTrue(Files.exists(dir.resolve("server.log.2020-01-04")));
+        Assert.assertTrue(Files.exists(file));
+    }
+
+    @Test
+    public void testMaxAge() throws IOException {
+        final long now = System.currentTimeMillis();
+        final Path old = dir.resolve("server.log.2020-01-01");
+        Files.write(old, new byte[10]);
+        Files.setLastModifiedTime(old, FileTime.fromMillis(now - TimeUnit.DAYS.toMillis(3)));
+        final Path recent = dir.resolve("server.log.2020-01-02");
+        Files.write(recent, new byte[10]);
+        Files.setLastModifiedTime(recent, FileTime.fromMillis(now - TimeUnit.HOURS.toMillis(1)));
+        final Path other = dir.resolve("other.log.2020-01-01");
+        Files.write(other, new byte[10]);
+        Files.setLastModifiedTime(other, FileTime.fromMillis(now - TimeUnit.DAYS.toMillis(3)));
+
+        new LogFileArchiver(null, file, SUFFIX, -1, Compression.NONE, -1L, TimeUnit.DAYS.toMillis(2)).archive();
+
+        Assert.assertFalse(Files.exists(old));
+        Assert.assertTrue(Files.exists(recent));
+        Assert.assertTrue("Files not rotated from the handlers file should not be deleted", Files.exists(other));
+    }
+
+    @Test
+    public void testCompressBackups() throws IOException {
+        // Each rotation moves the compressed files up one index, the ones past the max backup index are deleted
+        for (int i = 1; i <= 4; i++) {
+            Files.write(dir.resolve("server.log.1"), ("rotated " + i + "\n").getBytes(StandardCharsets.UTF_8));
+            new LogFileArchiver(null, file, null, 3, Compression.GZIP, -1L, -1L).archive();
+        }
+
+        Assert.assertEquals("rotated 4\n", decompress(dir.resolve("server.log.1.gz")));
+        Assert.assertEquals("rotated 3\n", decompress(dir.resolve("server.log.2.gz")));
+        Assert.assertEquals("rotated 2\n", decompress(dir.resolve("server.log.3.gz")));
+        Assert.assertEquals(4, list().size());
+
+        // The handler rotated twice before the files were compressed
+        Files.write(dir.resolve("server.log.1"), "rotated 6\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(dir.resolve("server.log.2"), "rotated 5\n".getBytes(StandardCharsets.UTF_8));
+        new LogFileArchiver(null, file, null, 3, Compression.GZIP, -1L, -1L).archive();
+
+        Assert.assertEquals("rotated 6\n", decompress(dir.resolve("server.log.1.gz")));
+        Assert.assertEquals("rotated 5\n", decompress(dir.resolve("server.log.2.gz")));
+        Assert.assertEquals("rotated 4\n", decompress(dir.resolve("server.log.3.gz")));
+        Assert.assertEquals(4, list().size());
+    }
+
+    @Test
+    public void testWaitsForRotation() throws Exception {
+        final TestHandler handler = new TestHandler();
+        final LogFileArchiver archiver = new LogFileArchiver(handler, file, null, 3, Compression.GZIP, -1L, -1L);
+        Files.write(dir.resolve("server.log.1"), "rotated 1\n".getBytes(StandardCharsets.UTF_8));
+
+        final Thread thread;
+        synchronized (handler.getOutputLock()) {
+            // The handler is rotating, the archiver must not move the backups until it's done
+            thread = new Thread(() -> {
+                try {
+                    archiver.archive();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            thread.start();
+            thread.join(500L);
+            Assert.assertTrue(thread.isAlive());
+            Files.move(dir.resolve("server.log.1"), dir.resolve("server.log.2"));
+            Files.write(dir.resolve("server.log.1"), "rotated 2\n".getBytes(StandardCharsets.UTF_8));
+        }
+        thread.join();
+
+        Assert.assertEquals("rotated 2\n", decompress(dir.resolve("server.log.1.gz")));
+        Assert.assertEquals("rotated 1\n", decompress(dir.resolve("server.log.2.gz")));
+        Assert.assertEquals(3, list().size());
+    }
+
+    @Test
+    public void testOnlyRotatedFiles() throws IOException {
+        final long old = System.currentTimeMillis() - TimeUnit.DAYS.toMillis(3);
+        final String[] names = {
+                "server.log.2020-01-01", "server.log.2020-01-02.1", "server.log.2020-01-03.gz", "server.log.1",
+                "server.log.1.gz", "server.log.bak", "server.log.gz", "server.log-old", "server.logs.2020-01-01",
+        };
+        for (String name : names) {
+            final Path path = dir.resolve(name);
+            Files.write(path, new byte[10]);
+            Files.setLastModifiedTime(path, FileTime.fromMillis(old));
+        }
+
+        // A periodic handler only rotates to the date suffix
+        new LogFileArchiver(null, file, SUFFIX, -1, Compression.NONE, -1L, TimeUnit.DAYS.toMillis(2)).archive();
+        Assert.assertFalse(Files.exists(dir.resolve("server.log.2020-01-01")));
+        Assert.assertFalse(Files.exists(dir.resolve("server.log.2020-01-03.gz")));
+        Assert.assertEquals(8, list().size());
+
+        // A size handler without a suffix only rotates to the backup index
+        new LogFileArchiver(null, file, null, 1, Compression.NONE, -1L, TimeUnit.DAYS.toMillis(2)).archive();
+        Assert.assertFalse(Files.exists(dir.resolve("server.log.1")));
+        Assert.assertFalse(Files.exists(dir.resolve("server.log.1.gz")));
+
+        // A periodic size handler rotates to the date suffix followed by the backup index
+        new LogFileArchiver(null, file, SUFFIX, 1, Compression.NONE, -1L, TimeUnit.DAYS.toMillis(2)).archive();
+        Assert.assertFalse(Files.exists(dir.resolve("server.log.2020-01-02.1")));
+
+        for (String name : new String[] {"server.log", "server.log.bak", "server.log.gz", "server.log-old", "server.logs.2020-01-01"}) {
+            Assert.assertTrue("Files not rotated by the handler should not be deleted: " + name, Files.exists(dir.resolve(name)));
+        }
+        Assert.assertEquals(5, list().size());
+    }
+
+    private List<Path> list() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.collect(Collectors.toList());
+        }
+    }
+
+    private static String decompress(final Path path) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[512];
+            int len;
+            while ((len = in.read(buffer)) != -1) {
+                out.write(buffer, 0, len);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static class TestHandler extends WriterHandler {
+        Object getOutputLock() {
+            return outputLock;
+        }
+    }
+}
@@ -162,6 +162,17 @@ public interface SocketBindingManager {
      */
     int getPortOffset();
 
+    /**
+     * Runs a task which starts accepting connections on a socket binding, such as creating a server that listens on it.
+     * The task is run immediately, unless the server was started in standby mode, in which case it is run when the
+     * server is first resumed.
+     *
+     * @param task the task, which must not block
+     */
+    default void runWhenActive(Runnable task) {
+        task.run();
+    }
+
     /**
      * Get the named binding registry.
      *
@@ -129,6 +129,7 @@ public class CommandLineConstants {
     public static final String START_MODE = "--start-mode";
     public static final String NORMAL_MODE = "normal";
     public static final String SUSPEND_MODE = "suspend";
+    public static final String STANDBY_MODE = "standby";
     public static final String ADMIN_ONLY_MODE = "admin-only";
 
 
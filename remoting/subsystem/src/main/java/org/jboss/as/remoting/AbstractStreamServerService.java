@@ -21,6 +21,7 @@
 */
 package org.jboss.as.remoting;
 
+import java.io.IOException;
 import java.net.BindException;
 import java.net.InetSocketAddress;
 
@@ -69,10 +70,16 @@ abstract class AbstractStreamServerService implements Service {
     private final Supplier<SSLContext> sslContextSupplier;
     private final Supplier<SocketBindingManager> socketBindingManagerSupplier;
     private final OptionMap connectorPropertiesOptionMap;
+    private final boolean deferUntilActive;
 
     private volatile AcceptingChannel<StreamConnection> streamServer;
     private volatile ManagedBinding managedBinding;
 
+    /**
+     * Identifies the current start, so a listen deferred by a previous start does nothing. Guarded by {@code this}.
+     */
+    private Object activation;
+
     AbstractStreamServerService(
             final Consumer<AcceptingChannel<StreamConnection>> streamServerConsumer,
             final Supplier<Endpoint> endpointSupplier,
@@ -80,7 +87,8 @@ abstract class AbstractStreamServerService implements Service {
             final Supplier<SaslAuthenticationFactory> saslAuthenticationFactorySupplier,
             final Supplier<SSLContext> sslContextSupplier,
             final Supplier<SocketBindingManager> socketBindingManagerSupplier,
-            final OptionMap connectorPropertiesOptionMap) {
+            final OptionMap connectorPropertiesOptionMap,
+            final boolean deferUntilActive) {
         this.streamServerConsumer = streamServerConsumer;
         this.endpointSupplier = endpointSupplier;
         this.securityRealmSupplier = securityRealmSupplier;
@@ -88,6 +96,7 @@ abstract class AbstractStreamServerService implements Service {
         this.sslContextSupplier = sslContextSupplier;
         this.socketBindingManagerSupplier = socketBindingManagerSupplier;
         this.connectorPropertiesOptionMap = connectorPropertiesOptionMap;
+        this.deferUntilActive = deferUntilActive;
     }
 
     @Override
@@ -156,13 +165,25 @@ abstract class AbstractStreamServerService implements Service {
                     .setSecurityDomain(domainBuilder.build())
                     .build();
             }
-            streamServer = networkServerProvider.createServer(getSocketAddress(), resultingMap, factory, sslContext);
-            streamServerConsumer.accept(streamServer);
-            SocketBindingManager sbm = socketBindingManagerSupplier != null ? socketBindingManagerSupplier.get() : null;
-            if (sbm != null) {
-                managedBinding = registerSocketBinding(sbm);
+            final Object activation = new Object();
+            synchronized (this) {
+                this.activation = activation;
+            }
+            final SocketBindingManager sbm = socketBindingManagerSupplier != null ? socketBindingManagerSupplier.get() : null;
+            if (deferUntilActive && sbm != null) {
+                // a server in standby mode only starts listening once it is resumed
+                final SaslAuthenticationFactory saslAuthenticationFactory = factory;
+                final SSLContext finalSslContext = sslContext;
+                sbm.runWhenActive(() -> {
+                    try {
+                        listen(activation, networkServerProvider, resultingMap, saslAuthenticationFactory, finalSslContext, sbm);
+                    } catch (IOException e) {
+                        RemotingLogger.ROOT_LOGGER.couldNotListen(NetworkUtils.formatAddress(getSocketAddress()), e);
+                    }
+                });
+            } else {
+                listen(activation, networkServerProvider, resultingMap, factory, sslContext, sbm);
             }
-            RemotingLogger.ROOT_LOGGER.listeningOnSocket(NetworkUtils.formatAddress(getSocketAddress()));
 
         } catch (BindException e) {
             throw RemotingLogger.ROOT_LOGGER.couldNotBindToSocket(e.getMessage() + " " + NetworkUtils.formatAddress(getSocketAddress()), e);
@@ -171,14 +192,31 @@ abstract class AbstractStreamServerService implements Service {
         }
     }
 
+    private synchronized void listen(final Object activation, final NetworkServerProvider networkServerProvider, final OptionMap optionMap,
+                                     final SaslAuthenticationFactory factory, final SSLContext sslContext, final SocketBindingManager sbm) throws IOException {
+        if (this.activation != activation) {
+            // stopped before the server was activated
+            return;
+        }
+        streamServer = networkServerProvider.createServer(getSocketAddress(), optionMap, factory, sslContext);
+        streamServerConsumer.accept(streamServer);
+        if (sbm != null) {
+            managedBinding = registerSocketBinding(sbm);
+        }
+        RemotingLogger.ROOT_LOGGER.listeningOnSocket(NetworkUtils.formatAddress(getSocketAddress()));
+    }
+
     @Override
-    public void stop(final StopContext context) {
+    public synchronized void stop(final StopContext context) {
+        activation = null;
         streamServerConsumer.accept(null);
         IoUtils.safeClose(streamServer);
         SocketBindingManager sbm = socketBindingManagerSupplier != null ? socketBindingManagerSupplier.get() : null;
         if (sbm != null && managedBinding != null) {
             unregisterSocketBinding(managedBinding, sbm);
         }
+        streamServer = null;
+        managedBinding = null;
     }
 
     abstract InetSocketAddress getSocketAddress();
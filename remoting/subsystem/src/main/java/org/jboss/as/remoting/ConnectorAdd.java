@@ -89,6 +89,6 @@ public class ConnectorAdd extends AbstractAddStepHandler {
         final ServiceName sbmName = context.getCapabilityServiceName(SOCKET_BINDING_MANAGER_CAPABILTIY, SocketBindingManager.class);
 
         RemotingServices.installConnectorServicesForSocketBinding(target, RemotingServices.SUBSYSTEM_ENDPOINT, connectorName,
-                socketBindingName, optionMap, securityRealmName, saslAuthenticationFactoryName, sslContextName, sbmName);
+                socketBindingName, optionMap, securityRealmName, saslAuthenticationFactoryName, sslContextName, sbmName, true);
     }
 }
@@ -59,7 +59,7 @@ final class InjectedNetworkBindingStreamServerService extends AbstractStreamServ
             final Supplier<NetworkInterfaceBinding> interfaceBindingSupplier,
             final OptionMap connectorPropertiesOptionMap, int port) {
         super(streamServerConsumer, endpointSupplier, securityRealmSupplier, saslAuthenticationFactorySupplier,
-                sslContextSupplier, socketBindingManagerSupplier, connectorPropertiesOptionMap);
+                sslContextSupplier, socketBindingManagerSupplier, connectorPropertiesOptionMap, false);
         this.interfaceBindingSupplier = interfaceBindingSupplier;
         this.port = port;
     }
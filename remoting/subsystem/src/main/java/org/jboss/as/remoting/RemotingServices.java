@@ -146,6 +146,26 @@ public class RemotingServices {
                                                                 final ServiceName saslAuthenticationFactory,
                                                                 final ServiceName sslContext,
                                                                 final ServiceName socketBindingManager) {
+        installConnectorServicesForSocketBinding(serviceTarget, endpointName, connectorName, socketBindingName, connectorPropertiesOptionMap,
+                securityRealm, saslAuthenticationFactory, sslContext, socketBindingManager, false);
+    }
+
+    /**
+     * Installs the services of a connector listening on a socket binding.
+     *
+     * @param deferUntilActive {@code true} if the connector should not start listening until the server is active,
+     *                         if it was started in standby mode
+     */
+    public static void installConnectorServicesForSocketBinding(final ServiceTarget serviceTarget,
+                                                                final ServiceName endpointName,
+                                                                final String connectorName,
+                                                                final ServiceName socketBindingName,
+                                                                final OptionMap connectorPropertiesOptionMap,
+                                                                final ServiceName securityRealm,
+                                                                final ServiceName saslAuthenticationFactory,
+                                                                final ServiceName sslContext,
+                                                                final ServiceName socketBindingManager,
+                                                                final boolean deferUntilActive) {
         final ServiceName serviceName = serverServiceName(connectorName);
         final ServiceBuilder<?> builder = serviceTarget.addService(serviceName);
         final Consumer<AcceptingChannel<StreamConnection>> streamServerConsumer = builder.provides(serviceName);
@@ -156,7 +176,7 @@ public class RemotingServices {
         final Supplier<SocketBindingManager> sbmSupplier = builder.requires(socketBindingManager);
         final Supplier<SocketBinding> sbSupplier = builder.requires(socketBindingName);
         builder.setInstance(new InjectedSocketBindingStreamServerService(streamServerConsumer,
-                eSupplier, srSupplier, safSupplier, scSupplier, sbmSupplier, sbSupplier, connectorPropertiesOptionMap));
+                eSupplier, srSupplier, safSupplier, scSupplier, sbmSupplier, sbSupplier, connectorPropertiesOptionMap, deferUntilActive));
         builder.install();
     }
 
@@ -22,6 +22,7 @@
 
 package org.jboss.as.remoting.logging;
 
+import static org.jboss.logging.Logger.Level.ERROR;
 import static org.jboss.logging.Logger.Level.INFO;
 
 import java.io.IOException;
@@ -130,4 +131,8 @@ public interface RemotingLogger extends BasicLogger {
 
     @Message(id = 28, value = "Invalid option '%s'.")
     OperationFailedException invalidOption(String message);
+
+    @LogMessage(level = ERROR)
+    @Message(id = 29, value = "Could not listen on %s")
+    void couldNotListen(String address, @Cause Throwable cause);
 }
@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A request limit that adapts to the measured request latency, using a gradient algorithm.
+ * <p/>
+ * The latency is measured without tracking individual requests, as a request may complete on a different thread
+ * to the one that began it. Each start subtracts the current time from a clock, and each completion adds it, so the
+ * growth of the clock plus the elapsed time of the requests still running is the total time spent by requests in the
+ * server. Dividing that by the number of requests completed in the same interval gives the average latency
+ * (Little's law).
+ * <p/>
+ * Each sample compares the short term latency to a long term average. While the short term latency stays close to
+ * the long term average the limit is allowed to grow, by roughly the square root of the limit. When the latency grows
+ * the limit is reduced in proportion, by at most half per sample. The limit is not increased while less than half of
+ * it is in use, as latency measured while the server is lightly loaded does not show how much more it can take.
+ */
+final class AdaptiveRequestLimit {
+
+    /**
+     * The initial limit if there is no configured maximum.
+     */
+    static final int DEFAULT_INITIAL_LIMIT = 1000;
+
+    /**
+     * How often the limit is recalculated, in milliseconds.
+     */
+    static final long SAMPLE_INTERVAL = 1000;
+
+    private static final int MIN_LIMIT = 1;
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final int LONG_WINDOW = 60;
+
+    private final LongSupplier nanoTime;
+
+    private volatile int maxLimit;
+
+    private final LongAdder clock = new LongAdder();
+    private final LongAdder completions = new LongAdder();
+
+    private volatile int limit;
+    private volatile long latency = -1;
+
+    // only accessed by the thread taking samples
+    private long lastTotal;
+    private long lastCompletions;
+    private double estimatedLimit;
+    private double longLatency = -1;
+
+    /**
+     * @param maxLimit the maximum the limit may grow to, or {@code -1} if it is unbounded
+     */
+    AdaptiveRequestLimit(final int maxLimit) {
+        this(maxLimit, System::nanoTime);
+    }
+
+    /**
+     * @param maxLimit the maximum the limit may grow to, or {@code -1} if it is unbounded
+     * @param nanoTime the source of the current time in nanoseconds
+     */
+    AdaptiveRequestLimit(final int maxLimit, final LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        this.maxLimit = maxLimit > 0 ? maxLimit : Integer.MAX_VALUE;
+        this.limit = maxLimit > 0 ? maxLimit : DEFAULT_INITIAL_LIMIT;
+        this.estimatedLimit = limit;
+    }
+
+    void requestStarted() {
+        clock.add(-nanoTime.getAsLong());
+    }
+
+    void requestFinished() {
+        clock.add(nanoTime.getAsLong());
+        completions.increment();
+    }
+
+    /**
+     * Changes the maximum the limit may grow to. The latency measured so far is kept, so this may be called while
+     * requests are running. If the current limit exceeds the new maximum it is lowered immediately.
+     *
+     * @param maxLimit the maximum the limit may grow to, or {@code -1} if it is unbounded
+     */
+    void setMaxLimit(final int maxLimit) {
+        final int newMaxLimit = maxLimit > 0 ? maxLimit : Integer.MAX_VALUE;
+        this.maxLimit = newMaxLimit;
+        if (limit > newMaxLimit) {
+            // sample() lowers its own estimate accordingly the next time it runs
+            limit = newMaxLimit;
+        }
+    }
+
+    /**
+     * @return the current limit
+     */
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the average latency measured by the last sample in nanoseconds, or {@code -1} if nothing was measured yet
+     */
+    long getLatency() {
+        return latency;
+    }
+
+    /**
+     * Samples the latency since the last call and recalculates the limit. Must not be called concurrently.
+     *
+     * @param active the number of requests currently running
+     */
+    void sample(final int active) {
+        final int maxLimit = this.maxLimit;
+        if (estimatedLimit > maxLimit) {
+            estimatedLimit = maxLimit;
+            limit = maxLimit;
+        }
+        final long now = nanoTime.getAsLong();
+        final long total = clock.sum() + (long) active * now;
+        final long completed = completions.sum();
+        final long elapsed = total - lastTotal;
+        final long count = completed - lastCompletions;
+        lastTotal = total;
+        lastCompletions = completed;
+        if (count <= 0 || elapsed <= 0) {
+            // nothing completed, so there is nothing to learn from this interval
+            return;
+        }
+        final double shortLatency = (double) elapsed / count;
+        latency = (long) shortLatency;
+
+        if (longLatency < 0) {
+            longLatency = shortLatency;
+            return;
+        }
+        longLatency = longLatency + (shortLatency - longLatency) / LONG_WINDOW;
+        if (longLatency / shortLatency > 2) {
+            // latency dropped a lot, e.g. after a slow start, so let the long term average catch up faster
+            longLatency *= 0.95;
+        }
+
+        if (active < estimatedLimit / 2) {
+            // the server is not using the limit, so the latency says nothing about raising it
+            return;
+        }
+
+        final double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longLatency / shortLatency));
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        newLimit = estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING;
+        estimatedLimit = Math.max(MIN_LIMIT, Math.min(maxLimit, newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -31,4 +31,26 @@ interface Constants {
     String MAX_REQUESTS = "max-requests";
     String ACTIVE_REQUESTS = "active-requests";
     String TRACK_INDIVIDUAL_ENDPOINTS = "track-individual-endpoints";
+    String ADAPTIVE_LIMIT = "adaptive-limit";
+    String EFFECTIVE_MAX_REQUESTS = "effective-max-requests";
+    String REQUEST_LATENCY = "request-latency";
+    String REJECTED_REQUESTS = "rejected-requests";
+    String PRIORITY_CLASS = "priority-class";
+    String WEIGHT = "weight";
+    String MAX_QUEUED_REQUESTS = "max-queued-requests";
+    String QUEUE_TIMEOUT = "queue-timeout";
+    String DEPLOYMENTS = "deployments";
+    String CONTROL_POINTS = "control-points";
+    String CONTROL_POINT = "control-point";
+    String DEPLOYMENT = "deployment";
+    String ENTRY_POINT = "entry-point";
+    String QUEUED_REQUESTS = "queued-requests";
+    String QUEUE_TIME_MEDIAN = "queue-time-median";
+    String QUEUE_TIME_90TH_PERCENTILE = "queue-time-90th-percentile";
+    String QUEUE_TIME_99TH_PERCENTILE = "queue-time-99th-percentile";
+    String REQUEST_COUNT = "request-count";
+    String TIMED_OUT_REQUESTS = "timed-out-requests";
+    String REQUEST_TIME_MEDIAN = "request-time-median";
+    String REQUEST_TIME_90TH_PERCENTILE = "request-time-90th-percentile";
+    String REQUEST_TIME_99TH_PERCENTILE = "request-time-99th-percentile";
 }
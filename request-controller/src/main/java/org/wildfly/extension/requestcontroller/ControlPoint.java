@@ -23,6 +23,9 @@ package org.wildfly.extension.requestcontroller;
 
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jboss.as.controller._private.LatencyHistogram;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.suspend.ServerActivityCallback;
 import java.util.concurrent.Executor;
@@ -43,12 +46,14 @@ import java.util.concurrent.Executor;
 public class ControlPoint {
 
     private static final AtomicIntegerFieldUpdater<ControlPoint> activeRequestCountUpdater = AtomicIntegerFieldUpdater.newUpdater(ControlPoint.class, "activeRequestCount");
+    private static final AtomicIntegerFieldUpdater<ControlPoint> queuedRequestCountUpdater = AtomicIntegerFieldUpdater.newUpdater(ControlPoint.class, "queuedRequestCount");
     private static final AtomicReferenceFieldUpdater<ControlPoint, ServerActivityCallback> listenerUpdater = AtomicReferenceFieldUpdater.newUpdater(ControlPoint.class, ServerActivityCallback.class, "listener");
 
     private final RequestController controller;
     private final String deployment;
     private final String entryPoint;
     private final boolean trackIndividualControlPoints;
+    private final PriorityClass priorityClass;
 
     /**
      * The number of active requests that are using this entry point
@@ -56,6 +61,37 @@ public class ControlPoint {
     @SuppressWarnings("unused")
     private volatile int activeRequestCount = 0;
 
+    /**
+     * The number of tasks queued via this entry point that have neither run nor timed out
+     */
+    @SuppressWarnings("unused")
+    private volatile int queuedRequestCount = 0;
+
+    /**
+     * The number of requests rejected, including queued tasks that were rejected or timed out
+     */
+    private final LongAdder rejectedRequestCount = new LongAdder();
+
+    /**
+     * The number of queued tasks that timed out, these are also counted as rejected
+     */
+    private final LongAdder timedOutRequestCount = new LongAdder();
+
+    /**
+     * The number of requests that completed
+     */
+    private final LongAdder completedRequestCount = new LongAdder();
+
+    /**
+     * The time requests took to complete
+     */
+    private final LatencyHistogram requestTimes = new LatencyHistogram();
+
+    /**
+     * The time queued tasks waited before they ran
+     */
+    private final LatencyHistogram queueTimes = new LatencyHistogram();
+
     /**
      * If this entry point is paused
      */
@@ -70,11 +106,12 @@ public class ControlPoint {
      */
     private int referenceCount = 0;
 
-    ControlPoint(RequestController controller, String deployment, String entryPoint, boolean trackIndividualControlPoints) {
+    ControlPoint(RequestController controller, String deployment, String entryPoint, boolean trackIndividualControlPoints, PriorityClass priorityClass) {
         this.controller = controller;
         this.deployment = deployment;
         this.entryPoint = entryPoint;
         this.trackIndividualControlPoints = trackIndividualControlPoints;
+        this.priorityClass = priorityClass;
     }
 
     public String getEntryPoint() {
@@ -122,10 +159,13 @@ public class ControlPoint {
      * task cannot be run, and its failure should be signaled back to the originator.
      * <p/>
      * If it returns {@code RUN} then the task should proceed as normal, and the {@link #requestComplete()} method
-     * must be called once the task is complete, usually via a try/finally construct.
+     * must be called once the task is complete, usually via a try/finally construct. To have the time of the request
+     * measured, read {@link System#nanoTime()} before calling this method and pass it to
+     * {@link #requestComplete(long)} instead.
      */
     public RunResult beginRequest() throws Exception {
         if (paused) {
+            rejectedRequestCount.increment();
             return RunResult.REJECTED;
         }
         if(trackIndividualControlPoints) {
@@ -133,6 +173,7 @@ public class ControlPoint {
         }
         RunResult runResult = controller.beginRequest(false);
         if (runResult == RunResult.REJECTED) {
+            rejectedRequestCount.increment();
             decreaseRequestCount();
         }
         return runResult;
@@ -158,11 +199,14 @@ public class ControlPoint {
 
     /**
      * Called when a queued task is executed.
+     *
+     * @return the time the request began, to pass to {@link #requestComplete(long)}
      */
-    void beginExistingRequest() {
+    long beginExistingRequest() {
         if(trackIndividualControlPoints) {
             activeRequestCountUpdater.incrementAndGet(this);
         }
+        return System.nanoTime();
     }
 
     /**
@@ -171,10 +215,22 @@ public class ControlPoint {
      * This cannot be done automatically when the handleRequest method completes, as some
      */
     public void requestComplete() {
+        completedRequestCount.increment();
         decreaseRequestCount();
         controller.requestComplete();
     }
 
+    /**
+     * Signifies that a request has finished, like {@link #requestComplete()}, and records the time it took. This can
+     * be called from any thread, as the begin time is carried with the request.
+     *
+     * @param beginTime the value of {@link System#nanoTime()} read before the request began
+     */
+    public void requestComplete(long beginTime) {
+        requestTimes.record((System.nanoTime() - beginTime) / 1000);
+        requestComplete();
+    }
+
     private void decreaseRequestCount() {
         if (trackIndividualControlPoints) {
             int result = activeRequestCountUpdater.decrementAndGet(this);
@@ -236,6 +292,87 @@ public class ControlPoint {
         return activeRequestCountUpdater.get(this);
     }
 
+    /**
+     * @return the number of tasks queued via this entry point that are waiting to run
+     */
+    public int getQueuedRequestCount() {
+        return queuedRequestCountUpdater.get(this);
+    }
+
+    /**
+     * @return the number of requests rejected via this entry point, including queued tasks that were rejected or
+     * timed out
+     */
+    public long getRejectedRequestCount() {
+        return rejectedRequestCount.sum();
+    }
+
+    /**
+     * Gets a percentile of the time that tasks queued via this entry point waited before they ran.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the time in microseconds, or {@code -1} if no queued task has run yet
+     */
+    public long getQueueTimePercentile(double percentile) {
+        return queueTimes.getPercentile(percentile);
+    }
+
+    /**
+     * @return the number of queued tasks of this entry point that timed out before they could run
+     */
+    public long getTimedOutRequestCount() {
+        return timedOutRequestCount.sum();
+    }
+
+    /**
+     * @return the number of requests via this entry point that completed
+     */
+    public long getCompletedRequestCount() {
+        return completedRequestCount.sum();
+    }
+
+    /**
+     * Gets a percentile of the time requests via this entry point took to complete. Only requests completed with
+     * {@link #requestComplete(long)} are measured.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the time in microseconds, or {@code -1} if no request was measured yet
+     */
+    public long getRequestTimePercentile(double percentile) {
+        return requestTimes.getPercentile(percentile);
+    }
+
+    void addRequestTimesTo(LatencyHistogram.Snapshot snapshot) {
+        snapshot.add(requestTimes);
+    }
+
+    void addQueueTimesTo(LatencyHistogram.Snapshot snapshot) {
+        snapshot.add(queueTimes);
+    }
+
+    PriorityClass getPriorityClass() {
+        return priorityClass;
+    }
+
+    void taskQueued() {
+        queuedRequestCountUpdater.incrementAndGet(this);
+    }
+
+    void queuedTaskRun(long queueTimeNanos) {
+        queuedRequestCountUpdater.decrementAndGet(this);
+        queueTimes.record(queueTimeNanos / 1000);
+    }
+
+    void queuedTaskRejected() {
+        rejectedRequestCount.increment();
+    }
+
+    void queuedTaskTimedOut() {
+        queuedRequestCountUpdater.decrementAndGet(this);
+        rejectedRequestCount.increment();
+        timedOutRequestCount.increment();
+    }
+
     synchronized int increaseReferenceCount() {
         return ++referenceCount;
     }
@@ -0,0 +1,143 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.as.controller._private.LatencyHistogram;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
+import org.jboss.dmr.ModelNode;
+
+/**
+ * The request metrics of a group of control points, such as all the entry points of a deployment.
+ */
+final class ControlPointMetrics {
+
+    private int activeRequests;
+    private int queuedRequests;
+    private long rejectedRequests;
+    private long timedOutRequests;
+    private long completedRequests;
+    private final LatencyHistogram.Snapshot requestTimes = new LatencyHistogram.Snapshot();
+    private final LatencyHistogram.Snapshot queueTimes = new LatencyHistogram.Snapshot();
+
+    /**
+     * Sums the metrics of the given control points.
+     */
+    static ControlPointMetrics of(final Iterable<ControlPoint> controlPoints) {
+        final ControlPointMetrics metrics = new ControlPointMetrics();
+        for (ControlPoint controlPoint : controlPoints) {
+            metrics.activeRequests += controlPoint.getActiveRequestCount();
+            metrics.queuedRequests += controlPoint.getQueuedRequestCount();
+            metrics.rejectedRequests += controlPoint.getRejectedRequestCount();
+            metrics.timedOutRequests += controlPoint.getTimedOutRequestCount();
+            metrics.completedRequests += controlPoint.getCompletedRequestCount();
+            controlPoint.addRequestTimesTo(metrics.requestTimes);
+            controlPoint.addQueueTimesTo(metrics.queueTimes);
+        }
+        return metrics;
+    }
+
+    /**
+     * Sums the metrics of a single control point.
+     */
+    static ControlPointMetrics of(final ControlPoint controlPoint) {
+        return of(Collections.singletonList(controlPoint));
+    }
+
+    /**
+     * Gets the control points of the given deployment.
+     *
+     * @param deployment the runtime name of the deployment, or {@code null} for all the control points
+     */
+    static List<ControlPoint> getControlPoints(final RequestController requestController, final String deployment) {
+        final List<ControlPoint> controlPoints = requestController.getControlPoints();
+        if (deployment == null) {
+            return controlPoints;
+        }
+        final List<ControlPoint> result = new ArrayList<>();
+        for (ControlPoint controlPoint : controlPoints) {
+            if (deployment.equals(controlPoint.getDeployment())) {
+                result.add(controlPoint);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the runtime name of the deployment whose request-controller resource is the target of the operation.
+     *
+     * @return the runtime name, or {@code null} if the target is the subsystem itself
+     */
+    static String getDeploymentName(final OperationContext context) {
+        final PathAddress address = context.getCurrentAddress();
+        if (!address.getElement(0).getKey().equals(ModelDescriptionConstants.DEPLOYMENT)) {
+            return null;
+        }
+        final ModelNode model = context.readResourceFromRoot(address.subAddress(0, 1), false).getModel();
+        return model.get(ModelDescriptionConstants.RUNTIME_NAME).asString();
+    }
+
+    /**
+     * Gets a metric by its attribute name.
+     *
+     * @return the value, which is undefined for a percentile if nothing was measured yet
+     */
+    ModelNode get(final String name) {
+        switch (name) {
+            case Constants.ACTIVE_REQUESTS:
+                return new ModelNode(activeRequests);
+            case Constants.QUEUED_REQUESTS:
+                return new ModelNode(queuedRequests);
+            case Constants.REJECTED_REQUESTS:
+                return new ModelNode(rejectedRequests);
+            case Constants.TIMED_OUT_REQUESTS:
+                return new ModelNode(timedOutRequests);
+            case Constants.REQUEST_COUNT:
+                return new ModelNode(completedRequests);
+            case Constants.REQUEST_TIME_MEDIAN:
+                return percentile(requestTimes, 50);
+            case Constants.REQUEST_TIME_90TH_PERCENTILE:
+                return percentile(requestTimes, 90);
+            case Constants.REQUEST_TIME_99TH_PERCENTILE:
+                return percentile(requestTimes, 99);
+            case Constants.QUEUE_TIME_MEDIAN:
+                return percentile(queueTimes, 50);
+            case Constants.QUEUE_TIME_90TH_PERCENTILE:
+                return percentile(queueTimes, 90);
+            case Constants.QUEUE_TIME_99TH_PERCENTILE:
+                return percentile(queueTimes, 99);
+            default:
+                throw new IllegalStateException(name);
+        }
+    }
+
+    private static ModelNode percentile(final LatencyHistogram.Snapshot snapshot, final double percentile) {
+        final long value = snapshot.getPercentile(percentile);
+        return value < 0 ? new ModelNode() : new ModelNode(value);
+    }
+}
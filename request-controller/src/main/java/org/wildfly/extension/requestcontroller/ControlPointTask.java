@@ -41,11 +41,11 @@ public final class ControlPointTask implements Runnable {
 
     @Override
     public void run() {
+        final long beginTime = controlPoint.beginExistingRequest();
         try {
-            controlPoint.beginExistingRequest();
             originalTask.run();
         } finally {
-            controlPoint.requestComplete();
+            controlPoint.requestComplete(beginTime);
         }
     }
 }
@@ -0,0 +1,72 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the request counts, request times and queue times of the control points that are in use, or of those of a
+ * deployment if the target is the request-controller resource of a deployment.
+ */
+class ControlPointsReadHandler extends AbstractRuntimeOnlyHandler {
+
+    private static final String[] METRICS = {Constants.ACTIVE_REQUESTS, Constants.QUEUED_REQUESTS, Constants.REJECTED_REQUESTS,
+            Constants.TIMED_OUT_REQUESTS, Constants.REQUEST_COUNT,
+            Constants.REQUEST_TIME_MEDIAN, Constants.REQUEST_TIME_90TH_PERCENTILE, Constants.REQUEST_TIME_99TH_PERCENTILE,
+            Constants.QUEUE_TIME_MEDIAN, Constants.QUEUE_TIME_90TH_PERCENTILE, Constants.QUEUE_TIME_99TH_PERCENTILE};
+
+    @Override
+    protected boolean requiresRuntime(OperationContext context) {
+        return true;
+    }
+
+    @Override
+    protected void executeRuntimeStep(OperationContext context, ModelNode operation) throws OperationFailedException {
+        ServiceController<?> service = context.getServiceRegistry(false).getService(RequestController.SERVICE_NAME);
+        if (service == null) {
+            return;
+        }
+        RequestController requestController = (RequestController) service.getService().getValue();
+        final String deployment = ControlPointMetrics.getDeploymentName(context);
+        ModelNode result = context.getResult().setEmptyList();
+        for (ControlPoint controlPoint : ControlPointMetrics.getControlPoints(requestController, deployment)) {
+            ModelNode node = new ModelNode();
+            node.get(Constants.DEPLOYMENT).set(controlPoint.getDeployment());
+            node.get(Constants.ENTRY_POINT).set(controlPoint.getEntryPoint());
+            node.get(Constants.PRIORITY_CLASS).set(controlPoint.getPriorityClass().getName());
+            final ControlPointMetrics metrics = ControlPointMetrics.of(controlPoint);
+            for (String metric : METRICS) {
+                // percentiles are left undefined until something was measured
+                final ModelNode value = metrics.get(metric);
+                if (value.isDefined()) {
+                    node.get(metric).set(value);
+                }
+            }
+            result.add(node);
+        }
+    }
+}
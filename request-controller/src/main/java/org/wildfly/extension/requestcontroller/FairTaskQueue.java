@@ -0,0 +1,144 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A queue that keeps a lock-free FIFO lane per {@link PriorityClass} and interleaves the lanes by weight. The lanes are
+ * visited in a fixed schedule in which every lane appears as often as its weight, spread out using smooth weighted round
+ * robin, and a shared cursor moves through the schedule on every poll. Slots of lanes that have no tasks are skipped,
+ * so a class that was idle cannot burst ahead of the others once it has tasks again.
+ * <p/>
+ * Offering and polling do not take a lock. Only adding the lane of a priority class that had no task queued before
+ * does, and it replaces the schedule rather than changing it.
+ *
+ * @param <T> the type of the queued tasks
+ */
+final class FairTaskQueue<T> {
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private volatile Schedule<T> schedule = new Schedule<>(Collections.emptyList());
+
+    boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    void offer(final PriorityClass priorityClass, final T task) {
+        // count the task before it can be polled, so the size never drops below zero
+        size.incrementAndGet();
+        lane(priorityClass).add(task);
+    }
+
+    /**
+     * Removes the next task, taking it from the lane of the next slot in the schedule that has a task.
+     *
+     * @return the next task, or {@code null} if the queue is empty
+     */
+    T poll() {
+        if (size.get() == 0) {
+            return null;
+        }
+        final List<Lane<T>> slots = schedule.slots;
+        final int length = slots.size();
+        if (length == 0) {
+            return null;
+        }
+        final int start = Math.floorMod(cursor.getAndIncrement(), length);
+        for (int i = 0; i < length; i++) {
+            final T task = slots.get((start + i) % length).tasks.poll();
+            if (task != null) {
+                size.decrementAndGet();
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private Queue<T> lane(final PriorityClass priorityClass) {
+        for (Lane<T> lane : schedule.lanes) {
+            if (lane.priorityClass == priorityClass) {
+                return lane.tasks;
+            }
+        }
+        return addLane(priorityClass);
+    }
+
+    private synchronized Queue<T> addLane(final PriorityClass priorityClass) {
+        final List<Lane<T>> lanes = new ArrayList<>(schedule.lanes);
+        for (Lane<T> lane : lanes) {
+            if (lane.priorityClass == priorityClass) {
+                return lane.tasks;
+            }
+        }
+        final Lane<T> lane = new Lane<>(priorityClass);
+        lanes.add(lane);
+        schedule = new Schedule<>(lanes);
+        return lane.tasks;
+    }
+
+    private static final class Schedule<T> {
+        private final List<Lane<T>> lanes;
+        private final List<Lane<T>> slots;
+
+        private Schedule(final List<Lane<T>> lanes) {
+            this.lanes = lanes;
+            int totalWeight = 0;
+            for (Lane<T> lane : lanes) {
+                totalWeight += lane.priorityClass.getWeight();
+            }
+            // smooth weighted round robin: credit every lane its weight and give the slot to the lane with the most credit
+            final List<Lane<T>> slots = new ArrayList<>(totalWeight);
+            final int[] credits = new int[lanes.size()];
+            for (int slot = 0; slot < totalWeight; slot++) {
+                int selected = -1;
+                for (int i = 0; i < credits.length; i++) {
+                    credits[i] += lanes.get(i).priorityClass.getWeight();
+                    if (selected < 0 || credits[i] > credits[selected]) {
+                        selected = i;
+                    }
+                }
+                credits[selected] -= totalWeight;
+                slots.add(lanes.get(selected));
+            }
+            this.slots = slots;
+        }
+    }
+
+    private static final class Lane<T> {
+        private final PriorityClass priorityClass;
+        private final Queue<T> tasks = new ConcurrentLinkedQueue<>();
+
+        private Lane(final PriorityClass priorityClass) {
+            this.priorityClass = priorityClass;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class of requests that share a weight, a queue limit and a queue timeout. Every control point belongs to exactly
+ * one priority class, which is chosen by the name of its deployment.
+ * <p/>
+ * When the request limit has been reached, queued tasks are run in proportion to the weight of their class, so a
+ * class with weight 4 gets four tasks run for every task of a class with weight 1 while both have tasks queued.
+ */
+final class PriorityClass {
+
+    /**
+     * The name of the class that control points belong to unless they are assigned to another class.
+     */
+    static final String DEFAULT = "default";
+
+    /**
+     * The highest weight of a class, which bounds the number of slots in the schedule of the task queue.
+     */
+    static final int MAX_WEIGHT = 100;
+
+    private final String name;
+    private final int weight;
+    private final int maxQueued;
+    private final long queueTimeout;
+
+    /**
+     * The number of tasks of this class that are queued and have neither run nor timed out
+     */
+    private final AtomicInteger queuedCount = new AtomicInteger();
+
+    /**
+     * @param name         the name of the class
+     * @param weight       the relative share of queued tasks run from this class, from 1 to {@link #MAX_WEIGHT}
+     * @param maxQueued    the maximum number of queued tasks, or {@code -1} if unbounded
+     * @param queueTimeout the maximum time in milliseconds a task may be queued, or {@code -1} to only use the timeout
+     *                     given when the task was queued
+     */
+    PriorityClass(final String name, final int weight, final int maxQueued, final long queueTimeout) {
+        this.name = name;
+        this.weight = Math.min(MAX_WEIGHT, Math.max(1, weight));
+        this.maxQueued = maxQueued;
+        this.queueTimeout = queueTimeout;
+    }
+
+    static PriorityClass createDefault() {
+        return new PriorityClass(DEFAULT, 1, -1, -1);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    int getWeight() {
+        return weight;
+    }
+
+    int getMaxQueued() {
+        return maxQueued;
+    }
+
+    long getQueueTimeout() {
+        return queueTimeout;
+    }
+
+    int getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    /**
+     * Reserves room for a queued task.
+     *
+     * @return {@code false} if the class already has the maximum number of tasks queued
+     */
+    boolean tryEnqueue() {
+        if (maxQueued < 0) {
+            queuedCount.incrementAndGet();
+            return true;
+        }
+        int queued;
+        do {
+            queued = queuedCount.get();
+            if (queued >= maxQueued) {
+                return false;
+            }
+        } while (!queuedCount.compareAndSet(queued, queued + 1));
+        return true;
+    }
+
+    /**
+     * Releases the room of a queued task that has run or timed out.
+     */
+    void dequeued() {
+        queuedCount.decrementAndGet();
+    }
+
+    /**
+     * Gets the time a task may stay queued, combining the timeout of this class with the one requested for the task.
+     *
+     * @param timeout the timeout requested for the task, in milliseconds
+     * @return the timeout to apply in milliseconds, or a value that is not positive if there is none
+     */
+    long effectiveTimeout(final long timeout) {
+        if (queueTimeout > 0 && (timeout <= 0 || queueTimeout < timeout)) {
+            return queueTimeout;
+        }
+        return timeout;
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.AttributeMarshaller;
+import org.jboss.as.controller.AttributeParser;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.PersistentResourceDefinition;
+import org.jboss.as.controller.ReloadRequiredAddStepHandler;
+import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
+import org.jboss.as.controller.SimpleAttributeDefinition;
+import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.SimpleResourceDefinition;
+import org.jboss.as.controller.StringListAttributeDefinition;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
+import org.jboss.as.controller.operations.validation.LongRangeValidator;
+import org.jboss.dmr.ModelNode;
+import org.jboss.dmr.ModelType;
+
+/**
+ * Defines a priority class, which sets the share of queued requests that are run for the deployments in it.
+ */
+class PriorityClassDefinition extends PersistentResourceDefinition {
+
+    static final PathElement PATH = PathElement.pathElement(Constants.PRIORITY_CLASS);
+
+    static final SimpleAttributeDefinition WEIGHT = SimpleAttributeDefinitionBuilder.create(Constants.WEIGHT, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(1))
+            .setValidator(new IntRangeValidator(1, PriorityClass.MAX_WEIGHT, true, true))
+            .setRestartAllServices()
+            .build();
+
+    static final SimpleAttributeDefinition MAX_QUEUED_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.MAX_QUEUED_REQUESTS, ModelType.INT, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(-1))
+            .setValidator(new IntRangeValidator(-1, true, true))
+            .setRestartAllServices()
+            .build();
+
+    static final SimpleAttributeDefinition QUEUE_TIMEOUT = SimpleAttributeDefinitionBuilder.create(Constants.QUEUE_TIMEOUT, ModelType.LONG, true)
+            .setAllowExpression(true)
+            .setDefaultValue(new ModelNode(-1L))
+            .setValidator(new LongRangeValidator(-1, Long.MAX_VALUE, true, true))
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .setRestartAllServices()
+            .build();
+
+    static final StringListAttributeDefinition DEPLOYMENTS = new StringListAttributeDefinition.Builder(Constants.DEPLOYMENTS)
+            .setRequired(false)
+            .setAllowExpression(true)
+            .setAttributeParser(AttributeParser.STRING_LIST)
+            .setAttributeMarshaller(AttributeMarshaller.STRING_LIST)
+            .setRestartAllServices()
+            .build();
+
+    static final Collection<AttributeDefinition> ATTRIBUTES = Arrays.asList(WEIGHT, MAX_QUEUED_REQUESTS, QUEUE_TIMEOUT, DEPLOYMENTS);
+
+    static final PriorityClassDefinition INSTANCE = new PriorityClassDefinition();
+
+    private PriorityClassDefinition() {
+        super(new SimpleResourceDefinition.Parameters(PATH, RequestControllerExtension.getResolver(Constants.PRIORITY_CLASS))
+                .setAddHandler(new ReloadRequiredAddStepHandler(ATTRIBUTES))
+                .setRemoveHandler(ReloadRequiredRemoveStepHandler.INSTANCE));
+    }
+
+    @Override
+    public Collection<AttributeDefinition> getAttributes() {
+        return ATTRIBUTES;
+    }
+}
@@ -22,17 +22,19 @@
 package org.wildfly.extension.requestcontroller;
 
 import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
-import java.util.concurrent.LinkedBlockingDeque;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.jboss.as.server.suspend.CountingRequestCountCallback;
 import org.jboss.as.server.suspend.ServerActivity;
@@ -73,6 +75,20 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     private final Map<ControlPointIdentifier, ControlPoint> entryPoints = new HashMap<>();
 
+    /**
+     * The priority classes of deployments that are not in the default class
+     */
+    private final Map<String, PriorityClass> deploymentPriorityClasses = new HashMap<>();
+
+    private PriorityClass defaultPriorityClass = PriorityClass.createDefault();
+
+    private final LongAdder rejectedRequestCount = new LongAdder();
+
+    /**
+     * The adaptive limit, if enabled. In that case {@link #maxRequestCount} is the upper bound of the limit.
+     */
+    private volatile AdaptiveRequestLimit adaptiveLimit;
+
     private final InjectedValue<SuspendController> shutdownControllerInjectedValue = new InjectedValue<>();
 
     @SuppressWarnings("unused")
@@ -91,7 +107,14 @@ public class RequestController implements Service<RequestController>, ServerActi
 
     private Timer timer;
 
-    private final Deque<QueuedTask> taskQueue = new LinkedBlockingDeque<>();
+    /**
+     * Tasks waiting for a permit. Every completed request checks these queues, so checking if they are empty does not
+     * take a lock. Tasks that must run even while the container is suspended are kept in their own lane, so they can
+     * be found without searching through the other queued tasks. The other tasks are interleaved by the weight of their
+     * priority class.
+     */
+    private final FairTaskQueue<QueuedTask> taskQueue = new FairTaskQueue<>();
+    private final Queue<QueuedTask> forcedTaskQueue = new ConcurrentLinkedQueue<>();
 
     /**
      * Pause the controller. All existing requests will have a chance to finish, and once all requests are
@@ -122,11 +145,16 @@ public class RequestController implements Service<RequestController>, ServerActi
         if (listener != null) {
             listenerUpdater.compareAndSet(this, listener, null);
         }
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
+        while (hasQueuedTasks() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
             runQueuedTask(false);
         }
     }
 
+    @Override
+    public int getOutstandingRequestCount() {
+        return getActiveRequestCount();
+    }
+
     /**
      * Pauses a given deployment
      *
@@ -200,6 +228,54 @@ public class RequestController implements Service<RequestController>, ServerActi
         }
     }
 
+    /**
+     * Enables or disables adapting the request limit to the measured request latency. If enabled the
+     * {@link #getMaxRequestCount() max request count} is the upper bound of the limit.
+     * <p/>
+     * This must be set before the controller starts.
+     *
+     * @param adaptive {@code true} to adapt the limit
+     */
+    public void setAdaptiveLimit(boolean adaptive) {
+        this.adaptiveLimit = adaptive ? new AdaptiveRequestLimit(maxRequestCount) : null;
+    }
+
+    public boolean isAdaptiveLimit() {
+        return adaptiveLimit != null;
+    }
+
+    /**
+     * @return the limit currently applied to the number of active requests, which differs from the
+     * {@link #getMaxRequestCount() max request count} if the limit is adaptive
+     */
+    public int getEffectiveMaxRequestCount() {
+        final AdaptiveRequestLimit adaptiveLimit = this.adaptiveLimit;
+        return adaptiveLimit != null ? adaptiveLimit.getLimit() : maxRequestCount;
+    }
+
+    /**
+     * @return the average request latency measured by the adaptive limit in nanoseconds, or {@code -1} if the limit
+     * is not adaptive or nothing was measured yet
+     */
+    public long getRequestLatency() {
+        final AdaptiveRequestLimit adaptiveLimit = this.adaptiveLimit;
+        return adaptiveLimit != null ? adaptiveLimit.getLatency() : -1;
+    }
+
+    /**
+     * @return the number of requests that were rejected
+     */
+    public long getRejectedRequestCount() {
+        return rejectedRequestCount.sum();
+    }
+
+    void sampleAdaptiveLimit() {
+        final AdaptiveRequestLimit adaptiveLimit = this.adaptiveLimit;
+        if (adaptiveLimit != null) {
+            adaptiveLimit.sample(activeRequestCount);
+        }
+    }
+
     public synchronized RequestControllerState getState() {
         final List<RequestControllerState.EntryPointState> eps = new ArrayList<>();
         for (ControlPoint controlPoint : entryPoints.values()) {
@@ -209,29 +285,39 @@ public class RequestController implements Service<RequestController>, ServerActi
     }
 
     RunResult beginRequest(boolean force) {
-        int maxRequests = maxRequestCount;
-        int active = activeRequestCountUpdater.get(this);
-        boolean success = false;
-        while ((maxRequests <= 0 || active < maxRequests) && (!paused || force)) {
-            if (activeRequestCountUpdater.compareAndSet(this, active, active + 1)) {
-                success = true;
-                break;
-            }
-            active = activeRequestCountUpdater.get(this);
+        final RunResult result = acquirePermit(force);
+        if (result == RunResult.REJECTED) {
+            rejectedRequestCount.increment();
         }
-        if (success) {
-            //re-check the paused state
-            //this is necessary because there is a race between checking paused and updating active requests
-            //if this happens we just call requestComplete(), as the listener can only be invoked once it does not
-            //matter if it has already been invoked
-            if(!force && paused) {
-                requestComplete();
+        return result;
+    }
+
+    private RunResult acquirePermit(boolean force) {
+        if (paused && !force) {
+            return RunResult.REJECTED;
+        }
+        final AdaptiveRequestLimit adaptiveLimit = this.adaptiveLimit;
+        final int maxRequests = adaptiveLimit != null ? adaptiveLimit.getLimit() : maxRequestCount;
+        // only take the permit while below the limit, so concurrent callers near the limit cannot reject each other
+        int active;
+        do {
+            active = activeRequestCountUpdater.get(this);
+            if (maxRequests > 0 && active >= maxRequests) {
                 return RunResult.REJECTED;
             }
-            return RunResult.RUN;
-        } else {
+        } while (!activeRequestCountUpdater.compareAndSet(this, active, active + 1));
+        if (adaptiveLimit != null) {
+            adaptiveLimit.requestStarted();
+        }
+        //re-check the paused state
+        //this is necessary because there is a race between checking paused and updating active requests
+        //if this happens we just call requestComplete(), as the listener can only be invoked once it does not
+        //matter if it has already been invoked
+        if(!force && paused) {
+            requestComplete();
             return RunResult.REJECTED;
         }
+        return RunResult.RUN;
     }
 
     void requestComplete() {
@@ -239,7 +325,14 @@ public class RequestController implements Service<RequestController>, ServerActi
     }
 
     private void decrementRequestCount() {
+        final AdaptiveRequestLimit adaptiveLimit = this.adaptiveLimit;
+        if (adaptiveLimit != null) {
+            adaptiveLimit.requestFinished();
+        }
+        releasePermit();
+    }
 
+    private void releasePermit() {
         int result = activeRequestCountUpdater.decrementAndGet(this);
         if (paused) {
             if (paused && result == 0) {
@@ -268,13 +361,46 @@ public class RequestController implements Service<RequestController>, ServerActi
         ControlPointIdentifier id = new ControlPointIdentifier(deploymentName, entryPointName);
         ControlPoint ep = entryPoints.get(id);
         if (ep == null) {
-            ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints);
+            PriorityClass priorityClass = deploymentPriorityClasses.getOrDefault(deploymentName, defaultPriorityClass);
+            ep = new ControlPoint(this, deploymentName, entryPointName, trackIndividualControlPoints, priorityClass);
             entryPoints.put(id, ep);
         }
         ep.increaseReferenceCount();
         return ep;
     }
 
+    /**
+     * @return a snapshot of the entry points that are currently in use
+     */
+    public synchronized List<ControlPoint> getControlPoints() {
+        return new ArrayList<>(entryPoints.values());
+    }
+
+    /**
+     * Adds a priority class. If tasks have to be queued because the request limit has been reached, the tasks of each
+     * class are queued separately and run in proportion to the weight of the class. A class named
+     * {@value PriorityClass#DEFAULT} replaces the class of deployments that are not assigned to any class.
+     * <p/>
+     * This must be called before any entry points are created.
+     *
+     * @param name         the name of the class
+     * @param weight       the relative share of queued tasks run from this class
+     * @param maxQueued    the maximum number of tasks of this class that can be queued, or {@code -1} if unbounded.
+     *                     Once it is reached further tasks are rejected
+     * @param queueTimeout the maximum time in milliseconds a task of this class may be queued, or {@code -1} if there is
+     *                     no limit other than the timeout the task was queued with
+     * @param deployments  the names of the top level deployments in this class
+     */
+    public synchronized void addPriorityClass(String name, int weight, int maxQueued, long queueTimeout, Collection<String> deployments) {
+        PriorityClass priorityClass = new PriorityClass(name, weight, maxQueued, queueTimeout);
+        if (PriorityClass.DEFAULT.equals(name)) {
+            defaultPriorityClass = priorityClass;
+        }
+        for (String deployment : deployments) {
+            deploymentPriorityClasses.put(deployment, priorityClass);
+        }
+    }
+
     /**
      * Removes the specified entry point
      *
@@ -304,7 +430,12 @@ public class RequestController implements Service<RequestController>, ServerActi
      */
     public void setMaxRequestCount(int maxRequestCount) {
         this.maxRequestCount = maxRequestCount;
-        while (!taskQueue.isEmpty() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
+        final AdaptiveRequestLimit adaptiveLimit = this.adaptiveLimit;
+        if (adaptiveLimit != null) {
+            // keep the instance, as it tracks the requests that are running
+            adaptiveLimit.setMaxLimit(maxRequestCount);
+        }
+        while (hasQueuedTasks() && (activeRequestCount < maxRequestCount || maxRequestCount < 0)) {
             if(!runQueuedTask(false)) {
                 break;
             }
@@ -322,6 +453,14 @@ public class RequestController implements Service<RequestController>, ServerActi
     public void start(StartContext startContext) throws StartException {
         shutdownControllerInjectedValue.getValue().registerActivity(this);
         timer = new Timer();
+        if (adaptiveLimit != null) {
+            timer.schedule(new TimerTask() {
+                @Override
+                public void run() {
+                    sampleAdaptiveLimit();
+                }
+            }, AdaptiveRequestLimit.SAMPLE_INTERVAL, AdaptiveRequestLimit.SAMPLE_INTERVAL);
+        }
     }
 
     @Override
@@ -329,11 +468,9 @@ public class RequestController implements Service<RequestController>, ServerActi
         shutdownControllerInjectedValue.getValue().unRegisterActivity(this);
         timer.cancel();
         timer = null;
-        while (!taskQueue.isEmpty()) {
-            QueuedTask t = taskQueue.poll();
-            if(t != null) {
-                t.run();
-            }
+        QueuedTask t;
+        while ((t = forcedTaskQueue.poll()) != null || (t = taskQueue.poll()) != null) {
+            t.run();
         }
     }
 
@@ -353,12 +490,40 @@ public class RequestController implements Service<RequestController>, ServerActi
     void queueTask(ControlPoint controlPoint, Runnable task, Executor taskExecutor, long timeout, Runnable timeoutTask, boolean rejectOnSuspend, boolean forceRun) {
         if(paused) {
             if(rejectOnSuspend && !forceRun) {
+                rejectedRequestCount.increment();
+                if (controlPoint != null) {
+                    controlPoint.queuedTaskRejected();
+                }
                 taskExecutor.execute(timeoutTask);
                 return;
             }
         }
-        QueuedTask queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint, forceRun);
-        taskQueue.add(queuedTask);
+        QueuedTask queuedTask;
+        if (forceRun) {
+            queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint, null);
+            forcedTaskQueue.add(queuedTask);
+        } else {
+            if (!paused && taskQueue.isEmpty() && acquirePermit(false) == RunResult.RUN) {
+                // nothing is waiting ahead of the task, so it can run straight away
+                taskExecutor.execute(new ControlPointTask(task, controlPoint));
+                return;
+            }
+            final PriorityClass priorityClass = controlPoint != null ? controlPoint.getPriorityClass() : defaultPriorityClass;
+            if (!priorityClass.tryEnqueue()) {
+                // the class already has as many tasks waiting as it is allowed
+                rejectedRequestCount.increment();
+                if (controlPoint != null) {
+                    controlPoint.queuedTaskRejected();
+                }
+                if (timeoutTask != null) {
+                    taskExecutor.execute(timeoutTask);
+                }
+                return;
+            }
+            timeout = priorityClass.effectiveTimeout(timeout);
+            queuedTask = new QueuedTask(taskExecutor, task, timeoutTask, controlPoint, priorityClass);
+            taskQueue.offer(priorityClass, queuedTask);
+        }
         runQueuedTask(false);
         if(queuedTask.isQueued()) {
             if(timeout > 0) {
@@ -375,19 +540,21 @@ public class RequestController implements Service<RequestController>, ServerActi
      * @param hasPermit If the caller has already called {@link #beginRequest(boolean force)}
      */
     private boolean runQueuedTask(boolean hasPermit) {
-        if (!hasPermit && beginRequest(paused) == RunResult.REJECTED) {
+        if (!hasPermit && acquirePermit(paused) == RunResult.REJECTED) {
             return false;
         }
-        QueuedTask task = null;
-        if (!paused) {
+        QueuedTask task = forcedTaskQueue.poll();
+        if (task == null && !paused) {
+            //if the container is suspended only force queued tasks may run
             task = taskQueue.poll();
-        } else {
-            //the container is suspended, but we still need to run any force queued tasks
-            task = findForcedTask();
         }
         if (task != null) {
             if(!task.runRequest()) {
                 decrementRequestCount();
+            } else if (hasPermit && adaptiveLimit != null) {
+                // the permit of the completed request was handed to the queued task
+                adaptiveLimit.requestFinished();
+                adaptiveLimit.requestStarted();
             }
             return true;
         } else {
@@ -396,21 +563,8 @@ public class RequestController implements Service<RequestController>, ServerActi
         }
     }
 
-    private QueuedTask findForcedTask() {
-        QueuedTask forcedTask = null;
-        QueuedTask task;
-        List<QueuedTask> storage = new ArrayList<>();
-        while (forcedTask == null && (task = taskQueue.poll()) != null) {
-            if (task.forceRun) {
-                forcedTask = task;
-            } else {
-                storage.add(task);
-            }
-        }
-        // this screws the order somewhat, but the container is suspending anyway, and the order
-        // was never guarenteed. if we push them back onto the front we will need to just go through them again
-        taskQueue.addAll(storage);
-        return forcedTask;
+    private boolean hasQueuedTasks() {
+        return !forcedTaskQueue.isEmpty() || !taskQueue.isEmpty();
     }
 
     private static final class ControlPointIdentifier {
@@ -454,24 +608,34 @@ public class RequestController implements Service<RequestController>, ServerActi
         private final Runnable task;
         private final Runnable cancelTask;
         private final ControlPoint controlPoint;
-        private final boolean forceRun;
+        private final PriorityClass priorityClass;
+        private final long queuedAt = System.nanoTime();
 
         //0 == queued
         //1 == run
         //2 == cancelled
         private final AtomicInteger state = new AtomicInteger(0);
 
-        private QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, boolean forceRun) {
+        private QueuedTask(Executor executor, Runnable task, Runnable cancelTask, ControlPoint controlPoint, PriorityClass priorityClass) {
             this.executor = executor;
             this.task = task;
             this.cancelTask = cancelTask;
             this.controlPoint = controlPoint;
-            this.forceRun = forceRun;
+            this.priorityClass = priorityClass;
+            if (controlPoint != null) {
+                controlPoint.taskQueued();
+            }
         }
 
         @Override
         public void run() {
             if(state.compareAndSet(0, 2)) {
+                if (priorityClass != null) {
+                    priorityClass.dequeued();
+                }
+                if (controlPoint != null) {
+                    controlPoint.queuedTaskTimedOut();
+                }
                 if(cancelTask != null) {
                     try {
                         executor.execute(cancelTask);
@@ -486,6 +650,12 @@ public class RequestController implements Service<RequestController>, ServerActi
         public boolean runRequest() {
             if (state.compareAndSet(0, 1)) {
                 cancel();
+                if (priorityClass != null) {
+                    priorityClass.dequeued();
+                }
+                if (controlPoint != null) {
+                    controlPoint.queuedTaskRun(System.nanoTime() - queuedAt);
+                }
                 executor.execute(new ControlPointTask(task, controlPoint));
                 return true;
             } else {
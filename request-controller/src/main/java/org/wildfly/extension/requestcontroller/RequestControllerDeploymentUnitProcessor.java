@@ -21,7 +21,9 @@
  */
 package org.wildfly.extension.requestcontroller;
 
+import org.jboss.as.server.deployment.Attachments;
 import org.jboss.as.server.deployment.DeploymentPhaseContext;
+import org.jboss.as.server.deployment.DeploymentResourceSupport;
 import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
@@ -32,7 +34,13 @@ import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 public class RequestControllerDeploymentUnitProcessor implements DeploymentUnitProcessor {
     @Override
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
-        RequestControllerActivationMarker.mark(phaseContext.getDeploymentUnit());
+        final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
+        RequestControllerActivationMarker.mark(deploymentUnit);
+        if (deploymentUnit.getParent() == null) {
+            // entry points are tracked per top level deployment, so sub deployments have no metrics of their own
+            final DeploymentResourceSupport deploymentResourceSupport = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_RESOURCE_SUPPORT);
+            deploymentResourceSupport.getDeploymentSubsystemModel(RequestControllerExtension.SUBSYSTEM_NAME);
+        }
     }
 
     @Override
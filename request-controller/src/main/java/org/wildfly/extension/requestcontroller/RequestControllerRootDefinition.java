@@ -24,12 +24,15 @@
 
 package org.wildfly.extension.requestcontroller;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.PersistentResourceDefinition;
 import org.jboss.as.controller.ReloadRequiredRemoveStepHandler;
 import org.jboss.as.controller.ReloadRequiredWriteAttributeHandler;
@@ -37,6 +40,7 @@ import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
 import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -60,9 +64,147 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
             .setRestartAllServices()
             .build();
 
+    public static final SimpleAttributeDefinition ADAPTIVE_LIMIT = SimpleAttributeDefinitionBuilder.create(Constants.ADAPTIVE_LIMIT, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.FALSE)
+            .setRestartAllServices()
+            .build();
+
     public static final SimpleAttributeDefinition ACTIVE_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.ACTIVE_REQUESTS, ModelType.INT, true)
             .setStorageRuntime()
             .build();
+
+    public static final SimpleAttributeDefinition EFFECTIVE_MAX_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.EFFECTIVE_MAX_REQUESTS, ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition REQUEST_LATENCY = SimpleAttributeDefinitionBuilder.create(Constants.REQUEST_LATENCY, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    public static final SimpleAttributeDefinition REJECTED_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.REJECTED_REQUESTS, ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition REQUEST_COUNT = SimpleAttributeDefinitionBuilder.create(Constants.REQUEST_COUNT, ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition QUEUED_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.QUEUED_REQUESTS, ModelType.INT, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition TIMED_OUT_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.TIMED_OUT_REQUESTS, ModelType.LONG, true)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition REQUEST_TIME_MEDIAN = SimpleAttributeDefinitionBuilder.create(Constants.REQUEST_TIME_MEDIAN, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition REQUEST_TIME_90TH_PERCENTILE = SimpleAttributeDefinitionBuilder.create(Constants.REQUEST_TIME_90TH_PERCENTILE, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition REQUEST_TIME_99TH_PERCENTILE = SimpleAttributeDefinitionBuilder.create(Constants.REQUEST_TIME_99TH_PERCENTILE, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition QUEUE_TIME_MEDIAN = SimpleAttributeDefinitionBuilder.create(Constants.QUEUE_TIME_MEDIAN, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition QUEUE_TIME_90TH_PERCENTILE = SimpleAttributeDefinitionBuilder.create(Constants.QUEUE_TIME_90TH_PERCENTILE, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    static final SimpleAttributeDefinition QUEUE_TIME_99TH_PERCENTILE = SimpleAttributeDefinitionBuilder.create(Constants.QUEUE_TIME_99TH_PERCENTILE, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .setStorageRuntime()
+            .build();
+
+    /**
+     * The request metrics summed over the control points, which are also reported for each deployment.
+     */
+    static final SimpleAttributeDefinition[] CONTROL_POINT_METRICS = {REQUEST_COUNT, QUEUED_REQUESTS, TIMED_OUT_REQUESTS,
+            REQUEST_TIME_MEDIAN, REQUEST_TIME_90TH_PERCENTILE, REQUEST_TIME_99TH_PERCENTILE,
+            QUEUE_TIME_MEDIAN, QUEUE_TIME_90TH_PERCENTILE, QUEUE_TIME_99TH_PERCENTILE};
+
+    static final SimpleAttributeDefinition CONTROL_POINT_DEPLOYMENT = SimpleAttributeDefinitionBuilder.create(Constants.DEPLOYMENT, ModelType.STRING, false)
+            .build();
+
+    static final SimpleAttributeDefinition CONTROL_POINT_ENTRY_POINT = SimpleAttributeDefinitionBuilder.create(Constants.ENTRY_POINT, ModelType.STRING, false)
+            .build();
+
+    static final SimpleAttributeDefinition CONTROL_POINT_PRIORITY_CLASS = SimpleAttributeDefinitionBuilder.create(Constants.PRIORITY_CLASS, ModelType.STRING, false)
+            .build();
+
+    static final SimpleAttributeDefinition CONTROL_POINT_ACTIVE_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.ACTIVE_REQUESTS, ModelType.INT, false)
+            .build();
+
+    static final SimpleAttributeDefinition CONTROL_POINT_QUEUED_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.QUEUED_REQUESTS, ModelType.INT, false)
+            .build();
+
+    static final SimpleAttributeDefinition CONTROL_POINT_REJECTED_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.REJECTED_REQUESTS, ModelType.LONG, false)
+            .build();
+
+    static final SimpleAttributeDefinition CONTROL_POINT_TIMED_OUT_REQUESTS = SimpleAttributeDefinitionBuilder.create(Constants.TIMED_OUT_REQUESTS, ModelType.LONG, false)
+            .build();
+
+    static final SimpleAttributeDefinition CONTROL_POINT_REQUEST_COUNT = SimpleAttributeDefinitionBuilder.create(Constants.REQUEST_COUNT, ModelType.LONG, false)
+            .build();
+
+    static final SimpleAttributeDefinition CONTROL_POINT_REQUEST_TIME_MEDIAN = SimpleAttributeDefinitionBuilder.create(Constants.REQUEST_TIME_MEDIAN, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+
+    static final SimpleAttributeDefinition CONTROL_POINT_REQUEST_TIME_90TH_PERCENTILE = SimpleAttributeDefinitionBuilder.create(Constants.REQUEST_TIME_90TH_PERCENTILE, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+
+    static final SimpleAttributeDefinition CONTROL_POINT_REQUEST_TIME_99TH_PERCENTILE = SimpleAttributeDefinitionBuilder.create(Constants.REQUEST_TIME_99TH_PERCENTILE, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+
+    static final SimpleAttributeDefinition CONTROL_POINT_QUEUE_TIME_MEDIAN = SimpleAttributeDefinitionBuilder.create(Constants.QUEUE_TIME_MEDIAN, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+
+    static final SimpleAttributeDefinition CONTROL_POINT_QUEUE_TIME_90TH_PERCENTILE = SimpleAttributeDefinitionBuilder.create(Constants.QUEUE_TIME_90TH_PERCENTILE, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+
+    static final SimpleAttributeDefinition CONTROL_POINT_QUEUE_TIME_99TH_PERCENTILE = SimpleAttributeDefinitionBuilder.create(Constants.QUEUE_TIME_99TH_PERCENTILE, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+
+    public static final AttributeDefinition CONTROL_POINTS = ObjectListAttributeDefinition.Builder.of(Constants.CONTROL_POINTS,
+                ObjectTypeAttributeDefinition.Builder.of(Constants.CONTROL_POINT,
+                        CONTROL_POINT_DEPLOYMENT,
+                        CONTROL_POINT_ENTRY_POINT,
+                        CONTROL_POINT_PRIORITY_CLASS,
+                        CONTROL_POINT_ACTIVE_REQUESTS,
+                        CONTROL_POINT_QUEUED_REQUESTS,
+                        CONTROL_POINT_REJECTED_REQUESTS,
+                        CONTROL_POINT_TIMED_OUT_REQUESTS,
+                        CONTROL_POINT_REQUEST_COUNT,
+                        CONTROL_POINT_REQUEST_TIME_MEDIAN,
+                        CONTROL_POINT_REQUEST_TIME_90TH_PERCENTILE,
+                        CONTROL_POINT_REQUEST_TIME_99TH_PERCENTILE,
+                        CONTROL_POINT_QUEUE_TIME_MEDIAN,
+                        CONTROL_POINT_QUEUE_TIME_90TH_PERCENTILE,
+                        CONTROL_POINT_QUEUE_TIME_99TH_PERCENTILE)
+                .build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
     public static final RequestControllerRootDefinition INSTANCE = new RequestControllerRootDefinition(true);
 
     static final RuntimeCapability<Void> REQUEST_CONTROLLER_CAPABILITY =
@@ -86,15 +228,18 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
 
     private static Collection<AttributeDefinition> getAttributeDefinitions(boolean registerRuntimeOnly) {
         if(registerRuntimeOnly) {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ACTIVE_REQUESTS});
+            List<AttributeDefinition> attributes = new ArrayList<>(Arrays.asList(MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ADAPTIVE_LIMIT, ACTIVE_REQUESTS,
+                    EFFECTIVE_MAX_REQUESTS, REQUEST_LATENCY, REJECTED_REQUESTS, CONTROL_POINTS));
+            attributes.addAll(Arrays.asList(CONTROL_POINT_METRICS));
+            return attributes;
         } else {
-            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS});
+            return Arrays.asList(new AttributeDefinition[]{MAX_REQUESTS, TRACK_INDIVIDUAL_ENDPOINTS, ADAPTIVE_LIMIT});
         }
     }
 
     @Override
     protected List<? extends PersistentResourceDefinition> getChildren() {
-        return Collections.emptyList();
+        return Collections.singletonList(PriorityClassDefinition.INSTANCE);
     }
 
     @Override
@@ -102,8 +247,18 @@ class RequestControllerRootDefinition extends PersistentResourceDefinition {
         MaxRequestsWriteHandler handler = new MaxRequestsWriteHandler(MAX_REQUESTS);
         resourceRegistration.registerReadWriteAttribute(MAX_REQUESTS, null, handler);
         resourceRegistration.registerReadWriteAttribute(TRACK_INDIVIDUAL_ENDPOINTS, null, new ReloadRequiredWriteAttributeHandler(TRACK_INDIVIDUAL_ENDPOINTS));
+        resourceRegistration.registerReadWriteAttribute(ADAPTIVE_LIMIT, null, new ReloadRequiredWriteAttributeHandler(ADAPTIVE_LIMIT));
         if(registerRuntimeOnly) {
             resourceRegistration.registerMetric(ACTIVE_REQUESTS, new ActiveRequestsReadHandler());
+            RequestMetricsReadHandler metricsHandler = new RequestMetricsReadHandler();
+            resourceRegistration.registerMetric(EFFECTIVE_MAX_REQUESTS, metricsHandler);
+            resourceRegistration.registerMetric(REQUEST_LATENCY, metricsHandler);
+            resourceRegistration.registerMetric(REJECTED_REQUESTS, metricsHandler);
+            resourceRegistration.registerMetric(CONTROL_POINTS, new ControlPointsReadHandler());
+            ControlPointMetricsReadHandler controlPointMetricsHandler = new ControlPointMetricsReadHandler();
+            for (SimpleAttributeDefinition metric : CONTROL_POINT_METRICS) {
+                resourceRegistration.registerMetric(metric, controlPointMetricsHandler);
+            }
         }
     }
 }
@@ -30,6 +30,7 @@ import org.jboss.as.controller.AbstractBoottimeAddStepHandler;
 import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.server.AbstractDeploymentChainStep;
 import org.jboss.as.server.DeploymentProcessorTarget;
@@ -38,6 +39,7 @@ import org.jboss.as.server.suspend.SuspendController;
 import org.jboss.dmr.ModelNode;
 
 import java.util.Collection;
+import java.util.List;
 
 
 /**
@@ -68,10 +70,22 @@ class RequestControllerSubsystemAdd extends AbstractBoottimeAddStepHandler {
 
         int maxRequests = RequestControllerRootDefinition.MAX_REQUESTS.resolveModelAttribute(context, resource.getModel()).asInt();
         boolean trackIndividual = RequestControllerRootDefinition.TRACK_INDIVIDUAL_ENDPOINTS.resolveModelAttribute(context, resource.getModel()).asBoolean();
+        boolean adaptiveLimit = RequestControllerRootDefinition.ADAPTIVE_LIMIT.resolveModelAttribute(context, resource.getModel()).asBoolean();
 
         RequestController requestController = new RequestController(trackIndividual);
 
         requestController.setMaxRequestCount(maxRequests);
+        requestController.setAdaptiveLimit(adaptiveLimit);
+
+        // read the children from the context as they are added after the subsystem
+        for (Resource.ResourceEntry entry : context.readResource(PathAddress.EMPTY_ADDRESS).getChildren(Constants.PRIORITY_CLASS)) {
+            ModelNode model = entry.getModel();
+            int weight = PriorityClassDefinition.WEIGHT.resolveModelAttribute(context, model).asInt();
+            int maxQueued = PriorityClassDefinition.MAX_QUEUED_REQUESTS.resolveModelAttribute(context, model).asInt();
+            long queueTimeout = PriorityClassDefinition.QUEUE_TIMEOUT.resolveModelAttribute(context, model).asLong();
+            List<String> deployments = PriorityClassDefinition.DEPLOYMENTS.unwrap(context, model);
+            requestController.addPriorityClass(entry.getName(), weight, maxQueued, queueTimeout, deployments);
+        }
 
         context.getServiceTarget().addService(RequestController.SERVICE_NAME, requestController)
                 .addDependency(JBOSS_SUSPEND_CONTROLLER, SuspendController.class, requestController.getShutdownControllerInjectedValue())
@@ -0,0 +1,156 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link AdaptiveRequestLimit}, using a simulated clock.
+ * <p/>
+ * Requests are simulated in waves of {@code active} requests which all take the same time, so at any time
+ * {@code active} requests are running.
+ */
+public class AdaptiveRequestLimitTestCase {
+
+    private static final long INTERVAL = TimeUnit.SECONDS.toNanos(1);
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private long now = 1000000;
+
+    @Test
+    public void testNothingLearnedWithoutCompletions() {
+        final AdaptiveRequestLimit limit = new AdaptiveRequestLimit(-1, () -> now);
+        now += INTERVAL;
+        limit.sample(0);
+        assertEquals(-1, limit.getLatency());
+        assertEquals(AdaptiveRequestLimit.DEFAULT_INITIAL_LIMIT, limit.getLimit());
+    }
+
+    @Test
+    public void testLatencyMeasurement() {
+        final AdaptiveRequestLimit limit = new AdaptiveRequestLimit(-1, () -> now);
+        start(limit, 10);
+        run(limit, 10, FAST);
+        assertEquals(FAST, limit.getLatency());
+        run(limit, 10, SLOW);
+        assertEquals(SLOW, limit.getLatency());
+    }
+
+    @Test
+    public void testLimitGrowsWhileLatencyIsStable() {
+        final AdaptiveRequestLimit limit = new AdaptiveRequestLimit(-1, () -> now);
+        start(limit, 600);
+        for (int i = 0; i < 10; i++) {
+            run(limit, 600, FAST);
+        }
+        assertTrue(String.valueOf(limit.getLimit()), limit.getLimit() > AdaptiveRequestLimit.DEFAULT_INITIAL_LIMIT);
+    }
+
+    @Test
+    public void testLimitDoesNotGrowUnderLightLoad() {
+        final AdaptiveRequestLimit limit = new AdaptiveRequestLimit(-1, () -> now);
+        start(limit, 10);
+        for (int i = 0; i < 10; i++) {
+            run(limit, 10, FAST);
+        }
+        assertEquals(AdaptiveRequestLimit.DEFAULT_INITIAL_LIMIT, limit.getLimit());
+    }
+
+    @Test
+    public void testLimitShrinksWhenLatencyRises() {
+        final AdaptiveRequestLimit limit = new AdaptiveRequestLimit(-1, () -> now);
+        start(limit, 600);
+        for (int i = 0; i < 10; i++) {
+            run(limit, 600, FAST);
+        }
+        int previous = limit.getLimit();
+        for (int i = 0; i < 5; i++) {
+            run(limit, 600, SLOW);
+            final int current = limit.getLimit();
+            assertTrue(current + " < " + previous, current < previous);
+            // never by more than half at a time
+            assertTrue(current + " >= " + previous + " / 2", current >= previous / 2);
+            previous = current;
+        }
+    }
+
+    @Test
+    public void testLimitBoundedByMaximum() {
+        final AdaptiveRequestLimit limit = new AdaptiveRequestLimit(700, () -> now);
+        assertEquals(700, limit.getLimit());
+        start(limit, 600);
+        for (int i = 0; i < 10; i++) {
+            run(limit, 600, FAST);
+            assertTrue(String.valueOf(limit.getLimit()), limit.getLimit() <= 700);
+        }
+    }
+
+    @Test
+    public void testChangeMaximumWhileRunning() {
+        final AdaptiveRequestLimit limit = new AdaptiveRequestLimit(-1, () -> now);
+        start(limit, 600);
+        for (int i = 0; i < 10; i++) {
+            run(limit, 600, FAST);
+        }
+
+        // requests are running, so the measurements must survive the change
+        limit.setMaxLimit(400);
+        assertEquals(400, limit.getLimit());
+        run(limit, 600, FAST);
+        assertEquals(FAST, limit.getLatency());
+        assertEquals(400, limit.getLimit());
+
+        limit.setMaxLimit(-1);
+        for (int i = 0; i < 5; i++) {
+            run(limit, 600, FAST);
+        }
+        assertEquals(FAST, limit.getLatency());
+        assertTrue(String.valueOf(limit.getLimit()), limit.getLimit() > 400);
+    }
+
+    private void start(final AdaptiveRequestLimit limit, final int active) {
+        for (int i = 0; i < active; i++) {
+            limit.requestStarted();
+        }
+    }
+
+    /**
+     * Runs waves of requests of the given latency for one sample interval, and takes a sample. The wave that is
+     * running when the sample is taken has just started.
+     */
+    private void run(final AdaptiveRequestLimit limit, final int active, final long latency) {
+        for (long elapsed = 0; elapsed < INTERVAL; elapsed += latency) {
+            now += latency;
+            for (int i = 0; i < active; i++) {
+                limit.requestFinished();
+            }
+            start(limit, active);
+        }
+        limit.sample(active);
+    }
+}
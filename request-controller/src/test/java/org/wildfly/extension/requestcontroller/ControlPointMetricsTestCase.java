@@ -0,0 +1,150 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller._private.LatencyHistogram;
+import org.jboss.as.server.suspend.SuspendController;
+import org.junit.Test;
+
+/**
+ * Tests the request metrics recorded by the control points, and their aggregation per deployment.
+ */
+public class ControlPointMetricsTestCase {
+
+    @Test
+    public void testRequestTimes() throws Exception {
+        final RequestController rc = new RequestController(false);
+        final ControlPoint controlPoint = rc.getControlPoint("app.war", "web");
+        assertEquals(-1, controlPoint.getRequestTimePercentile(50));
+
+        final long beginTime = System.nanoTime();
+        assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        Thread.sleep(5);
+        controlPoint.requestComplete(beginTime);
+        assertEquals(1, controlPoint.getCompletedRequestCount());
+        assertTrue(controlPoint.getRequestTimePercentile(50) >= 5000);
+
+        // a request completed without its begin time is counted, but its time is not known
+        assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        controlPoint.requestComplete();
+        assertEquals(2, controlPoint.getCompletedRequestCount());
+        assertEquals(1, requestTimeCount(controlPoint));
+
+        // a rejected request is not counted as completed
+        rc.suspended(() -> { });
+        assertEquals(RunResult.REJECTED, controlPoint.beginRequest());
+        assertEquals(2, controlPoint.getCompletedRequestCount());
+        assertEquals(1, controlPoint.getRejectedRequestCount());
+    }
+
+    @Test
+    public void testRequestCompletedByAnotherThread() throws Exception {
+        final RequestController rc = new RequestController(false);
+        final ControlPoint outer = rc.getControlPoint("app.war", "web");
+        final ControlPoint inner = rc.getControlPoint("app.war", "ejb");
+
+        final long outerBeginTime = System.nanoTime();
+        assertEquals(RunResult.RUN, outer.beginRequest());
+        Thread.sleep(50);
+        final long innerBeginTime = System.nanoTime();
+        assertEquals(RunResult.RUN, inner.beginRequest());
+        final Thread thread = new Thread(() -> inner.requestComplete(innerBeginTime));
+        thread.start();
+        thread.join();
+        outer.requestComplete(outerBeginTime);
+
+        // the inner request is measured although it completed on another thread
+        assertEquals(1, requestTimeCount(outer));
+        assertEquals(1, requestTimeCount(inner));
+        assertTrue(outer.getRequestTimePercentile(50) >= 50000);
+        assertTrue(inner.getRequestTimePercentile(50) < outer.getRequestTimePercentile(50));
+    }
+
+    @Test
+    public void testQueuedTaskIsMeasured() throws Exception {
+        final RequestController rc = new RequestController(false);
+        final ControlPoint controlPoint = rc.getControlPoint("app.war", "web");
+        rc.queueTask(controlPoint, () -> { }, Runnable::run, -1, null, false, false);
+        assertEquals(1, controlPoint.getCompletedRequestCount());
+        assertEquals(1, requestTimeCount(controlPoint));
+    }
+
+    @Test
+    public void testMetricsPerDeployment() throws Exception {
+        final RequestController rc = new RequestController(false);
+        final ControlPoint web = rc.getControlPoint("app.war", "web");
+        final ControlPoint ejb = rc.getControlPoint("app.war", "ejb");
+        final ControlPoint other = rc.getControlPoint("other.war", "web");
+        for (ControlPoint controlPoint : new ControlPoint[]{web, web, ejb, other}) {
+            final long beginTime = System.nanoTime();
+            assertEquals(RunResult.RUN, controlPoint.beginRequest());
+            controlPoint.requestComplete(beginTime);
+        }
+
+        assertEquals(2, ControlPointMetrics.getControlPoints(rc, "app.war").size());
+        assertEquals(3, ControlPointMetrics.getControlPoints(rc, null).size());
+        final ControlPointMetrics app = ControlPointMetrics.of(ControlPointMetrics.getControlPoints(rc, "app.war"));
+        assertEquals(3, app.get(Constants.REQUEST_COUNT).asLong());
+        assertTrue(app.get(Constants.REQUEST_TIME_99TH_PERCENTILE).isDefined());
+        assertFalse(app.get(Constants.QUEUE_TIME_MEDIAN).isDefined());
+        assertEquals(4, ControlPointMetrics.of(rc.getControlPoints()).get(Constants.REQUEST_COUNT).asLong());
+    }
+
+    @Test
+    public void testTimedOutQueuedTask() throws Exception {
+        final SuspendController suspendController = new SuspendController();
+        suspendController.resume();
+        final RequestController rc = new RequestController(false);
+        rc.getShutdownControllerInjectedValue().inject(suspendController);
+        // starts the timer which times out queued tasks
+        rc.start(null);
+        try {
+            rc.setMaxRequestCount(1);
+            final ControlPoint controlPoint = rc.getControlPoint("app.war", "web");
+            assertEquals(RunResult.RUN, controlPoint.beginRequest());
+
+            final CountDownLatch timedOut = new CountDownLatch(1);
+            rc.queueTask(controlPoint, () -> { }, Runnable::run, 10, timedOut::countDown, false, false);
+            assertTrue(timedOut.await(10, TimeUnit.SECONDS));
+            assertEquals(1, controlPoint.getTimedOutRequestCount());
+            assertEquals(1, controlPoint.getRejectedRequestCount());
+            assertEquals(0, controlPoint.getQueuedRequestCount());
+            controlPoint.requestComplete();
+        } finally {
+            rc.stop(null);
+        }
+    }
+
+    private static long requestTimeCount(ControlPoint controlPoint) {
+        final LatencyHistogram.Snapshot snapshot = new LatencyHistogram.Snapshot();
+        controlPoint.addRequestTimesTo(snapshot);
+        return snapshot.getCount();
+    }
+}
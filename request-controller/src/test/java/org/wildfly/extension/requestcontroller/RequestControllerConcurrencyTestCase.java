@@ -0,0 +1,169 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Tests admission control of the {@link RequestController} under concurrent load.
+ */
+public class RequestControllerConcurrencyTestCase {
+
+    private static final int THREADS_QTY = 16;
+    private static final int REQUESTS_PER_THREAD = 20000;
+    private static final int MAX_REQUESTS = 4;
+
+    @Test
+    public void testConcurrentRequestsRespectLimit() throws InterruptedException {
+        final RequestController rc = new RequestController(false);
+        rc.setMaxRequestCount(MAX_REQUESTS);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+        final AtomicInteger accepted = new AtomicInteger();
+
+        final CountDownLatch latch = new CountDownLatch(THREADS_QTY);
+        final List<Thread> threads = new ArrayList<>(THREADS_QTY);
+        for (int threadNo = 0; threadNo < THREADS_QTY; threadNo++) {
+            threads.add(new Thread(() -> {
+                latch.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    if (rc.beginRequest(false) == RunResult.RUN) {
+                        accepted.incrementAndGet();
+                        final int current = running.incrementAndGet();
+                        maxRunning.accumulateAndGet(current, Math::max);
+                        running.decrementAndGet();
+                        rc.requestComplete();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertTrue(accepted.get() > 0);
+        assertTrue("Ran " + maxRunning.get() + " requests concurrently", maxRunning.get() <= MAX_REQUESTS);
+        assertEquals(0, rc.getActiveRequestCount());
+    }
+
+    @Test
+    public void testNoRejectionBelowLimit() throws InterruptedException {
+        final RequestController rc = new RequestController(false);
+        // every thread holds at most one permit, so the limit is never reached
+        rc.setMaxRequestCount(THREADS_QTY);
+        final AtomicInteger rejected = new AtomicInteger();
+
+        final CountDownLatch latch = new CountDownLatch(THREADS_QTY);
+        final List<Thread> threads = new ArrayList<>(THREADS_QTY);
+        for (int threadNo = 0; threadNo < THREADS_QTY; threadNo++) {
+            threads.add(new Thread(() -> {
+                latch.countDown();
+                try {
+                    latch.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                    if (rc.beginRequest(false) == RunResult.RUN) {
+                        rc.requestComplete();
+                    } else {
+                        rejected.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        assertEquals(0, rejected.get());
+        assertEquals(0, rc.getActiveRequestCount());
+    }
+
+    @Test
+    public void testForcedTaskRunsWhileSuspended() {
+        final RequestController rc = new RequestController(false);
+        final AtomicBoolean suspended = new AtomicBoolean();
+        rc.suspended(() -> suspended.set(true));
+        assertTrue(suspended.get());
+
+        final AtomicInteger executedTaskCount = new AtomicInteger();
+        final AtomicInteger executedForcedTaskCount = new AtomicInteger();
+        for (int taskNo = 0; taskNo < 10; taskNo++) {
+            rc.queueTask(null, null, task -> executedTaskCount.incrementAndGet(), 0, null, false, false);
+        }
+        rc.queueTask(null, null, task -> executedForcedTaskCount.incrementAndGet(), 0, null, false, true);
+
+        assertEquals(1, executedForcedTaskCount.get());
+        assertEquals(0, executedTaskCount.get());
+        assertEquals(1, rc.getActiveRequestCount());
+
+        rc.requestComplete();
+        rc.resume();
+        assertEquals(10, executedTaskCount.get());
+    }
+
+    @Test
+    public void testChangeAdaptiveMaximumWhileRequestsRun() {
+        final long begin = System.nanoTime();
+        final RequestController rc = new RequestController(false);
+        rc.setMaxRequestCount(MAX_REQUESTS * 2);
+        rc.setAdaptiveLimit(true);
+        for (int i = 0; i < MAX_REQUESTS * 2; i++) {
+            assertEquals(RunResult.RUN, rc.beginRequest(false));
+        }
+
+        rc.setMaxRequestCount(MAX_REQUESTS);
+        assertEquals(MAX_REQUESTS, rc.getEffectiveMaxRequestCount());
+        for (int i = 0; i < MAX_REQUESTS * 2; i++) {
+            rc.requestComplete();
+        }
+        assertEquals(0, rc.getActiveRequestCount());
+
+        // the requests that started before the change must still be accounted for
+        rc.sampleAdaptiveLimit();
+        final long latency = rc.getRequestLatency();
+        assertTrue(String.valueOf(latency), latency >= 0 && latency <= System.nanoTime() - begin);
+
+        for (int i = 0; i < MAX_REQUESTS; i++) {
+            assertEquals(RunResult.RUN, rc.beginRequest(false));
+        }
+        assertEquals(RunResult.REJECTED, rc.beginRequest(false));
+    }
+}
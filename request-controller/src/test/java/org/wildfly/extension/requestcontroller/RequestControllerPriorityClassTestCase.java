@@ -0,0 +1,100 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.wildfly.extension.requestcontroller;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.Test;
+
+/**
+ * Tests queueing of tasks by priority class once the request limit has been reached.
+ */
+public class RequestControllerPriorityClassTestCase {
+
+    private final List<String> ran = new ArrayList<>();
+
+    // runs the queued tasks without completing them, so each completion below releases exactly one task
+    private final Executor executor = task -> {
+        if (task instanceof ControlPointTask) {
+            ((ControlPointTask) task).getOriginalTask().run();
+        } else {
+            task.run();
+        }
+    };
+
+    @Test
+    public void testQueuedTasksRunByWeight() throws Exception {
+        final RequestController rc = new RequestController(false);
+        rc.addPriorityClass("critical", 3, -1, -1, Collections.singletonList("critical.war"));
+        rc.setMaxRequestCount(1);
+        final ControlPoint critical = rc.getControlPoint("critical.war", "web");
+        final ControlPoint noisy = rc.getControlPoint("noisy.war", "web");
+        assertEquals(PriorityClass.DEFAULT, noisy.getPriorityClass().getName());
+
+        assertEquals(RunResult.RUN, noisy.beginRequest());
+        for (int i = 0; i < 4; i++) {
+            queue(rc, noisy, "n" + i);
+        }
+        for (int i = 0; i < 4; i++) {
+            queue(rc, critical, "c" + i);
+        }
+        assertEquals(4, noisy.getQueuedRequestCount());
+        assertEquals(4, critical.getQueuedRequestCount());
+
+        for (int i = 0; i < 8; i++) {
+            rc.requestComplete();
+        }
+        assertEquals(Arrays.asList("c0", "n0", "c1", "c2", "c3", "n1", "n2", "n3"), ran);
+        assertEquals(0, noisy.getQueuedRequestCount());
+        assertEquals(0, critical.getQueuedRequestCount());
+        assertEquals(1, rc.getActiveRequestCount());
+    }
+
+    @Test
+    public void testMaxQueuedRequests() throws Exception {
+        final RequestController rc = new RequestController(false);
+        rc.addPriorityClass(PriorityClass.DEFAULT, 1, 2, -1, Collections.emptyList());
+        rc.setMaxRequestCount(1);
+        final ControlPoint controlPoint = rc.getControlPoint("app.war", "web");
+
+        assertEquals(RunResult.RUN, controlPoint.beginRequest());
+        for (int i = 0; i < 3; i++) {
+            queue(rc, controlPoint, "t" + i);
+        }
+        assertEquals(Collections.singletonList("t2-rejected"), ran);
+        assertEquals(2, controlPoint.getQueuedRequestCount());
+        assertEquals(1, controlPoint.getRejectedRequestCount());
+        assertEquals(RunResult.REJECTED, controlPoint.beginRequest());
+        assertEquals(2, controlPoint.getRejectedRequestCount());
+    }
+
+    private void queue(final RequestController rc, final ControlPoint controlPoint, final String name) {
+        rc.queueTask(controlPoint, () -> ran.add(name), executor, 0, () -> ran.add(name + "-rejected"), false, false);
+    }
+}
@@ -56,7 +56,7 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
 
     @Override
     protected String getSubsystemXml() throws IOException {
-        return readResource("request-controller-1.0.xml");
+        return readResource("request-controller-1.1.xml");
     }
 
     @Test
@@ -72,6 +72,16 @@ public class RequestControllerSubsystemTestCase extends AbstractSubsystemBaseTes
         workerServiceController.awaitValue();
         RequestController controller = workerServiceController.getService().getValue();
         Assert.assertEquals(100, controller.getMaxRequestCount());
+        Assert.assertTrue(controller.isAdaptiveLimit());
+        Assert.assertEquals(100, controller.getEffectiveMaxRequestCount());
+    }
+
+    @Test
+    public void testParse_1_0() throws Exception {
+        KernelServices services = createKernelServicesBuilder(createAdditionalInitialization())
+                .setSubsystemXml(readResource("request-controller-1.0.xml"))
+                .build();
+        Assert.assertTrue(services.isSuccessfulBoot());
     }
 
     @Override
@@ -325,6 +325,7 @@ public class ServerEnvironment extends ProcessEnvironment implements Serializabl
     private final UUID serverUUID;
     private final long startTime;
     private final boolean startSuspended;
+    private final boolean startStandby;
     private GitRepository repository;
 
     public ServerEnvironment(final String hostControllerName, final Properties props, final Map<String, String> env, final String serverConfig,
@@ -352,7 +353,16 @@ public class ServerEnvironment extends ProcessEnvironment implements Serializabl
                              final ConfigurationFile.InteractionPolicy configInteractionPolicy, final LaunchType launchType,
                              final RunningMode initialRunningMode, ProductConfig productConfig, long startTime, boolean startSuspended,
                              String gitRepository, String gitBranch, String gitAuthConfiguration) {
+        this(hostControllerName, props, env, serverConfig, configInteractionPolicy, launchType, initialRunningMode, productConfig,
+                startTime, startSuspended, false, gitRepository, gitBranch, gitAuthConfiguration);
+    }
+
+    public ServerEnvironment(final String hostControllerName, final Properties props, final Map<String, String> env, final String serverConfig,
+                             final ConfigurationFile.InteractionPolicy configInteractionPolicy, final LaunchType launchType,
+                             final RunningMode initialRunningMode, ProductConfig productConfig, long startTime, boolean startSuspended,
+                             boolean startStandby, String gitRepository, String gitBranch, String gitAuthConfiguration) {
         this.startSuspended = startSuspended;
+        this.startStandby = startStandby;
         assert props != null;
 
         this.launchType = launchType;
@@ -972,6 +982,16 @@ public class ServerEnvironment extends ProcessEnvironment implements Serializabl
         return startSuspended;
     }
 
+    /**
+     * If this is true then the server will start in suspended mode, and the listeners of its subsystems will not be
+     * opened until the server is resumed for the first time.
+     *
+     * @return <code>true</code> if the server should start in standby mode
+     */
+    public boolean isStartStandby() {
+        return startStandby;
+    }
+
     private File configureServerTempDir(String path, Properties providedProps) {
         File tmp = getFileFromPath(path);
         if (tmp == null) {
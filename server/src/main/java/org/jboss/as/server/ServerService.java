@@ -313,8 +313,11 @@ public final class ServerService extends AbstractControllerService {
             serviceTarget.addService(org.jboss.as.server.deployment.Services.JBOSS_DEPLOYMENT_EXTENSION_INDEX,
                     new ExtensionIndexService(newExtDirs)).setInitialMode(ServiceController.Mode.ON_DEMAND).install();
             final Boolean suspend = runningModeControl.getSuspend()!= null ? runningModeControl.getSuspend() : serverEnvironment.isStartSuspended();
-            suspendController.setStartSuspended(suspend);
+            final Boolean standby = runningModeControl.getStandby() != null ? runningModeControl.getStandby() : serverEnvironment.isStartStandby();
+            suspendController.setStartSuspended(suspend || standby);
+            suspendController.setStartStandby(standby);
             runningModeControl.setSuspend(false);
+            runningModeControl.setStandby(false);
             context.getServiceTarget().addService(SUSPEND_CONTROLLER_CAPABILITY.getCapabilityServiceName(), suspendController)
                     .addAliases(SuspendController.SERVICE_NAME)
                     .addDependency(JBOSS_SERVER_NOTIFICATION_REGISTRY, NotificationHandlerRegistry.class, suspendController.getNotificationHandlerRegistry())
@@ -404,7 +407,7 @@ public final class ServerService extends AbstractControllerService {
                 ok = boot(bootOps, failOnRuntime);
 
                 if (ok) {
-                    finishBoot(suspend);
+                    finishBoot(suspend || standby);
                 }
             } finally {
                 DeployerChainAddHandler.INSTANCE.clearDeployerMap();
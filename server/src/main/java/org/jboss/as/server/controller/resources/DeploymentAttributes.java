@@ -59,6 +59,7 @@ import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.descriptions.ModelDescriptionConstants;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.operations.validation.EnumValidator;
+import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.operations.validation.MinMaxValidator;
 import org.jboss.as.controller.operations.validation.ModelTypeValidator;
 import org.jboss.as.controller.operations.validation.ParameterValidator;
@@ -130,6 +131,47 @@ public class DeploymentAttributes {
         .setValidator(new EnumValidator<AbstractDeploymentUnitService.DeploymentStatus>(AbstractDeploymentUnitService.DeploymentStatus.class, true))
         .build();
 
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_PHASE = SimpleAttributeDefinitionBuilder.create("phase", ModelType.STRING, false)
+            .build();
+
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_SUBSYSTEM = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.SUBSYSTEM, ModelType.STRING, false)
+            .build();
+
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_PRIORITY = SimpleAttributeDefinitionBuilder.create("priority", ModelType.INT, false)
+            .build();
+
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_PROCESSOR = SimpleAttributeDefinitionBuilder.create("processor", ModelType.STRING, false)
+            .build();
+
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_WALL_TIME = SimpleAttributeDefinitionBuilder.create("wall-time", ModelType.LONG, false)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+            .build();
+
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_CPU_TIME = SimpleAttributeDefinitionBuilder.create("cpu-time", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.NANOSECONDS)
+            .build();
+
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_ALLOCATED_BYTES = SimpleAttributeDefinitionBuilder.create("allocated-bytes", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.BYTES)
+            .build();
+
+    public static final SimpleAttributeDefinition PROCESSOR_TIMING_DEPLOYMENT = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.DEPLOYMENT, ModelType.STRING, false)
+            .build();
+
+    public static final AttributeDefinition PROCESSOR_TIMINGS = ObjectListAttributeDefinition.Builder.of("processor-timings",
+                ObjectTypeAttributeDefinition.Builder.of("processor-timing",
+                        PROCESSOR_TIMING_PHASE,
+                        PROCESSOR_TIMING_SUBSYSTEM,
+                        PROCESSOR_TIMING_PRIORITY,
+                        PROCESSOR_TIMING_PROCESSOR,
+                        PROCESSOR_TIMING_WALL_TIME,
+                        PROCESSOR_TIMING_CPU_TIME,
+                        PROCESSOR_TIMING_ALLOCATED_BYTES)
+                .build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+
     public static final SimpleAttributeDefinition ENABLED_TIME = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.ENABLED_TIME, ModelType.LONG, true)
             .setStorageRuntime()
             .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
@@ -326,7 +368,7 @@ public class DeploymentAttributes {
 
 
     /** Attributes for server deployment resource */
-    public static final AttributeDefinition[] SERVER_RESOURCE_ATTRIBUTES = new AttributeDefinition[] {NAME, RUNTIME_NAME, CONTENT_RESOURCE_ALL, ENABLED, PERSISTENT, OWNER, STATUS, ENABLED_TIME, ENABLED_TIMESTAMP, DISABLED_TIME, DISABLED_TIMESTAMP, MANAGED};
+    public static final AttributeDefinition[] SERVER_RESOURCE_ATTRIBUTES = new AttributeDefinition[] {NAME, RUNTIME_NAME, CONTENT_RESOURCE_ALL, ENABLED, PERSISTENT, OWNER, STATUS, ENABLED_TIME, ENABLED_TIMESTAMP, DISABLED_TIME, DISABLED_TIMESTAMP, MANAGED, PROCESSOR_TIMINGS};
 
     /** Attributes for server deployment add */
     public static final AttributeDefinition[] SERVER_ADD_ATTRIBUTES = new AttributeDefinition[] { RUNTIME_NAME_NILLABLE, CONTENT_PARAM_ALL, ENABLED};// 'hide' the persistent and owner attributes from users
@@ -370,6 +412,25 @@ public class DeploymentAttributes {
             .withFlags(Flag.READ_ONLY)
             .build();
 
+    public static final SimpleAttributeDefinition MAX_RESULTS = SimpleAttributeDefinitionBuilder.create("max-results", ModelType.INT, true)
+            .setValidator(new IntRangeValidator(1, true))
+            .setDefaultValue(new ModelNode(10))
+            .build();
+
+    public static final OperationDefinition LIST_SLOWEST_DEPLOYMENT_PROCESSORS = SimpleOperationDefinitionBuilder.of("list-slowest-deployment-processors", DEPLOYMENT_RESOLVER)
+            .addParameter(MAX_RESULTS)
+            .setReplyType(ModelType.LIST)
+            .setReplyParameters(PROCESSOR_TIMING_DEPLOYMENT,
+                    PROCESSOR_TIMING_PHASE,
+                    PROCESSOR_TIMING_SUBSYSTEM,
+                    PROCESSOR_TIMING_PRIORITY,
+                    PROCESSOR_TIMING_PROCESSOR,
+                    PROCESSOR_TIMING_WALL_TIME,
+                    PROCESSOR_TIMING_CPU_TIME,
+                    PROCESSOR_TIMING_ALLOCATED_BYTES)
+            .withFlags(Flag.READ_ONLY, Flag.RUNTIME_ONLY)
+            .build();
+
     public static final OperationDefinition DEPLOY_DEFINITION = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.DEPLOY, DEPLOYMENT_RESOLVER).build();
     public static final OperationDefinition UNDEPLOY_DEFINITION = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.UNDEPLOY, DEPLOYMENT_RESOLVER).build();
     public static final OperationDefinition REDEPLOY_DEFINITION = SimpleOperationDefinitionBuilder.of(ModelDescriptionConstants.REDEPLOY, DEPLOYMENT_RESOLVER).build();
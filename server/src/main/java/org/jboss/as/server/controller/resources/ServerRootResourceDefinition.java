@@ -39,6 +39,8 @@ import org.jboss.as.controller.CompositeOperationHandler;
 import org.jboss.as.controller.ControlledProcessState;
 import org.jboss.as.controller.ModelOnlyWriteAttributeHandler;
 import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.ObjectListAttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.NoopOperationStepHandler;
 import org.jboss.as.controller.OperationDefinition;
 import org.jboss.as.controller.ProcessType;
@@ -105,6 +107,7 @@ import org.jboss.as.server.deployment.DeploymentReplaceHandler;
 import org.jboss.as.server.deployment.DeploymentUploadBytesHandler;
 import org.jboss.as.server.deployment.DeploymentUploadStreamAttachmentHandler;
 import org.jboss.as.server.deployment.DeploymentUploadURLHandler;
+import org.jboss.as.server.deployment.ListSlowestDeploymentProcessorsHandler;
 import org.jboss.as.server.deploymentoverlay.DeploymentOverlayDefinition;
 import org.jboss.as.server.mgmt.HttpManagementResourceDefinition;
 import org.jboss.as.server.mgmt.NativeManagementResourceDefinition;
@@ -124,6 +127,7 @@ import org.jboss.as.server.operations.ServerShutdownHandler;
 import org.jboss.as.server.operations.ServerSuspendHandler;
 import org.jboss.as.server.operations.ServerVersionOperations.DefaultEmptyListAttributeHandler;
 import org.jboss.as.server.operations.SetServerGroupHostHandler;
+import org.jboss.as.server.operations.SuspendProgressReadHandler;
 import org.jboss.as.server.operations.SuspendStateReadHandler;
 import org.jboss.as.server.operations.WriteConfigHandler;
 import org.jboss.as.server.services.net.InterfaceResourceDefinition;
@@ -133,6 +137,7 @@ import org.jboss.as.server.services.net.SpecifiedInterfaceAddHandler;
 import org.jboss.as.server.services.net.SpecifiedInterfaceRemoveHandler;
 import org.jboss.as.server.services.net.SpecifiedInterfaceResolveHandler;
 import org.jboss.as.server.services.security.AbstractVaultReader;
+import org.jboss.as.server.suspend.ActivitySuspendProgress;
 import org.jboss.as.server.suspend.SuspendController;
 import org.jboss.dmr.ModelNode;
 import org.jboss.dmr.ModelType;
@@ -230,6 +235,29 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
             .setRuntimeServiceNotRequired()
             .build();
 
+    public static final SimpleAttributeDefinition SUSPEND_PROGRESS_ACTIVITY = SimpleAttributeDefinitionBuilder.create("activity", ModelType.STRING).build();
+    public static final SimpleAttributeDefinition SUSPEND_PROGRESS_EXECUTION_GROUP = SimpleAttributeDefinitionBuilder.create("execution-group", ModelType.INT).build();
+    public static final SimpleAttributeDefinition SUSPEND_PROGRESS_STATE = SimpleAttributeDefinitionBuilder.create("state", ModelType.STRING)
+            .setValidator(new EnumValidator<>(ActivitySuspendProgress.State.class, false, false))
+            .build();
+    public static final SimpleAttributeDefinition SUSPEND_PROGRESS_ELAPSED_TIME = SimpleAttributeDefinitionBuilder.create("elapsed-time", ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MILLISECONDS)
+            .build();
+    public static final SimpleAttributeDefinition SUSPEND_PROGRESS_OUTSTANDING_REQUESTS = SimpleAttributeDefinitionBuilder.create("outstanding-requests", ModelType.INT, true).build();
+
+    public static final AttributeDefinition SUSPEND_PROGRESS = new ObjectListAttributeDefinition.Builder(ModelDescriptionConstants.SUSPEND_PROGRESS,
+            new ObjectTypeAttributeDefinition.Builder("activity-progress",
+                    SUSPEND_PROGRESS_ACTIVITY,
+                    SUSPEND_PROGRESS_EXECUTION_GROUP,
+                    SUSPEND_PROGRESS_STATE,
+                    SUSPEND_PROGRESS_ELAPSED_TIME,
+                    SUSPEND_PROGRESS_OUTSTANDING_REQUESTS)
+                    .build())
+            .setRequired(false)
+            .setStorageRuntime()
+            .setRuntimeServiceNotRequired()
+            .build();
+
     /** The 'blocking' parameter for domain server lifecycle ops executed on the HC */
     public static final AttributeDefinition BLOCKING = SimpleAttributeDefinitionBuilder.create(ModelDescriptionConstants.BLOCKING, ModelType.BOOLEAN)
             .setRequired(false)
@@ -368,6 +396,7 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
         DeploymentUploadStreamAttachmentHandler.register(resourceRegistration, contentRepository);
         resourceRegistration.registerOperationHandler(DeploymentAttributes.REPLACE_DEPLOYMENT_DEFINITION, DeploymentReplaceHandler.create(contentRepository, vaultReader));
         resourceRegistration.registerOperationHandler(DeploymentAttributes.FULL_REPLACE_DEPLOYMENT_DEFINITION, DeploymentFullReplaceHandler.create(contentRepository, vaultReader));
+        resourceRegistration.registerOperationHandler(DeploymentAttributes.LIST_SLOWEST_DEPLOYMENT_PROCESSORS, ListSlowestDeploymentProcessorsHandler.INSTANCE);
 
         if (!isDomain) {
             if(serverEnvironment.useGit()) {
@@ -461,6 +490,7 @@ public class ServerRootResourceDefinition extends SimpleResourceDefinition {
         resourceRegistration.registerReadOnlyAttribute(PROCESS_TYPE, ProcessTypeHandler.INSTANCE);
         resourceRegistration.registerReadOnlyAttribute(RUNNING_MODE, new RunningModeReadHandler(runningModeControl));
         resourceRegistration.registerReadOnlyAttribute(SUSPEND_STATE, SuspendStateReadHandler.INSTANCE);
+        resourceRegistration.registerReadOnlyAttribute(SUSPEND_PROGRESS, SuspendProgressReadHandler.INSTANCE);
         resourceRegistration.registerReadOnlyAttribute(UUID, new InstanceUuidReadHandler(serverEnvironment));
 
 
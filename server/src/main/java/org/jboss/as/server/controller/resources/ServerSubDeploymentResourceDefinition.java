@@ -23,6 +23,7 @@ import org.jboss.as.controller.SimpleResourceDefinition;
 import org.jboss.as.controller.descriptions.ResourceDescriptionResolver;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.server.deployment.DeploymentListModulesHandler;
+import org.jboss.as.server.deployment.DeploymentProcessorTimingsHandler;
 
 /**
  * The sub-deployment resource definition.
@@ -39,6 +40,11 @@ public class ServerSubDeploymentResourceDefinition extends SimpleResourceDefinit
         return new ServerSubDeploymentResourceDefinition(PathElement.pathElement(SUBDEPLOYMENT), DeploymentAttributes.DEPLOYMENT_RESOLVER);
     }
 
+    @Override
+    public void registerAttributes(ManagementResourceRegistration resourceRegistration) {
+        resourceRegistration.registerMetric(DeploymentAttributes.PROCESSOR_TIMINGS, DeploymentProcessorTimingsHandler.INSTANCE);
+    }
+
     @Override
     public void registerOperations(ManagementResourceRegistration resourceRegistration) {
         super.registerOperations(resourceRegistration);
@@ -80,6 +80,11 @@ public final class Attachments {
      */
     public static final AttachmentKey<Set<String>> REGISTERED_SUBSYSTEMS = AttachmentKey.create(Set.class);
 
+    /**
+     * The time spent by each deployment unit processor run against the deployment unit.
+     */
+    public static final AttachmentKey<DeploymentProcessorTimings> PROCESSOR_TIMINGS = AttachmentKey.create(DeploymentProcessorTimings.class);
+
     /**
      * The deployments runtime name
      *
@@ -51,6 +51,7 @@ import org.jboss.as.repository.ContentReference;
 import org.jboss.as.repository.ContentRepository;
 import org.jboss.as.server.ServerEnvironment;
 import org.jboss.as.server.controller.resources.DeploymentAttributes;
+import org.jboss.as.server.deployment.annotation.ResourceRootIndexer;
 import org.jboss.as.server.deploymentoverlay.DeploymentOverlayIndex;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.services.security.AbstractVaultReader;
@@ -394,6 +395,7 @@ public class DeploymentHandlerUtil {
                                 }
                             } else {
                                 ServerLogger.ROOT_LOGGER.deploymentUndeployed(managementName, runtimeName);
+                                ResourceRootIndexer.discardRetainedIndexes(runtimeName);
                             }
                         }
                     });
@@ -0,0 +1,214 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Records the time spent by each {@link DeploymentUnitProcessor} deploying a deployment unit.
+ * <p>
+ * Wall clock time is always recorded. The CPU time consumed by the deploying thread is recorded if the JVM supports
+ * thread CPU time measurement, and the bytes allocated by the deploying thread are recorded if the JVM exposes
+ * per-thread allocation counters; otherwise those values are {@code -1}.
+ */
+public final class DeploymentProcessorTimings {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+    private static final boolean CPU_TIME_SUPPORTED = isCpuTimeSupported();
+    private static final boolean ALLOCATION_SUPPORTED = isAllocationSupported();
+
+    private final ConcurrentLinkedQueue<ProcessorTiming> timings = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Gets the timings attached to the given deployment unit, attaching a new instance if there are none yet.
+     *
+     * @param deploymentUnit the deployment unit
+     * @return the timings
+     */
+    static DeploymentProcessorTimings of(final DeploymentUnit deploymentUnit) {
+        DeploymentProcessorTimings result = deploymentUnit.getAttachment(Attachments.PROCESSOR_TIMINGS);
+        if (result == null) {
+            result = new DeploymentProcessorTimings();
+            deploymentUnit.putAttachment(Attachments.PROCESSOR_TIMINGS, result);
+        }
+        return result;
+    }
+
+    /**
+     * Discards the timings recorded for the given phase and the phases after it. The phase services of a deployment
+     * unit are restarted when a dependency of them is, in which case the processors of the restarted phase and of
+     * every later phase are run again for the same deployment unit.
+     *
+     * @param phase the phase that is about to be run
+     */
+    void phaseStarted(final Phase phase) {
+        timings.removeIf(timing -> timing.phase.compareTo(phase) >= 0);
+    }
+
+    /**
+     * Takes a sample of the current thread's counters, to be passed to {@link #record} once the processor completes.
+     */
+    static Sample start() {
+        return new Sample(System.nanoTime(), currentThreadCpuTime(), currentThreadAllocatedBytes());
+    }
+
+    /**
+     * Records the time spent by a processor since the given sample was taken.
+     */
+    void record(final Phase phase, final RegisteredDeploymentUnitProcessor processor, final Sample start) {
+        final long wallTime = System.nanoTime() - start.nanoTime;
+        final long cpuTime = start.cpuTime < 0 ? -1 : currentThreadCpuTime() - start.cpuTime;
+        final long allocatedBytes = start.allocatedBytes < 0 ? -1 : currentThreadAllocatedBytes() - start.allocatedBytes;
+        timings.add(new ProcessorTiming(phase, processor.getSubsystemName(), processor.getPriority(),
+                processor.getProcessor().getClass().getName(), wallTime, cpuTime, allocatedBytes));
+    }
+
+    /**
+     * Gets the recorded timings, in the order the processors were run.
+     *
+     * @return a snapshot of the recorded timings
+     */
+    public List<ProcessorTiming> getTimings() {
+        return new ArrayList<>(timings);
+    }
+
+    private static long currentThreadCpuTime() {
+        return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        return ALLOCATION_SUPPORTED ? AllocationCounter.currentThreadAllocatedBytes() : -1;
+    }
+
+    private static boolean isCpuTimeSupported() {
+        try {
+            return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+        } catch (UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private static boolean isAllocationSupported() {
+        try {
+            return AllocationCounter.isSupported();
+        } catch (LinkageError | UnsupportedOperationException e) {
+            // jdk.management is not available
+            return false;
+        }
+    }
+
+    /**
+     * Isolates the use of the {@code com.sun.management} API so this class can be loaded if it is not available.
+     */
+    private static final class AllocationCounter {
+
+        static boolean isSupported() {
+            if (THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean) {
+                final com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) THREAD_MX_BEAN;
+                return bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled();
+            }
+            return false;
+        }
+
+        static long currentThreadAllocatedBytes() {
+            return ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+
+    static final class Sample {
+        private final long nanoTime;
+        private final long cpuTime;
+        private final long allocatedBytes;
+
+        private Sample(final long nanoTime, final long cpuTime, final long allocatedBytes) {
+            this.nanoTime = nanoTime;
+            this.cpuTime = cpuTime;
+            this.allocatedBytes = allocatedBytes;
+        }
+    }
+
+    /**
+     * The time spent by a single processor in a single phase.
+     */
+    public static final class ProcessorTiming {
+        private final Phase phase;
+        private final String subsystemName;
+        private final int priority;
+        private final String processorClassName;
+        private final long wallTime;
+        private final long cpuTime;
+        private final long allocatedBytes;
+
+        ProcessorTiming(final Phase phase, final String subsystemName, final int priority, final String processorClassName,
+                        final long wallTime, final long cpuTime, final long allocatedBytes) {
+            this.phase = phase;
+            this.subsystemName = subsystemName;
+            this.priority = priority;
+            this.processorClassName = processorClassName;
+            this.wallTime = wallTime;
+            this.cpuTime = cpuTime;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public Phase getPhase() {
+            return phase;
+        }
+
+        public String getSubsystemName() {
+            return subsystemName;
+        }
+
+        public int getPriority() {
+            return priority;
+        }
+
+        public String getProcessorClassName() {
+            return processorClassName;
+        }
+
+        /**
+         * Gets the elapsed wall clock time, in nanoseconds.
+         */
+        public long getWallTime() {
+            return wallTime;
+        }
+
+        /**
+         * Gets the CPU time consumed by the deploying thread, in nanoseconds, or {@code -1} if not measured.
+         */
+        public long getCpuTime() {
+            return cpuTime;
+        }
+
+        /**
+         * Gets the number of bytes allocated by the deploying thread, or {@code -1} if not measured.
+         */
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+    }
+}
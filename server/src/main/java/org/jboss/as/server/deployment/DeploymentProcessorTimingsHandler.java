@@ -0,0 +1,110 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SUBDEPLOYMENT;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.ENABLED;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_ALLOCATED_BYTES;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_CPU_TIME;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_PHASE;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_PRIORITY;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_PROCESSOR;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_SUBSYSTEM;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_WALL_TIME;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.RUNTIME_NAME;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reads the time spent by each deployment unit processor deploying a deployment or sub-deployment.
+ */
+public class DeploymentProcessorTimingsHandler implements OperationStepHandler {
+
+    public static final OperationStepHandler INSTANCE = new DeploymentProcessorTimingsHandler();
+
+    private DeploymentProcessorTimingsHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final PathAddress currentAddress = context.getCurrentAddress();
+        final boolean subDeployment = currentAddress.getLastElement().getKey().equals(SUBDEPLOYMENT);
+        final PathAddress address = subDeployment ? currentAddress.getParent() : currentAddress;
+
+        final ModelNode model = context.readResourceFromRoot(address, false).getModel();
+        final boolean enabled = ENABLED.resolveModelAttribute(context, model).asBoolean();
+        final String runtimeName = RUNTIME_NAME.resolveModelAttribute(context, model).asString();
+        final String subDeploymentName = subDeployment ? context.getCurrentAddressValue() : null;
+
+        if (enabled && context.isNormalServer()) {
+            context.addStep(new OperationStepHandler() {
+                @Override
+                public void execute(OperationContext context, ModelNode operation) {
+                    final ServiceController<?> controller = context.getServiceRegistry(false).getService(Services.deploymentUnitName(runtimeName));
+                    // Read the unit from the service so timings of failed deployments are reported too
+                    DeploymentUnit deploymentUnit = controller == null ? null : ((AbstractDeploymentUnitService) controller.getService()).getValue();
+                    if (deploymentUnit != null && subDeploymentName != null) {
+                        deploymentUnit = findSubDeployment(deploymentUnit, subDeploymentName);
+                    }
+                    final DeploymentProcessorTimings timings = deploymentUnit == null ? null : deploymentUnit.getAttachment(Attachments.PROCESSOR_TIMINGS);
+                    if (timings != null) {
+                        final ModelNode result = context.getResult().setEmptyList();
+                        for (DeploymentProcessorTimings.ProcessorTiming timing : timings.getTimings()) {
+                            result.add(toModelNode(timing));
+                        }
+                    }
+                }
+            }, OperationContext.Stage.RUNTIME);
+        }
+    }
+
+    static DeploymentUnit findSubDeployment(final DeploymentUnit deploymentUnit, final String name) {
+        for (DeploymentUnit subDeployment : deploymentUnit.getAttachmentList(Attachments.SUB_DEPLOYMENTS)) {
+            if (subDeployment.getName().equals(name)) {
+                return subDeployment;
+            }
+        }
+        return null;
+    }
+
+    static ModelNode toModelNode(final DeploymentProcessorTimings.ProcessorTiming timing) {
+        final ModelNode node = new ModelNode();
+        node.get(PROCESSOR_TIMING_PHASE.getName()).set(timing.getPhase().name());
+        node.get(PROCESSOR_TIMING_SUBSYSTEM.getName()).set(timing.getSubsystemName());
+        node.get(PROCESSOR_TIMING_PRIORITY.getName()).set(timing.getPriority());
+        node.get(PROCESSOR_TIMING_PROCESSOR.getName()).set(timing.getProcessorClassName());
+        node.get(PROCESSOR_TIMING_WALL_TIME.getName()).set(timing.getWallTime());
+        if (timing.getCpuTime() >= 0) {
+            node.get(PROCESSOR_TIMING_CPU_TIME.getName()).set(timing.getCpuTime());
+        }
+        if (timing.getAllocatedBytes() >= 0) {
+            node.get(PROCESSOR_TIMING_ALLOCATED_BYTES.getName()).set(timing.getAllocatedBytes());
+        }
+        return node;
+    }
+}
@@ -39,6 +39,7 @@ import org.jboss.as.controller.registry.ImmutableManagementResourceRegistration;
 import org.jboss.as.controller.registry.ManagementResourceRegistration;
 import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.repository.ContentRepository;
+import org.jboss.as.server.deployment.annotation.ResourceRootIndexer;
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.services.security.AbstractVaultReader;
 import org.jboss.dmr.ModelNode;
@@ -103,6 +104,7 @@ public class DeploymentRemoveHandler implements OperationStepHandler {
                             } else {
                                 if (enabled) {
                                     ServerLogger.ROOT_LOGGER.deploymentUndeployed(managementName, runtimeName);
+                                    ResourceRootIndexer.discardRetainedIndexes(runtimeName);
                                 }
                                 removeContent(context, removedHashes, name);
                             }
@@ -175,11 +175,15 @@ final class DeploymentUnitPhaseService<T> implements Service<T> {
             }
         }
 
+        final DeploymentProcessorTimings timings = DeploymentProcessorTimings.of(deploymentUnit);
+        timings.phaseStarted(phase);
         while (iterator.hasNext()) {
             final RegisteredDeploymentUnitProcessor processor = iterator.next();
             try {
                 if (shouldRun(deploymentUnit, processor)) {
+                    final DeploymentProcessorTimings.Sample sample = DeploymentProcessorTimings.start();
                     processor.getProcessor().deploy(processorContext);
+                    timings.record(phase, processor, sample);
                 }
             } catch (Throwable e) {
                 while (iterator.hasPrevious()) {
@@ -0,0 +1,111 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.DEPLOYMENT;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.MAX_RESULTS;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.PROCESSOR_TIMING_DEPLOYMENT;
+import static org.jboss.as.server.controller.resources.DeploymentAttributes.RUNTIME_NAME;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.controller.PathAddress;
+import org.jboss.as.controller.registry.Resource;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceRegistry;
+
+/**
+ * Lists the deployment unit processors which took the longest wall clock time across all deployments and
+ * sub-deployments, slowest first.
+ */
+public class ListSlowestDeploymentProcessorsHandler implements OperationStepHandler {
+
+    public static final OperationStepHandler INSTANCE = new ListSlowestDeploymentProcessorsHandler();
+
+    private ListSlowestDeploymentProcessorsHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        final int maxResults = MAX_RESULTS.resolveModelAttribute(context, operation).asInt();
+        final Set<String> runtimeNames = new HashSet<>();
+        for (Resource.ResourceEntry deployment : context.readResource(PathAddress.EMPTY_ADDRESS, false).getChildren(DEPLOYMENT)) {
+            runtimeNames.add(RUNTIME_NAME.resolveModelAttribute(context, deployment.getModel()).asString());
+        }
+
+        context.addStep(new OperationStepHandler() {
+            @Override
+            public void execute(OperationContext context, ModelNode operation) {
+                final ServiceRegistry registry = context.getServiceRegistry(false);
+                final List<Entry> entries = new ArrayList<>();
+                for (String runtimeName : runtimeNames) {
+                    final ServiceController<?> controller = registry.getService(Services.deploymentUnitName(runtimeName));
+                    // Read the unit from the service so timings of failed deployments are reported too
+                    final DeploymentUnit deploymentUnit = controller == null ? null : ((AbstractDeploymentUnitService) controller.getService()).getValue();
+                    if (deploymentUnit != null) {
+                        addEntries(entries, runtimeName, deploymentUnit);
+                        for (DeploymentUnit subDeployment : deploymentUnit.getAttachmentList(Attachments.SUB_DEPLOYMENTS)) {
+                            addEntries(entries, runtimeName + "/" + subDeployment.getName(), subDeployment);
+                        }
+                    }
+                }
+                entries.sort(Comparator.comparingLong((Entry e) -> e.timing.getWallTime()).reversed());
+
+                final ModelNode result = context.getResult().setEmptyList();
+                for (int i = 0; i < entries.size() && i < maxResults; i++) {
+                    final Entry entry = entries.get(i);
+                    final ModelNode node = DeploymentProcessorTimingsHandler.toModelNode(entry.timing);
+                    node.get(PROCESSOR_TIMING_DEPLOYMENT.getName()).set(entry.deployment);
+                    result.add(node);
+                }
+            }
+        }, OperationContext.Stage.RUNTIME);
+    }
+
+    private static void addEntries(final List<Entry> entries, final String name, final DeploymentUnit deploymentUnit) {
+        final DeploymentProcessorTimings timings = deploymentUnit.getAttachment(Attachments.PROCESSOR_TIMINGS);
+        if (timings != null) {
+            for (DeploymentProcessorTimings.ProcessorTiming timing : timings.getTimings()) {
+                entries.add(new Entry(name, timing));
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String deployment;
+        private final DeploymentProcessorTimings.ProcessorTiming timing;
+
+        private Entry(final String deployment, final DeploymentProcessorTimings.ProcessorTiming timing) {
+            this.deployment = deployment;
+            this.timing = timing;
+        }
+    }
+}
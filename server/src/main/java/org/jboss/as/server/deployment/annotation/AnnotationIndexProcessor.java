@@ -27,6 +27,7 @@ import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.DeploymentUnitProcessor;
 import org.jboss.as.server.deployment.DeploymentUtils;
+import org.jboss.as.server.deployment.ExplodedDeploymentMarker;
 import org.jboss.as.server.deployment.module.ResourceRoot;
 
 /**
@@ -47,8 +48,10 @@ public class AnnotationIndexProcessor implements DeploymentUnitProcessor {
      */
     public void deploy(DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
+        // Exploded content is typically redeployed over and over with few changes, so avoid indexing unchanged roots again
+        final boolean reuseIndex = ExplodedDeploymentMarker.isExplodedDeployment(deploymentUnit);
         for (ResourceRoot resourceRoot : DeploymentUtils.allResourceRoots(deploymentUnit)) {
-            ResourceRootIndexer.indexResourceRoot(resourceRoot);
+            ResourceRootIndexer.indexResourceRoot(resourceRoot, deploymentUnit, reuseIndex);
         }
     }
 
@@ -0,0 +1,126 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import java.lang.ref.SoftReference;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.jboss.jandex.Index;
+import org.jboss.vfs.VirtualFile;
+
+/**
+ * Retains the annotation indexes of resource roots across deployments, so that redeploying content whose classes
+ * did not change does not require reading every class again.
+ * <p>
+ * Indexes are keyed by the runtime name of the top level deployment and the path of the resource root relative to
+ * the root of that deployment, since the location of the content itself changes whenever managed content is
+ * updated. They are only softly referenced, and an index is only reused if the class files it was generated from
+ * still have the same paths, sizes and modification times. The indexes of a deployment are discarded when it is
+ * undeployed or removed, but retained when it is redeployed or replaced.
+ */
+final class ResourceRootIndexCache {
+
+    private static final Map<String, Map<String, SoftReference<CachedIndex>>> CACHE = new ConcurrentHashMap<>();
+
+    private ResourceRootIndexCache() {
+    }
+
+    /**
+     * Computes the fingerprint of the given class files, which changes if any of them is added, removed or modified.
+     *
+     * @param root the resource root the files belong to
+     * @param classFiles the class files of the resource root
+     * @return the fingerprint
+     */
+    static long fingerprint(final VirtualFile root, final List<VirtualFile> classFiles) {
+        long result = classFiles.size();
+        for (VirtualFile classFile : classFiles) {
+            result = 31 * result + classFile.getPathNameRelativeTo(root).hashCode();
+            result = 31 * result + classFile.getLastModified();
+            result = 31 * result + classFile.getSize();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the index previously generated for a resource root.
+     *
+     * @param deploymentName the runtime name of the top level deployment
+     * @param rootPath the path of the resource root relative to the root of the top level deployment
+     * @param fingerprint the current {@link #fingerprint(VirtualFile, List) fingerprint} of its class files
+     * @return the index, or {@code null} if none is cached or the content changed since it was generated
+     */
+    static Index get(final String deploymentName, final String rootPath, final long fingerprint) {
+        final Map<String, SoftReference<CachedIndex>> indexes = CACHE.get(deploymentName);
+        if (indexes == null) {
+            return null;
+        }
+        final SoftReference<CachedIndex> ref = indexes.get(rootPath);
+        final CachedIndex cached = ref == null ? null : ref.get();
+        if (cached == null || cached.fingerprint != fingerprint) {
+            if (ref != null) {
+                indexes.remove(rootPath, ref);
+            }
+            return null;
+        }
+        return cached.index;
+    }
+
+    /**
+     * Records the index generated for a resource root.
+     *
+     * @param deploymentName the runtime name of the top level deployment
+     * @param rootPath the path of the resource root relative to the root of the top level deployment
+     * @param fingerprint the {@link #fingerprint(VirtualFile, List) fingerprint} of the class files that were indexed
+     * @param index the index
+     */
+    static void put(final String deploymentName, final String rootPath, final long fingerprint, final Index index) {
+        CACHE.computeIfAbsent(deploymentName, name -> new ConcurrentHashMap<>())
+                .put(rootPath, new SoftReference<>(new CachedIndex(fingerprint, index)));
+        // Purge the entries whose index was reclaimed
+        for (Map<String, SoftReference<CachedIndex>> indexes : CACHE.values()) {
+            indexes.values().removeIf(ref -> ref.get() == null);
+        }
+    }
+
+    /**
+     * Discards the indexes retained for a deployment.
+     *
+     * @param deploymentName the runtime name of the top level deployment
+     */
+    static void evict(final String deploymentName) {
+        CACHE.remove(deploymentName);
+    }
+
+    private static final class CachedIndex {
+        private final long fingerprint;
+        private final Index index;
+
+        private CachedIndex(final long fingerprint, final Index index) {
+            this.fingerprint = fingerprint;
+            this.index = index;
+        }
+    }
+}
@@ -29,6 +29,7 @@ import java.util.Set;
 
 import org.jboss.as.server.logging.ServerLogger;
 import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
 import org.jboss.as.server.deployment.DeploymentUnitProcessingException;
 import org.jboss.as.server.deployment.module.ResourceRoot;
 import org.jboss.as.server.moduleservice.ModuleIndexBuilder;
@@ -50,6 +51,23 @@ public class ResourceRootIndexer {
      * Creates and attaches the annotation index to a resource root, if it has not already been attached
      */
     public static void indexResourceRoot(final ResourceRoot resourceRoot) throws DeploymentUnitProcessingException {
+        indexResourceRoot(resourceRoot, null, false);
+    }
+
+    /**
+     * Creates and attaches the annotation index to a resource root, if it has not already been attached.
+     * <p>
+     * If {@code reuseIndex} is {@code true} the generated index is retained, and a later call for the resource root
+     * at the same location within a deployment with the same runtime name attaches that index instead of generating
+     * a new one, unless a class file was added, removed or modified in between. This is meant for content which is
+     * likely to be redeployed with few changes, such as exploded deployments. The retained indexes are discarded by
+     * {@link #discardRetainedIndexes(String)}.
+     *
+     * @param resourceRoot the resource root to index
+     * @param deploymentUnit the deployment unit the resource root belongs to, may be {@code null} if {@code reuseIndex} is {@code false}
+     * @param reuseIndex whether the index of unchanged content may be reused across deployments
+     */
+    public static void indexResourceRoot(final ResourceRoot resourceRoot, final DeploymentUnit deploymentUnit, final boolean reuseIndex) throws DeploymentUnitProcessingException {
         if (resourceRoot.getAttachment(Attachments.ANNOTATION_INDEX) != null) {
             return;
         }
@@ -92,6 +110,28 @@ public class ResourceRootIndexer {
             });
 
             final List<VirtualFile> classChildren = virtualFile.getChildren(new SuffixMatchFilter(".class", visitorAttributes));
+            final String deploymentName;
+            final String rootPath;
+            if (reuseIndex) {
+                final DeploymentUnit topLevel = deploymentUnit.getParent() == null ? deploymentUnit : deploymentUnit.getParent();
+                deploymentName = topLevel.getName();
+                rootPath = getRelativePath(virtualFile, topLevel);
+            } else {
+                deploymentName = null;
+                rootPath = null;
+            }
+            final long fingerprint;
+            if (rootPath != null) {
+                fingerprint = ResourceRootIndexCache.fingerprint(virtualFile, classChildren);
+                final Index cached = ResourceRootIndexCache.get(deploymentName, rootPath, fingerprint);
+                if (cached != null) {
+                    resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, cached);
+                    ServerLogger.DEPLOYMENT_LOGGER.tracef("Reused index of unchanged archive %s", virtualFile);
+                    return;
+                }
+            } else {
+                fingerprint = 0;
+            }
             for (VirtualFile classFile : classChildren) {
                 InputStream inputStream = null;
                 try {
@@ -104,10 +144,44 @@ public class ResourceRootIndexer {
                 }
             }
             final Index index = indexer.complete();
+            if (rootPath != null) {
+                ResourceRootIndexCache.put(deploymentName, rootPath, fingerprint, index);
+            }
             resourceRoot.putAttachment(Attachments.ANNOTATION_INDEX, index);
             ServerLogger.DEPLOYMENT_LOGGER.tracef("Generated index for archive %s", virtualFile);
         } catch (Throwable t) {
             throw ServerLogger.ROOT_LOGGER.deploymentIndexingFailed(t);
         }
     }
+
+    /**
+     * Discards the indexes retained for a deployment by {@link #indexResourceRoot(ResourceRoot, DeploymentUnit, boolean)}.
+     *
+     * @param deploymentName the runtime name of the top level deployment
+     */
+    public static void discardRetainedIndexes(final String deploymentName) {
+        ResourceRootIndexCache.evict(deploymentName);
+    }
+
+    /**
+     * Gets the path of a resource root relative to the root of the top level deployment, which unlike the location
+     * of the content itself does not change when the deployment is redeployed.
+     *
+     * @return the relative path, or {@code null} if the resource root is not located within the deployment root
+     */
+    private static String getRelativePath(final VirtualFile root, final DeploymentUnit topLevel) {
+        final ResourceRoot deploymentRoot = topLevel.getAttachment(Attachments.DEPLOYMENT_ROOT);
+        if (deploymentRoot == null) {
+            return null;
+        }
+        final VirtualFile deploymentFile = deploymentRoot.getRoot();
+        if (root.equals(deploymentFile)) {
+            return "";
+        }
+        try {
+            return root.getPathNameRelativeTo(deploymentFile);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -75,13 +76,28 @@ public final class ManifestClassPathProcessor implements DeploymentUnitProcessor
 
     private static final String[] EMPTY_STRING_ARRAY = {};
 
+    public void deploy(final DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
+        final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
+        final ResourceRoot deploymentRoot = deploymentUnit.getAttachment(Attachments.DEPLOYMENT_ROOT);
+
+        // Read the manifests before taking the lock, so concurrently deployed units do not wait on each other's I/O.
+        // Roots created for Class-Path entries while processing are read under the lock.
+        final Map<ResourceRoot, String[]> classPathEntries = new IdentityHashMap<ResourceRoot, String[]>();
+        for (ResourceRoot root : DeploymentUtils.allResourceRoots(deploymentUnit)) {
+            if (!SubDeploymentMarker.isSubDeployment(root) || root == deploymentRoot) {
+                classPathEntries.put(root, getClassPathEntries(root));
+            }
+        }
+        processClassPathEntries(phaseContext, classPathEntries);
+    }
+
     /**
      * We only allow a single deployment at a time to be run through the class path processor.
      * <p/>
      * This is because if multiple sibling deployments reference the same item we need to make sure that they end up
      * with the same external module, and do not both create an external module with the same name.
      */
-    public synchronized void deploy(final DeploymentPhaseContext phaseContext) throws DeploymentUnitProcessingException {
+    private synchronized void processClassPathEntries(final DeploymentPhaseContext phaseContext, final Map<ResourceRoot, String[]> classPathEntries) throws DeploymentUnitProcessingException {
         final DeploymentUnit deploymentUnit = phaseContext.getDeploymentUnit();
 
 
@@ -152,7 +168,8 @@ public final class ManifestClassPathProcessor implements DeploymentUnitProcessor
                 continue;
             }
 
-            final String[] items = getClassPathEntries(resourceRoot);
+            final String[] prefetched = classPathEntries.get(resourceRoot);
+            final String[] items = prefetched != null ? prefetched : getClassPathEntries(resourceRoot);
             for (final String item : items) {
                 if (item.isEmpty() || item.equals(".")) { //a class path of . causes problems and is unnecessary, see WFLY-2725
                     continue;
@@ -569,7 +569,7 @@ public interface ServerLogger extends BasicLogger {
      *
      * @return the message
      */
-    @Message(id = Message.NONE, value = "Sets the start mode of the server, it can be either 'normal','admin-only' or 'suspend'. If this is 'suspend' the server will start in suspended mode, and will not service requests until it has been resumed. If this is started in admin-only mode the server will only open administrative interfaces and accept management requests but not start other runtime services or accept end user requests. Cannot be used in conjunction with --admin-only.")
+    @Message(id = Message.NONE, value = "Sets the start mode of the server, it can be either 'normal','admin-only', 'suspend' or 'standby'. If this is 'suspend' the server will start in suspended mode, and will not service requests until it has been resumed. If this is 'standby' the server will also not open the listeners of its subsystems until it is resumed, so it can be kept ready to take over from another server. If this is started in admin-only mode the server will only open administrative interfaces and accept management requests but not start other runtime services or accept end user requests. Cannot be used in conjunction with --admin-only.")
     String argStartMode();
 
     /**
@@ -1356,6 +1356,26 @@ public interface ServerLogger extends BasicLogger {
     @Message(id = 280, value = "Unable to initialise the git repository.")
     IllegalArgumentException unableToInitialiseGitRepository(@Cause Throwable cause);
 
+    @LogMessage(level = WARN)
+    @Message(id = 281, value = "Activity %s did not suspend within its timeout of %d ms, and is treated as suspended")
+    void activitySuspendTimedOut(ServerActivity activity, long timeoutMillis);
+
+    @LogMessage(level = INFO)
+    @Message(id = 282, value = "Starting server in standby mode, listeners will be opened when the server is resumed")
+    void startingServerStandby();
+
+    @LogMessage(level = INFO)
+    @Message(id = 283, value = "Activating server from standby mode")
+    void activatingServerFromStandby();
+
+    @LogMessage(level = ERROR)
+    @Message(id = 284, value = "Failed to activate %s")
+    void failedToActivate(Object task, @Cause Throwable cause);
+
+    @LogMessage(level = WARN)
+    @Message(id = 285, value = "Activity %s has execution group %d, which is outside the range of %d to %d. It is suspended with the nearest group in the range")
+    void executionGroupOutOfRange(ServerActivity activity, int executionGroup, int lowest, int highest);
+
     ////////////////////////////////////////////////
     //Messages without IDs
 
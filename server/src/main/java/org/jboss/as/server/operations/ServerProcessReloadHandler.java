@@ -94,6 +94,7 @@ public class ServerProcessReloadHandler extends ProcessReloadHandler<RunningMode
         }
 
         boolean suspend = false;
+        boolean standby = false;
         if(!adminOnly) {
             switch (startMode.toLowerCase(Locale.ENGLISH)) {
                 case ModelDescriptionConstants.ADMIN_ONLY:
@@ -104,9 +105,14 @@ public class ServerProcessReloadHandler extends ProcessReloadHandler<RunningMode
                 case ModelDescriptionConstants.SUSPEND:
                     suspend = true;
                     break;
+                case ModelDescriptionConstants.STANDBY:
+                    suspend = true;
+                    standby = true;
+                    break;
             }
         }
         final boolean finalSuspend = suspend;
+        final boolean finalStandby = standby;
         final boolean finalAdminOnly = adminOnly;
 
         final String serverConfig = unmanaged && operation.hasDefined(SERVER_CONFIG.getName()) ? SERVER_CONFIG.resolveModelAttribute(context, operation).asString() : null;
@@ -130,6 +136,7 @@ public class ServerProcessReloadHandler extends ProcessReloadHandler<RunningMode
                 runningModeControl.setUseCurrentConfig(useCurrentConfig);
                 runningModeControl.setNewBootFileName(serverConfig);
                 runningModeControl.setSuspend(finalSuspend);
+                runningModeControl.setStandby(finalStandby);
             }
         };
     }
@@ -137,7 +144,8 @@ public class ServerProcessReloadHandler extends ProcessReloadHandler<RunningMode
     private enum StartMode {
         NORMAL("normal"),
         ADMIN_ONLY("admin-only"),
-        SUSPEND("suspend");
+        SUSPEND("suspend"),
+        STANDBY("standby");
 
         private final String localName;
 
@@ -0,0 +1,71 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.operations;
+
+import static org.jboss.as.server.Services.JBOSS_SUSPEND_CONTROLLER;
+import static org.jboss.as.server.controller.resources.ServerRootResourceDefinition.SUSPEND_PROGRESS_ACTIVITY;
+import static org.jboss.as.server.controller.resources.ServerRootResourceDefinition.SUSPEND_PROGRESS_ELAPSED_TIME;
+import static org.jboss.as.server.controller.resources.ServerRootResourceDefinition.SUSPEND_PROGRESS_EXECUTION_GROUP;
+import static org.jboss.as.server.controller.resources.ServerRootResourceDefinition.SUSPEND_PROGRESS_OUTSTANDING_REQUESTS;
+import static org.jboss.as.server.controller.resources.ServerRootResourceDefinition.SUSPEND_PROGRESS_STATE;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.OperationStepHandler;
+import org.jboss.as.server.suspend.ActivitySuspendProgress;
+import org.jboss.as.server.suspend.SuspendController;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+
+/**
+ * Reports the progress of each {@link org.jboss.as.server.suspend.ServerActivity} through the current suspend.
+ */
+public class SuspendProgressReadHandler implements OperationStepHandler {
+
+    public static final SuspendProgressReadHandler INSTANCE = new SuspendProgressReadHandler();
+
+    private SuspendProgressReadHandler() {
+    }
+
+    @Override
+    public void execute(OperationContext context, ModelNode operation) throws OperationFailedException {
+        @SuppressWarnings("unchecked")
+        ServiceController<SuspendController> sc = (ServiceController<SuspendController>) context.getServiceRegistry(false).getService(JBOSS_SUSPEND_CONTROLLER);
+        final ModelNode result = context.getResult().setEmptyList();
+        if (sc != null) {
+            for (ActivitySuspendProgress progress : sc.getValue().getSuspendProgress()) {
+                final ModelNode node = new ModelNode();
+                node.get(SUSPEND_PROGRESS_ACTIVITY.getName()).set(progress.getActivity().getClass().getName());
+                node.get(SUSPEND_PROGRESS_EXECUTION_GROUP.getName()).set(progress.getExecutionGroup());
+                node.get(SUSPEND_PROGRESS_STATE.getName()).set(progress.getState().name());
+                if (progress.getElapsedTime() >= 0) {
+                    node.get(SUSPEND_PROGRESS_ELAPSED_TIME.getName()).set(progress.getElapsedTime());
+                }
+                if (progress.getOutstandingRequestCount() >= 0) {
+                    node.get(SUSPEND_PROGRESS_OUTSTANDING_REQUESTS.getName()).set(progress.getOutstandingRequestCount());
+                }
+                result.add(node);
+            }
+        }
+    }
+}
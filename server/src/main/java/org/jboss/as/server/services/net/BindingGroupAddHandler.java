@@ -40,7 +40,9 @@ import org.jboss.as.controller.registry.Resource;
 import org.jboss.as.controller.registry.Resource.ResourceEntry;
 import org.jboss.as.network.NetworkInterfaceBinding;
 import org.jboss.as.network.SocketBindingManager;
+import org.jboss.as.server.Services;
 import org.jboss.as.server.logging.ServerLogger;
+import org.jboss.as.server.suspend.SuspendController;
 import org.jboss.dmr.ModelNode;
 import org.jboss.msc.service.ServiceController;
 
@@ -114,7 +116,8 @@ public class BindingGroupAddHandler extends AbstractAddStepHandler {
         final CapabilityServiceBuilder<?> builder = context.getCapabilityServiceTarget().addCapability(SOCKET_BINDING_MANAGER_CAPABILITY);
         final Consumer<SocketBindingManager> sbmConsumer = builder.provides(SOCKET_BINDING_MANAGER_CAPABILITY);
         final Supplier<NetworkInterfaceBinding> nibSupplier = builder.requiresCapability("org.wildfly.network.interface", NetworkInterfaceBinding.class, defaultInterface);
-        builder.setInstance(new SocketBindingManagerService(sbmConsumer, nibSupplier, portOffset));
+        final Supplier<SuspendController> scSupplier = builder.requires(Services.JBOSS_SUSPEND_CONTROLLER);
+        builder.setInstance(new SocketBindingManagerService(sbmConsumer, nibSupplier, scSupplier, portOffset));
         builder.setInitialMode(ServiceController.Mode.ON_DEMAND);
         builder.addAliases(SocketBindingManager.SOCKET_BINDING_MANAGER);
         builder.install();
@@ -28,6 +28,7 @@ import java.util.function.Supplier;
 import org.jboss.as.network.NetworkInterfaceBinding;
 import org.jboss.as.network.SocketBindingManager;
 import org.jboss.as.network.SocketBindingManagerImpl;
+import org.jboss.as.server.suspend.SuspendController;
 import org.jboss.msc.service.Service;
 import org.jboss.msc.service.StartContext;
 import org.jboss.msc.service.StopContext;
@@ -40,13 +41,16 @@ final class SocketBindingManagerService extends SocketBindingManagerImpl impleme
 
     private final Consumer<SocketBindingManager> socketBindingManagerConsumer;
     private final Supplier<NetworkInterfaceBinding> networkInterfaceBindingSupplier;
+    private final Supplier<SuspendController> suspendControllerSupplier;
     private final int portOffSet;
 
     SocketBindingManagerService(final Consumer<SocketBindingManager> socketBindingManagerConsumer,
                                 final Supplier<NetworkInterfaceBinding> networkInterfaceBindingSupplier,
+                                final Supplier<SuspendController> suspendControllerSupplier,
                                 final int portOffSet) {
         this.socketBindingManagerConsumer = socketBindingManagerConsumer;
         this.networkInterfaceBindingSupplier = networkInterfaceBindingSupplier;
+        this.suspendControllerSupplier = suspendControllerSupplier;
         this.portOffSet = portOffSet;
     }
 
@@ -70,6 +74,11 @@ final class SocketBindingManagerService extends SocketBindingManagerImpl impleme
         return portOffSet;
     }
 
+    @Override
+    public void runWhenActive(final Runnable task) {
+        suspendControllerSupplier.get().runWhenActive(task);
+    }
+
     @Override
     public InetAddress getDefaultInterfaceAddress() {
         return networkInterfaceBindingSupplier.get().getAddress();
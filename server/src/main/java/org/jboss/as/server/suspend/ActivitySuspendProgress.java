@@ -0,0 +1,65 @@
+package org.jboss.as.server.suspend;
+
+/**
+ * A snapshot of the progress of a {@link ServerActivity} through a suspend.
+ */
+public final class ActivitySuspendProgress {
+
+    private final ServerActivity activity;
+    private final State state;
+    private final long elapsedTime;
+    private final int outstandingRequestCount;
+
+    ActivitySuspendProgress(final ServerActivity activity, final State state, final long elapsedTime, final int outstandingRequestCount) {
+        this.activity = activity;
+        this.state = state;
+        this.elapsedTime = elapsedTime;
+        this.outstandingRequestCount = outstandingRequestCount;
+    }
+
+    public ServerActivity getActivity() {
+        return activity;
+    }
+
+    public int getExecutionGroup() {
+        return activity.getExecutionGroup();
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Gets the time the activity has spent suspending so far, or took to suspend if it is done.
+     *
+     * @return the elapsed time in milliseconds, or {@code -1} if the activity has not started suspending yet
+     */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /**
+     * @return the number of requests the activity is still waiting for, or {@code -1} if the activity does not track them
+     */
+    public int getOutstandingRequestCount() {
+        return outstandingRequestCount;
+    }
+
+    public enum State {
+        /**
+         * The execution group of the activity has not started suspending yet.
+         */
+        PENDING,
+        /**
+         * The activity is running, or has completed, its pre-suspend phase.
+         */
+        PRE_SUSPEND,
+        SUSPENDING,
+        SUSPENDED,
+        /**
+         * The activity did not suspend within its {@link ServerActivity#getSuspendTimeout() timeout}, and was treated
+         * as suspended.
+         */
+        TIMED_OUT
+    }
+}
@@ -2,12 +2,32 @@ package org.jboss.as.server.suspend;
 
 /**
  * A server activity that may have to finish before the server can shut down gracefully.
+ * <p/>
+ * Activities are suspended in execution groups, lowest first. All activities of a group are suspended concurrently,
+ * and the next group is only started once every activity of the group has suspended. Resume runs in the reverse order.
+ * As the activities of a group are invoked one after another, {@link #preSuspend} and {@link #suspended} should
+ * return promptly and invoke their callback once draining is complete.
  *
  *
  * @author Stuart Douglas
  */
 public interface ServerActivity {
 
+    /**
+     * The lowest valid value to return from {@link #getExecutionGroup()}.
+     */
+    int LOWEST_EXECUTION_GROUP = 1;
+
+    /**
+     * The execution group of activities which do not override {@link #getExecutionGroup()}.
+     */
+    int DEFAULT_EXECUTION_GROUP = 5;
+
+    /**
+     * The highest valid value to return from {@link #getExecutionGroup()}.
+     */
+    int HIGHEST_EXECUTION_GROUP = 10;
+
     /**
      * Invoked before the server is paused. This is the place where pause notifications should
      * be sent to external systems such as load balancers to tell them this node is about to go away.
@@ -28,4 +48,36 @@ public interface ServerActivity {
      */
     void resume();
 
+    /**
+     * Gets the execution group of this activity, between {@link #LOWEST_EXECUTION_GROUP} and
+     * {@link #HIGHEST_EXECUTION_GROUP}. Activities which have to suspend before others, e.g. because they feed
+     * requests to them, should use a lower group. A value outside this range is logged when the activity is
+     * registered, and the nearest value within it is used instead.
+     *
+     * @return the execution group
+     */
+    default int getExecutionGroup() {
+        return DEFAULT_EXECUTION_GROUP;
+    }
+
+    /**
+     * Gets the maximum time this activity may take to suspend, measured from the invocation of {@link #preSuspend}.
+     * Once it has passed the activity is treated as suspended even if it has not invoked its callback, so that a stuck
+     * activity does not hold up the activities which come after it.
+     *
+     * @return the timeout in milliseconds, or {@code -1} if the activity may take as long as the suspend timeout allows
+     */
+    default long getSuspendTimeout() {
+        return -1;
+    }
+
+    /**
+     * Gets the number of requests this activity is still waiting for before it can complete suspending.
+     *
+     * @return the number of outstanding requests, or {@code -1} if the activity does not track them
+     */
+    default int getOutstandingRequestCount() {
+        return -1;
+    }
+
 }
@@ -5,10 +5,17 @@ import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MAN
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.MANAGEMENT_OPERATIONS;
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.SERVICE;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 import org.jboss.as.controller.PathAddress;
 import org.jboss.as.controller.notification.NotificationHandlerRegistry;
@@ -28,6 +35,13 @@ import org.jboss.msc.value.InjectedValue;
  * In most cases this work is delegated to the request controller subsystem.
  * however for workflows that do no correspond directly to a request model a {@link ServerActivity} instance
  * can be registered directly with this controller.
+ * <p/>
+ * Activities are suspended by {@link ServerActivity#getExecutionGroup() execution group}, with the activities of a
+ * group suspending concurrently. An activity which does not suspend within its own
+ * {@link ServerActivity#getSuspendTimeout() timeout} is treated as suspended, so the following groups can proceed.
+ * <p/>
+ * A server started in standby mode is also suspended, and in addition the tasks passed to {@link #runWhenActive(Runnable)},
+ * such as opening listeners, are deferred until the server is resumed for the first time.
  *
  * @author Stuart Douglas
  */
@@ -44,7 +58,7 @@ public class SuspendController implements Service<SuspendController> {
     public static final ServiceName SERVICE_NAME = ServiceName.JBOSS.append("server", "suspend-controller");
 
     /**
-     * Timer that handles the timeout. We create it on pause, rather than leaving it hanging round.
+     * Timer that handles the timeouts. We create it on pause, rather than leaving it hanging round.
      */
     private Timer timer;
 
@@ -56,11 +70,36 @@ public class SuspendController implements Service<SuspendController> {
 
     private final InjectedValue<NotificationHandlerRegistry> notificationHandlerRegistry = new InjectedValue<>();
 
+    /**
+     * The progress of every activity through the current suspend, in the order they are suspended.
+     */
+    private List<ActivityProgress> progress = Collections.emptyList();
+
+    /**
+     * The execution groups which have not started suspending yet.
+     */
+    private final Deque<List<ActivityProgress>> pendingGroups = new ArrayDeque<>();
+
+    private List<ActivityProgress> currentGroup;
+
+    /**
+     * Whether the current group has completed pre-suspend and is suspending.
+     */
+    private boolean groupSuspending;
+
+    /**
+     * The number of activities of the current group which have not completed the current phase.
+     */
     private int outstandingCount;
 
     private boolean startSuspended;
 
-    private final ServerActivityCallback listener = () -> activityPaused();
+    private boolean standby;
+
+    /**
+     * The tasks deferred until the server leaves standby mode.
+     */
+    private final List<Runnable> activationTasks = new ArrayList<>();
 
     public SuspendController() {
         this.startSuspended = false;
@@ -72,6 +111,37 @@ public class SuspendController implements Service<SuspendController> {
         state = State.SUSPENDED;
     }
 
+    /**
+     * Sets whether the server starts in standby mode. Must be called before the services which use
+     * {@link #runWhenActive(Runnable)} are started.
+     */
+    public synchronized void setStartStandby(boolean startStandby) {
+        this.standby = startStandby;
+        activationTasks.clear();
+    }
+
+    /**
+     * Runs the given task now, or when the server is first resumed if it was started in standby mode.
+     *
+     * @param task the task, which must not block
+     */
+    public void runWhenActive(final Runnable task) {
+        synchronized (this) {
+            if (standby) {
+                activationTasks.add(task);
+                return;
+            }
+        }
+        task.run();
+    }
+
+    /**
+     * @return {@code true} if the server was started in standby mode and was not resumed yet
+     */
+    public synchronized boolean isStandby() {
+        return standby;
+    }
+
     public synchronized void suspend(long timeoutMillis) {
         if(state == State.SUSPENDED) {
             return;
@@ -88,31 +158,28 @@ public class SuspendController implements Service<SuspendController> {
         for(OperationListener listener: new ArrayList<>(operationListeners)) {
             listener.suspendStarted();
         }
-        outstandingCount = activities.size();
-        if (outstandingCount == 0) {
-            handlePause();
-        } else {
-            CountingRequestCountCallback cb = new CountingRequestCountCallback(outstandingCount, () -> {
-                state = State.SUSPENDING;
-                for (ServerActivity activity : activities) {
-                    activity.suspended(SuspendController.this.listener);
+        // if a suspend is already in progress it starts over
+        cancelSuspend();
+        final Map<Integer, List<ActivityProgress>> groups = new TreeMap<>();
+        for (ServerActivity activity : activities) {
+            groups.computeIfAbsent(getExecutionGroup(activity), group -> new ArrayList<>()).add(new ActivityProgress(activity));
+        }
+        progress = new ArrayList<>();
+        for (List<ActivityProgress> group : groups.values()) {
+            progress.addAll(group);
+            pendingGroups.add(group);
+        }
+        if (timeoutMillis > 0) {
+            getTimer().schedule(new TimerTask() {
+                @Override
+                public void run() {
+                    timeout();
                 }
-            });
-
-            for (ServerActivity activity : activities) {
-                activity.preSuspend(cb);
-            }
-            if (timeoutMillis > 0) {
-                timer = new Timer();
-                timer.schedule(new TimerTask() {
-                    @Override
-                    public void run() {
-                        timeout();
-                    }
-                }, timeoutMillis);
-            } else if (timeoutMillis == 0) {
-                timeout();
-            }
+            }, timeoutMillis);
+        }
+        nextGroup();
+        if (timeoutMillis == 0 && state != State.SUSPENDED) {
+            timeout();
         }
     }
 
@@ -121,14 +188,17 @@ public class SuspendController implements Service<SuspendController> {
             return;
         }
         ServerLogger.ROOT_LOGGER.resumingServer();
-        if (timer != null) {
-            timer.cancel();
-            timer = null;
+        cancelSuspend();
+        if (standby) {
+            activate();
         }
         for(OperationListener listener: new ArrayList<>(operationListeners)) {
             listener.cancelled();
         }
-        for (ServerActivity activity : activities) {
+        // resume in the reverse order of suspending
+        final List<ServerActivity> resuming = new ArrayList<>(activities);
+        resuming.sort(Comparator.comparingInt(SuspendController::getExecutionGroup).reversed());
+        for (ServerActivity activity : resuming) {
             try {
                 activity.resume();
             } catch (Exception e) {
@@ -139,6 +209,11 @@ public class SuspendController implements Service<SuspendController> {
     }
 
     public synchronized void registerActivity(final ServerActivity activity) {
+        final int executionGroup = activity.getExecutionGroup();
+        if (executionGroup < ServerActivity.LOWEST_EXECUTION_GROUP || executionGroup > ServerActivity.HIGHEST_EXECUTION_GROUP) {
+            ServerLogger.ROOT_LOGGER.executionGroupOutOfRange(activity, executionGroup,
+                    ServerActivity.LOWEST_EXECUTION_GROUP, ServerActivity.HIGHEST_EXECUTION_GROUP);
+        }
         this.activities.add(activity);
         if(state != State.RUNNING) {
             //if the activity is added when we are not running we just immediately suspend it
@@ -149,13 +224,37 @@ public class SuspendController implements Service<SuspendController> {
         }
     }
 
+    /**
+     * Gets the execution group of an activity, clamped to the valid range.
+     */
+    private static int getExecutionGroup(final ServerActivity activity) {
+        return Math.max(ServerActivity.LOWEST_EXECUTION_GROUP,
+                Math.min(ServerActivity.HIGHEST_EXECUTION_GROUP, activity.getExecutionGroup()));
+    }
+
+    private void activate() {
+        ServerLogger.ROOT_LOGGER.activatingServerFromStandby();
+        standby = false;
+        // the listeners are opened before the activities resume, so no request is accepted before everything is listening
+        for (Runnable task : activationTasks) {
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                ServerLogger.ROOT_LOGGER.failedToActivate(task, e);
+            }
+        }
+        activationTasks.clear();
+    }
+
     public synchronized void unRegisterActivity(final ServerActivity activity) {
         this.activities.remove(activity);
     }
 
     @Override
     public synchronized void start(StartContext startContext) throws StartException {
-        if(startSuspended) {
+        if (standby) {
+            ServerLogger.AS_ROOT_LOGGER.startingServerStandby();
+        } else if(startSuspended) {
             ServerLogger.AS_ROOT_LOGGER.startingServerSuspended();
         }
     }
@@ -168,35 +267,167 @@ public class SuspendController implements Service<SuspendController> {
         return state;
     }
 
-    private synchronized void activityPaused() {
-        --outstandingCount;
-        handlePause();
+    /**
+     * Gets the progress of each activity through the current suspend, in the order the activities are suspended.
+     *
+     * @return the progress of each activity, or an empty list if the server is not suspending and did not suspend
+     * since it last resumed
+     */
+    public List<ActivitySuspendProgress> getSuspendProgress() {
+        final List<ActivityProgress> progress;
+        final List<ActivitySuspendProgress.State> states = new ArrayList<>();
+        final List<Long> elapsedTimes = new ArrayList<>();
+        synchronized (this) {
+            progress = this.progress;
+            final long now = System.nanoTime();
+            for (ActivityProgress activityProgress : progress) {
+                states.add(activityProgress.state);
+                elapsedTimes.add(activityProgress.getElapsedTime(now));
+            }
+        }
+        // the activities are asked for their request counts without holding the lock, as they may call back into this
+        final List<ActivitySuspendProgress> result = new ArrayList<>(progress.size());
+        for (int i = 0; i < progress.size(); i++) {
+            final ActivitySuspendProgress.State state = states.get(i);
+            final ServerActivity activity = progress.get(i).activity;
+            final boolean draining = state == ActivitySuspendProgress.State.PRE_SUSPEND || state == ActivitySuspendProgress.State.SUSPENDING;
+            result.add(new ActivitySuspendProgress(activity, state, elapsedTimes.get(i), draining ? activity.getOutstandingRequestCount() : 0));
+        }
+        return result;
     }
 
-    private void handlePause() {
-        if (outstandingCount == 0) {
+    /**
+     * Starts suspending the next execution group, or completes the suspend if there are no groups left.
+     */
+    private void nextGroup() {
+        currentGroup = pendingGroups.poll();
+        if (currentGroup == null) {
             state = State.SUSPENDED;
-            if (timer != null) {
-                timer.cancel();
-                timer = null;
-            }
+            cancelTimer();
 
             for(OperationListener listener: new ArrayList<>(operationListeners)) {
                 listener.complete();
             }
+        } else {
+            startPhase(false);
         }
     }
 
-    private synchronized void timeout() {
-        if (timer != null) {
-            timer.cancel();
-            timer = null;
+    private void startPhase(final boolean suspending) {
+        final List<ActivityProgress> group = currentGroup;
+        groupSuspending = suspending;
+        outstandingCount = 0;
+        for (ActivityProgress activityProgress : group) {
+            if (activityProgress.timedOut) {
+                if (suspending) {
+                    // still tell an activity which timed out during pre-suspend to stop, but don't wait for it
+                    activityProgress.activity.suspended(() -> {
+                    });
+                }
+            } else {
+                activityProgress.waiting = true;
+                outstandingCount++;
+            }
+        }
+        if (outstandingCount == 0) {
+            phaseComplete();
+            return;
+        }
+        for (ActivityProgress activityProgress : group) {
+            if (activityProgress.timedOut) {
+                continue;
+            }
+            if (suspending) {
+                activityProgress.state = ActivitySuspendProgress.State.SUSPENDING;
+                activityProgress.activity.suspended(() -> activityDone(activityProgress, true));
+            } else {
+                activityProgress.state = ActivitySuspendProgress.State.PRE_SUSPEND;
+                activityProgress.start = System.nanoTime();
+                final long suspendTimeout = activityProgress.activity.getSuspendTimeout();
+                if (suspendTimeout > 0) {
+                    getTimer().schedule(new TimerTask() {
+                        @Override
+                        public void run() {
+                            activityTimedOut(activityProgress, suspendTimeout);
+                        }
+                    }, suspendTimeout);
+                }
+                activityProgress.activity.preSuspend(() -> activityDone(activityProgress, false));
+            }
+        }
+    }
+
+    private void phaseComplete() {
+        if (groupSuspending) {
+            nextGroup();
+        } else {
+            if (state == State.PRE_SUSPEND) {
+                state = State.SUSPENDING;
+            }
+            startPhase(true);
+        }
+    }
+
+    private synchronized void activityDone(final ActivityProgress activityProgress, final boolean suspending) {
+        if (activityProgress.cancelled || !activityProgress.waiting || suspending != groupSuspending) {
+            // a late or repeated callback, or a callback from an activity which already timed out
+            return;
         }
+        activityProgress.waiting = false;
+        if (suspending) {
+            activityProgress.state = ActivitySuspendProgress.State.SUSPENDED;
+            activityProgress.end = System.nanoTime();
+        }
+        if (--outstandingCount == 0) {
+            phaseComplete();
+        }
+    }
+
+    private synchronized void activityTimedOut(final ActivityProgress activityProgress, final long suspendTimeout) {
+        if (activityProgress.cancelled || activityProgress.end >= 0) {
+            return;
+        }
+        ServerLogger.ROOT_LOGGER.activitySuspendTimedOut(activityProgress.activity, suspendTimeout);
+        activityProgress.timedOut = true;
+        activityProgress.state = ActivitySuspendProgress.State.TIMED_OUT;
+        activityProgress.end = System.nanoTime();
+        if (activityProgress.waiting) {
+            activityProgress.waiting = false;
+            if (--outstandingCount == 0) {
+                phaseComplete();
+            }
+        }
+    }
+
+    private synchronized void timeout() {
         for(OperationListener listener: new ArrayList<>(operationListeners)) {
             listener.timeout();
         }
     }
 
+    private void cancelSuspend() {
+        cancelTimer();
+        for (ActivityProgress activityProgress : progress) {
+            activityProgress.cancelled = true;
+        }
+        progress = Collections.emptyList();
+        pendingGroups.clear();
+        currentGroup = null;
+    }
+
+    private Timer getTimer() {
+        if (timer == null) {
+            timer = new Timer("Server suspend timer", true);
+        }
+        return timer;
+    }
+
+    private void cancelTimer() {
+        if (timer != null) {
+            timer.cancel();
+            timer = null;
+        }
+    }
 
     public synchronized void addListener(final OperationListener listener) {
         operationListeners.add(listener);
@@ -221,4 +452,34 @@ public class SuspendController implements Service<SuspendController> {
         SUSPENDING,
         SUSPENDED
     }
+
+    /**
+     * The progress of an activity through a suspend. Guarded by the controller.
+     */
+    private static final class ActivityProgress {
+        private final ServerActivity activity;
+        private ActivitySuspendProgress.State state = ActivitySuspendProgress.State.PENDING;
+        private long start = -1;
+        private long end = -1;
+        /**
+         * Whether the controller is waiting for the activity to complete the current phase.
+         */
+        private boolean waiting;
+        private boolean timedOut;
+        /**
+         * Set once the server resumes, so late callbacks are ignored.
+         */
+        private boolean cancelled;
+
+        private ActivityProgress(final ServerActivity activity) {
+            this.activity = activity;
+        }
+
+        private long getElapsedTime(final long now) {
+            if (start < 0) {
+                return -1;
+            }
+            return TimeUnit.NANOSECONDS.toMillis((end < 0 ? now : end) - start);
+        }
+    }
 }
@@ -0,0 +1,95 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link DeploymentProcessorTimings}.
+ */
+public class DeploymentProcessorTimingsTestCase {
+
+    private static final RegisteredDeploymentUnitProcessor PARSE_PROCESSOR = processor(0x100);
+    private static final RegisteredDeploymentUnitProcessor INSTALL_PROCESSOR = processor(0x200);
+
+    @Test
+    public void testRecord() {
+        final DeploymentProcessorTimings timings = new DeploymentProcessorTimings();
+        run(timings, Phase.PARSE, PARSE_PROCESSOR);
+        run(timings, Phase.INSTALL, INSTALL_PROCESSOR);
+
+        final List<DeploymentProcessorTimings.ProcessorTiming> recorded = timings.getTimings();
+        assertEquals(2, recorded.size());
+        assertEquals(Phase.PARSE, recorded.get(0).getPhase());
+        assertEquals(0x100, recorded.get(0).getPriority());
+        assertEquals("test", recorded.get(0).getSubsystemName());
+        assertEquals(Phase.INSTALL, recorded.get(1).getPhase());
+    }
+
+    @Test
+    public void testPhaseRestartDiscardsPreviousTimings() {
+        final DeploymentProcessorTimings timings = new DeploymentProcessorTimings();
+        run(timings, Phase.PARSE, PARSE_PROCESSOR);
+        run(timings, Phase.INSTALL, INSTALL_PROCESSOR);
+
+        // Restarting a phase runs its processors and those of every later phase again
+        run(timings, Phase.INSTALL, INSTALL_PROCESSOR);
+        assertEquals(Arrays.asList(Phase.PARSE, Phase.INSTALL), phases(timings));
+
+        run(timings, Phase.PARSE, PARSE_PROCESSOR);
+        assertEquals(Arrays.asList(Phase.PARSE), phases(timings));
+        run(timings, Phase.INSTALL, INSTALL_PROCESSOR);
+        assertEquals(Arrays.asList(Phase.PARSE, Phase.INSTALL), phases(timings));
+    }
+
+    private static void run(final DeploymentProcessorTimings timings, final Phase phase, final RegisteredDeploymentUnitProcessor processor) {
+        timings.phaseStarted(phase);
+        timings.record(phase, processor, DeploymentProcessorTimings.start());
+    }
+
+    private static List<Phase> phases(final DeploymentProcessorTimings timings) {
+        final List<Phase> result = new ArrayList<>();
+        for (DeploymentProcessorTimings.ProcessorTiming timing : timings.getTimings()) {
+            result.add(timing.getPhase());
+        }
+        return result;
+    }
+
+    private static RegisteredDeploymentUnitProcessor processor(final int priority) {
+        return new RegisteredDeploymentUnitProcessor(priority, new DeploymentUnitProcessor() {
+            @Override
+            public void deploy(DeploymentPhaseContext phaseContext) {
+            }
+
+            @Override
+            public void undeploy(DeploymentUnit context) {
+            }
+        }, "test");
+    }
+}
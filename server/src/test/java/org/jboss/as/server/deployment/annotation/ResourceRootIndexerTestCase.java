@@ -0,0 +1,166 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.deployment.annotation;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+
+import org.jboss.as.server.deployment.Attachments;
+import org.jboss.as.server.deployment.DeploymentUnit;
+import org.jboss.as.server.deployment.module.ResourceRoot;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.Index;
+import org.jboss.vfs.VFS;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+/**
+ * Tests the reuse of the annotation indexes of exploded deployments by {@link ResourceRootIndexer}.
+ */
+public class ResourceRootIndexerTestCase {
+
+    private static final String DEPLOYMENT_NAME = "test.war";
+    private static final String CLASSES = "WEB-INF/classes";
+
+    private Path base;
+
+    @Before
+    public void createContent() throws IOException {
+        base = Files.createTempDirectory("index-test");
+        final Path classFile = base.resolve("first").resolve(CLASSES).resolve(ResourceRootIndexerTestCase.class.getSimpleName() + ".class");
+        Files.createDirectories(classFile.getParent());
+        try (InputStream in = ResourceRootIndexerTestCase.class.getResourceAsStream(classFile.getFileName().toString())) {
+            Files.copy(in, classFile);
+        }
+        Files.setLastModifiedTime(classFile, FileTime.fromMillis(1000000000000L));
+    }
+
+    @After
+    public void deleteContent() throws IOException {
+        ResourceRootIndexer.discardRetainedIndexes(DEPLOYMENT_NAME);
+        Files.walkFileTree(base, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @Test
+    public void testRedeployReusesIndex() throws Exception {
+        final Index first = index("first");
+        assertNotNull(first.getClassByName(DotName.createSimple(ResourceRootIndexerTestCase.class.getName())));
+
+        // Managed exploded content is copied to a new location whenever it is updated
+        copy(base.resolve("first"), base.resolve("second"));
+        assertSame(first, index("second"));
+    }
+
+    @Test
+    public void testModifiedContentIsIndexedAgain() throws Exception {
+        final Index first = index("first");
+
+        copy(base.resolve("first"), base.resolve("second"));
+        final File classFile = base.resolve("second").resolve(CLASSES).resolve(ResourceRootIndexerTestCase.class.getSimpleName() + ".class").toFile();
+        assertTrue(classFile.setLastModified(classFile.lastModified() + 10000));
+        assertNotSame(first, index("second"));
+    }
+
+    @Test
+    public void testUndeployDiscardsIndex() throws Exception {
+        final Index first = index("first");
+
+        ResourceRootIndexer.discardRetainedIndexes(DEPLOYMENT_NAME);
+        assertNotSame(first, index("first"));
+    }
+
+    @Test
+    public void testIndexNotReusedAcrossDeployments() throws Exception {
+        final Index first = index("first");
+
+        assertNotSame(first, index("other.war", "first", true));
+        ResourceRootIndexer.discardRetainedIndexes("other.war");
+    }
+
+    @Test
+    public void testIndexNotRetainedWithoutReuse() throws Exception {
+        final Index first = index(DEPLOYMENT_NAME, "first", false);
+
+        assertNotSame(first, index("first"));
+    }
+
+    private Index index(final String dir) throws Exception {
+        return index(DEPLOYMENT_NAME, dir, true);
+    }
+
+    private Index index(final String deploymentName, final String dir, final boolean reuseIndex) throws Exception {
+        final ResourceRoot deploymentRoot = new ResourceRoot(VFS.getChild(base.resolve(dir).toUri()), null);
+        final DeploymentUnit deploymentUnit = Mockito.mock(DeploymentUnit.class);
+        Mockito.when(deploymentUnit.getName()).thenReturn(deploymentName);
+        Mockito.when(deploymentUnit.getAttachment(Attachments.DEPLOYMENT_ROOT)).thenReturn(deploymentRoot);
+
+        final ResourceRoot classesRoot = new ResourceRoot(deploymentRoot.getRoot().getChild(CLASSES), null);
+        ResourceRootIndexer.indexResourceRoot(classesRoot, deploymentUnit, reuseIndex);
+        final Index index = classesRoot.getAttachment(Attachments.ANNOTATION_INDEX);
+        assertNotNull(index);
+        return index;
+    }
+
+    private static void copy(final Path source, final Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir)));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file)), StandardCopyOption.COPY_ATTRIBUTES);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.server.suspend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests the suspending of {@link ServerActivity activities} by execution group.
+ */
+public class SuspendControllerTestCase {
+
+    @Test
+    public void testGroupsSuspendInOrder() {
+        final List<String> events = new ArrayList<>();
+        final TestActivity first = new TestActivity("first", 1, -1, events);
+        final TestActivity second = new TestActivity("second", 5, -1, events);
+        final TestActivity third = new TestActivity("third", 5, -1, events);
+        final SuspendController controller = createController(second, third, first);
+
+        controller.suspend(-1);
+        assertEquals(Arrays.asList("first.preSuspend"), events);
+        assertEquals(SuspendController.State.PRE_SUSPEND, controller.getState());
+
+        first.preSuspendCallback.done();
+        assertEquals(SuspendController.State.SUSPENDING, controller.getState());
+        assertEquals(Arrays.asList("first.preSuspend", "first.suspended"), events);
+        assertStates(controller, ActivitySuspendProgress.State.SUSPENDING, ActivitySuspendProgress.State.PENDING, ActivitySuspendProgress.State.PENDING);
+
+        first.suspendedCallback.done();
+        // both activities of the second group drain concurrently
+        assertEquals(Arrays.asList("first.preSuspend", "first.suspended", "second.preSuspend", "third.preSuspend"), events);
+        assertStates(controller, ActivitySuspendProgress.State.SUSPENDED, ActivitySuspendProgress.State.PRE_SUSPEND, ActivitySuspendProgress.State.PRE_SUSPEND);
+        assertEquals(3, controller.getSuspendProgress().get(1).getOutstandingRequestCount());
+
+        third.preSuspendCallback.done();
+        second.preSuspendCallback.done();
+        third.suspendedCallback.done();
+        // repeated callbacks are ignored
+        third.suspendedCallback.done();
+        assertEquals(SuspendController.State.SUSPENDING, controller.getState());
+        second.suspendedCallback.done();
+        assertEquals(SuspendController.State.SUSPENDED, controller.getState());
+        assertStates(controller, ActivitySuspendProgress.State.SUSPENDED, ActivitySuspendProgress.State.SUSPENDED, ActivitySuspendProgress.State.SUSPENDED);
+
+        events.clear();
+        controller.resume();
+        assertEquals(Arrays.asList("second.resume", "third.resume", "first.resume"), events);
+        assertEquals(SuspendController.State.RUNNING, controller.getState());
+        assertTrue(controller.getSuspendProgress().isEmpty());
+    }
+
+    @Test
+    public void testExecutionGroupOutOfRangeIsClamped() {
+        final List<String> events = new ArrayList<>();
+        final TestActivity low = new TestActivity("low", 0, -1, events);
+        final TestActivity lowest = new TestActivity("lowest", ServerActivity.LOWEST_EXECUTION_GROUP, -1, events);
+        final TestActivity middle = new TestActivity("middle", 5, -1, events);
+        final TestActivity high = new TestActivity("high", 42, -1, events);
+        final SuspendController controller = createController(high, middle, low, lowest);
+
+        controller.suspend(-1);
+        // the activity below the range suspends with the lowest group
+        assertEquals(Arrays.asList("low.preSuspend", "lowest.preSuspend"), events);
+        low.preSuspendCallback.done();
+        lowest.preSuspendCallback.done();
+        low.suspendedCallback.done();
+        lowest.suspendedCallback.done();
+        assertEquals("middle.preSuspend", events.get(events.size() - 1));
+        middle.preSuspendCallback.done();
+        middle.suspendedCallback.done();
+        // and the activity above the range suspends last
+        assertEquals("high.preSuspend", events.get(events.size() - 1));
+        high.preSuspendCallback.done();
+        high.suspendedCallback.done();
+        assertEquals(SuspendController.State.SUSPENDED, controller.getState());
+    }
+
+    @Test
+    public void testStuckActivityTimesOut() throws InterruptedException {
+        final List<String> events = new ArrayList<>();
+        final TestActivity stuck = new TestActivity("stuck", 1, 100, events);
+        final TestActivity next = new TestActivity("next", 2, -1, events);
+        final SuspendController controller = createController(stuck, next);
+        final CountDownLatch complete = new CountDownLatch(1);
+        controller.addListener(new OperationListener() {
+            @Override
+            public void suspendStarted() {
+            }
+
+            @Override
+            public void complete() {
+                complete.countDown();
+            }
+
+            @Override
+            public void cancelled() {
+            }
+
+            @Override
+            public void timeout() {
+            }
+        });
+
+        controller.suspend(-1);
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (next.preSuspendCallback == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        synchronized (controller) {
+            // the stuck activity is still told to suspend, but the next group does not wait for it
+            assertEquals(Arrays.asList("stuck.preSuspend", "stuck.suspended", "next.preSuspend"), events);
+        }
+        assertStates(controller, ActivitySuspendProgress.State.TIMED_OUT, ActivitySuspendProgress.State.PRE_SUSPEND);
+        assertTrue(controller.getSuspendProgress().get(0).getElapsedTime() >= 100);
+
+        // the callback of the stuck activity no longer counts
+        stuck.preSuspendCallback.done();
+        next.preSuspendCallback.done();
+        next.suspendedCallback.done();
+        assertTrue(complete.await(10, TimeUnit.SECONDS));
+        assertEquals(SuspendController.State.SUSPENDED, controller.getState());
+    }
+
+    @Test
+    public void testStandbyDefersTasksUntilResumed() {
+        final List<String> events = new ArrayList<>();
+        final SuspendController controller = new SuspendController();
+        controller.setStartSuspended(true);
+        controller.setStartStandby(true);
+        controller.registerActivity(new TestActivity("activity", ServerActivity.DEFAULT_EXECUTION_GROUP, -1, events));
+        controller.runWhenActive(() -> events.add("listen"));
+        assertTrue(controller.isStandby());
+        assertEquals(Arrays.asList("activity.suspended"), events);
+
+        events.clear();
+        controller.resume();
+        // the deferred tasks run before the activities resume
+        assertEquals(Arrays.asList("listen", "activity.resume"), events);
+        assertFalse(controller.isStandby());
+
+        events.clear();
+        controller.runWhenActive(() -> events.add("listen"));
+        assertEquals(Arrays.asList("listen"), events);
+    }
+
+    private static SuspendController createController(final ServerActivity... activities) {
+        final SuspendController controller = new SuspendController();
+        controller.resume();
+        for (ServerActivity activity : activities) {
+            controller.registerActivity(activity);
+        }
+        return controller;
+    }
+
+    private static void assertStates(final SuspendController controller, final ActivitySuspendProgress.State... expected) {
+        final List<ActivitySuspendProgress.State> states = new ArrayList<>();
+        for (ActivitySuspendProgress progress : controller.getSuspendProgress()) {
+            states.add(progress.getState());
+        }
+        assertEquals(Arrays.asList(expected), states);
+    }
+
+    private static final class TestActivity implements ServerActivity {
+        private final String name;
+        private final int executionGroup;
+        private final long suspendTimeout;
+        private final List<String> events;
+        volatile ServerActivityCallback preSuspendCallback;
+        volatile ServerActivityCallback suspendedCallback;
+
+        TestActivity(final String name, final int executionGroup, final long suspendTimeout, final List<String> events) {
+            this.name = name;
+            this.executionGroup = executionGroup;
+            this.suspendTimeout = suspendTimeout;
+            this.events = events;
+        }
+
+        @Override
+        public void preSuspend(final ServerActivityCallback listener) {
+            events.add(name + ".preSuspend");
+            preSuspendCallback = listener;
+        }
+
+        @Override
+        public void suspended(final ServerActivityCallback listener) {
+            events.add(name + ".suspended");
+            suspendedCallback = listener;
+        }
+
+        @Override
+        public void resume() {
+            events.add(name + ".resume");
+        }
+
+        @Override
+        public int getExecutionGroup() {
+            return executionGroup;
+        }
+
+        @Override
+        public long getSuspendTimeout() {
+            return suspendTimeout;
+        }
+
+        @Override
+        public int getOutstandingRequestCount() {
+            return 3;
+        }
+    }
+}
@@ -62,6 +62,7 @@ public class BoundedQueueThreadPoolAdd extends AbstractAddStepHandler {
     private final HandoffExecutorResolver handoffExecutorResolver;
     private final ServiceName serviceNameBase;
     private final RuntimeCapability<Void> capability;
+    private final boolean taskStatistics;
 
     public BoundedQueueThreadPoolAdd(boolean blocking, ThreadFactoryResolver threadFactoryResolver,
                                      HandoffExecutorResolver handoffExecutorResolver, ServiceName serviceNameBase) {
@@ -71,12 +72,23 @@ public class BoundedQueueThreadPoolAdd extends AbstractAddStepHandler {
     public BoundedQueueThreadPoolAdd(boolean blocking, ThreadFactoryResolver threadFactoryResolver,
                                      HandoffExecutorResolver handoffExecutorResolver, ServiceName serviceNameBase,
                                      RuntimeCapability<Void> capability) {
-        super(blocking ? BLOCKING_ATTRIBUTES : NON_BLOCKING_ATTRIBUTES);
+        this(blocking, threadFactoryResolver, handoffExecutorResolver, serviceNameBase, capability, false);
+    }
+
+    BoundedQueueThreadPoolAdd(boolean blocking, ThreadFactoryResolver threadFactoryResolver, HandoffExecutorResolver handoffExecutorResolver,
+            ServiceName serviceNameBase, RuntimeCapability<Void> capability, boolean taskStatistics) {
+        super(attributes(blocking, taskStatistics));
         this.blocking = blocking;
         this.threadFactoryResolver = threadFactoryResolver;
         this.handoffExecutorResolver = handoffExecutorResolver;
         this.serviceNameBase = serviceNameBase;
         this.capability= capability;
+        this.taskStatistics = taskStatistics;
+    }
+
+    static AttributeDefinition[] attributes(boolean blocking, boolean taskStatistics) {
+        final AttributeDefinition[] attributes = blocking ? BLOCKING_ATTRIBUTES : NON_BLOCKING_ATTRIBUTES;
+        return taskStatistics ? ThreadPoolManagementUtils.withStatisticsEnabled(attributes) : attributes;
     }
 
     @Override
@@ -90,6 +102,9 @@ public class BoundedQueueThreadPoolAdd extends AbstractAddStepHandler {
                 blocking,
                 params.getKeepAliveTime(),
                 params.isAllowCoreTimeout());
+        if (taskStatistics) {
+            service.setStatisticsEnabled(PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean());
+        }
 
         ThreadPoolManagementUtils.installThreadPoolService(service, params.getName(), capability, context.getCurrentAddress(),
                 serviceNameBase, params.getThreadFactory(), threadFactoryResolver, service.getThreadFactoryInjector(),
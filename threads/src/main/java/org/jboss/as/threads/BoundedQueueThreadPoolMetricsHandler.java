@@ -49,7 +49,11 @@ public class BoundedQueueThreadPoolMetricsHandler extends ThreadPoolMetricsHandl
     }
 
     public BoundedQueueThreadPoolMetricsHandler(final RuntimeCapability capability, final ServiceName serviceNameBase) {
-        super(METRICS, capability, serviceNameBase);
+        this(capability, serviceNameBase, false);
+    }
+
+    BoundedQueueThreadPoolMetricsHandler(final RuntimeCapability capability, final ServiceName serviceNameBase, final boolean taskStatistics) {
+        super(METRICS, capability, serviceNameBase, taskStatistics);
     }
 
     @Override
@@ -64,6 +64,19 @@ public class BoundedQueueThreadPoolResourceDefinition extends PersistentResource
         }
     }
 
+    /**
+     * Creates the definition of the subsystem's own pool, which also records task statistics.
+     */
+    static BoundedQueueThreadPoolResourceDefinition create(boolean blocking, boolean registerRuntimeOnly, boolean taskStatistics) {
+        final String type = blocking ? BLOCKING_BOUNDED_QUEUE_THREAD_POOL : BOUNDED_QUEUE_THREAD_POOL;
+        final HandoffExecutorResolver handoffExecutorResolver = blocking ? null : ThreadsServices.getHandoffExecutorResolver(type);
+        final RuntimeCapability<Void> capability = ThreadsServices.createCapability(type, ManagedQueueExecutorService.class);
+        final BoundedQueueThreadPoolAdd addHandler = new BoundedQueueThreadPoolAdd(blocking, ThreadsServices.getThreadFactoryResolver(type),
+                handoffExecutorResolver, ThreadsServices.EXECUTOR, capability, taskStatistics);
+        return new BoundedQueueThreadPoolResourceDefinition(blocking, registerRuntimeOnly, PathElement.pathElement(type), capability,
+                ThreadsServices.EXECUTOR, type, addHandler, new BoundedQueueThreadPoolRemove(addHandler), taskStatistics);
+    }
+
     public static BoundedQueueThreadPoolResourceDefinition create(boolean blocking, String type, boolean registerRuntimeOnly) {
         if (blocking) {
             return create(type, ThreadsServices.getThreadFactoryResolver(type), null, ThreadsServices.EXECUTOR, registerRuntimeOnly);
@@ -91,7 +104,7 @@ public class BoundedQueueThreadPoolResourceDefinition extends PersistentResource
                 handoffExecutorResolver, poolNameBase, capability);
         final OperationStepHandler removeHandler = new BoundedQueueThreadPoolRemove(addHandler);
         return new BoundedQueueThreadPoolResourceDefinition(blocking, registerRuntimeOnly, path, capability,
-                poolNameBase, resolverPrefix, addHandler, removeHandler);
+                poolNameBase, resolverPrefix, addHandler, removeHandler, false);
     }
     /**
      * @deprecated This class is not designed for subclassing and having this constructor be accessible is a specific workaround for WFCORE-1623 that may be reverted at any time
@@ -101,13 +114,13 @@ public class BoundedQueueThreadPoolResourceDefinition extends PersistentResource
                                                      String type, ServiceName serviceNameBase, String resolverPrefix, OperationStepHandler addHandler,
                                                      OperationStepHandler removeHandler) {
         this(blocking, registerRuntimeOnly, PathElement.pathElement(type), ThreadsServices.createCapability(type, ManagedQueueExecutorService.class),
-                serviceNameBase, resolverPrefix, addHandler, removeHandler);
+                serviceNameBase, resolverPrefix, addHandler, removeHandler, false);
     }
 
     private BoundedQueueThreadPoolResourceDefinition(boolean blocking, boolean registerRuntimeOnly, PathElement path,
                                                        RuntimeCapability<Void> capability, ServiceName serviceNameBase,
                                                        String resolverPrefix, OperationStepHandler addHandler,
-                                                       OperationStepHandler removeHandler) {
+                                                       OperationStepHandler removeHandler, boolean taskStatistics) {
         super(new SimpleResourceDefinition.Parameters(path, new ThreadPoolResourceDescriptionResolver(resolverPrefix,
                                                       ThreadsExtension.RESOURCE_NAME, ThreadsExtension.class.getClassLoader()))
                 .setAddHandler(addHandler)
@@ -115,8 +128,8 @@ public class BoundedQueueThreadPoolResourceDefinition extends PersistentResource
                 .setCapabilities(capability));
         this.registerRuntimeOnly = registerRuntimeOnly;
         this.blocking = blocking;
-        metricsHandler = new BoundedQueueThreadPoolMetricsHandler(capability, serviceNameBase);
-        writeHandler = new BoundedQueueThreadPoolWriteAttributeHandler(blocking, capability, serviceNameBase);
+        metricsHandler = new BoundedQueueThreadPoolMetricsHandler(capability, serviceNameBase, taskStatistics);
+        writeHandler = new BoundedQueueThreadPoolWriteAttributeHandler(blocking, capability, serviceNameBase, taskStatistics);
     }
 
 
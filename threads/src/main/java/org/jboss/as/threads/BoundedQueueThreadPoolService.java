@@ -52,6 +52,7 @@ public class BoundedQueueThreadPoolService implements Service<ManagedQueueExecut
     private int maxThreads;
     private TimeSpec keepAlive;
     private boolean allowCoreTimeout;
+    private boolean statisticsEnabled;
 
     public BoundedQueueThreadPoolService(int coreThreads, int maxThreads, int queueLength, boolean blocking, TimeSpec keepAlive, boolean allowCoreTimeout) {
         this.coreThreads = coreThreads;
@@ -68,6 +69,7 @@ public class BoundedQueueThreadPoolService implements Service<ManagedQueueExecut
         QueueExecutor queueExecutor = new QueueExecutor(coreThreads, maxThreads, keepAliveTime, TimeUnit.NANOSECONDS, queueLength, threadFactoryValue.getValue(), blocking, handoffExecutorValue.getOptionalValue());
         queueExecutor.setAllowCoreThreadTimeout(allowCoreTimeout);
         executor = new ManagedQueueExecutorService(queueExecutor);
+        executor.setStatisticsEnabled(statisticsEnabled);
     }
 
     public void stop(final StopContext context) {
@@ -154,4 +156,12 @@ public class BoundedQueueThreadPoolService implements Service<ManagedQueueExecut
         final ManagedQueueExecutorService executor = getValue();
         return executor.getQueueSize();
     }
+
+    public synchronized void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        final ManagedQueueExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
 }
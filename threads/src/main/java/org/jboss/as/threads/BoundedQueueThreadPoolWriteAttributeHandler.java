@@ -43,8 +43,12 @@ public class BoundedQueueThreadPoolWriteAttributeHandler extends ThreadsWriteAtt
     private final RuntimeCapability capability;
 
     public  BoundedQueueThreadPoolWriteAttributeHandler(boolean blocking, final RuntimeCapability capability, ServiceName serviceNameBase) {
-        super(blocking ? BoundedQueueThreadPoolAdd.BLOCKING_ATTRIBUTES : BoundedQueueThreadPoolAdd.NON_BLOCKING_ATTRIBUTES,
-                BoundedQueueThreadPoolAdd.RW_ATTRIBUTES);
+        this(blocking, capability, serviceNameBase, false);
+    }
+
+    BoundedQueueThreadPoolWriteAttributeHandler(boolean blocking, final RuntimeCapability capability, ServiceName serviceNameBase, boolean taskStatistics) {
+        super(BoundedQueueThreadPoolAdd.attributes(blocking, taskStatistics),
+                taskStatistics ? ThreadPoolManagementUtils.withStatisticsEnabled(BoundedQueueThreadPoolAdd.RW_ATTRIBUTES) : BoundedQueueThreadPoolAdd.RW_ATTRIBUTES);
         this.serviceNameBase = serviceNameBase;
         this.capability = capability;
     }
@@ -79,6 +83,8 @@ public class BoundedQueueThreadPoolWriteAttributeHandler extends ThreadsWriteAtt
             }
         } else if (PoolAttributeDefinitions.ALLOW_CORE_TIMEOUT.getName().equals(attributeName)) {
             pool.setAllowCoreTimeout(PoolAttributeDefinitions.ALLOW_CORE_TIMEOUT.resolveModelAttribute(context, model).asBoolean());
+        } else if (PoolAttributeDefinitions.STATISTICS_ENABLED.getName().equals(attributeName)) {
+            pool.setStatisticsEnabled(PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean());
         } else if (!forRollback) {
             // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
             throw ThreadsLogger.ROOT_LOGGER.unsupportedBoundedQueueThreadPoolAttribute(attributeName);
@@ -57,6 +57,18 @@ public interface CommonAttributes {
     String THREAD_NAME_PATTERN = "thread-name-pattern";
     String UNBOUNDED_QUEUE_THREAD_POOL = "unbounded-queue-thread-pool";
     String ENHANCED_QUEUE_THREAD_POOL = "enhanced-queue-thread-pool";
+    String STATISTICS_ENABLED = "statistics-enabled";
+    String VIRTUAL_THREAD_EXECUTOR = "virtual-thread-executor";
+    String MAX_CONCURRENCY = "max-concurrency";
+    String THREAD_NAME_PREFIX = "thread-name-prefix";
+    String VIRTUAL = "virtual";
+    String QUEUE_TIME = "queue-time";
+    String EXECUTION_TIME = "execution-time";
+    String REJECTION_RATE = "rejection-rate";
+    String PEAK_ACTIVE_COUNT = "peak-active-count";
+    String MEDIAN = "median";
+    String PERCENTILE_90 = "90th-percentile";
+    String PERCENTILE_99 = "99th-percentile";
     String UNIT = "unit";
     String VALUE = "value";
 }
@@ -28,6 +28,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -35,12 +36,17 @@ import org.jboss.threads.JBossExecutors;
 import org.wildfly.common.Assert;
 
 /**
+ * An executor that can only be shut down by its owning service.
+ * <p>
+ * Once {@linkplain #setStatisticsEnabled(boolean) enabled}, the {@linkplain TaskStatistics task statistics} cover the
+ * tasks passed to any of the methods that submit them. Otherwise tasks are passed to the underlying executor unchanged.
  *
  * @author Alexey Loubyansky
  */
 public abstract class ManagedExecutorService implements ExecutorService {
 
     private final ExecutorService executor;
+    private volatile TaskStatistics statistics;
 
     public ManagedExecutorService(ExecutorService executor) {
         Assert.checkNotNullParam("executor", executor);
@@ -59,7 +65,60 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public void execute(Runnable command) {
-        this.executor.execute(command);
+        final TaskStatistics statistics = this.statistics;
+        if (statistics == null) {
+            this.executor.execute(command);
+            return;
+        }
+        try {
+            this.executor.execute(statistics.wrap(command));
+        } catch (RejectedExecutionException e) {
+            statistics.taskRejected();
+            throw e;
+        }
+    }
+
+    void taskRejected() {
+        final TaskStatistics statistics = this.statistics;
+        if (statistics != null) {
+            statistics.taskRejected();
+        }
+    }
+
+    /**
+     * Starts or stops recording the statistics of the tasks run by this executor. The statistics recorded so far are
+     * discarded when recording is stopped.
+     *
+     * @param enabled {@code true} to record statistics
+     */
+    void setStatisticsEnabled(boolean enabled) {
+        if (!enabled) {
+            statistics = null;
+        } else if (statistics == null) {
+            statistics = new TaskStatistics();
+        }
+    }
+
+    /**
+     * Gets the statistics of the tasks run by this executor.
+     *
+     * @return the statistics, or {@code null} if they are not recorded
+     */
+    TaskStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Wraps a task passed directly to the underlying executor, e.g. by {@code executeBlocking}, so it is measured.
+     */
+    Runnable measure(Runnable task) {
+        final TaskStatistics statistics = this.statistics;
+        return statistics == null ? task : statistics.wrap(task);
+    }
+
+    private <T> Collection<? extends Callable<T>> measure(Collection<? extends Callable<T>> tasks) {
+        final TaskStatistics statistics = this.statistics;
+        return statistics == null ? tasks : statistics.wrap(tasks);
     }
 
     /**
@@ -114,7 +173,16 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> Future<T> submit(Callable<T> task) {
-        return this.executor.submit(task);
+        final TaskStatistics statistics = this.statistics;
+        if (statistics == null) {
+            return this.executor.submit(task);
+        }
+        try {
+            return this.executor.submit(statistics.wrapCallable(task));
+        } catch (RejectedExecutionException e) {
+            statistics.taskRejected();
+            throw e;
+        }
     }
 
     /**
@@ -123,7 +191,16 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> Future<T> submit(Runnable task, T result) {
-        return this.executor.submit(task, result);
+        final TaskStatistics statistics = this.statistics;
+        if (statistics == null) {
+            return this.executor.submit(task, result);
+        }
+        try {
+            return this.executor.submit(statistics.wrap(task), result);
+        } catch (RejectedExecutionException e) {
+            statistics.taskRejected();
+            throw e;
+        }
     }
 
     /**
@@ -132,7 +209,16 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public Future<?> submit(Runnable task) {
-        return this.executor.submit(task);
+        final TaskStatistics statistics = this.statistics;
+        if (statistics == null) {
+            return this.executor.submit(task);
+        }
+        try {
+            return this.executor.submit(statistics.wrap(task));
+        } catch (RejectedExecutionException e) {
+            statistics.taskRejected();
+            throw e;
+        }
     }
 
     /**
@@ -141,7 +227,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
-        return this.executor.invokeAll(tasks);
+        return this.executor.invokeAll(measure(tasks));
     }
 
     /**
@@ -150,7 +236,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException {
-        return this.executor.invokeAll(tasks, timeout, unit);
+        return this.executor.invokeAll(measure(tasks), timeout, unit);
     }
 
     /**
@@ -159,7 +245,7 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
-        return this.executor.invokeAny(tasks);
+        return this.executor.invokeAny(measure(tasks));
     }
 
     /**
@@ -168,6 +254,6 @@ public abstract class ManagedExecutorService implements ExecutorService {
      */
     @Override
     public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
-        return this.executor.invokeAny(tasks, timeout, unit);
+        return this.executor.invokeAny(measure(tasks), timeout, unit);
     }
 }
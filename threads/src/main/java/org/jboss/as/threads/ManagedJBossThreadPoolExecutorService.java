@@ -133,18 +133,33 @@ public class ManagedJBossThreadPoolExecutorService extends ManagedExecutorServic
     @Override
     public void executeBlocking(Runnable task)
             throws RejectedExecutionException, InterruptedException {
-        executor.executeBlocking(task);
+        try {
+            executor.executeBlocking(measure(task));
+        } catch (RejectedExecutionException e) {
+            taskRejected();
+            throw e;
+        }
     }
 
     @Override
     public void executeBlocking(Runnable task, long timeout, TimeUnit unit)
             throws RejectedExecutionException, InterruptedException {
-        executor.executeBlocking(task, timeout, unit);
+        try {
+            executor.executeBlocking(measure(task), timeout, unit);
+        } catch (RejectedExecutionException e) {
+            taskRejected();
+            throw e;
+        }
     }
 
     @Override
     public void executeNonBlocking(Runnable task)
             throws RejectedExecutionException {
-        executor.executeNonBlocking(task);
+        try {
+            executor.executeNonBlocking(measure(task));
+        } catch (RejectedExecutionException e) {
+            taskRejected();
+            throw e;
+        }
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+/**
+ * The managed view of a {@link VirtualThreadExecutor}.
+ */
+class ManagedVirtualThreadExecutor extends ManagedExecutorService {
+    private final VirtualThreadExecutor executor;
+
+    ManagedVirtualThreadExecutor(VirtualThreadExecutor executor) {
+        super(executor);
+        this.executor = executor;
+    }
+
+    @Override
+    void internalShutdown() {
+        executor.shutdown();
+    }
+
+    boolean isVirtual() {
+        return executor.isVirtual();
+    }
+
+    int getMaxConcurrency() {
+        return executor.getMaxConcurrency();
+    }
+
+    // Package protected for subsys write-attribute handlers
+    void setMaxConcurrency(int maxConcurrency) {
+        executor.setMaxConcurrency(maxConcurrency);
+    }
+
+    int getRejectedCount() {
+        return (int) executor.getRejectedTaskCount();
+    }
+
+    long getTaskCount() {
+        return executor.getSubmittedTaskCount();
+    }
+
+    int getLargestThreadCount() {
+        return executor.getLargestThreadCount();
+    }
+
+    int getCurrentThreadCount() {
+        return executor.getCurrentThreadCount();
+    }
+
+    long getCompletedTaskCount() {
+        return executor.getCompletedTaskCount();
+    }
+
+    int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    int getQueueSize() {
+        return executor.getQueueSize();
+    }
+}
@@ -23,8 +23,10 @@ package org.jboss.as.threads;
 
 
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller.ObjectTypeAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinition;
 import org.jboss.as.controller.SimpleAttributeDefinitionBuilder;
+import org.jboss.as.controller.client.helpers.MeasurementUnit;
 import org.jboss.as.controller.operations.validation.IntRangeValidator;
 import org.jboss.as.controller.registry.AttributeAccess;
 import org.jboss.dmr.ModelNode;
@@ -64,6 +66,11 @@ public interface PoolAttributeDefinitions {
             .setDefaultValue(ModelNode.FALSE)
             .build();
 
+    SimpleAttributeDefinition STATISTICS_ENABLED = new SimpleAttributeDefinitionBuilder(CommonAttributes.STATISTICS_ENABLED, ModelType.BOOLEAN, true)
+            .setAllowExpression(true)
+            .setDefaultValue(ModelNode.FALSE)
+            .build();
+
     SimpleAttributeDefinition GROUP_NAME = new SimpleAttributeDefinitionBuilder(CommonAttributes.GROUP_NAME, ModelType.STRING, true)
             .setAllowExpression(true)
             .build();
@@ -77,6 +84,13 @@ public interface PoolAttributeDefinitions {
             .setAllowExpression(true)
             .build();
 
+    SimpleAttributeDefinition MAX_CONCURRENCY = new SimpleAttributeDefinitionBuilder(CommonAttributes.MAX_CONCURRENCY, ModelType.INT, true)
+            .setValidator(new IntRangeValidator(1, Integer.MAX_VALUE, true, true)).setAllowExpression(true).build();
+
+    SimpleAttributeDefinition THREAD_NAME_PREFIX = new SimpleAttributeDefinitionBuilder(CommonAttributes.THREAD_NAME_PREFIX, ModelType.STRING, true)
+            .setAllowExpression(true)
+            .setFlags(AttributeAccess.Flag.RESTART_ALL_SERVICES).build();
+
     // Metrics
     AttributeDefinition CURRENT_THREAD_COUNT = new SimpleAttributeDefinitionBuilder(CommonAttributes.CURRENT_THREAD_COUNT, ModelType.INT)
             .setUndefinedMetricValue(ModelNode.ZERO)
@@ -99,4 +113,37 @@ public interface PoolAttributeDefinitions {
     AttributeDefinition QUEUE_SIZE = new SimpleAttributeDefinitionBuilder(CommonAttributes.QUEUE_SIZE, ModelType.INT)
             .setUndefinedMetricValue(ModelNode.ZERO)
             .build();
+    AttributeDefinition VIRTUAL = new SimpleAttributeDefinitionBuilder(CommonAttributes.VIRTUAL, ModelType.BOOLEAN)
+            .setUndefinedMetricValue(ModelNode.FALSE)
+            .build();
+
+    // Task statistics metrics, durations are in microseconds
+    SimpleAttributeDefinition DURATION_COUNT = new SimpleAttributeDefinitionBuilder(CommonAttributes.COUNT, ModelType.LONG)
+            .build();
+    SimpleAttributeDefinition DURATION_MEDIAN = new SimpleAttributeDefinitionBuilder(CommonAttributes.MEDIAN, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    SimpleAttributeDefinition DURATION_90TH_PERCENTILE = new SimpleAttributeDefinitionBuilder(CommonAttributes.PERCENTILE_90, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    SimpleAttributeDefinition DURATION_99TH_PERCENTILE = new SimpleAttributeDefinitionBuilder(CommonAttributes.PERCENTILE_99, ModelType.LONG, true)
+            .setMeasurementUnit(MeasurementUnit.MICROSECONDS)
+            .build();
+    AttributeDefinition QUEUE_TIME = ObjectTypeAttributeDefinition.Builder.of(CommonAttributes.QUEUE_TIME,
+                DURATION_COUNT, DURATION_MEDIAN, DURATION_90TH_PERCENTILE, DURATION_99TH_PERCENTILE)
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+    AttributeDefinition EXECUTION_TIME = ObjectTypeAttributeDefinition.Builder.of(CommonAttributes.EXECUTION_TIME,
+                DURATION_COUNT, DURATION_MEDIAN, DURATION_90TH_PERCENTILE, DURATION_99TH_PERCENTILE)
+            .setRequired(false)
+            .setStorageRuntime()
+            .build();
+    AttributeDefinition REJECTION_RATE = new SimpleAttributeDefinitionBuilder(CommonAttributes.REJECTION_RATE, ModelType.DOUBLE)
+            .setUndefinedMetricValue(new ModelNode(0.0))
+            .setMeasurementUnit(MeasurementUnit.PER_SECOND)
+            .build();
+    AttributeDefinition PEAK_ACTIVE_COUNT = new SimpleAttributeDefinitionBuilder(CommonAttributes.PEAK_ACTIVE_COUNT, ModelType.INT)
+            .setUndefinedMetricValue(ModelNode.ZERO)
+            .build();
 }
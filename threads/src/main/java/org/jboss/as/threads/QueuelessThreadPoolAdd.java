@@ -58,6 +58,7 @@ public class QueuelessThreadPoolAdd extends AbstractAddStepHandler {
     private final HandoffExecutorResolver handoffExecutorResolver;
     private final ServiceName serviceNameBase;
     private final RuntimeCapability<Void> capability;
+    private final boolean taskStatistics;
 
     public QueuelessThreadPoolAdd(boolean blocking, ThreadFactoryResolver threadFactoryResolver,
             HandoffExecutorResolver handoffExecutorResolver, ServiceName serviceNameBase) {
@@ -66,12 +67,23 @@ public class QueuelessThreadPoolAdd extends AbstractAddStepHandler {
 
     public QueuelessThreadPoolAdd(boolean blocking, ThreadFactoryResolver threadFactoryResolver,
                                   HandoffExecutorResolver handoffExecutorResolver, ServiceName serviceNameBase, RuntimeCapability<Void> capability) {
-        super(blocking ? BLOCKING_ATTRIBUTES : NON_BLOCKING_ATTRIBUTES);
+        this(blocking, threadFactoryResolver, handoffExecutorResolver, serviceNameBase, capability, false);
+    }
+
+    QueuelessThreadPoolAdd(boolean blocking, ThreadFactoryResolver threadFactoryResolver, HandoffExecutorResolver handoffExecutorResolver,
+            ServiceName serviceNameBase, RuntimeCapability<Void> capability, boolean taskStatistics) {
+        super(attributes(blocking, taskStatistics));
         this.blocking = blocking;
         this.threadFactoryResolver = threadFactoryResolver;
         this.handoffExecutorResolver = handoffExecutorResolver;
         this.serviceNameBase = serviceNameBase;
         this.capability = capability;
+        this.taskStatistics = taskStatistics;
+    }
+
+    static AttributeDefinition[] attributes(boolean blocking, boolean taskStatistics) {
+        final AttributeDefinition[] attributes = blocking ? BLOCKING_ATTRIBUTES : NON_BLOCKING_ATTRIBUTES;
+        return taskStatistics ? ThreadPoolManagementUtils.withStatisticsEnabled(attributes) : attributes;
     }
 
     @Override
@@ -80,6 +92,9 @@ public class QueuelessThreadPoolAdd extends AbstractAddStepHandler {
         final QueuelessThreadPoolParameters params = ThreadPoolManagementUtils.parseQueuelessThreadPoolParameters(context, operation, model, blocking);
 
         final QueuelessThreadPoolService service = new QueuelessThreadPoolService(params.getMaxThreads(), blocking, params.getKeepAliveTime());
+        if (taskStatistics) {
+            service.setStatisticsEnabled(PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean());
+        }
 
         ThreadPoolManagementUtils.installThreadPoolService(service, params.getName(), capability, context.getCurrentAddress(),
                 serviceNameBase, params.getThreadFactory(), threadFactoryResolver, service.getThreadFactoryInjector(),
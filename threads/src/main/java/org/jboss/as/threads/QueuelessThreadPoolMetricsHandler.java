@@ -47,7 +47,11 @@ public class QueuelessThreadPoolMetricsHandler extends ThreadPoolMetricsHandler
     }
 
     public QueuelessThreadPoolMetricsHandler(final RuntimeCapability capability, final ServiceName serviceBaseName) {
-        super(METRICS, capability, serviceBaseName);
+        this(capability, serviceBaseName, false);
+    }
+
+    QueuelessThreadPoolMetricsHandler(final RuntimeCapability capability, final ServiceName serviceBaseName, final boolean taskStatistics) {
+        super(METRICS, capability, serviceBaseName, taskStatistics);
     }
 
     @Override
@@ -62,6 +62,19 @@ public class QueuelessThreadPoolResourceDefinition extends PersistentResourceDef
         }
     }
 
+    /**
+     * Creates the definition of the subsystem's own pool, which also records task statistics.
+     */
+    static QueuelessThreadPoolResourceDefinition create(boolean blocking, boolean registerRuntimeOnly, boolean taskStatistics) {
+        final String type = blocking ? BLOCKING_QUEUELESS_THREAD_POOL : QUEUELESS_THREAD_POOL;
+        final HandoffExecutorResolver handoffExecutorResolver = blocking ? null : ThreadsServices.getHandoffExecutorResolver(type);
+        final RuntimeCapability<Void> capability = ThreadsServices.createCapability(type, ManagedQueuelessExecutorService.class);
+        final QueuelessThreadPoolAdd addHandler = new QueuelessThreadPoolAdd(blocking, ThreadsServices.getThreadFactoryResolver(type),
+                handoffExecutorResolver, ThreadsServices.EXECUTOR, capability, taskStatistics);
+        return new QueuelessThreadPoolResourceDefinition(blocking, registerRuntimeOnly, capability, type, ThreadsServices.EXECUTOR, type,
+                addHandler, new QueuelessThreadPoolRemove(addHandler), taskStatistics);
+    }
+
     public static QueuelessThreadPoolResourceDefinition create(boolean blocking, String type, boolean registerRuntimeOnly) {
         if (blocking) {
             return create(type, ThreadsServices.getThreadFactoryResolver(type),
@@ -81,13 +94,13 @@ public class QueuelessThreadPoolResourceDefinition extends PersistentResourceDef
         final RuntimeCapability<Void> capability = ThreadsServices.createCapability(type, ManagedQueuelessExecutorService.class);
         final QueuelessThreadPoolAdd addHandler = new QueuelessThreadPoolAdd(blocking, threadFactoryResolver, handoffExecutorResolver, serviceNameBase, capability);
         final OperationStepHandler removeHandler = new QueuelessThreadPoolRemove(addHandler);
-        return new QueuelessThreadPoolResourceDefinition(blocking, registerRuntimeOnly, capability, type, serviceNameBase, resolverPrefix, addHandler, removeHandler);
+        return new QueuelessThreadPoolResourceDefinition(blocking, registerRuntimeOnly, capability, type, serviceNameBase, resolverPrefix, addHandler, removeHandler, false);
     }
 
 
     private QueuelessThreadPoolResourceDefinition(boolean blocking, boolean registerRuntimeOnly, RuntimeCapability<Void> capability,
                                                   String type, ServiceName serviceNameBase, String resolverPrefix, OperationStepHandler addHandler,
-                                                  OperationStepHandler removeHandler) {
+                                                  OperationStepHandler removeHandler, boolean taskStatistics) {
         super(new SimpleResourceDefinition.Parameters(PathElement.pathElement(type),
                 new ThreadPoolResourceDescriptionResolver(resolverPrefix, ThreadsExtension.RESOURCE_NAME, ThreadsExtension.class.getClassLoader()))
                 .setAddHandler(addHandler)
@@ -95,8 +108,8 @@ public class QueuelessThreadPoolResourceDefinition extends PersistentResourceDef
                 .setCapabilities(capability));
         this.registerRuntimeOnly = registerRuntimeOnly;
         this.blocking = blocking;
-        writeHandler = new QueuelessThreadPoolWriteAttributeHandler(blocking, capability, serviceNameBase);
-        metricsHandler = new QueuelessThreadPoolMetricsHandler(capability, serviceNameBase);
+        writeHandler = new QueuelessThreadPoolWriteAttributeHandler(blocking, capability, serviceNameBase, taskStatistics);
+        metricsHandler = new QueuelessThreadPoolMetricsHandler(capability, serviceNameBase, taskStatistics);
     }
 
 
@@ -48,6 +48,7 @@ public class QueuelessThreadPoolService implements Service<ManagedQueuelessExecu
     private ManagedQueuelessExecutorService executor;
 
     private int maxThreads;
+    private boolean statisticsEnabled;
     private TimeSpec keepAlive;
 
     public QueuelessThreadPoolService(int maxThreads, boolean blocking, TimeSpec keepAlive) {
@@ -63,6 +64,7 @@ public class QueuelessThreadPoolService implements Service<ManagedQueuelessExecu
         queuelessExecutor.setMaxThreads(maxThreads);
         queuelessExecutor.setBlocking(blocking);
         executor = new ManagedQueuelessExecutorService(queuelessExecutor);
+        executor.setStatisticsEnabled(statisticsEnabled);
     }
 
     public void stop(final StopContext context) {
@@ -134,4 +136,12 @@ public class QueuelessThreadPoolService implements Service<ManagedQueuelessExecu
     TimeUnit getKeepAliveUnit() {
         return keepAlive == null ? TimeSpec.DEFAULT_KEEPALIVE.getUnit() : keepAlive.getUnit();
     }
+
+    public synchronized void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+        final ManagedQueuelessExecutorService executor = this.executor;
+        if (executor != null) {
+            executor.setStatisticsEnabled(statisticsEnabled);
+        }
+    }
 }
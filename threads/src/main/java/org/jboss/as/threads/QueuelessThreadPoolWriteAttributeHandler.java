@@ -44,7 +44,12 @@ public class QueuelessThreadPoolWriteAttributeHandler extends ThreadsWriteAttrib
     private final RuntimeCapability capability;
 
     public QueuelessThreadPoolWriteAttributeHandler(boolean blocking, final RuntimeCapability capability, ServiceName serviceNameBase) {
-        super(blocking ? QueuelessThreadPoolAdd.BLOCKING_ATTRIBUTES : QueuelessThreadPoolAdd.NON_BLOCKING_ATTRIBUTES, QueuelessThreadPoolAdd.RW_ATTRIBUTES);
+        this(blocking, capability, serviceNameBase, false);
+    }
+
+    QueuelessThreadPoolWriteAttributeHandler(boolean blocking, final RuntimeCapability capability, ServiceName serviceNameBase, boolean taskStatistics) {
+        super(QueuelessThreadPoolAdd.attributes(blocking, taskStatistics),
+                taskStatistics ? ThreadPoolManagementUtils.withStatisticsEnabled(QueuelessThreadPoolAdd.RW_ATTRIBUTES) : QueuelessThreadPoolAdd.RW_ATTRIBUTES);
         this.serviceNameBase = serviceNameBase;
         this.capability = capability;
     }
@@ -61,6 +66,8 @@ public class QueuelessThreadPoolWriteAttributeHandler extends ThreadsWriteAttrib
             pool.setKeepAlive(spec);
         } else if(PoolAttributeDefinitions.MAX_THREADS.getName().equals(attributeName)) {
             pool.setMaxThreads(PoolAttributeDefinitions.MAX_THREADS.resolveModelAttribute(context, model).asInt());
+        } else if (PoolAttributeDefinitions.STATISTICS_ENABLED.getName().equals(attributeName)) {
+            pool.setStatisticsEnabled(PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean());
         } else if (!forRollback) {
             // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
             throw ThreadsLogger.ROOT_LOGGER.unsupportedQueuelessThreadPoolAttribute(attributeName);
@@ -0,0 +1,139 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Sums and maxima of values recorded over the last few seconds.
+ * <p>
+ * The window is split into one slot per second, and a slot is cleared by the first value recorded in it once the
+ * window has moved past it. Values recorded by other threads while a slot is being cleared may be lost, which is
+ * acceptable for the statistics this is used for, and keeps recording free of locks.
+ */
+final class SlidingWindow {
+
+    private static final long UNUSED = Long.MIN_VALUE;
+
+    private final int seconds;
+    private final LongSupplier nanoTime;
+    private final AtomicLongArray stamps;
+    private final AtomicLongArray sums;
+    private final AtomicLongArray maxima;
+
+    /**
+     * @param seconds the length of the window, in seconds
+     */
+    SlidingWindow(final int seconds) {
+        this(seconds, System::nanoTime);
+    }
+
+    /**
+     * @param seconds the length of the window, in seconds
+     * @param nanoTime the source of the current time in nanoseconds
+     */
+    SlidingWindow(final int seconds, final LongSupplier nanoTime) {
+        this.seconds = seconds;
+        this.nanoTime = nanoTime;
+        this.stamps = new AtomicLongArray(seconds);
+        this.sums = new AtomicLongArray(seconds);
+        this.maxima = new AtomicLongArray(seconds);
+        for (int i = 0; i < seconds; i++) {
+            stamps.set(i, UNUSED);
+        }
+    }
+
+    /**
+     * @return the length of the window, in seconds
+     */
+    int getSeconds() {
+        return seconds;
+    }
+
+    /**
+     * Adds a value to the sum of the current second.
+     */
+    void add(final long value) {
+        sums.addAndGet(slotOf(currentSecond()), value);
+    }
+
+    /**
+     * Records a value for the maximum of the current second.
+     */
+    void recordMax(final long value) {
+        final int slot = slotOf(currentSecond());
+        long max;
+        do {
+            max = maxima.get(slot);
+        } while (value > max && !maxima.compareAndSet(slot, max, value));
+    }
+
+    /**
+     * @return the sum of the values added within the window
+     */
+    long getSum() {
+        final long now = currentSecond();
+        long sum = 0;
+        for (int i = 0; i < seconds; i++) {
+            if (isCurrent(i, now)) {
+                sum += sums.get(i);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @return the maximum value recorded within the window, or {@code 0} if none was recorded
+     */
+    long getMax() {
+        final long now = currentSecond();
+        long max = 0;
+        for (int i = 0; i < seconds; i++) {
+            if (isCurrent(i, now)) {
+                max = Math.max(max, maxima.get(i));
+            }
+        }
+        return max;
+    }
+
+    private boolean isCurrent(final int slot, final long now) {
+        final long stamp = stamps.get(slot);
+        return stamp != UNUSED && now - stamp < seconds;
+    }
+
+    private int slotOf(final long second) {
+        final int slot = (int) Math.floorMod(second, (long) seconds);
+        final long stamp = stamps.get(slot);
+        if (stamp != second && stamps.compareAndSet(slot, stamp, second)) {
+            sums.set(slot, 0);
+            maxima.set(slot, 0);
+        }
+        return slot;
+    }
+
+    private long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(nanoTime.getAsLong());
+    }
+}
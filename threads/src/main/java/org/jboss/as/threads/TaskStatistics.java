@@ -0,0 +1,183 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+import org.jboss.as.controller._private.LatencyHistogram;
+
+/**
+ * Statistics of the tasks run by a managed executor: how long tasks waited to start and how long they ran, how many
+ * were rejected and how many ran at the same time.
+ * <p>
+ * Tasks are measured by wrapping them when they are submitted, so the statistics cover every executor type alike and
+ * do not need support from the underlying pool. Recording costs a few reads of {@link System#nanoTime()} and a few
+ * atomic updates per task.
+ */
+final class TaskStatistics {
+
+    /**
+     * The length of the window the rejection rate and peak active count are measured over, in seconds.
+     */
+    static final int WINDOW_SECONDS = 60;
+
+    private final LongSupplier nanoTime;
+    private final LatencyHistogram queueTimes = new LatencyHistogram();
+    private final LatencyHistogram executionTimes = new LatencyHistogram();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final SlidingWindow rejections;
+    private final SlidingWindow activeCounts;
+
+    TaskStatistics() {
+        this(System::nanoTime);
+    }
+
+    /**
+     * @param nanoTime the source of the current time in nanoseconds
+     */
+    TaskStatistics(final LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        this.rejections = new SlidingWindow(WINDOW_SECONDS, nanoTime);
+        this.activeCounts = new SlidingWindow(WINDOW_SECONDS, nanoTime);
+    }
+
+    /**
+     * Wraps a task that is about to be submitted, so its queue and execution time are recorded when it runs.
+     */
+    Runnable wrap(final Runnable task) {
+        return new MeasuredTask(task, nanoTime.getAsLong());
+    }
+
+    /**
+     * Wraps a task that is about to be submitted, so its queue and execution time are recorded when it runs.
+     */
+    <T> Callable<T> wrapCallable(final Callable<T> task) {
+        return new MeasuredCallable<>(task, nanoTime.getAsLong());
+    }
+
+    /**
+     * Wraps tasks that are about to be submitted together.
+     */
+    <T> List<Callable<T>> wrap(final Collection<? extends Callable<T>> tasks) {
+        final long submitted = nanoTime.getAsLong();
+        final List<Callable<T>> wrapped = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            wrapped.add(new MeasuredCallable<>(task, submitted));
+        }
+        return wrapped;
+    }
+
+    void taskRejected() {
+        rejections.add(1);
+    }
+
+    LatencyHistogram.Snapshot getQueueTimes() {
+        return queueTimes.snapshot();
+    }
+
+    LatencyHistogram.Snapshot getExecutionTimes() {
+        return executionTimes.snapshot();
+    }
+
+    /**
+     * @return the average number of tasks rejected per second over the window
+     */
+    double getRejectionRate() {
+        return (double) rejections.getSum() / rejections.getSeconds();
+    }
+
+    /**
+     * @return the largest number of tasks that ran at the same time within the window
+     */
+    int getPeakActiveCount() {
+        return (int) activeCounts.getMax();
+    }
+
+    private long taskStarted(final long submitted) {
+        final long started = nanoTime.getAsLong();
+        queueTimes.record(TimeUnit.NANOSECONDS.toMicros(started - submitted));
+        activeCounts.recordMax(activeCount.incrementAndGet());
+        return started;
+    }
+
+    private void taskFinished(final long started) {
+        activeCount.decrementAndGet();
+        executionTimes.record(TimeUnit.NANOSECONDS.toMicros(nanoTime.getAsLong() - started));
+    }
+
+    private final class MeasuredTask implements Runnable {
+        private final Runnable task;
+        private final long submitted;
+
+        MeasuredTask(final Runnable task, final long submitted) {
+            this.task = task;
+            this.submitted = submitted;
+        }
+
+        @Override
+        public void run() {
+            final long started = taskStarted(submitted);
+            try {
+                task.run();
+            } finally {
+                taskFinished(started);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+
+    private final class MeasuredCallable<T> implements Callable<T> {
+        private final Callable<T> task;
+        private final long submitted;
+
+        MeasuredCallable(final Callable<T> task, final long submitted) {
+            this.task = task;
+            this.submitted = submitted;
+        }
+
+        @Override
+        public T call() throws Exception {
+            final long started = taskStarted(submitted);
+            try {
+                return task.call();
+            } finally {
+                taskFinished(started);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
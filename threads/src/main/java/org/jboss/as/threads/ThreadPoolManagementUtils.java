@@ -26,11 +26,13 @@ import static org.jboss.as.threads.CommonAttributes.KEEPALIVE_TIME;
 import static org.jboss.as.threads.CommonAttributes.TIME;
 import static org.jboss.as.threads.CommonAttributes.UNIT;
 
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
+import org.jboss.as.controller.AttributeDefinition;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.PathAddress;
@@ -50,6 +52,15 @@ import org.jboss.msc.service.ServiceTarget;
  */
 class ThreadPoolManagementUtils {
 
+    /**
+     * Adds the statistics-enabled attribute to the attributes of a pool that records task statistics.
+     */
+    static AttributeDefinition[] withStatisticsEnabled(final AttributeDefinition[] attributes) {
+        final AttributeDefinition[] result = Arrays.copyOf(attributes, attributes.length + 1);
+        result[attributes.length] = PoolAttributeDefinitions.STATISTICS_ENABLED;
+        return result;
+    }
+
     static <T> void installThreadPoolService(final Service<T> threadPoolService,
                                              final String threadPoolName,
                                              final ServiceName serviceNameBase,
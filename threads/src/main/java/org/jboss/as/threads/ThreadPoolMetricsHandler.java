@@ -23,10 +23,13 @@ package org.jboss.as.threads;
 
 import static org.jboss.as.controller.descriptions.ModelDescriptionConstants.OP_ADDR;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.jboss.as.controller.AbstractRuntimeOnlyHandler;
 import org.jboss.as.controller.AttributeDefinition;
+import org.jboss.as.controller._private.LatencyHistogram;
 import org.jboss.as.controller.OperationContext;
 import org.jboss.as.controller.OperationFailedException;
 import org.jboss.as.controller.RunningMode;
@@ -46,12 +49,26 @@ import org.jboss.msc.service.ServiceName;
  */
 public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandler {
 
+    /**
+     * Metrics read from the {@link TaskStatistics} of the managed executor, rather than from the pool itself.
+     */
+    static final List<AttributeDefinition> TASK_STATISTICS_METRICS = Arrays.asList(PoolAttributeDefinitions.QUEUE_TIME,
+            PoolAttributeDefinitions.EXECUTION_TIME, PoolAttributeDefinitions.REJECTION_RATE,
+            PoolAttributeDefinitions.PEAK_ACTIVE_COUNT);
+
     private final List<AttributeDefinition> metrics;
+    private final List<AttributeDefinition> taskStatisticsMetrics;
     private final ServiceName serviceNameBase;
     private final RuntimeCapability capability;
 
     protected ThreadPoolMetricsHandler(final List<AttributeDefinition> metrics, final RuntimeCapability capability, final ServiceName serviceNameBase) {
+        this(metrics, capability, serviceNameBase, false);
+    }
+
+    ThreadPoolMetricsHandler(final List<AttributeDefinition> metrics, final RuntimeCapability capability,
+                             final ServiceName serviceNameBase, final boolean taskStatistics) {
         this.metrics = metrics;
+        this.taskStatisticsMetrics = taskStatistics ? TASK_STATISTICS_METRICS : Collections.<AttributeDefinition>emptyList();
         this.serviceNameBase = serviceNameBase;
         this.capability = capability;
     }
@@ -60,6 +77,9 @@ public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandle
         for (AttributeDefinition metric : metrics) {
             registration.registerMetric(metric, this);
         }
+        for (AttributeDefinition metric : taskStatisticsMetrics) {
+            registration.registerMetric(metric, this);
+        }
     }
 
     @Override
@@ -68,7 +88,11 @@ public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandle
         if (context.getRunningMode() == RunningMode.NORMAL) {
             ServiceController<?> serviceController = getService(context, operation);
             final Service<?> service = serviceController.getService();
-            setResult(context, attributeName, service);
+            if (isTaskStatisticsMetric(attributeName)) {
+                setTaskStatisticsResult(context, attributeName, service);
+            } else {
+                setResult(context, attributeName, service);
+            }
         }
 
         context.completeStep(OperationContext.RollbackHandler.NOOP_ROLLBACK_HANDLER);
@@ -76,6 +100,48 @@ public abstract class ThreadPoolMetricsHandler extends AbstractRuntimeOnlyHandle
 
     protected abstract void setResult(OperationContext context, String attributeName, Service<?> service) throws OperationFailedException;
 
+    private boolean isTaskStatisticsMetric(final String attributeName) {
+        for (AttributeDefinition metric : taskStatisticsMetrics) {
+            if (metric.getName().equals(attributeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void setTaskStatisticsResult(final OperationContext context, final String attributeName, final Service<?> service) {
+        final TaskStatistics statistics = ((ManagedExecutorService) service.getValue()).getStatistics();
+        if (statistics == null) {
+            return;
+        }
+        switch (attributeName) {
+            case CommonAttributes.QUEUE_TIME:
+                setDurations(context.getResult(), statistics.getQueueTimes());
+                break;
+            case CommonAttributes.EXECUTION_TIME:
+                setDurations(context.getResult(), statistics.getExecutionTimes());
+                break;
+            case CommonAttributes.REJECTION_RATE:
+                context.getResult().set(statistics.getRejectionRate());
+                break;
+            case CommonAttributes.PEAK_ACTIVE_COUNT:
+                context.getResult().set(statistics.getPeakActiveCount());
+                break;
+            default:
+                // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
+                throw ThreadsLogger.ROOT_LOGGER.unsupportedTaskStatisticsMetric(attributeName);
+        }
+    }
+
+    private static void setDurations(final ModelNode result, final LatencyHistogram.Snapshot durations) {
+        result.get(CommonAttributes.COUNT).set(durations.getCount());
+        if (durations.getCount() > 0) {
+            result.get(CommonAttributes.MEDIAN).set(durations.getPercentile(50));
+            result.get(CommonAttributes.PERCENTILE_90).set(durations.getPercentile(90));
+            result.get(CommonAttributes.PERCENTILE_99).set(durations.getPercentile(99));
+        }
+    }
+
     protected ServiceController<?> getService(final OperationContext context, final ModelNode operation)
             throws OperationFailedException {
         final String name = Util.getNameFromAddress(operation.require(OP_ADDR));
@@ -44,12 +44,15 @@ class ThreadPoolResourceDescriptionResolver extends StandardResourceDescriptionR
     static {
         COMMON_ATTRIBUTE_NAMES = new HashSet<String>(Arrays.asList(PoolAttributeDefinitions.NAME.getName(),
                 PoolAttributeDefinitions.ALLOW_CORE_TIMEOUT.getName(), PoolAttributeDefinitions.CORE_THREADS.getName(),
+                PoolAttributeDefinitions.STATISTICS_ENABLED.getName(),
                 PoolAttributeDefinitions.HANDOFF_EXECUTOR.getName(), PoolAttributeDefinitions.KEEPALIVE_TIME.getName(),
                 PoolAttributeDefinitions.MAX_THREADS.getName(), PoolAttributeDefinitions.QUEUE_LENGTH.getName(),
                 PoolAttributeDefinitions.THREAD_FACTORY.getName(), PoolAttributeDefinitions.ACTIVE_COUNT.getName(),
                 PoolAttributeDefinitions.COMPLETED_TASK_COUNT.getName(), PoolAttributeDefinitions.CURRENT_THREAD_COUNT.getName(),
                 PoolAttributeDefinitions.LARGEST_THREAD_COUNT.getName(), PoolAttributeDefinitions.TASK_COUNT.getName(),
-                PoolAttributeDefinitions.QUEUE_SIZE.getName()));
+                PoolAttributeDefinitions.QUEUE_SIZE.getName(), PoolAttributeDefinitions.QUEUE_TIME.getName(),
+                PoolAttributeDefinitions.EXECUTION_TIME.getName(), PoolAttributeDefinitions.REJECTION_RATE.getName(),
+                PoolAttributeDefinitions.PEAK_ACTIVE_COUNT.getName()));
 
         // note we don't include REJECTED_COUNT as it has a different definition in different resources
     }
@@ -157,4 +157,23 @@ interface ThreadsLogger extends BasicLogger {
     IllegalStateException unsupportedEnhancedQueueExecutorMetric(String attributeName);
 
     // id = 35; redundant parameter null check message
+
+    @Message(id = 36, value = "Service '%s' not found.")
+    OperationFailedException virtualThreadExecutorServiceNotFound(ServiceName serviceName);
+
+    @Message(id = 37, value = "The executor service hasn't been initialized.")
+    IllegalStateException virtualThreadExecutorUninitialized();
+
+    @Message(id = 38, value = "Unsupported attribute '%s'")
+    IllegalStateException unsupportedVirtualThreadExecutorAttribute(String attributeName);
+
+    @Message(id = 39, value = "Unsupported metric '%s'")
+    IllegalStateException unsupportedVirtualThreadExecutorMetric(String attributeName);
+
+    @LogMessage(level = Logger.Level.WARN)
+    @Message(id = 40, value = "Virtual threads are not supported by this JVM; executor '%s' will use platform threads")
+    void virtualThreadsNotSupported(String name);
+
+    @Message(id = 41, value = "Unsupported metric '%s'")
+    IllegalStateException unsupportedTaskStatisticsMetric(String attributeName);
 }
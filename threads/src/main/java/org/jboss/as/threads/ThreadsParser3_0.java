@@ -0,0 +1,66 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2020, Red Hat, Inc., and individual contributors as indicated
+ * by the @authors tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.controller.PersistentResourceXMLDescription.builder;
+import static org.jboss.as.threads.ThreadsParser2_0.THREAD_FACTORY_PARSER;
+import static org.jboss.as.threads.ThreadsParser2_0.getBoundedQueueThreadPoolParser;
+import static org.jboss.as.threads.ThreadsParser2_0.getQueuelessThreadPoolParser;
+import static org.jboss.as.threads.ThreadsParser2_0.getScheduledThreadPoolParser;
+import static org.jboss.as.threads.ThreadsParser2_0.getUnboundedQueueThreadPoolParser;
+
+import org.jboss.as.controller.PersistentResourceXMLDescription;
+import org.jboss.as.controller.PersistentResourceXMLDescription.PersistentResourceXMLBuilder;
+import org.jboss.as.controller.PersistentResourceXMLParser;
+
+/**
+ * Parser and marshaller for the 3.0 version of the threads subsystem, which adds the virtual thread executor and
+ * the statistics-enabled attribute of the subsystem's own thread pools.
+ */
+public class ThreadsParser3_0 extends PersistentResourceXMLParser {
+
+    @SuppressWarnings("deprecation")
+    private final PersistentResourceXMLDescription xmlDescription = builder(new ThreadSubsystemResourceDefinition(false), Namespace.THREADS_3_0.getUriString())
+            .addChild(THREAD_FACTORY_PARSER)
+            .addChild(getUnboundedQueueThreadPoolParser(UnboundedQueueThreadPoolResourceDefinition.create(false, true))
+                    .addAttribute(PoolAttributeDefinitions.STATISTICS_ENABLED))
+            .addChild(getBoundedQueueThreadPoolParser(BoundedQueueThreadPoolResourceDefinition.create(false, false, true))
+                    .addAttribute(PoolAttributeDefinitions.STATISTICS_ENABLED))
+            .addChild(getBoundedQueueThreadPoolParser(BoundedQueueThreadPoolResourceDefinition.create(true, false, true))
+                    .addAttribute(PoolAttributeDefinitions.STATISTICS_ENABLED))
+            .addChild(getQueuelessThreadPoolParser(QueuelessThreadPoolResourceDefinition.create(false, false, true))
+                    .addAttribute(PoolAttributeDefinitions.STATISTICS_ENABLED))
+            .addChild(getQueuelessThreadPoolParser(QueuelessThreadPoolResourceDefinition.create(true, false, true))
+                    .addAttribute(PoolAttributeDefinitions.STATISTICS_ENABLED))
+            .addChild(getScheduledThreadPoolParser(ScheduledThreadPoolResourceDefinition.create(false)))
+            .addChild(getVirtualThreadExecutorParser(VirtualThreadExecutorResourceDefinition.create(false)))
+            .build();
+
+
+    @Override
+    public PersistentResourceXMLDescription getParserDescription() {
+        return xmlDescription;
+    }
+
+    public static PersistentResourceXMLBuilder getVirtualThreadExecutorParser(VirtualThreadExecutorResourceDefinition resourceDefinition) {
+        return builder(resourceDefinition.getPathElement())
+                .addAttributes(PoolAttributeDefinitions.MAX_CONCURRENCY, PoolAttributeDefinitions.THREAD_NAME_PREFIX,
+                        PoolAttributeDefinitions.THREAD_FACTORY);
+    }
+}
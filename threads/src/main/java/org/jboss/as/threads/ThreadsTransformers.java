@@ -0,0 +1,60 @@
+/*
+ * JBoss, Home of Professional Open Source
+ * Copyright 2020, Red Hat, Inc., and individual contributors as indicated
+ * by the @authors tag.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.jboss.as.threads;
+
+import static org.jboss.as.threads.CommonAttributes.BLOCKING_BOUNDED_QUEUE_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.BLOCKING_QUEUELESS_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.BOUNDED_QUEUE_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.QUEUELESS_THREAD_POOL;
+import static org.jboss.as.threads.CommonAttributes.UNBOUNDED_QUEUE_THREAD_POOL;
+
+import org.jboss.as.controller.ModelVersion;
+import org.jboss.as.controller.PathElement;
+import org.jboss.as.controller.transform.ExtensionTransformerRegistration;
+import org.jboss.as.controller.transform.SubsystemTransformerRegistration;
+import org.jboss.as.controller.transform.description.DiscardAttributeChecker;
+import org.jboss.as.controller.transform.description.RejectAttributeChecker;
+import org.jboss.as.controller.transform.description.ResourceTransformationDescriptionBuilder;
+import org.jboss.as.controller.transform.description.TransformationDescription;
+
+/**
+ * Registers the transformers of the threads subsystem for hosts running older versions of it.
+ */
+public class ThreadsTransformers implements ExtensionTransformerRegistration {
+    static final ModelVersion VERSION_2_0 = ModelVersion.create(2, 0, 0);
+
+    @Override
+    public String getSubsystemName() {
+        return ThreadsExtension.SUBSYSTEM_NAME;
+    }
+
+    @Override
+    public void registerTransformers(SubsystemTransformerRegistration registration) {
+        ResourceTransformationDescriptionBuilder builder = ResourceTransformationDescriptionBuilder.Factory.createSubsystemInstance();
+        builder.rejectChildResource(VirtualThreadExecutorResourceDefinition.PATH);
+        for (String pool : new String[] {UNBOUNDED_QUEUE_THREAD_POOL, BOUNDED_QUEUE_THREAD_POOL, BLOCKING_BOUNDED_QUEUE_THREAD_POOL,
+                QUEUELESS_THREAD_POOL, BLOCKING_QUEUELESS_THREAD_POOL}) {
+            builder.addChildResource(PathElement.pathElement(pool)).getAttributeBuilder()
+                    .setDiscard(DiscardAttributeChecker.DEFAULT_VALUE, PoolAttributeDefinitions.STATISTICS_ENABLED)
+                    .addRejectCheck(RejectAttributeChecker.DEFINED, PoolAttributeDefinitions.STATISTICS_ENABLED)
+                    .end();
+        }
+        TransformationDescription.Tools.register(builder.build(), registration, VERSION_2_0);
+    }
+}
@@ -50,17 +50,24 @@ public class UnboundedQueueThreadPoolAdd extends AbstractAddStepHandler {
     private final ServiceName serviceNameBase;
     private final RuntimeCapability<Void> capability;
     private final boolean allowCoreThreadTimeout;
+    private final boolean taskStatistics;
 
     public UnboundedQueueThreadPoolAdd(ThreadFactoryResolver threadFactoryResolver, ServiceName serviceNameBase) {
         this(threadFactoryResolver, serviceNameBase, null, false);
     }
 
     public UnboundedQueueThreadPoolAdd(ThreadFactoryResolver threadFactoryResolver, ServiceName serviceNameBase, RuntimeCapability<Void> capability, boolean allowCoreThreadTimeout) {
-        super(ATTRIBUTES);
+        this(threadFactoryResolver, serviceNameBase, capability, allowCoreThreadTimeout, false);
+    }
+
+    UnboundedQueueThreadPoolAdd(ThreadFactoryResolver threadFactoryResolver, ServiceName serviceNameBase, RuntimeCapability<Void> capability,
+                                boolean allowCoreThreadTimeout, boolean taskStatistics) {
+        super(taskStatistics ? ThreadPoolManagementUtils.withStatisticsEnabled(ATTRIBUTES) : ATTRIBUTES);
         this.threadFactoryResolver = threadFactoryResolver;
         this.serviceNameBase = serviceNameBase;
         this.capability = capability;
         this.allowCoreThreadTimeout = allowCoreThreadTimeout;
+        this.taskStatistics = taskStatistics;
     }
 
     @Override
@@ -69,6 +76,9 @@ public class UnboundedQueueThreadPoolAdd extends AbstractAddStepHandler {
         final BaseThreadPoolParameters params = ThreadPoolManagementUtils.parseUnboundedQueueThreadPoolParameters(context, operation, model);
 
         final UnboundedQueueThreadPoolService service = new UnboundedQueueThreadPoolService(allowCoreThreadTimeout, params.getMaxThreads(), params.getKeepAliveTime());
+        if (taskStatistics) {
+            service.setStatisticsEnabled(PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean());
+        }
 
         ThreadPoolManagementUtils.installThreadPoolService(service, params.getName(), capability, context.getCurrentAddress(),
                 serviceNameBase, params.getThreadFactory(), threadFactoryResolver, service.getThreadFactoryInjector(),
@@ -49,7 +49,11 @@ public class UnboundedQueueThreadPoolMetricsHandler extends ThreadPoolMetricsHan
     }
 
     public UnboundedQueueThreadPoolMetricsHandler(final RuntimeCapability capability, final ServiceName serviceNameBase) {
-        super(METRICS, capability, serviceNameBase);
+        this(capability, serviceNameBase, false);
+    }
+
+    UnboundedQueueThreadPoolMetricsHandler(final RuntimeCapability capability, final ServiceName serviceNameBase, final boolean taskStatistics) {
+        super(METRICS, capability, serviceNameBase, taskStatistics);
     }
 
     @Override
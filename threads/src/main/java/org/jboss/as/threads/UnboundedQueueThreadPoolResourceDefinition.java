@@ -54,6 +54,16 @@ public class UnboundedQueueThreadPoolResourceDefinition extends PersistentResour
                 ThreadsServices.EXECUTOR, registerRuntimeOnly);
     }
 
+    /**
+     * Creates the definition of the subsystem's own pool, which also records task statistics.
+     */
+    static UnboundedQueueThreadPoolResourceDefinition create(boolean registerRuntimeOnly, boolean taskStatistics) {
+        UnboundedQueueThreadPoolAdd addHandler = new UnboundedQueueThreadPoolAdd(ThreadsServices.getThreadFactoryResolver(UNBOUNDED_QUEUE_THREAD_POOL),
+                ThreadsServices.EXECUTOR, CAPABILITY, false, taskStatistics);
+        return new UnboundedQueueThreadPoolResourceDefinition(PathElement.pathElement(UNBOUNDED_QUEUE_THREAD_POOL), addHandler, CAPABILITY,
+                ThreadsServices.EXECUTOR, registerRuntimeOnly, taskStatistics);
+    }
+
     public static UnboundedQueueThreadPoolResourceDefinition create(String type, ThreadFactoryResolver threadFactoryResolver,
                                                                     ServiceName serviceNameBase, boolean registerRuntimeOnly) {
         return create(PathElement.pathElement(type), threadFactoryResolver, serviceNameBase, registerRuntimeOnly);
@@ -74,12 +84,12 @@ public class UnboundedQueueThreadPoolResourceDefinition extends PersistentResour
                                                                     ServiceName serviceNameBase, boolean registerRuntimeOnly,
                                                                     RuntimeCapability<Void> capability, boolean allowCoreThreadTimeout) {
         UnboundedQueueThreadPoolAdd addHandler = new UnboundedQueueThreadPoolAdd(threadFactoryResolver, serviceNameBase, capability, allowCoreThreadTimeout);
-        return new UnboundedQueueThreadPoolResourceDefinition(path, addHandler, capability, serviceNameBase, registerRuntimeOnly);
+        return new UnboundedQueueThreadPoolResourceDefinition(path, addHandler, capability, serviceNameBase, registerRuntimeOnly, false);
     }
 
     private UnboundedQueueThreadPoolResourceDefinition(PathElement path, UnboundedQueueThreadPoolAdd addHandler,
                                                        RuntimeCapability<Void> capability, ServiceName serviceNameBase,
-                                                       boolean registerRuntimeOnly) {
+                                                       boolean registerRuntimeOnly, boolean taskStatistics) {
         super(new SimpleResourceDefinition.Parameters(path,
                 new ThreadPoolResourceDescriptionResolver(UNBOUNDED_QUEUE_THREAD_POOL, ThreadsExtension.RESOURCE_NAME,
                         ThreadsExtension.class.getClassLoader()))
@@ -87,8 +97,8 @@ public class UnboundedQueueThreadPoolResourceDefinition extends PersistentResour
                 .setRemoveHandler(new UnboundedQueueThreadPoolRemove(addHandler))
                 .setCapabilities(capability));
         this.registerRuntimeOnly = registerRuntimeOnly;
-        this.writeAttributeHandler = new UnboundedQueueThreadPoolWriteAttributeHandler(capability, serviceNameBase);
-        this.metricsHandler = new UnboundedQueueThreadPoolMetricsHandler(capability, serviceNameBase);
+        this.writeAttributeHandler = new UnboundedQueueThreadPoolWriteAttributeHandler(capability, serviceNameBase, taskStatistics);
+        this.metricsHandler = new UnboundedQueueThreadPoolMetricsHandler(capability, serviceNameBase, taskStatistics);
     }
 
 
@@ -49,7 +49,12 @@ public class UnboundedQueueThreadPoolWriteAttributeHandler extends ThreadsWriteA
     }
 
     public UnboundedQueueThreadPoolWriteAttributeHandler(final RuntimeCapability capability, ServiceName serviceNameBase) {
-        super(UnboundedQueueThreadPoolAdd.ATTRIBUTES, UnboundedQueueThreadPoolAdd.RW_ATTRIBUTES);
+        this(capability, serviceNameBase, false);
+    }
+
+    UnboundedQueueThreadPoolWriteAttributeHandler(final RuntimeCapability capability, ServiceName serviceNameBase, boolean taskStatistics) {
+        super(taskStatistics ? ThreadPoolManagementUtils.withStatisticsEnabled(UnboundedQueueThreadPoolAdd.ATTRIBUTES) : UnboundedQueueThreadPoolAdd.ATTRIBUTES,
+                taskStatistics ? ThreadPoolManagementUtils.withStatisticsEnabled(UnboundedQueueThreadPoolAdd.RW_ATTRIBUTES) : UnboundedQueueThreadPoolAdd.RW_ATTRIBUTES);
         this.serviceNameBase = serviceNameBase;
         this.capability = capability;
     }
@@ -66,6 +71,8 @@ public class UnboundedQueueThreadPoolWriteAttributeHandler extends ThreadsWriteA
             pool.setKeepAlive(spec);
         } else if(PoolAttributeDefinitions.MAX_THREADS.getName().equals(attributeName)) {
             pool.setMaxThreads(PoolAttributeDefinitions.MAX_THREADS.resolveModelAttribute(context, model).asInt());
+        } else if (PoolAttributeDefinitions.STATISTICS_ENABLED.getName().equals(attributeName)) {
+            pool.setStatisticsEnabled(PoolAttributeDefinitions.STATISTICS_ENABLED.resolveModelAttribute(context, model).asBoolean());
         } else if (!forRollback) {
             // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
             throw ThreadsLogger.ROOT_LOGGER.unsupportedUnboundedQueueThreadPoolAttribute(attributeName);
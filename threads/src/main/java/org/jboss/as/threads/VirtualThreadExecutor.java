@@ -0,0 +1,298 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An executor that runs each task in a new thread, preferably a virtual thread, with an optional cap on the number of
+ * tasks that run at the same time.
+ * <p>
+ * Tasks submitted while the cap is reached are queued, and a thread that completes a task runs the next queued task
+ * before it exits, so at most {@code maxConcurrency} threads exist at any time.
+ * <p>
+ * Virtual threads are created through reflection as this module is compiled for Java versions that do not have them.
+ * If the JVM does not support them the executor falls back to the platform threads of the given thread factory.
+ */
+class VirtualThreadExecutor extends AbstractExecutorService {
+
+    private static final Method OF_VIRTUAL;
+    private static final Method NAME;
+    private static final Method FACTORY;
+
+    static {
+        Method ofVirtual = null;
+        Method name = null;
+        Method factory = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            final Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            name = builder.getMethod("name", String.class, long.class);
+            factory = builder.getMethod("factory");
+        } catch (ReflectiveOperationException e) {
+            // virtual threads are not supported
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        NAME = name;
+        FACTORY = factory;
+    }
+
+    private final ThreadFactory threadFactory;
+    private final boolean virtual;
+    private volatile int maxConcurrency;
+
+    private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final LongAdder submittedCount = new LongAdder();
+    private final LongAdder completedCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private volatile int largestThreadCount;
+    private volatile boolean shutdown;
+    private final Object terminationLock = new Object();
+
+    /**
+     * @param threadNamePrefix the prefix of the names of the virtual threads, followed by a sequence number
+     * @param platformThreadFactory the factory used if virtual threads are not supported
+     * @param maxConcurrency the maximum number of tasks that run at the same time, or a value that is not positive for
+     *                       no limit
+     */
+    VirtualThreadExecutor(final String threadNamePrefix, final ThreadFactory platformThreadFactory, final int maxConcurrency) {
+        final ThreadFactory virtualThreadFactory = createVirtualThreadFactory(threadNamePrefix);
+        this.virtual = virtualThreadFactory != null;
+        this.threadFactory = virtual ? virtualThreadFactory : platformThreadFactory;
+        setMaxConcurrency(maxConcurrency);
+    }
+
+    static boolean isVirtualThreadSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    private static ThreadFactory createVirtualThreadFactory(final String threadNamePrefix) {
+        if (OF_VIRTUAL == null) {
+            return null;
+        }
+        try {
+            return (ThreadFactory) FACTORY.invoke(NAME.invoke(OF_VIRTUAL.invoke(null), threadNamePrefix, 0L));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    boolean isVirtual() {
+        return virtual;
+    }
+
+    int getMaxConcurrency() {
+        return maxConcurrency == Integer.MAX_VALUE ? -1 : maxConcurrency;
+    }
+
+    void setMaxConcurrency(final int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency > 0 ? maxConcurrency : Integer.MAX_VALUE;
+        // a raised limit lets queued tasks start straight away
+        startQueuedTasks();
+    }
+
+    @Override
+    public void execute(final Runnable task) {
+        if (shutdown) {
+            rejectedCount.increment();
+            throw new RejectedExecutionException();
+        }
+        submittedCount.increment();
+        if (tryStartThread()) {
+            startThread(task);
+        } else {
+            queue.add(task);
+            queueSize.incrementAndGet();
+            // a thread may have exited between the failed attempt and queueing the task
+            startQueuedTasks();
+        }
+    }
+
+    private void startQueuedTasks() {
+        while (!queue.isEmpty() && tryStartThread()) {
+            final Runnable next = pollTask();
+            if (next == null) {
+                threadExited();
+                return;
+            }
+            startThread(next);
+        }
+    }
+
+    private boolean tryStartThread() {
+        int count;
+        do {
+            count = threadCount.get();
+            if (count >= maxConcurrency) {
+                return false;
+            }
+        } while (!threadCount.compareAndSet(count, count + 1));
+        if (count + 1 > largestThreadCount) {
+            synchronized (this) {
+                if (count + 1 > largestThreadCount) {
+                    largestThreadCount = count + 1;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void startThread(final Runnable first) {
+        final Thread thread;
+        try {
+            thread = threadFactory.newThread(() -> runTasks(first));
+            if (thread == null) {
+                throw new RejectedExecutionException();
+            }
+            thread.start();
+        } catch (RuntimeException | Error e) {
+            threadExited();
+            rejectedCount.increment();
+            throw e;
+        }
+    }
+
+    private void runTasks(final Runnable first) {
+        Runnable task = first;
+        while (task != null) {
+            activeCount.incrementAndGet();
+            try {
+                task.run();
+            } catch (Throwable t) {
+                final Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+            } finally {
+                activeCount.decrementAndGet();
+                completedCount.increment();
+            }
+            // the cap may have been lowered while the task ran
+            task = threadCount.get() > maxConcurrency ? null : pollTask();
+        }
+        threadExited();
+        startQueuedTasks();
+    }
+
+    private Runnable pollTask() {
+        final Runnable task = queue.poll();
+        if (task != null) {
+            queueSize.decrementAndGet();
+        }
+        return task;
+    }
+
+    private void threadExited() {
+        if (threadCount.decrementAndGet() == 0 && shutdown) {
+            synchronized (terminationLock) {
+                terminationLock.notifyAll();
+            }
+        }
+    }
+
+    int getActiveCount() {
+        return activeCount.get();
+    }
+
+    int getCurrentThreadCount() {
+        return threadCount.get();
+    }
+
+    int getLargestThreadCount() {
+        return largestThreadCount;
+    }
+
+    int getQueueSize() {
+        return queueSize.get();
+    }
+
+    long getSubmittedTaskCount() {
+        return submittedCount.sum();
+    }
+
+    long getCompletedTaskCount() {
+        return completedCount.sum();
+    }
+
+    long getRejectedTaskCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Stops accepting tasks. Tasks that were already submitted still run.
+     */
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        // running tasks are left to complete, as there is no pool of threads to interrupt
+        final List<Runnable> tasks = new ArrayList<>();
+        Runnable task;
+        while ((task = pollTask()) != null) {
+            tasks.add(task);
+        }
+        return tasks.isEmpty() ? Collections.emptyList() : tasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && threadCount.get() == 0 && queue.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (terminationLock) {
+            while (!isTerminated()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(terminationLock, remaining);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import org.jboss.as.controller.OperationContext;
+import org.jboss.as.controller.OperationFailedException;
+import org.jboss.as.controller.capability.RuntimeCapability;
+import org.jboss.dmr.ModelNode;
+import org.jboss.msc.service.ServiceController;
+import org.jboss.msc.service.ServiceName;
+
+/**
+ * Handles attribute writes for a {@link VirtualThreadExecutor}.
+ */
+class VirtualThreadExecutorWriteAttributeHandler extends ThreadsWriteAttributeOperationHandler {
+
+    private final ServiceName serviceNameBase;
+    private final RuntimeCapability capability;
+
+    VirtualThreadExecutorWriteAttributeHandler(final RuntimeCapability capability, ServiceName serviceNameBase) {
+        super(VirtualThreadExecutorAdd.ATTRIBUTES, VirtualThreadExecutorAdd.RW_ATTRIBUTES);
+        this.serviceNameBase = serviceNameBase;
+        this.capability = capability;
+    }
+
+    @Override
+    protected void applyOperation(final OperationContext context, ModelNode model, String attributeName,
+                                  ServiceController<?> service, boolean forRollback) throws OperationFailedException {
+
+        final VirtualThreadExecutorService pool = (VirtualThreadExecutorService) service.getService();
+
+        if (PoolAttributeDefinitions.MAX_CONCURRENCY.getName().equals(attributeName)) {
+            final ModelNode maxConcurrency = PoolAttributeDefinitions.MAX_CONCURRENCY.resolveModelAttribute(context, model);
+            pool.setMaxConcurrency(maxConcurrency.isDefined() ? maxConcurrency.asInt() : -1);
+        } else if (!forRollback) {
+            // Programming bug. Throw a RuntimeException, not OFE, as this is not a client error
+            throw ThreadsLogger.ROOT_LOGGER.unsupportedVirtualThreadExecutorAttribute(attributeName);
+        }
+    }
+
+    @Override
+    protected ServiceController<?> getService(final OperationContext context, final ModelNode model) throws OperationFailedException {
+        final String name = context.getCurrentAddressValue();
+        ServiceName serviceName = null;
+        ServiceController<?> controller = null;
+        if (capability != null) {
+            serviceName = capability.getCapabilityServiceName(context.getCurrentAddress());
+            controller = context.getServiceRegistry(true).getService(serviceName);
+            if (controller != null) {
+                return controller;
+            }
+        }
+        if (serviceNameBase != null) {
+            serviceName = serviceNameBase.append(name);
+            controller = context.getServiceRegistry(true).getService(serviceName);
+        }
+        if (controller == null) {
+            throw ThreadsLogger.ROOT_LOGGER.virtualThreadExecutorServiceNotFound(serviceName);
+        }
+        return controller;
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests of {@link SlidingWindow}, using a simulated clock.
+ */
+public class SlidingWindowTestCase {
+
+    private long now = TimeUnit.SECONDS.toNanos(1000);
+
+    @Test
+    public void testEmpty() {
+        final SlidingWindow window = new SlidingWindow(5, () -> now);
+        assertEquals(5, window.getSeconds());
+        assertEquals(0, window.getSum());
+        assertEquals(0, window.getMax());
+    }
+
+    @Test
+    public void testSum() {
+        final SlidingWindow window = new SlidingWindow(5, () -> now);
+        window.add(1);
+        window.add(2);
+        advance(1);
+        window.add(3);
+        assertEquals(6, window.getSum());
+
+        // the values of the first second leave the window once five seconds have passed
+        advance(3);
+        assertEquals(6, window.getSum());
+        advance(1);
+        assertEquals(3, window.getSum());
+        advance(1);
+        assertEquals(0, window.getSum());
+    }
+
+    @Test
+    public void testMax() {
+        final SlidingWindow window = new SlidingWindow(5, () -> now);
+        window.recordMax(4);
+        window.recordMax(2);
+        advance(2);
+        window.recordMax(3);
+        assertEquals(4, window.getMax());
+
+        advance(3);
+        assertEquals(3, window.getMax());
+        advance(2);
+        assertEquals(0, window.getMax());
+    }
+
+    @Test
+    public void testReusedSlotIsCleared() {
+        final SlidingWindow window = new SlidingWindow(5, () -> now);
+        window.add(10);
+        window.recordMax(10);
+
+        // the same slot is used again once the window has moved past it
+        advance(5);
+        window.add(1);
+        window.recordMax(1);
+        assertEquals(1, window.getSum());
+        assertEquals(1, window.getMax());
+
+        // and again after a long idle period
+        advance(1000);
+        window.add(2);
+        assertEquals(2, window.getSum());
+        assertEquals(0, window.getMax());
+    }
+
+    private void advance(final int seconds) {
+        now += TimeUnit.SECONDS.toNanos(seconds);
+    }
+}
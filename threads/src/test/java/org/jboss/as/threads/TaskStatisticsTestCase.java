@@ -0,0 +1,225 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.as.controller._private.LatencyHistogram;
+import org.junit.Test;
+
+/**
+ * Tests of {@link TaskStatistics}, using a simulated clock.
+ */
+public class TaskStatisticsTestCase {
+
+    private long now = TimeUnit.SECONDS.toNanos(1000);
+
+    @Test
+    public void testQueueAndExecutionTimes() {
+        final TaskStatistics statistics = new TaskStatistics(() -> now);
+        final Runnable task = statistics.wrap(() -> advanceMillis(30));
+        advanceMillis(20);
+        task.run();
+
+        final LatencyHistogram.Snapshot queueTimes = statistics.getQueueTimes();
+        assertEquals(1, queueTimes.getCount());
+        assertWithinBucket(20000, queueTimes.getPercentile(50));
+        final LatencyHistogram.Snapshot executionTimes = statistics.getExecutionTimes();
+        assertEquals(1, executionTimes.getCount());
+        assertWithinBucket(30000, executionTimes.getPercentile(50));
+    }
+
+    @Test
+    public void testFailedTaskIsMeasured() {
+        final TaskStatistics statistics = new TaskStatistics(() -> now);
+        final Runnable task = statistics.wrap(() -> {
+            advanceMillis(5);
+            throw new IllegalStateException();
+        });
+        try {
+            task.run();
+            fail("The failure of the task was not propagated");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(1, statistics.getExecutionTimes().getCount());
+
+        // the failed task is no longer counted as active
+        statistics.wrap(() -> { }).run();
+        assertEquals(1, statistics.getPeakActiveCount());
+    }
+
+    @Test
+    public void testPeakActiveCount() {
+        final TaskStatistics statistics = new TaskStatistics(() -> now);
+        assertEquals(0, statistics.getPeakActiveCount());
+        final Runnable inner = statistics.wrap(() -> statistics.wrap(() -> { }).run());
+        statistics.wrap(inner).run();
+        assertEquals(3, statistics.getPeakActiveCount());
+
+        // the peak leaves the window once it has passed
+        advanceSeconds(TaskStatistics.WINDOW_SECONDS);
+        statistics.wrap(() -> { }).run();
+        assertEquals(1, statistics.getPeakActiveCount());
+        advanceSeconds(TaskStatistics.WINDOW_SECONDS);
+        assertEquals(0, statistics.getPeakActiveCount());
+    }
+
+    @Test
+    public void testRejectionRate() {
+        final TaskStatistics statistics = new TaskStatistics(() -> now);
+        assertEquals(0.0, statistics.getRejectionRate(), 0.0);
+        for (int i = 0; i < 30; i++) {
+            statistics.taskRejected();
+            advanceSeconds(1);
+            statistics.taskRejected();
+        }
+        assertEquals(60.0 / TaskStatistics.WINDOW_SECONDS, statistics.getRejectionRate(), 0.0001);
+
+        advanceSeconds(TaskStatistics.WINDOW_SECONDS);
+        assertEquals(0.0, statistics.getRejectionRate(), 0.0);
+    }
+
+    @Test
+    public void testRecordingDisabledByDefault() {
+        final ManagedExecutorService executor = new ManagedExecutorService(new DirectExecutorService()) {
+            @Override
+            void internalShutdown() {
+            }
+        };
+        assertNull(executor.getStatistics());
+        executor.execute(() -> { });
+
+        executor.setStatisticsEnabled(true);
+        final TaskStatistics statistics = executor.getStatistics();
+        assertNotNull(statistics);
+        executor.execute(() -> { });
+        assertEquals(1, statistics.getExecutionTimes().getCount());
+
+        // enabling again keeps the statistics recorded so far
+        executor.setStatisticsEnabled(true);
+        assertEquals(1, executor.getStatistics().getExecutionTimes().getCount());
+
+        executor.setStatisticsEnabled(false);
+        assertNull(executor.getStatistics());
+        executor.execute(() -> { });
+        assertEquals(1, statistics.getExecutionTimes().getCount());
+    }
+
+    @Test
+    public void testSubmittedTasksAreMeasured() throws Exception {
+        final DirectExecutorService delegate = new DirectExecutorService();
+        final ManagedExecutorService executor = new ManagedExecutorService(delegate) {
+            @Override
+            protected ExecutorService protectExecutor(ExecutorService executor) {
+                return executor;
+            }
+
+            @Override
+            void internalShutdown() {
+            }
+        };
+        final Callable<String> task = () -> "done";
+
+        // without statistics the task reaches the underlying executor unchanged
+        assertEquals("done", executor.submit(task).get());
+        assertSame(task, delegate.lastSubmitted);
+
+        executor.setStatisticsEnabled(true);
+        final TaskStatistics statistics = executor.getStatistics();
+        assertEquals("done", executor.submit(task).get());
+        executor.submit(() -> { }).get();
+        executor.submit(() -> { }, "result").get();
+        for (Future<String> future : executor.invokeAll(Arrays.asList(task, task))) {
+            assertEquals("done", future.get());
+        }
+        assertEquals("done", executor.invokeAny(Collections.singletonList(task)));
+        assertEquals(6, statistics.getExecutionTimes().getCount());
+    }
+
+    private static final class DirectExecutorService extends AbstractExecutorService {
+        private Callable<?> lastSubmitted;
+
+        @Override
+        public <T> Future<T> submit(Callable<T> task) {
+            lastSubmitted = task;
+            return super.submit(task);
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return false;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return false;
+        }
+    }
+
+    private static void assertWithinBucket(final long expected, final long actual) {
+        // a reported percentile is at most 12.5% above the recorded value
+        if (actual < expected || actual > expected + expected / 8) {
+            fail("Expected about " + expected + " but was " + actual);
+        }
+    }
+
+    private void advanceMillis(final long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    private void advanceSeconds(final long seconds) {
+        now += TimeUnit.SECONDS.toNanos(seconds);
+    }
+}
@@ -30,6 +30,7 @@ import org.jboss.as.controller.ProcessType;
 import org.jboss.as.controller.RunningMode;
 import org.jboss.as.subsystem.test.AbstractSubsystemBaseTest;
 import org.jboss.as.subsystem.test.AdditionalInitialization;
+import org.junit.Test;
 
 /**
  * @author <a href="mailto:tomaz.cerar@redhat.com">Tomaz Cerar</a> (c) 2012 Red Hat Inc.
@@ -44,6 +45,13 @@ public class ThreadsSubsystemTestCase extends AbstractSubsystemBaseTest {
         return readResource("threads-subsystem-2_0.xml");
     }
 
+    @Test
+    @Override
+    public void testSubsystem() throws Exception {
+        // The 2.0 configuration is marshalled using the current schema
+        standardSubsystemTest(null, false);
+    }
+
     @Override
     protected String getSubsystemXsdPath() throws Exception {
         return "schema/wildfly-threads_2_0.xsd";
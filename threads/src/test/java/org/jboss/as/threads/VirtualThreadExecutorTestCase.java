@@ -0,0 +1,177 @@
+/*
+ * JBoss, Home of Professional Open Source.
+ * Copyright 2020, Red Hat, Inc., and individual contributors
+ * as indicated by the @author tags. See the copyright.txt file in the
+ * distribution for a full listing of individual contributors.
+ *
+ * This is free software; you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as
+ * published by the Free Software Foundation; either version 2.1 of
+ * the License, or (at your option) any later version.
+ *
+ * This software is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this software; if not, write to the Free
+ * Software Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA
+ * 02110-1301 USA, or see the FSF site: http://www.fsf.org.
+ */
+
+package org.jboss.as.threads;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests of {@link VirtualThreadExecutor}.
+ */
+public class VirtualThreadExecutorTestCase {
+
+    private final AtomicInteger platformThreads = new AtomicInteger();
+    private final ThreadFactory platformThreadFactory = runnable -> {
+        platformThreads.incrementAndGet();
+        return Executors.defaultThreadFactory().newThread(runnable);
+    };
+    private final CountDownLatch release = new CountDownLatch(1);
+    private VirtualThreadExecutor executor;
+
+    @After
+    public void shutdown() throws InterruptedException {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testThreadFactory() throws Exception {
+        executor = new VirtualThreadExecutor("test-", platformThreadFactory, -1);
+        assertEquals(VirtualThreadExecutor.isVirtualThreadSupported(), executor.isVirtual());
+
+        final String[] threadName = new String[1];
+        final CountDownLatch done = new CountDownLatch(1);
+        executor.execute(() -> {
+            threadName[0] = Thread.currentThread().getName();
+            done.countDown();
+        });
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        if (executor.isVirtual()) {
+            // the platform thread factory is only used if virtual threads are not supported
+            assertEquals(0, platformThreads.get());
+            assertTrue(threadName[0], threadName[0].startsWith("test-"));
+        } else {
+            assertEquals(1, platformThreads.get());
+        }
+    }
+
+    @Test
+    public void testMaxConcurrency() throws Exception {
+        executor = new VirtualThreadExecutor("test-", platformThreadFactory, 2);
+        final CountDownLatch started = new CountDownLatch(2);
+        final CountDownLatch done = new CountDownLatch(5);
+        for (int i = 0; i < 5; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                awaitRelease();
+                done.countDown();
+            });
+        }
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertEquals(2, executor.getCurrentThreadCount());
+        assertEquals(3, executor.getQueueSize());
+        assertEquals(5, executor.getSubmittedTaskCount());
+
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(2, executor.getLargestThreadCount());
+        assertEquals(0, executor.getQueueSize());
+    }
+
+    @Test
+    public void testRaisedMaxConcurrencyStartsQueuedTasks() throws Exception {
+        executor = new VirtualThreadExecutor("test-", platformThreadFactory, 1);
+        final CountDownLatch started = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            executor.execute(() -> {
+                started.countDown();
+                awaitRelease();
+            });
+        }
+        assertEquals(1, executor.getQueueSize());
+
+        executor.setMaxConcurrency(2);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        assertEquals(0, executor.getQueueSize());
+        assertEquals(2, executor.getMaxConcurrency());
+    }
+
+    @Test
+    public void testShutdownRunsQueuedTasks() throws Exception {
+        executor = new VirtualThreadExecutor("test-", platformThreadFactory, 1);
+        final CountDownLatch done = new CountDownLatch(3);
+        for (int i = 0; i < 3; i++) {
+            executor.execute(() -> {
+                awaitRelease();
+                done.countDown();
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.isShutdown());
+        assertFalse(executor.isTerminated());
+        try {
+            executor.execute(() -> fail("task submitted after shutdown ran"));
+            fail("task submitted after shutdown was accepted");
+        } catch (RejectedExecutionException expected) {
+            // expected
+        }
+        assertEquals(1, executor.getRejectedTaskCount());
+
+        release.countDown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(0, done.getCount());
+        assertEquals(3, executor.getCompletedTaskCount());
+    }
+
+    @Test
+    public void testShutdownNowReturnsQueuedTasks() throws Exception {
+        executor = new VirtualThreadExecutor("test-", platformThreadFactory, 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        executor.execute(() -> {
+            started.countDown();
+            awaitRelease();
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        final Runnable queued = () -> fail("queued task ran after shutdownNow");
+        executor.execute(queued);
+
+        final List<Runnable> tasks = executor.shutdownNow();
+        assertEquals(1, tasks.size());
+        assertEquals(queued, tasks.get(0));
+        assertEquals(0, executor.getQueueSize());
+    }
+
+    private void awaitRelease() {
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}